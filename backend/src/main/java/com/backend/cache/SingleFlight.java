@@ -0,0 +1,95 @@
+package com.backend.cache;
+
+import com.backend.dtos.SingleFlightStatsDTO;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: while a load for a key is in flight, further callers
+ * for the same key wait for it and share its result (or its exception) instead of querying
+ * MongoDB again. Nothing is kept once the load completes, so this works with or without
+ * {@link SummaryCache} in front of it.
+ *
+ * @param <K> the key type; keys must implement equals/hashCode.
+ */
+public class SingleFlight<K> {
+
+   private final ConcurrentHashMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+   private final LongAdder calls = new LongAdder();
+   private final LongAdder executions = new LongAdder();
+   private final LongAdder coalesced = new LongAdder();
+
+   /**
+    * Runs the loader, or joins the load already in flight for the same key.
+    * Exceptions thrown by the loader are rethrown to every caller sharing the load.
+    *
+    * @param key    the load key.
+    * @param loader loads the value from MongoDB.
+    * @param <V>    the value type; callers must use one type per key.
+    * @return the loaded value.
+    */
+   @SuppressWarnings("unchecked")
+   public <V> V execute(K key, Supplier<V> loader) {
+      calls.increment();
+      CompletableFuture<Object> flight = new CompletableFuture<>();
+      CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+      if (existing != null) {
+         coalesced.increment();
+         return (V) join(existing);
+      }
+
+      executions.increment();
+      try {
+         V value = loader.get();
+         flight.complete(value);
+         return value;
+      } catch (RuntimeException | Error e) {
+         flight.completeExceptionally(e);
+         throw e;
+      } finally {
+         inFlight.remove(key, flight); // Only our own flight; forget() may have replaced it
+      }
+   }
+
+   /**
+    * Detaches the in-flight loads of the given keys, e.g. after an ingest run rewrote their data.
+    * Callers already waiting still get the old result; later callers start a new load.
+    *
+    * @param keys the keys to forget.
+    */
+   public void forget(Collection<K> keys) {
+      keys.forEach(inFlight::remove);
+   }
+
+   /**
+    * Returns a snapshot of the coalescing statistics.
+    *
+    * @return a SingleFlightStatsDTO.
+    */
+   public SingleFlightStatsDTO stats() {
+      long total = calls.sum();
+      long shared = coalesced.sum();
+      return new SingleFlightStatsDTO(
+          total, executions.sum(), shared, total == 0 ? 0.0 : (double) shared / total, inFlight.size());
+   }
+
+   private static Object join(CompletableFuture<Object> flight) {
+      try {
+         return flight.join();
+      } catch (CompletionException e) {
+         // Rethrow the loader's own exception, so sharing a load does not change error handling.
+         if (e.getCause() instanceof RuntimeException cause) {
+            throw cause;
+         }
+         if (e.getCause() instanceof Error cause) {
+            throw cause;
+         }
+         throw e;
+      }
+   }
+}
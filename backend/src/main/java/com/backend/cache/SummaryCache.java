@@ -0,0 +1,160 @@
+package com.backend.cache;
+
+import com.backend.dtos.CacheKeyStatsDTO;
+import com.backend.dtos.CacheStatsDTO;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache for retrieval results.
+ * <p>
+ * Entries are evicted least-recently-used once {@code maxEntries} is reached and expire after
+ * {@code ttl}. Ingest runs evict the affected keys explicitly (see {@link SummaryCacheInvalidator}),
+ * so the TTL only bounds how long data written outside the application can stay stale.
+ * </p>
+ * <p>
+ * Loads run outside the lock. A load that overlaps an invalidation is returned to its caller
+ * but not stored, so a value read before an ingest run can never outlive it in the cache.
+ * </p>
+ */
+public class SummaryCache {
+
+   private static final int KEY_STATS_FACTOR = 4; // Keep stats for more keys than values
+
+   private final int maxEntries;
+   private final Duration ttl;
+   private final Clock clock;
+
+   private final LinkedHashMap<SummaryCacheKey, Entry> entries;
+   private final LinkedHashMap<SummaryCacheKey, KeyStats> keyStats;
+   private long generation;
+   private long hits;
+   private long misses;
+   private long evictions;
+   private long expirations;
+   private long invalidations;
+
+   public SummaryCache(int maxEntries, Duration ttl, Clock clock) {
+      if (maxEntries < 1) {
+         throw new IllegalArgumentException("maxEntries must be at least 1");
+      }
+      this.maxEntries = maxEntries;
+      this.ttl = ttl;
+      this.clock = clock;
+      this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<SummaryCacheKey, Entry> eldest) {
+            boolean full = size() > SummaryCache.this.maxEntries;
+            if (full) {
+               evictions++;
+            }
+            return full;
+         }
+      };
+      this.keyStats = new LinkedHashMap<>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<SummaryCacheKey, KeyStats> eldest) {
+            return size() > SummaryCache.this.maxEntries * KEY_STATS_FACTOR;
+         }
+      };
+   }
+
+   /**
+    * Returns the cached value for the key, loading and caching it on a miss.
+    * Exceptions thrown by the loader are propagated and nothing is cached.
+    *
+    * @param key    the cache key.
+    * @param loader loads the value from MongoDB.
+    * @param <V>    the value type; callers must use one type per key.
+    * @return the cached or freshly loaded value.
+    */
+   @SuppressWarnings("unchecked")
+   public <V> V get(SummaryCacheKey key, Supplier<V> loader) {
+      long loadGeneration;
+      synchronized (this) {
+         Entry entry = entries.get(key);
+         if (entry != null && entry.expiresAt().isBefore(clock.instant())) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+         }
+         KeyStats stats = keyStats.computeIfAbsent(key, k -> new KeyStats());
+         if (entry != null) {
+            hits++;
+            stats.hits++;
+            return (V) entry.value();
+         }
+         misses++;
+         stats.misses++;
+         loadGeneration = generation;
+      }
+
+      V value = loader.get();
+      if (value != null) {
+         synchronized (this) {
+            if (loadGeneration == generation) {
+               entries.put(key, new Entry(value, clock.instant().plus(ttl)));
+            }
+         }
+      }
+      return value;
+   }
+
+   /**
+    * Evicts the given keys, e.g. after an ingest run rewrote their data.
+    *
+    * @param keys the keys to evict.
+    */
+   public synchronized void evict(Collection<SummaryCacheKey> keys) {
+      generation++;
+      for (SummaryCacheKey key : keys) {
+         if (entries.remove(key) != null) {
+            invalidations++;
+         }
+      }
+   }
+
+   /**
+    * Evicts every entry.
+    */
+   public synchronized void clear() {
+      generation++;
+      invalidations += entries.size();
+      entries.clear();
+   }
+
+   /**
+    * Returns a snapshot of the cache statistics.
+    *
+    * @return a CacheStatsDTO with global and per-key statistics.
+    */
+   public synchronized CacheStatsDTO stats() {
+      List<CacheKeyStatsDTO> keys = new ArrayList<>(keyStats.size());
+      keyStats.forEach((key, stats) -> keys.add(
+          new CacheKeyStatsDTO(key.toString(), stats.hits, stats.misses, entries.containsKey(key))));
+      Collections.reverse(keys); // Access order is oldest first; report most recently used first
+
+      long lookups = hits + misses;
+      return new CacheStatsDTO(
+          entries.size(), maxEntries, ttl.toSeconds(),
+          hits, misses, lookups == 0 ? 0.0 : (double) hits / lookups,
+          evictions, expirations, invalidations,
+          keys);
+   }
+
+   private record Entry(Object value, Instant expiresAt) {}
+
+   private static final class KeyStats {
+      private long hits;
+      private long misses;
+   }
+}
@@ -0,0 +1,64 @@
+package com.backend.cache;
+
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Evicts the retrieval cache entries affected by an ingest run.
+ *
+ * Single summaries are evicted by their date key. Month listings are evicted for every year
+ * touched plus the unfiltered listing, and any yearly change evicts the year listing.
+ * Loads of those keys still in flight are detached, so no new caller shares a pre-ingest read.
+ */
+@Component
+public class SummaryCacheInvalidator {
+
+   private static final Logger logger = LoggerFactory.getLogger(SummaryCacheInvalidator.class);
+   private final SummaryCache summaryCache;
+   private final SingleFlight<SummaryCacheKey> singleFlight;
+
+   public SummaryCacheInvalidator(SummaryCache summaryCache, SingleFlight<SummaryCacheKey> singleFlight) {
+      this.summaryCache = summaryCache;
+      this.singleFlight = singleFlight;
+   }
+
+   @EventListener
+   @Order(1) // Before the data version bump (see DataVersionService)
+   public void onSummaryDataChanged(SummaryDataChangedEvent event) {
+      Set<SummaryCacheKey> keys = affectedKeys(event);
+      // Forget in-flight loads first: a caller joining one afterwards is then rejected by the cache generation check.
+      singleFlight.forget(keys);
+      summaryCache.evict(keys);
+      logger.info("🧹 Evicted {} cache keys after {} ingest.", keys.size(), event.type());
+   }
+
+   /**
+    * Maps a change event to the cache keys it invalidates.
+    *
+    * @param event the change event.
+    * @return the affected cache keys.
+    */
+   static Set<SummaryCacheKey> affectedKeys(SummaryDataChangedEvent event) {
+      Set<SummaryCacheKey> keys = new LinkedHashSet<>();
+      switch (event.type()) {
+         case DAY, WEEK, RECENT -> event.periods().forEach(period -> keys.add(SummaryCacheKey.of(event.type(), period)));
+         case MONTH -> {
+            event.periods().stream()
+                .map(LocalDate::getYear)
+                .forEach(year -> keys.add(SummaryCacheKey.months(year)));
+            keys.add(SummaryCacheKey.months(null));
+         }
+         case YEAR -> keys.add(SummaryCacheKey.years());
+      }
+      return keys;
+   }
+}
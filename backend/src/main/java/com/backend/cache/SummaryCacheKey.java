@@ -0,0 +1,33 @@
+package com.backend.cache;
+
+import com.backend.events.SummaryType;
+
+import java.time.LocalDate;
+
+/**
+ * Key of a cached retrieval result: the summary type plus the period it was looked up by.
+ *
+ * Single summaries use their ISO date key (e.g. DAY/2024-03-10). Month listings use the
+ * year or {@link #ALL}, and the year listing always uses {@link #ALL}.
+ */
+public record SummaryCacheKey(SummaryType type, String period) {
+
+   public static final String ALL = "all";
+
+   public static SummaryCacheKey of(SummaryType type, LocalDate period) {
+      return new SummaryCacheKey(type, period.toString());
+   }
+
+   public static SummaryCacheKey months(Integer year) {
+      return new SummaryCacheKey(SummaryType.MONTH, year == null ? ALL : year.toString());
+   }
+
+   public static SummaryCacheKey years() {
+      return new SummaryCacheKey(SummaryType.YEAR, ALL);
+   }
+
+   @Override
+   public String toString() {
+      return type + "/" + period;
+   }
+}
@@ -0,0 +1,29 @@
+package com.backend.config;
+
+import com.backend.cache.SingleFlight;
+import com.backend.cache.SummaryCache;
+import com.backend.cache.SummaryCacheKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for the in-process retrieval cache and the coalescing of concurrent loads.
+ */
+@Configuration
+public class CacheConfig {
+
+   @Bean
+   public SummaryCache summaryCache(@Value("${hrvibe.cache.max-entries:1000}") int maxEntries,
+                                    @Value("${hrvibe.cache.ttl:30m}") Duration ttl) {
+      return new SummaryCache(maxEntries, ttl, Clock.systemUTC());
+   }
+
+   @Bean
+   public SingleFlight<SummaryCacheKey> summarySingleFlight() {
+      return new SingleFlight<>();
+   }
+}
@@ -1,6 +1,7 @@
 package com.backend.config;
 
 import org.springframework.context.annotation.Configuration;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
@@ -12,6 +13,13 @@ public class GarminDatabaseConfig {
 
    private static final String BASE_PATH = "/Users/coralee/Projects/GarminDB/GarminData/DBs/";
 
+   /**
+    * Returns the file of the given SQLite database, for readers that do not go through JDBC.
+    */
+   public Path getDatabasePath(String databaseName) {
+      return Path.of(BASE_PATH + databaseName);
+   }
+
    public Connection getConnection(String databaseName) {
       try {
          String databaseUrl = BASE_PATH + databaseName;
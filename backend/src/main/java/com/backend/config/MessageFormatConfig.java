@@ -0,0 +1,54 @@
+package com.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON payloads, selected with the Accept header:
+ * "application/cbor" (RFC 8949) and "application/x-jackson-smile".
+ * <p>
+ * Both converters use the application's Jackson settings, so the documents have the same
+ * structure as the JSON (see GET /garmin/schema). Smile writes each field name once per
+ * response and refers back to it afterwards; CBOR does the same with stringref tags
+ * (tag 256/25) unless {@code hrvibe.cbor.stringref=false} for decoders without them.
+ * JSON stays the default when no Accept header is sent.
+ * </p>
+ */
+@Configuration
+public class MessageFormatConfig {
+
+   // Spring Boot registers HttpMessageConverter beans with MVC; the builder bean is prototype-scoped.
+   @Bean
+   public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+       Jackson2ObjectMapperBuilder builder, @Value("${hrvibe.cbor.stringref:true}") boolean stringRefs) {
+      return new MappingJackson2CborHttpMessageConverter(cborMapper(builder, stringRefs));
+   }
+
+   @Bean
+   public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+      return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+   }
+
+   static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder, boolean stringRefs) {
+      CBORFactory factory = CBORFactory.builder()
+          .configure(CBORGenerator.Feature.STRINGREF, stringRefs)
+          .build();
+      return builder.factory(factory).build();
+   }
+
+   static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+      SmileFactory factory = SmileFactory.builder()
+          .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES) // Durations such as "08:00:00" repeat too
+          .build();
+      return builder.factory(factory).build();
+   }
+}
@@ -0,0 +1,12 @@
+package com.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled methods (e.g. the SSE heartbeat in SummaryEventService).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,7 @@
 package com.backend.config;
 
+import com.backend.filters.GuestTokenFilter;
+import com.backend.services.GuestTokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,8 +10,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,7 +28,7 @@ import java.util.List;
 public class SecurityConfig {
 
    @Bean
-   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+   public SecurityFilterChain securityFilterChain(HttpSecurity http, GuestTokenService guestTokenService) throws Exception {
       http
           .cors(cors -> cors.configurationSource(corsConfigurationSource())) // ✅ Enable CORS
           // Instead of disabling CSRF, enable it using a CookieCsrfTokenRepository.
@@ -33,11 +37,13 @@ public class SecurityConfig {
                )
           .authorizeHttpRequests(auth -> auth
                                      // ✅ Guest Mode Access (Public)
-                                     .requestMatchers("/auth/guest").permitAll() // Allow guests to start a session
+                                     .requestMatchers("/auth/guest").permitAll() // Allow guests to get a guest token
 
                                      // 🔒 Admin-Only Routes
                                      .requestMatchers("/auth/admin").authenticated() // Only OAuth users can access admin info
                                      .requestMatchers(HttpMethod.POST, "/auth/logout").permitAll() // Allow all users (guests & OAuth) to logout
+                                     .requestMatchers("/garmin/admin/**").authenticated() // Storage & maintenance tools
+                                     .requestMatchers("/garmin-sqlite/**").authenticated() // Raw SQLite exports, downloads & manifests
 
                                      // ✅ Guests & Admins Can Read Garmin Data (Allow All GET Requests)
                                      .requestMatchers(HttpMethod.GET, "/garmin/days").permitAll()
@@ -47,6 +53,11 @@ public class SecurityConfig {
                                      .requestMatchers(HttpMethod.GET, "/garmin/weeks/**").permitAll()
                                      .requestMatchers(HttpMethod.GET, "/garmin/months").permitAll()
                                      .requestMatchers(HttpMethod.GET, "/garmin/years").permitAll()
+                                     .requestMatchers(HttpMethod.GET, "/garmin/stats").permitAll()
+                                     .requestMatchers(HttpMethod.GET, "/garmin/dashboard").permitAll()
+                                     .requestMatchers(HttpMethod.GET, "/garmin/series").permitAll()
+                                     .requestMatchers(HttpMethod.GET, "/garmin/events").permitAll()
+                                     .requestMatchers(HttpMethod.GET, "/garmin/schema").permitAll()
 
                                      // 🔒 Admins Only - Modify Garmin Data
                                      .requestMatchers(HttpMethod.POST, "/garmin/**").authenticated()
@@ -58,7 +69,10 @@ public class SecurityConfig {
                                      // ✅ Allow all other requests by default
                                      .anyRequest().permitAll()
                                 )
-          .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.ALWAYS)) // ✅ Enable session-based Guest login
+          // ✅ Guests carry a signed cookie (see GuestTokenFilter); only the admin's OAuth login needs a session
+          .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+          .requestCache(cache -> cache.requestCache(new NullRequestCache())) // ✅ A 401 must not create a session to remember the request
+          .addFilterBefore(new GuestTokenFilter(guestTokenService), AnonymousAuthenticationFilter.class)
           .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))) // 🛑 Unauthorized users get 401
           .oauth2Login(oauth2 -> oauth2
               .defaultSuccessUrl("http://localhost:5173/dashboard", true)) // ✅ Redirect to frontend
@@ -73,6 +87,7 @@ public class SecurityConfig {
       configuration.setAllowedOrigins(List.of("http://localhost:5173")); // ✅ Allow frontend access
       configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")); // ✅ Allow standard HTTP methods
       configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type")); // ✅ Allow essential headers
+      configuration.setExposedHeaders(List.of("X-Next-Cursor", "X-Prev-Cursor", "ETag", "Last-Modified", "Retry-After")); // ✅ Let the frontend read pagination cursors, validators and back-off hints
       configuration.setAllowCredentials(true); // ✅ Allow cookies & session-based authentication
 
       UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,22 +1,35 @@
 package com.backend.controllers;
 
 import com.backend.exceptions.LogoutException;
+import com.backend.services.GuestTokenService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
+   private final GuestTokenService guestTokenService;
+   private final boolean secureCookie;
+
+   public AuthController(GuestTokenService guestTokenService,
+                         @Value("${hrvibe.guest.cookie-secure:false}") boolean secureCookie) {
+      this.guestTokenService = guestTokenService;
+      this.secureCookie = secureCookie;
+   }
+
    /**
     * Returns details of the logged-in admin user (GitHub OAuth).
     */
@@ -37,32 +50,50 @@ public class AuthController {
    }
 
    /**
-    * Creates a guest session and returns a limited guest profile.
+    * Issues a signed guest token cookie and returns a limited guest profile.
+    * No server session is created; the token is checked by GuestTokenFilter on later requests.
     */
    @GetMapping("/guest")
-   public ResponseEntity<Map<String, String>> guestLogin(HttpSession session) {
-      session.setAttribute("guest", true);
-      return ResponseEntity.ok(Map.of(
-          "username", "GuestUser",
-          "firstName", "Guest",
-          "lastName", "Mode",
-          "city", "Cape Town",   // -> Hardcode for now
-          "country", "South Africa", // -> Hardcode for now
-          "role", "GUEST"
-          ));
+   public ResponseEntity<Map<String, String>> guestLogin() {
+      ResponseCookie cookie = guestCookie(guestTokenService.issue(), guestTokenService.ttl());
+      return ResponseEntity.ok()
+          .header(HttpHeaders.SET_COOKIE, cookie.toString())
+          .body(Map.of(
+              "username", "GuestUser",
+              "firstName", "Guest",
+              "lastName", "Mode",
+              "city", "Cape Town",   // -> Hardcode for now
+              "country", "South Africa", // -> Hardcode for now
+              "role", "GUEST"
+              ));
    }
 
    /**
-    * Logs the user out by invalidating their session.
+    * Logs the user out by invalidating their session (if any) and clearing the guest cookie.
     */
    @PostMapping("/logout")
-   public ResponseEntity<Void> logout(HttpServletRequest request, HttpServletResponse response) {
+   public ResponseEntity<Void> logout(HttpServletRequest request) {
       try {
-         request.getSession().invalidate();
+         HttpSession session = request.getSession(false); // Guests have none; do not create one just to drop it
+         if (session != null) {
+            session.invalidate();
+         }
          request.logout();
-         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+         return ResponseEntity.status(HttpStatus.NO_CONTENT)
+             .header(HttpHeaders.SET_COOKIE, guestCookie("", Duration.ZERO).toString())
+             .build();
       } catch (ServletException e) {
          throw new LogoutException("Error during logout: " + e.getMessage());
       }
    }
+
+   private ResponseCookie guestCookie(String token, Duration maxAge) {
+      return ResponseCookie.from(GuestTokenService.GUEST_COOKIE, token)
+          .httpOnly(true)
+          .secure(secureCookie)
+          .sameSite("Lax")
+          .path("/")
+          .maxAge(maxAge)
+          .build();
+   }
 }
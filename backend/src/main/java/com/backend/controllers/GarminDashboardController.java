@@ -0,0 +1,49 @@
+package com.backend.controllers;
+
+import com.backend.dtos.DashboardDTO;
+import com.backend.services.GarminDashboardService;
+import com.backend.utils.SummaryFieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * GarminDashboardController serves the data for the first dashboard render in one round trip.
+ *
+ * Endpoints:
+ * 1. GET /garmin/dashboard?date=2024-05-02&fields=hrAvg,rhrAvg
+ *    - Returns the day summary, the 7-day window, the latest 4 weekly summaries and the
+ *      monthly summaries of the year, loaded in parallel, with the time each part took.
+ *    - "date" defaults to today; "fields" optionally restricts every part to those metrics.
+ *    - A part that cannot be loaded (e.g. no summary for the date) carries an error instead
+ *      of data; the other parts are still returned.
+ */
+@RestController
+@RequestMapping("/garmin")
+public class GarminDashboardController {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminDashboardController.class);
+   private final GarminDashboardService dashboardService;
+
+   public GarminDashboardController(GarminDashboardService dashboardService) {
+      this.dashboardService = dashboardService;
+   }
+
+   /**
+    * Retrieves the dashboard bundle for a reference date.
+    *
+    * @param date   optional reference date (in ISO format), defaults to today.
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the DashboardDTO.
+    */
+   @GetMapping("/dashboard")
+   public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(required = false) String date,
+                                                    @RequestParam(required = false) String fields) {
+      logger.info("Fetching dashboard for date {}...", date);
+      LocalDate referenceDate = date == null ? LocalDate.now() : LocalDate.parse(date);
+      return ResponseEntity.ok(dashboardService.getDashboard(referenceDate, SummaryFieldUtils.parseFields(fields)));
+   }
+}
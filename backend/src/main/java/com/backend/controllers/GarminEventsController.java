@@ -0,0 +1,43 @@
+package com.backend.controllers;
+
+import com.backend.services.SummaryEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * GarminEventsController streams data change notifications to the frontend.
+ *
+ * Endpoints:
+ * 1. GET /garmin/events
+ *    - Opens a Server-Sent Events stream. After each ingest run a "data-changed" event is sent
+ *      with the summary type, the affected period keys and the new data version, e.g.
+ *      {"type":"DAY","periods":["2024-05-01","2024-05-02"],"version":42}.
+ *    - Heartbeat comments keep idle connections open; the stream closes after
+ *      hrvibe.events.timeout and EventSource reconnects automatically.
+ *    - Returns 503 Service Unavailable when the maximum number of clients is connected.
+ */
+@RestController
+@RequestMapping("/garmin")
+public class GarminEventsController {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminEventsController.class);
+   private final SummaryEventService eventService;
+
+   public GarminEventsController(SummaryEventService eventService) {
+      this.eventService = eventService;
+   }
+
+   /**
+    * Subscribes to data change events.
+    *
+    * @return the SseEmitter backing the event stream.
+    */
+   @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+   public SseEmitter subscribe() {
+      logger.info("New event stream subscription ({} connected).", eventService.clientCount());
+      return eventService.subscribe();
+   }
+}
@@ -0,0 +1,179 @@
+package com.backend.controllers;
+
+import com.backend.cache.SingleFlight;
+import com.backend.cache.SummaryCache;
+import com.backend.cache.SummaryCacheKey;
+import com.backend.dtos.CacheStatsDTO;
+import com.backend.dtos.CollectionStorageStatsDTO;
+import com.backend.dtos.RequestLimitStatsDTO;
+import com.backend.dtos.SingleFlightStatsDTO;
+import com.backend.filters.ConcurrencyLimitFilter;
+import com.backend.filters.RateLimitFilter;
+import com.backend.dtos.StorageMigrationReportDTO;
+import com.backend.dtos.SummaryDumpReportDTO;
+import com.backend.export.ExportCodecs;
+import com.backend.services.SummaryDumpService;
+import com.backend.services.SummaryStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * GarminMaintenanceController provides admin-only endpoints for maintaining the MongoDB storage.
+ *
+ * Endpoints:
+ * 1. GET /garmin/admin/storage/stats
+ *    - Returns storage and working-set statistics for each summary collection.
+ *
+ * 2. POST /garmin/admin/storage/migrate-compact
+ *    - Rewrites stored summaries into the compact encoding (short keys, no nulls)
+ *      and returns the storage statistics before and after the migration.
+ *
+ * 3. GET /garmin/admin/cache/stats
+ *    - Returns hit/miss/eviction counters of the retrieval cache, overall and per key.
+ *
+ * 4. POST /garmin/admin/cache/clear
+ *    - Evicts every entry from the retrieval cache.
+ *
+ * 5. GET /garmin/admin/cache/coalescing
+ *    - Returns how many concurrent identical retrieval loads shared one MongoDB query.
+ *
+ * 6. GET /garmin/admin/limits/stats
+ *    - Returns the adaptive concurrency limit and the rate/concurrency rejection counters.
+ *
+ * 7. POST /garmin/admin/storage/dump?name=seed&codec=gzip
+ *    - Dumps the five summary collections to BSON files under a named dump (for seeding other environments).
+ *
+ * 8. POST /garmin/admin/storage/restore?name=seed
+ *    - Replaces the summary collections with a named dump and rebuilds their indexes.
+ */
+@RestController
+@RequestMapping("/garmin/admin")
+public class GarminMaintenanceController {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminMaintenanceController.class);
+   private final SummaryStorageService summaryStorageService;
+   private final SummaryCache summaryCache;
+   private final SingleFlight<SummaryCacheKey> singleFlight;
+   private final RateLimitFilter rateLimitFilter;
+   private final ConcurrencyLimitFilter concurrencyLimitFilter;
+   private final SummaryDumpService summaryDumpService;
+   private final ExportCodecs exportCodecs;
+
+   public GarminMaintenanceController(SummaryStorageService summaryStorageService, SummaryCache summaryCache,
+                                      SingleFlight<SummaryCacheKey> singleFlight, RateLimitFilter rateLimitFilter,
+                                      ConcurrencyLimitFilter concurrencyLimitFilter, SummaryDumpService summaryDumpService,
+                                      ExportCodecs exportCodecs) {
+      this.summaryStorageService = summaryStorageService;
+      this.summaryCache = summaryCache;
+      this.singleFlight = singleFlight;
+      this.rateLimitFilter = rateLimitFilter;
+      this.concurrencyLimitFilter = concurrencyLimitFilter;
+      this.summaryDumpService = summaryDumpService;
+      this.exportCodecs = exportCodecs;
+   }
+
+   /**
+    * Retrieves storage statistics for the summary collections.
+    *
+    * @return ResponseEntity containing one CollectionStorageStatsDTO per collection.
+    */
+   @GetMapping("/storage/stats")
+   public ResponseEntity<List<CollectionStorageStatsDTO>> getStorageStats() {
+      logger.info("Fetching storage statistics...");
+      return ResponseEntity.ok(summaryStorageService.getStorageStats());
+   }
+
+   /**
+    * Migrates the stored summaries to the compact encoding.
+    *
+    * @return ResponseEntity containing the migration report.
+    */
+   @PostMapping("/storage/migrate-compact")
+   public ResponseEntity<StorageMigrationReportDTO> migrateToCompactEncoding() {
+      logger.info("Starting compact encoding migration...");
+      StorageMigrationReportDTO report = summaryStorageService.migrateToCompactEncoding();
+      logger.info("Compact encoding migration finished. {} documents rewritten.", report.documentsRewritten());
+      return ResponseEntity.ok(report);
+   }
+
+   /**
+    * Retrieves the retrieval cache statistics.
+    *
+    * @return ResponseEntity containing the CacheStatsDTO.
+    */
+   @GetMapping("/cache/stats")
+   public ResponseEntity<CacheStatsDTO> getCacheStats() {
+      logger.info("Fetching cache statistics...");
+      return ResponseEntity.ok(summaryCache.stats());
+   }
+
+   /**
+    * Evicts every entry from the retrieval cache.
+    *
+    * @return an empty 204 response.
+    */
+   @PostMapping("/cache/clear")
+   public ResponseEntity<Void> clearCache() {
+      summaryCache.clear();
+      logger.info("🧹 Retrieval cache cleared.");
+      return ResponseEntity.noContent().build();
+   }
+
+   /**
+    * Retrieves the coalescing statistics of the retrieval loads.
+    *
+    * @return ResponseEntity containing the SingleFlightStatsDTO.
+    */
+   @GetMapping("/cache/coalescing")
+   public ResponseEntity<SingleFlightStatsDTO> getCoalescingStats() {
+      logger.info("Fetching coalescing statistics...");
+      return ResponseEntity.ok(singleFlight.stats());
+   }
+
+   /**
+    * Retrieves the state of the request limits.
+    *
+    * @return ResponseEntity containing the RequestLimitStatsDTO.
+    */
+   @GetMapping("/limits/stats")
+   public ResponseEntity<RequestLimitStatsDTO> getLimitStats() {
+      logger.info("Fetching request limit statistics...");
+      return ResponseEntity.ok(new RequestLimitStatsDTO(
+          concurrencyLimitFilter.currentLimit(), concurrencyLimitFilter.inFlight(), concurrencyLimitFilter.rejections(),
+          rateLimitFilter.rejections(), rateLimitFilter.trackedClients()));
+   }
+
+   /**
+    * Dumps the summary collections to BSON files.
+    *
+    * @param name  the dump name.
+    * @param codec the compression of the BSON files ("none" or "gzip").
+    * @return ResponseEntity containing the dump report.
+    */
+   @PostMapping("/storage/dump")
+   public ResponseEntity<SummaryDumpReportDTO> dumpSummaries(@RequestParam String name,
+                                                             @RequestParam(defaultValue = "gzip") String codec) {
+      logger.info("Starting summary dump '{}'...", name);
+      SummaryDumpReportDTO report = summaryDumpService.dump(name, exportCodecs.get(codec));
+      logger.info("Summary dump '{}' finished. {} documents in {} ms.", name, report.documents(), report.millis());
+      return ResponseEntity.ok(report);
+   }
+
+   /**
+    * Restores the summary collections from a dump, replacing their contents.
+    *
+    * @param name the dump name.
+    * @return ResponseEntity containing the restore report.
+    */
+   @PostMapping("/storage/restore")
+   public ResponseEntity<SummaryDumpReportDTO> restoreSummaries(@RequestParam String name) {
+      logger.info("Starting summary restore from '{}'...", name);
+      SummaryDumpReportDTO report = summaryDumpService.restore(name);
+      logger.info("Summary restore from '{}' finished. {} documents in {} ms.", name, report.documents(), report.millis());
+      return ResponseEntity.ok(report);
+   }
+}
@@ -1,13 +1,25 @@
 package com.backend.controllers;
 
+import com.backend.dtos.HeartRateIngestReportDTO;
+import com.backend.events.SummaryType;
+import com.backend.exceptions.GarminDataParsingException;
 import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.exceptions.JsonParsingException;
+import com.backend.export.ExportCodec;
+import com.backend.export.ExportCodecs;
 import com.backend.services.GarminProcessingService;
+import com.backend.services.HeartRateIngestService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -34,6 +46,15 @@ import java.util.Map;
  *      relative to that date, reformats them into a single RecentDailySummaries object (each numeric field is an array of 7 values),
  *      and saves that object.
 
+ * 6. POST /garmin/import/{period}?codec=none|gzip  (period: days, weeks, months, years)
+ *    - Imports an exported table (the JSON array or NDJSON body written by the table exports) without SQLite.
+ *      Rows are streamed from the request body through the same mapping, validation and upsert steps
+ *      as the endpoints above.
+
+ * 7. POST /garmin/process/heart-rate?databaseName=garmin_monitoring.db&tableName=monitoring_hr[&from=yyyy-MM-dd&to=yyyy-MM-dd]
+ *    - Packs minute-level heart rate readings into one document per day (heart_rate_days collection).
+ *      The table is read in date-partitioned chunks; without from/to every day with readings is ingested.
+
  * Each endpoint returns a JSON response indicating success or an error message with details.
  * Custom exceptions thrown from the service layer are caught and returned with appropriate HTTP status codes.
  */
@@ -43,9 +64,14 @@ public class GarminProcessingController {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminProcessingController.class);
    private final GarminProcessingService garminProcessingService;
+   private final ExportCodecs exportCodecs;
+   private final HeartRateIngestService heartRateIngestService;
 
-   public GarminProcessingController (GarminProcessingService garminProcessingService) {
+   public GarminProcessingController (GarminProcessingService garminProcessingService, ExportCodecs exportCodecs,
+                                      HeartRateIngestService heartRateIngestService) {
       this.garminProcessingService = garminProcessingService;
+      this.exportCodecs = exportCodecs;
+      this.heartRateIngestService = heartRateIngestService;
    }
 
    /**
@@ -183,4 +209,72 @@ public class GarminProcessingController {
              .body(Map.of("error", "Unexpected error processing RecentDailySummaries.", "details", e.getMessage()));
       }
    }
+
+   /**
+    * Imports exported summaries of one period from the request body.
+    * e.g. curl -X POST --data-binary @daily_summary.ndjson.gz "/garmin/import/days?codec=gzip"
+    *
+    * @param period the kind of summaries in the body: days, weeks, months or years.
+    * @param codec  the compression of the body, as chosen for the export.
+    * @param body   the exported JSON array or NDJSON.
+    * @return ResponseEntity with a JSON success message and the number of imported rows, or error details.
+    */
+   @PostMapping("/import/{period}")
+   public ResponseEntity<Map<String, Object>> importSummaries(
+       @PathVariable String period,
+       @RequestParam(defaultValue = "none") String codec,
+       InputStream body) {
+      SummaryType type = importType(period);
+      ExportCodec exportCodec = exportCodecs.get(codec);
+      logger.info("Starting import of {} summaries ({}).", type, exportCodec.name());
+
+      try (InputStream in = exportCodec.decompress(body)) {
+         long rows = garminProcessingService.importSummaries(type, in);
+         return ResponseEntity.ok(Map.of("message", "Imported " + period + " summaries.", "rows", rows));
+      } catch (JsonParsingException | GarminDataParsingException | IllegalArgumentException | DateTimeException e) {
+         logger.error("Rejected import of {} summaries: {}", type, e.getMessage());
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+             .body(Map.of("error", "Invalid " + period + " summary import.", "details", String.valueOf(e.getMessage())));
+      } catch (GarminProcessingException e) {
+         logger.error("Error importing {} summaries: {}", type, e.getMessage(), e);
+         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+             .body(Map.of("error", "Failed to import " + period + " summaries.", "details", e.getMessage()));
+      } catch (Exception e) {
+         logger.error("Unexpected error importing {} summaries: {}", type, e.getMessage(), e);
+         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+             .body(Map.of("error", "Unexpected error importing " + period + " summaries.",
+                          "details", String.valueOf(e.getMessage())));
+      }
+   }
+
+   /**
+    * Packs minute-level heart rate readings from SQLite into day documents.
+    * Errors are handled by the GlobalExceptionHandler.
+    *
+    * @param databaseName the SQLite database name (GarminDB's garmin_monitoring.db).
+    * @param tableName    the heart rate table (GarminDB's monitoring_hr).
+    * @param from         the first day to ingest; defaults to the first reading.
+    * @param to           the last day to ingest (inclusive); defaults to the last reading.
+    * @return ResponseEntity containing the ingestion report.
+    */
+   @PostMapping("/process/heart-rate")
+   public ResponseEntity<HeartRateIngestReportDTO> processHeartRate(
+       @RequestParam String databaseName,
+       @RequestParam(defaultValue = "monitoring_hr") String tableName,
+       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+      logger.info("Received request: databaseName={}, tableName={}, from={}, to={}", databaseName, tableName, from, to);
+      return ResponseEntity.ok(heartRateIngestService.ingest(databaseName, tableName, from, to));
+   }
+
+   private static SummaryType importType(String period) {
+      return switch (period) {
+         case "days" -> SummaryType.DAY;
+         case "weeks" -> SummaryType.WEEK;
+         case "months" -> SummaryType.MONTH;
+         case "years" -> SummaryType.YEAR;
+         default -> throw new InvalidQueryParameterException(
+             "Invalid import period: '" + period + "'. Valid options are: days, weeks, months, years");
+      };
+   }
 }
@@ -1,29 +1,33 @@
 package com.backend.controllers;
 
 import com.backend.dtos.BaseSummaryDTO;
-import com.backend.dtos.CurrentDaySummaryDTO;
-import com.backend.dtos.MonthlySummaryDTO;
-import com.backend.dtos.RecentDailySummariesDTO;
-import com.backend.dtos.WeeklySummaryDTO;
-import com.backend.dtos.YearlySummaryDTO;
+import com.backend.dtos.SummaryPage;
+import com.backend.dtos.SummaryPageRequest;
 import com.backend.exceptions.GarminProcessingException;
 import com.backend.services.GarminRetrievalService;
+import com.backend.services.SummaryStreamingService;
+import com.backend.utils.SummaryFieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * GarminRetrievalController provides GET endpoints for retrieving processed summary data from MongoDB.
  *
  * Endpoints:
  * 1. GET /garmin/days
- *    - Retrieves an array of day summary DTOs. Supports an optional "limit" parameter.
+ *    - Retrieves one page of day summary DTOs, newest first (see "Pagination" below).
  *
  * 2. GET /garmin/days/{day}
  *    - Retrieves a single day summary DTO for the specified date.
@@ -32,7 +36,7 @@ import java.util.Map;
  *    - Retrieves the recent daily summaries (last 7 days) based on a reference date.
  *
  * 4. GET /garmin/weeks
- *    - Retrieves an array of weekly summary DTOs. Supports an optional "limit" parameter.
+ *    - Retrieves one page of weekly summary DTOs, newest first (see "Pagination" below).
  *
  * 5. GET /garmin/weeks/{referenceDate}
  *    - Retrieves a single weekly summary DTO based on a reference date.
@@ -45,6 +49,26 @@ import java.util.Map;
  * 7. GET /garmin/years
  *    - Retrieves an array of yearly summary DTOs.
  *
+ * Pagination (/days and /weeks):
+ *    - "limit" sets the page size (default 30, capped at 366).
+ *    - "from"/"to" restrict the date range (inclusive, ISO dates).
+ *    - "before"/"after" take a cursor from a previous response and return the older/newer page.
+ *    - Cursors are returned in the X-Next-Cursor (older page) and X-Prev-Cursor (newer page)
+ *      headers and are omitted when there is no such page.
+ *
+ * Streaming (/days and /weeks):
+ *    - With "Accept: application/x-ndjson" or "stream=true", the whole from/to range is written
+ *      as NDJSON (one summary per line) straight from a MongoDB cursor, without paging.
+ *
+ * Binary formats:
+ *    - "Accept: application/cbor" or "Accept: application/x-jackson-smile" returns the same
+ *      documents in a binary encoding that writes each field name only once per response.
+ *      JSON remains the default; GET /garmin/schema describes the fields.
+ *
+ * Every endpoint accepts an optional "fields" parameter (e.g. fields=hrAvg,rhrAvg,sleepAvg).
+ * When present, only those metrics are read from MongoDB and returned; unknown metric names
+ * are rejected with 400 Bad Request.
+ *
  * The controller uses DTOs to ensure that only the required fields are exposed to the frontend,
  * and validation annotations ensure the data conforms to expected formats.
  */
@@ -53,70 +77,182 @@ import java.util.Map;
 public class GarminRetrievalController {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminRetrievalController.class);
+   public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+   public static final String PREV_CURSOR_HEADER = "X-Prev-Cursor";
+   private static final String NDJSON = "application/x-ndjson";
    private final GarminRetrievalService retrievalService;
+   private final SummaryStreamingService streamingService;
 
-   public GarminRetrievalController(GarminRetrievalService retrievalService) {
+   public GarminRetrievalController(GarminRetrievalService retrievalService,
+                                    SummaryStreamingService streamingService) {
       this.retrievalService = retrievalService;
+      this.streamingService = streamingService;
    }
 
    /**
-    * Retrieves an array of day summary DTOs.
+    * Retrieves one page of day summary DTOs, newest first.
     *
-    * @param limit optional parameter to limit the number of day summaries returned.
-    * @return ResponseEntity containing the list of CurrentDaySummaryDTO objects.
+    * @param limit  optional page size (default 30, capped at 366).
+    * @param before optional cursor; returns the page of older day summaries.
+    * @param after  optional cursor; returns the page of newer day summaries.
+    * @param from   optional earliest day to include (in ISO format).
+    * @param to     optional latest day to include (in ISO format).
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the day summaries (with all or only the selected metrics)
+    *         and the page cursors as headers.
     */
    @GetMapping("/days")
-   public ResponseEntity<List<CurrentDaySummaryDTO>> getAllDaySummaries(@RequestParam(defaultValue = "30") int limit) {
-      logger.info("Fetching up to {} day summaries...", limit);
-      return ResponseEntity.ok(retrievalService.getAllDaySummaries(limit));
+   public ResponseEntity<List<Map<String, Object>>> getAllDaySummaries(@RequestParam(defaultValue = "30") int limit,
+                                                                       @RequestParam(required = false) String before,
+                                                                       @RequestParam(required = false) String after,
+                                                                       @RequestParam(required = false) String from,
+                                                                       @RequestParam(required = false) String to,
+                                                                       @RequestParam(required = false) String fields) {
+      logger.info("Fetching up to {} day summaries (before={}, after={}, from={}, to={})...", limit, before, after, from, to);
+      SummaryPageRequest request = new SummaryPageRequest(before, after, parseDate(from), parseDate(to), limit);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return pageResponse(select(selectedFields, () -> retrievalService.getDaySummaryPage(request),
+                                 page -> page.map(GarminRetrievalController::allFields),
+                                 selected -> retrievalService.getDaySummaryPage(request, selected)));
+   }
+
+   /**
+    * Streams all day summaries in the range as NDJSON (selected with "Accept: application/x-ndjson").
+    *
+    * @param from   optional earliest day to include (in ISO format).
+    * @param to     optional latest day to include (in ISO format).
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity with a StreamingResponseBody writing one summary per line.
+    */
+   @GetMapping(value = "/days", produces = NDJSON)
+   public ResponseEntity<StreamingResponseBody> streamDaySummaries(@RequestParam(required = false) String from,
+                                                                   @RequestParam(required = false) String to,
+                                                                   @RequestParam(required = false) String fields) {
+      logger.info("Streaming day summaries (from={}, to={})...", from, to);
+      LocalDate fromDay = parseDate(from);
+      LocalDate toDay = parseDate(to);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ndjsonResponse(out -> streamingService.writeDaySummaries(fromDay, toDay, selectedFields, out));
+   }
+
+   /**
+    * Streams all day summaries in the range as NDJSON (selected with "stream=true").
+    */
+   @GetMapping(value = "/days", params = "stream=true")
+   public ResponseEntity<StreamingResponseBody> streamDaySummariesByFlag(@RequestParam(required = false) String from,
+                                                                         @RequestParam(required = false) String to,
+                                                                         @RequestParam(required = false) String fields) {
+      return streamDaySummaries(from, to, fields);
    }
 
    /**
     * Retrieves a single day summary DTO for the specified date.
     *
-    * @param day the day (in ISO format) to retrieve the summary for.
-    * @return ResponseEntity containing the CurrentDaySummaryDTO.
+    * @param day    the day (in ISO format) to retrieve the summary for.
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the day summary (with all or only the selected metrics).
     */
    @GetMapping("/days/{day}")
-   public ResponseEntity<CurrentDaySummaryDTO> getDaySummary(@PathVariable String day) {
+   public ResponseEntity<Map<String, Object>> getDaySummary(@PathVariable String day,
+                                                            @RequestParam(required = false) String fields) {
       logger.info("Fetching day summary for date {}...", day);
-      return ResponseEntity.ok(retrievalService.getDaySummary(LocalDate.parse(day)));
+      LocalDate date = LocalDate.parse(day);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ResponseEntity.ok(select(selectedFields, () -> retrievalService.getDaySummary(date),
+                                      GarminRetrievalController::allFields,
+                                      selected -> retrievalService.getDaySummary(date, selected)));
    }
 
    /**
     * Retrieves the recent daily summaries (last 7 days) based on a reference date.
     *
     * @param referenceDate the reference date (in ISO format) to fetch the recent daily summaries.
-    * @return ResponseEntity containing the RecentDailySummariesDTO.
+    * @param fields        optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the recent daily summaries (with all or only the selected metrics).
     */
    @GetMapping("/recent/{referenceDate}")
-   public ResponseEntity<RecentDailySummariesDTO> getRecentDailySummaries(@PathVariable String referenceDate) {
+   public ResponseEntity<Map<String, Object>> getRecentDailySummaries(@PathVariable String referenceDate,
+                                                                      @RequestParam(required = false) String fields) {
       logger.info("Fetching recent daily summaries for reference date {}...", referenceDate);
-      return ResponseEntity.ok(retrievalService.getRecentDailySummaries(LocalDate.parse(referenceDate)));
+      LocalDate date = LocalDate.parse(referenceDate);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ResponseEntity.ok(select(selectedFields, () -> retrievalService.getRecentDailySummaries(date),
+                                      GarminRetrievalController::allFields,
+                                      selected -> retrievalService.getRecentDailySummaries(date, selected)));
    }
 
    /**
-    * Retrieves an array of weekly summary DTOs.
+    * Retrieves one page of weekly summary DTOs, newest first.
     *
-    * @param limit optional parameter to limit the number of weekly summaries returned.
-    * @return ResponseEntity containing the list of WeeklySummaryDTO objects.
+    * @param limit  optional page size (default 30, capped at 366).
+    * @param before optional cursor; returns the page of older weekly summaries.
+    * @param after  optional cursor; returns the page of newer weekly summaries.
+    * @param from   optional earliest week start to include (in ISO format).
+    * @param to     optional latest week start to include (in ISO format).
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the weekly summaries (with all or only the selected metrics)
+    *         and the page cursors as headers.
     */
    @GetMapping("/weeks")
-   public ResponseEntity<List<WeeklySummaryDTO>> getAllWeekSummaries(@RequestParam(defaultValue = "30") int limit) {
-      logger.info("Fetching up to {} weekly summaries...", limit);
-      return ResponseEntity.ok(retrievalService.getAllWeekSummaries(limit));
+   public ResponseEntity<List<Map<String, Object>>> getAllWeekSummaries(@RequestParam(defaultValue = "30") int limit,
+                                                                        @RequestParam(required = false) String before,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(required = false) String from,
+                                                                        @RequestParam(required = false) String to,
+                                                                        @RequestParam(required = false) String fields) {
+      logger.info("Fetching up to {} weekly summaries (before={}, after={}, from={}, to={})...", limit, before, after, from, to);
+      SummaryPageRequest request = new SummaryPageRequest(before, after, parseDate(from), parseDate(to), limit);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return pageResponse(select(selectedFields, () -> retrievalService.getWeekSummaryPage(request),
+                                 page -> page.map(GarminRetrievalController::allFields),
+                                 selected -> retrievalService.getWeekSummaryPage(request, selected)));
+   }
+
+   /**
+    * Streams all weekly summaries in the range as NDJSON (selected with "Accept: application/x-ndjson").
+    *
+    * @param from   optional earliest week start to include (in ISO format).
+    * @param to     optional latest week start to include (in ISO format).
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity with a StreamingResponseBody writing one summary per line.
+    */
+   @GetMapping(value = "/weeks", produces = NDJSON)
+   public ResponseEntity<StreamingResponseBody> streamWeekSummaries(@RequestParam(required = false) String from,
+                                                                    @RequestParam(required = false) String to,
+                                                                    @RequestParam(required = false) String fields) {
+      logger.info("Streaming weekly summaries (from={}, to={})...", from, to);
+      LocalDate fromDay = parseDate(from);
+      LocalDate toDay = parseDate(to);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ndjsonResponse(out -> streamingService.writeWeekSummaries(fromDay, toDay, selectedFields, out));
+   }
+
+   /**
+    * Streams all weekly summaries in the range as NDJSON (selected with "stream=true").
+    */
+   @GetMapping(value = "/weeks", params = "stream=true")
+   public ResponseEntity<StreamingResponseBody> streamWeekSummariesByFlag(@RequestParam(required = false) String from,
+                                                                          @RequestParam(required = false) String to,
+                                                                          @RequestParam(required = false) String fields) {
+      return streamWeekSummaries(from, to, fields);
    }
 
    /**
     * Retrieves a weekly summary DTO based on the reference date.
     *
     * @param referenceDate the reference date to determine the week.
-    * @return ResponseEntity containing the WeeklySummaryDTO.
+    * @param fields        optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the weekly summary (with all or only the selected metrics).
     */
    @GetMapping("/weeks/{referenceDate}")
-   public ResponseEntity<WeeklySummaryDTO> getWeekSummary(@PathVariable String referenceDate) {
+   public ResponseEntity<Map<String, Object>> getWeekSummary(@PathVariable String referenceDate,
+                                                             @RequestParam(required = false) String fields) {
       logger.info("Fetching weekly summary for reference date {}...", referenceDate);
-      return ResponseEntity.ok(retrievalService.getWeekSummary(LocalDate.parse(referenceDate)));
+      LocalDate date = LocalDate.parse(referenceDate);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ResponseEntity.ok(select(selectedFields, () -> retrievalService.getWeekSummary(date),
+                                      GarminRetrievalController::allFields,
+                                      selected -> retrievalService.getWeekSummary(date, selected)));
    }
 
    /**
@@ -125,23 +261,21 @@ public class GarminRetrievalController {
     * <p>If no query parameters are provided, returns all monthly summaries.
     * If the "year" parameter is provided, returns only the monthly summaries for that year.
     *
-    * @param year optional; filter by year.
-    * @return ResponseEntity containing the list of MonthlySummaryDTO objects.
+    * @param year   optional; filter by year.
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the monthly summaries (with all or only the selected metrics).
     */
    @GetMapping("/months")
-   public ResponseEntity<List<MonthlySummaryDTO>> getMonthSummaries(
-       @RequestParam(required = false) Integer year) {
+   public ResponseEntity<List<Map<String, Object>>> getMonthSummaries(
+       @RequestParam(required = false) Integer year,
+       @RequestParam(required = false) String fields) {
       logger.info("Fetching monthly summaries with year={}", year);
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields); // Unknown fields are a 400, not a 500
       try {
-         List<MonthlySummaryDTO> dtos;
-         if (year == null) {
-            // Retrieve all monthly summaries.
-            dtos = retrievalService.getMonthSummaries(null);
-         } else {
-            // Retrieve only monthly summaries for the specified year.
-            dtos = retrievalService.getMonthSummaries(year);
-         }
-         return ResponseEntity.ok(dtos);
+         // A null year retrieves all monthly summaries.
+         return ResponseEntity.ok(select(selectedFields, () -> retrievalService.getMonthSummaries(year),
+                                         dtos -> dtos.stream().map(GarminRetrievalController::allFields).toList(),
+                                         selected -> retrievalService.getMonthSummaries(year, selected)));
       } catch (GarminProcessingException e) {
          logger.error("Error retrieving monthly summaries: {}", e.getMessage(), e);
          return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
@@ -154,11 +288,58 @@ public class GarminRetrievalController {
    /**
     * Retrieves an array of yearly summary DTOs.
     *
-    * @return ResponseEntity containing the list of YearlySummaryDTO objects.
+    * @param fields optional comma-separated list of metrics to return.
+    * @return ResponseEntity containing the yearly summaries (with all or only the selected metrics).
     */
    @GetMapping("/years")
-   public ResponseEntity<List<YearlySummaryDTO>> getYearSummaries() {
+   public ResponseEntity<List<Map<String, Object>>> getYearSummaries(@RequestParam(required = false) String fields) {
       logger.info("Fetching year summaries...");
-      return ResponseEntity.ok(retrievalService.getYearSummaries());
+      Set<String> selectedFields = SummaryFieldUtils.parseFields(fields);
+      return ResponseEntity.ok(select(selectedFields, retrievalService::getYearSummaries,
+                                      dtos -> dtos.stream().map(GarminRetrievalController::allFields).toList(),
+                                      retrievalService::getYearSummaries));
+   }
+
+   /**
+    * Applies the "fields" parameter: without it the full DTOs are read (through the summary
+    * cache) and returned with every metric, otherwise only the selected metrics are read.
+    * Both give the same map shape, so every endpoint has one response type.
+    *
+    * @param fields the parsed "fields" parameter; empty for all metrics.
+    * @param full   reads the full DTOs.
+    * @param toMaps converts the full DTOs into maps with every metric.
+    * @param sparse reads only the selected metrics.
+    */
+   private static <D, R> R select(Set<String> fields, Supplier<D> full, Function<D, R> toMaps,
+                                  Function<Set<String>, R> sparse) {
+      return fields.isEmpty() ? toMaps.apply(full.get()) : sparse.apply(fields);
+   }
+
+   private static Map<String, Object> allFields(Record dto) {
+      return SummaryFieldUtils.selectFields(dto, SummaryFieldUtils.storedFieldNames().keySet());
+   }
+
+   /**
+    * Builds a response with the page items as body and its cursors as headers.
+    */
+   private static <T> ResponseEntity<List<T>> pageResponse(SummaryPage<T> page) {
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (page.nextCursor() != null) {
+         response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+      }
+      if (page.prevCursor() != null) {
+         response.header(PREV_CURSOR_HEADER, page.prevCursor());
+      }
+      return response.body(page.items());
+   }
+
+   private static ResponseEntity<StreamingResponseBody> ndjsonResponse(StreamingResponseBody body) {
+      return ResponseEntity.ok()
+          .contentType(MediaType.parseMediaType(NDJSON))
+          .body(body);
+   }
+
+   private static LocalDate parseDate(String date) {
+      return (date == null || date.isBlank()) ? null : LocalDate.parse(date);
    }
 }
@@ -1,11 +1,21 @@
 package com.backend.controllers;
 
+import com.backend.dtos.ExportFormat;
+import com.backend.dtos.ExportReportDTO;
+import com.backend.dtos.IncrementalExportReportDTO;
+import com.backend.dtos.ManifestVerificationDTO;
+import com.backend.export.ExportCodecs;
 import com.backend.services.GarminDataExportService;
+import com.backend.services.IncrementalExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +26,15 @@ public class GarminSQLiteController {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminSQLiteController.class);
    private final GarminDataExportService garminDataExportService;
+   private final IncrementalExportService incrementalExportService;
+   private final ExportCodecs exportCodecs;
 
-   public GarminSQLiteController(GarminDataExportService garminDataExportService) {
+   public GarminSQLiteController(GarminDataExportService garminDataExportService,
+                                 IncrementalExportService incrementalExportService,
+                                 ExportCodecs exportCodecs) {
       this.garminDataExportService = garminDataExportService;
+      this.incrementalExportService = incrementalExportService;
+      this.exportCodecs = exportCodecs;
    }
 
    /**
@@ -52,4 +68,74 @@ public class GarminSQLiteController {
       List<String> savedTables = garminDataExportService.saveAllTablesAsJson(databaseName);
       return Map.of("message", "All tables exported successfully", "tables", savedTables);
    }
+
+   /**
+    * Exports a specific table in the requested format and compression.
+    * e.g. POST /garmin-sqlite/export-table?databaseName=garmin.db&tableName=daily_summary&format=ndjson&codec=gzip
+    * Writes daily_summary.ndjson.gz and returns the rows, bytes and throughput of the export.
+    */
+   @PostMapping("/export-table")
+   public ExportReportDTO exportTable(@RequestParam String databaseName,
+                                      @RequestParam String tableName,
+                                      @RequestParam(defaultValue = "json") String format,
+                                      @RequestParam(defaultValue = "none") String codec,
+                                      @RequestParam(defaultValue = "false") boolean pretty) {
+      return garminDataExportService.exportTable(databaseName, tableName, ExportFormat.fromParam(format),
+                                                 exportCodecs.get(codec), pretty);
+   }
+
+   /**
+    * Exports all SQLite tables in the requested format and compression.
+    * e.g. POST /garmin-sqlite/export-all-tables?databaseName=garmin.db&format=ndjson&codec=gzip
+    */
+   @PostMapping("/export-all-tables")
+   public List<ExportReportDTO> exportAllTables(@RequestParam String databaseName,
+                                                @RequestParam(defaultValue = "json") String format,
+                                                @RequestParam(defaultValue = "none") String codec) {
+      return garminDataExportService.exportAllTables(databaseName, ExportFormat.fromParam(format), exportCodecs.get(codec));
+   }
+
+   /**
+    * Downloads all SQLite tables as a zip archive with one entry per table, without writing to disk.
+    * e.g. GET /garmin-sqlite/download?databaseName=garmin.db&format=ndjson
+    * The archive is streamed row by row with chunked transfer encoding; table names are resolved
+    * first so a bad database name still fails with a regular error response.
+    * The archive is written on the request thread rather than as an async StreamingResponseBody,
+    * so a large database is not cut off by spring.mvc.async.request-timeout (meant for listings).
+    */
+   @GetMapping("/download")
+   public void downloadAllTables(@RequestParam String databaseName,
+                                 @RequestParam(defaultValue = "ndjson") String format,
+                                 HttpServletResponse response) throws IOException {
+      ExportFormat exportFormat = ExportFormat.fromParam(format);
+      List<String> tableNames = garminDataExportService.getAllTableNames(databaseName);
+      logger.info("📌 Received download request for DB: '{}' ({} tables)", databaseName, tableNames.size());
+
+      String fileName = databaseName.replace(".db", "") + "-export.zip";
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.setContentType("application/zip");
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+      garminDataExportService.writeTablesAsZip(databaseName, tableNames, exportFormat, response.getOutputStream());
+      response.flushBuffer();
+   }
+
+   /**
+    * Exports all SQLite tables incrementally into NDJSON chunks with a manifest per table.
+    * Only chunks whose rows changed since the previous run are rewritten.
+    * e.g. POST /garmin-sqlite/export-incremental?databaseName=garmin.db&codec=gzip
+    */
+   @PostMapping("/export-incremental")
+   public List<IncrementalExportReportDTO> exportIncremental(@RequestParam String databaseName,
+                                                            @RequestParam(defaultValue = "none") String codec) {
+      return incrementalExportService.exportAllTables(databaseName, exportCodecs.get(codec));
+   }
+
+   /**
+    * Checks the chunk files of a table's incremental export against its manifest.
+    * e.g. GET /garmin-sqlite/export-manifest/verify?databaseName=garmin.db&tableName=daily_summary
+    */
+   @GetMapping("/export-manifest/verify")
+   public ManifestVerificationDTO verifyExport(@RequestParam String databaseName, @RequestParam String tableName) {
+      return incrementalExportService.verify(databaseName, tableName);
+   }
 }
@@ -0,0 +1,37 @@
+package com.backend.controllers;
+
+import com.backend.dtos.PayloadSchemaDTO;
+import com.backend.services.PayloadSchemaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * GarminSchemaController publishes the structure of the summary payloads.
+ *
+ * Endpoints:
+ * 1. GET /garmin/schema
+ *    - Returns the supported media types and, per DTO, the name and type of every field in
+ *      payload order, plus a version that changes with the structure.
+ *    - Clients send one of the media types in the Accept header of the retrieval endpoints
+ *      (e.g. "Accept: application/cbor") and decode the response with this schema.
+ */
+@RestController
+@RequestMapping("/garmin")
+public class GarminSchemaController {
+
+   private final PayloadSchemaService schemaService;
+
+   public GarminSchemaController(PayloadSchemaService schemaService) {
+      this.schemaService = schemaService;
+   }
+
+   /**
+    * Retrieves the payload schema.
+    *
+    * @return ResponseEntity containing the PayloadSchemaDTO.
+    */
+   @GetMapping("/schema")
+   public ResponseEntity<PayloadSchemaDTO> getSchema() {
+      return ResponseEntity.ok(schemaService.getSchema());
+   }
+}
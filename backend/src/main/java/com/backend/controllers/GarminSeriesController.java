@@ -0,0 +1,59 @@
+package com.backend.controllers;
+
+import com.backend.dtos.DownsamplingMode;
+import com.backend.dtos.SeriesDTO;
+import com.backend.services.GarminSeriesService;
+import com.backend.utils.SummaryFieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * GarminSeriesController serves day metrics as aligned columns for charts.
+ *
+ * Endpoints:
+ * 1. GET /garmin/series?metrics=rhrAvg,sleepAvg,weightAvg&from=2024-01-01&to=2024-12-31
+ *    - Returns the days that have a summary as a shared axis, plus one array per metric
+ *      (integers, decimals, or seconds for durations) with a base64 null bitmap.
+ *    - "maxPoints" (optional) caps the values per metric for long ranges; ranges with more days
+ *      are downsampled with "downsample=lttb" (default) or "downsample=minmax". Downsampled
+ *      metrics carry their own "offsets" (days since "from") instead of the shared axis.
+ *    - Unknown metrics, a missing metric list, an inverted range or a too small maxPoints
+ *      return 400 Bad Request.
+ */
+@RestController
+@RequestMapping("/garmin")
+public class GarminSeriesController {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminSeriesController.class);
+   private final GarminSeriesService seriesService;
+
+   public GarminSeriesController(GarminSeriesService seriesService) {
+      this.seriesService = seriesService;
+   }
+
+   /**
+    * Retrieves the series of the given metrics for a date range.
+    *
+    * @param metrics    comma-separated list of metrics.
+    * @param from       the first day of the range (in ISO format).
+    * @param to         the last day of the range, inclusive (in ISO format).
+    * @param maxPoints  optional maximum number of values per metric.
+    * @param downsample the downsampling algorithm: lttb or minmax.
+    * @return ResponseEntity containing the SeriesDTO.
+    */
+   @GetMapping("/series")
+   public ResponseEntity<SeriesDTO> getSeries(@RequestParam String metrics,
+                                              @RequestParam String from,
+                                              @RequestParam String to,
+                                              @RequestParam(required = false) Integer maxPoints,
+                                              @RequestParam(defaultValue = "lttb") String downsample) {
+      logger.info("Fetching series for {} from {} to {} (maxPoints={})...", metrics, from, to, maxPoints);
+      return ResponseEntity.ok(seriesService.getSeries(
+          SummaryFieldUtils.parseFields(metrics), LocalDate.parse(from), LocalDate.parse(to),
+          maxPoints, DownsamplingMode.fromParam(downsample)));
+   }
+}
@@ -0,0 +1,56 @@
+package com.backend.controllers;
+
+import com.backend.dtos.StatsGranularity;
+import com.backend.dtos.StatsResponseDTO;
+import com.backend.services.GarminStatsService;
+import com.backend.utils.SummaryFieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * GarminStatsController provides aggregate statistics over arbitrary date ranges.
+ *
+ * Endpoints:
+ * 1. GET /garmin/stats?metrics=rhrAvg,sleepAvg&from=2024-03-10&to=2024-05-02&granularity=week
+ *    - Returns min, max, avg, sum and count for each requested metric, grouped into
+ *      day, week (Monday-based) or month buckets. Defaults to a single bucket per day.
+ *    - Duration metrics (HH:MM:SS) are aggregated in seconds.
+ *    - Unknown metrics, an unsupported granularity or an inverted range return 400 Bad Request.
+ */
+@RestController
+@RequestMapping("/garmin")
+public class GarminStatsController {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminStatsController.class);
+   private final GarminStatsService statsService;
+
+   public GarminStatsController(GarminStatsService statsService) {
+      this.statsService = statsService;
+   }
+
+   /**
+    * Retrieves aggregate statistics for the given metrics and date range.
+    *
+    * @param metrics     comma-separated list of metrics to aggregate.
+    * @param from        the first day of the range (in ISO format).
+    * @param to          the last day of the range, inclusive (in ISO format).
+    * @param granularity the bucket size: day, week or month.
+    * @return ResponseEntity containing the StatsResponseDTO.
+    */
+   @GetMapping("/stats")
+   public ResponseEntity<StatsResponseDTO> getStats(@RequestParam String metrics,
+                                                    @RequestParam String from,
+                                                    @RequestParam String to,
+                                                    @RequestParam(defaultValue = "day") String granularity) {
+      logger.info("Fetching {} stats for {} from {} to {}...", granularity, metrics, from, to);
+      return ResponseEntity.ok(statsService.getStats(
+          SummaryFieldUtils.parseFields(metrics),
+          LocalDate.parse(from),
+          LocalDate.parse(to),
+          StatsGranularity.fromParam(granularity)));
+   }
+}
@@ -0,0 +1,11 @@
+package com.backend.dtos;
+
+/**
+ * DTO with the statistics of a single retrieval cache key.
+ */
+public record CacheKeyStatsDTO(
+    String key, // Cache key (e.g. "DAY/2024-03-10")
+    long hits, // Lookups served from the cache
+    long misses, // Lookups that went to MongoDB
+    boolean cached // Whether the key currently has a cached value
+) {}
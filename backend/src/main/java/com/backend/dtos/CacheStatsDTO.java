@@ -0,0 +1,19 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * DTO describing the state and effectiveness of the retrieval cache.
+ */
+public record CacheStatsDTO(
+    int size, // Entries currently cached
+    int maxEntries, // Configured capacity
+    long ttlSeconds, // Configured time-to-live
+    long hits, // Lookups served from the cache
+    long misses, // Lookups that went to MongoDB
+    double hitRatio, // hits / (hits + misses)
+    long evictions, // Entries dropped because the cache was full
+    long expirations, // Entries dropped because their TTL had passed
+    long invalidations, // Entries dropped because their data changed
+    List<CacheKeyStatsDTO> keys // Per-key statistics, most recently used first
+) {}
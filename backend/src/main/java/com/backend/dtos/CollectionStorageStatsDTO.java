@@ -0,0 +1,18 @@
+package com.backend.dtos;
+
+/**
+ * Storage statistics for a single MongoDB collection, as reported by {@code collStats}.
+ *
+ * All sizes are in bytes. {@code workingSetBytes} is the uncompressed data size plus the
+ * index size, i.e. what has to fit in the WiredTiger cache for the collection to be served from memory.
+ */
+public record CollectionStorageStatsDTO(
+    String collection,    // Collection name
+    long count,           // Number of documents
+    long size,            // Uncompressed data size
+    long avgObjSize,      // Average BSON document size
+    long storageSize,     // Compressed size on disk
+    long totalIndexSize,  // Size of all indexes
+    long workingSetBytes  // size + totalIndexSize
+) {
+}
@@ -0,0 +1,14 @@
+package com.backend.dtos;
+
+/**
+ * DTO returned by the dashboard endpoint: everything the first dashboard render needs.
+ * Parts are loaded independently, so one missing part does not fail the others.
+ */
+public record DashboardDTO(
+    String date, // Reference date of the dashboard (YYYY-MM-DD)
+    DashboardPartDTO currentDay, // Day summary for the date
+    DashboardPartDTO recentDays, // 7-day window ending at the date
+    DashboardPartDTO recentWeeks, // Latest weekly summaries up to the date, newest first
+    DashboardPartDTO months, // Monthly summaries of the date's year, newest first
+    long totalMillis // Wall-clock time for the whole bundle
+) {}
@@ -0,0 +1,18 @@
+package com.backend.dtos;
+
+/**
+ * One part of the dashboard bundle: its data, or the reason it could not be loaded.
+ */
+public record DashboardPartDTO(
+    Object data, // The part's DTO(s) or trimmed summaries; null if the part failed
+    String error, // Why the part failed (e.g. no summary for the date); null on success
+    long millis // Time spent loading this part
+) {
+   public static DashboardPartDTO success(Object data, long millis) {
+      return new DashboardPartDTO(data, null, millis);
+   }
+
+   public static DashboardPartDTO failure(String error, long millis) {
+      return new DashboardPartDTO(null, error, millis);
+   }
+}
@@ -0,0 +1,12 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * Payload of the "data-changed" server-sent event published after each ingest run.
+ */
+public record DataChangedEventDTO(
+    String type, // Summary type that changed: DAY, WEEK, MONTH, YEAR or RECENT
+    List<String> periods, // Date keys of the written summaries (YYYY-MM-DD), ascending
+    long version // New data version of the summary type (matches the ETag version)
+) {}
@@ -0,0 +1,51 @@
+package com.backend.dtos;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Downsampling algorithm for long-range series.
+ */
+public enum DownsamplingMode {
+   LTTB("lttb", 3), // Largest-Triangle-Three-Buckets: one visually significant point per bucket
+   MINMAX("minmax", 2); // Lowest and highest point per bucket: keeps every spike
+
+   private final String param;
+   private final int minPoints;
+
+   DownsamplingMode(String param, int minPoints) {
+      this.param = param;
+      this.minPoints = minPoints;
+   }
+
+   /**
+    * @return the request parameter value for this mode.
+    */
+   public String param() {
+      return param;
+   }
+
+   /**
+    * @return the smallest supported maxPoints for this mode.
+    */
+   public int minPoints() {
+      return minPoints;
+   }
+
+   /**
+    * Parses a request parameter (case-insensitive) into a downsampling mode.
+    *
+    * @param value the parameter value (e.g. "lttb").
+    * @return the matching DownsamplingMode.
+    * @throws InvalidQueryParameterException if the value is not a supported mode.
+    */
+   public static DownsamplingMode fromParam(String value) {
+      return Arrays.stream(values())
+          .filter(mode -> mode.param.equals(value.trim().toLowerCase(Locale.ROOT)))
+          .findFirst()
+          .orElseThrow(() -> new InvalidQueryParameterException(
+              "Unsupported downsampling: " + value + " (expected lttb or minmax)"));
+   }
+}
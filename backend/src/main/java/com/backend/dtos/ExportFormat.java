@@ -0,0 +1,52 @@
+package com.backend.dtos;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Layout of an exported table file.
+ */
+public enum ExportFormat {
+   JSON("json", ".json"),           // One JSON array holding every row
+   NDJSON("ndjson", ".ndjson"),     // One JSON object per line: appendable and readable row by row
+   COLUMNAR("columnar", ".hrvc");   // Typed, dictionary-encoded column batches (see ColumnarFormat)
+
+   private final String param;
+   private final String extension;
+
+   ExportFormat(String param, String extension) {
+      this.param = param;
+      this.extension = extension;
+   }
+
+   /**
+    * @return the request parameter value for this format.
+    */
+   public String param() {
+      return param;
+   }
+
+   /**
+    * @return the file extension for this format, before any codec extension.
+    */
+   public String extension() {
+      return extension;
+   }
+
+   /**
+    * Parses a request parameter (case-insensitive) into an export format.
+    *
+    * @param value the parameter value (e.g. "ndjson").
+    * @return the matching ExportFormat.
+    * @throws InvalidQueryParameterException if the value is not a supported format.
+    */
+   public static ExportFormat fromParam(String value) {
+      return Arrays.stream(values())
+          .filter(format -> format.param.equals(value.trim().toLowerCase(Locale.ROOT)))
+          .findFirst()
+          .orElseThrow(() -> new InvalidQueryParameterException(
+              "Unsupported export format: " + value + " (expected json, ndjson or columnar)"));
+   }
+}
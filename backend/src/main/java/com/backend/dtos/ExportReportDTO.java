@@ -0,0 +1,19 @@
+package com.backend.dtos;
+
+/**
+ * Result of exporting one SQLite table to a file.
+ *
+ * Throughput is measured over the whole export, from the first query to the final rename.
+ */
+public record ExportReportDTO(
+    String table,        // Exported table
+    String file,         // Written file, or null if the table was empty and skipped
+    String format,       // File layout (json or ndjson)
+    String codec,        // Compression (none, gzip)
+    long rows,           // Rows written
+    long bytes,          // Size of the written file, after compression
+    long millis,         // Duration of the export
+    long rowsPerSecond,  // Rows written per second
+    long bytesPerSecond  // Bytes written per second
+) {
+}
@@ -0,0 +1,18 @@
+package com.backend.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * Result of packing minute-level heart rate readings into day documents.
+ */
+public record HeartRateIngestReportDTO(
+    LocalDate from,        // First day read
+    LocalDate to,          // Last day read (inclusive)
+    int partitions,        // Date-partitioned reads from SQLite
+    long days,             // Day documents written
+    long samples,          // Heart rate readings packed
+    long skipped,          // Rows without a usable heart rate
+    long millis,           // Duration of the ingestion
+    long samplesPerSecond  // Readings packed per second
+) {
+}
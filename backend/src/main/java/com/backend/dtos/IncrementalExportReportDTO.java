@@ -0,0 +1,19 @@
+package com.backend.dtos;
+
+/**
+ * Result of an incremental export of one SQLite table.
+ *
+ * Only chunks whose rows changed are rewritten; rows past the previous export are written to new chunks.
+ */
+public record IncrementalExportReportDTO(
+    String table,          // Exported table
+    String manifest,       // Path of the written manifest
+    long rows,             // Rows over all chunks
+    int chunksUnchanged,   // Chunks whose checksum matched and were left untouched
+    int chunksRewritten,   // Existing chunks whose rows changed
+    int chunksAppended,    // New chunks holding rows past the previous export
+    int chunksRemoved,     // Chunks whose key range no longer holds any rows
+    long bytesWritten,     // Bytes written to chunk files
+    long millis            // Duration of the export
+) {
+}
@@ -0,0 +1,15 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * Result of checking the chunk files of an incremental export against its manifest.
+ */
+public record ManifestVerificationDTO(
+    String table,          // Verified table
+    int chunks,            // Chunks listed in the manifest
+    long rows,             // Rows listed in the manifest
+    boolean valid,         // True if every chunk file exists and matches its size and checksum
+    List<String> problems  // One message per missing or corrupt chunk file
+) {
+}
@@ -0,0 +1,21 @@
+package com.backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One metric of a series response, aligned with the shared date axis.
+ * Downsampled metrics carry their own x positions instead, as each keeps different days.
+ */
+public record MetricSeriesDTO(
+    String type, // "int", "double" or "seconds" (durations converted from HH:MM:SS)
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    int[] offsets, // Downsampled only: days since "from" of each value; null values are dropped
+
+    Object values, // int[] or double[], one value per day of the axis (or per offset); 0 where the value is null
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nulls, // Base64 bitmap, bit i (LSB first) set = value i is null; omitted when there are none
+
+    int nullCount // Number of null values
+) {}
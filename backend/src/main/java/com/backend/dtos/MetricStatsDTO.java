@@ -0,0 +1,15 @@
+package com.backend.dtos;
+
+/**
+ * DTO holding the aggregate statistics of one metric within one bucket.
+ *
+ * Duration metrics (HH:MM:SS in the summaries) are aggregated in seconds.
+ * min, max, avg and sum are null when the bucket has no recorded value for the metric.
+ */
+public record MetricStatsDTO(
+    Double min, // Smallest recorded value
+    Double max, // Largest recorded value
+    Double avg, // Mean of the recorded values
+    Double sum, // Sum of the recorded values
+    long count  // Number of days with a recorded value
+) {}
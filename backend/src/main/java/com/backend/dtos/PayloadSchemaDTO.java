@@ -0,0 +1,14 @@
+package com.backend.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO describing the structure of the summary payloads, shared by every encoding.
+ * Binary clients use it to decode CBOR/Smile documents without guessing field types.
+ */
+public record PayloadSchemaDTO(
+    String version, // Changes whenever a field is added, removed or retyped
+    List<String> formats, // Media types accepted in the Accept header; the first is the default
+    Map<String, Map<String, String>> types // DTO name -> field name -> type, in payload order
+) {}
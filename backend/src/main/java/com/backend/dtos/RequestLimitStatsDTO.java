@@ -0,0 +1,12 @@
+package com.backend.dtos;
+
+/**
+ * DTO describing the state of the request rate and concurrency limits.
+ */
+public record RequestLimitStatsDTO(
+    int concurrencyLimit, // Current adaptive limit for MongoDB-backed reads
+    int inFlight, // Admitted reads still running
+    long overloadRejections, // Reads rejected with 503 because the limit was reached
+    long rateLimitRejections, // Requests rejected with 429 because a client ran out of tokens
+    int rateLimitedClients // Clients (sessions or IPs) currently tracked by the rate limiter
+) {}
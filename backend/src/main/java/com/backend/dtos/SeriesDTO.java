@@ -0,0 +1,22 @@
+package com.backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO returned by the series endpoint: a shared date axis plus one column per metric.
+ */
+public record SeriesDTO(
+    String from, // First day of the requested range (YYYY-MM-DD)
+    String to, // Last day of the requested range, inclusive (YYYY-MM-DD)
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String downsampling, // "lttb" or "minmax" when the range was downsampled; omitted otherwise
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<String> days, // Days that have a summary, ascending (YYYY-MM-DD); omitted when downsampled
+
+    Map<String, MetricSeriesDTO> metrics // Metric name -> values aligned with "days", in request order
+) {}
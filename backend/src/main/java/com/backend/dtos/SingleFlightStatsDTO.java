@@ -0,0 +1,12 @@
+package com.backend.dtos;
+
+/**
+ * DTO describing how many identical concurrent retrieval calls shared one MongoDB query.
+ */
+public record SingleFlightStatsDTO(
+    long calls, // Loads requested (cache misses)
+    long executions, // Loads that actually queried MongoDB
+    long coalesced, // Loads that joined a query already in flight
+    double coalescedRatio, // coalesced / calls
+    int inFlight // Queries running right now
+) {}
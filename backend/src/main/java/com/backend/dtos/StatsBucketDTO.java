@@ -0,0 +1,12 @@
+package com.backend.dtos;
+
+import java.util.Map;
+
+/**
+ * DTO representing one time bucket of the range statistics.
+ */
+public record StatsBucketDTO(
+    String start, // First day of the bucket (YYYY-MM-DD); weeks start on Monday
+    long days, // Number of day summaries in the bucket
+    Map<String, MetricStatsDTO> metrics // Statistics per requested metric
+) {}
@@ -0,0 +1,45 @@
+package com.backend.dtos;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Bucket size for the range statistics endpoint.
+ *
+ * Each value maps to the MongoDB {@code $dateTrunc} unit used to group day summaries.
+ */
+public enum StatsGranularity {
+   DAY("day"),
+   WEEK("week"),
+   MONTH("month");
+
+   private final String unit;
+
+   StatsGranularity(String unit) {
+      this.unit = unit;
+   }
+
+   /**
+    * @return the {@code $dateTrunc} unit for this granularity.
+    */
+   public String unit() {
+      return unit;
+   }
+
+   /**
+    * Parses a request parameter (case-insensitive) into a granularity.
+    *
+    * @param value the parameter value (e.g. "week").
+    * @return the matching StatsGranularity.
+    * @throws InvalidQueryParameterException if the value is not a supported granularity.
+    */
+   public static StatsGranularity fromParam(String value) {
+      return Arrays.stream(values())
+          .filter(granularity -> granularity.unit.equals(value.trim().toLowerCase(Locale.ROOT)))
+          .findFirst()
+          .orElseThrow(() -> new InvalidQueryParameterException(
+              "Unsupported granularity: " + value + " (expected day, week or month)"));
+   }
+}
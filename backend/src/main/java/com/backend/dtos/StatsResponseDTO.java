@@ -0,0 +1,13 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * DTO returned by the range statistics endpoint.
+ */
+public record StatsResponseDTO(
+    String from, // First day of the requested range (YYYY-MM-DD)
+    String to, // Last day of the requested range, inclusive (YYYY-MM-DD)
+    String granularity, // Bucket size: day, week or month
+    List<StatsBucketDTO> buckets // Buckets in ascending order; empty buckets are omitted
+) {}
@@ -0,0 +1,16 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * Result of rewriting the summary collections into the compact storage encoding.
+ *
+ * Contains the storage statistics of each collection before and after the migration,
+ * and the number of documents that were actually rewritten.
+ */
+public record StorageMigrationReportDTO(
+    List<CollectionStorageStatsDTO> before, // Statistics before the migration
+    List<CollectionStorageStatsDTO> after,  // Statistics after the migration
+    long documentsRewritten                 // Documents whose summary was rewritten
+) {
+}
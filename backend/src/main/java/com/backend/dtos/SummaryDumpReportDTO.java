@@ -0,0 +1,28 @@
+package com.backend.dtos;
+
+import java.util.List;
+
+/**
+ * Result of dumping the summary collections to BSON files, or of restoring them from a dump.
+ */
+public record SummaryDumpReportDTO(
+    String dump,                  // Name of the dump
+    String directory,             // Folder holding the manifest and BSON files
+    String codec,                 // Compression of the BSON files
+    List<Collection> collections, // One entry per collection, in dump order
+    long documents,               // Documents over all collections
+    long bytes,                   // Size of the BSON files
+    long millis                   // Duration of the dump or restore
+) {
+
+   /**
+    * Documents and bytes of one collection.
+    */
+   public record Collection(
+       String name,      // MongoDB collection name
+       long documents,   // Documents dumped or inserted
+       long bytes,       // Size of the BSON file
+       long millis       // Duration for this collection, including the index rebuild on restore
+   ) {
+   }
+}
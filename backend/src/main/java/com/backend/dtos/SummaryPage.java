@@ -0,0 +1,26 @@
+package com.backend.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page of a summary listing.
+ *
+ * @param <T> the item type (a summary DTO or a trimmed summary map).
+ */
+public record SummaryPage<T>(
+    List<T> items, // Summaries in descending date order
+    String nextCursor, // Cursor for the next (older) page, or null if this is the oldest page
+    String prevCursor // Cursor for the previous (newer) page, or null if this is the newest page
+) {
+   /**
+    * Converts the items of this page while keeping its cursors.
+    *
+    * @param mapper the item conversion.
+    * @param <R>    the new item type.
+    * @return a new SummaryPage with converted items.
+    */
+   public <R> SummaryPage<R> map(Function<? super T, ? extends R> mapper) {
+      return new SummaryPage<>(items.stream().<R>map(mapper).toList(), nextCursor, prevCursor);
+   }
+}
@@ -0,0 +1,45 @@
+package com.backend.dtos;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+
+import java.time.LocalDate;
+
+/**
+ * Request for one keyset page of a summary listing (newest first).
+ *
+ * At most one cursor may be given: {@code before} pages towards older summaries and
+ * {@code after} towards newer ones. {@code from}/{@code to} restrict the date range (inclusive)
+ * and can be combined with either cursor. The limit is capped at {@link #MAX_LIMIT}.
+ */
+public record SummaryPageRequest(
+    String before, // Cursor: return summaries older than this boundary
+    String after, // Cursor: return summaries newer than this boundary
+    LocalDate from, // Earliest date key to include (inclusive)
+    LocalDate to, // Latest date key to include (inclusive)
+    int limit // Page size, 1 to MAX_LIMIT
+) {
+   public static final int MAX_LIMIT = 366;
+
+   public SummaryPageRequest {
+      if (before != null && after != null) {
+         throw new InvalidQueryParameterException("Only one of 'before' and 'after' may be given");
+      }
+      if (from != null && to != null && from.isAfter(to)) {
+         throw new InvalidQueryParameterException("'from' must not be after 'to'");
+      }
+      if (limit < 1) {
+         throw new InvalidQueryParameterException("'limit' must be at least 1");
+      }
+      limit = Math.min(limit, MAX_LIMIT);
+   }
+
+   /**
+    * Creates a request for the newest page without filters.
+    *
+    * @param limit the page size.
+    * @return a new SummaryPageRequest.
+    */
+   public static SummaryPageRequest firstPage(int limit) {
+      return new SummaryPageRequest(null, null, null, null, limit);
+   }
+}
@@ -0,0 +1,18 @@
+package com.backend.events;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Application event published after an ingest run has written summaries to MongoDB.
+ *
+ * Listeners (e.g. the retrieval cache) use it to react only to the periods that changed.
+ */
+public record SummaryDataChangedEvent(
+    SummaryType type, // Which kind of summary was written
+    Set<LocalDate> periods // Date keys of the written summaries (day, firstDay or latestDay)
+) {
+   public SummaryDataChangedEvent {
+      periods = Set.copyOf(periods);
+   }
+}
@@ -0,0 +1,12 @@
+package com.backend.events;
+
+/**
+ * The kinds of stored summaries, used to describe which data an ingest run changed.
+ */
+public enum SummaryType {
+   DAY,    // current_day_summaries, keyed by day
+   WEEK,   // weekly_summaries, keyed by firstDay
+   MONTH,  // monthly_summaries, keyed by firstDay
+   YEAR,   // yearly_summaries, keyed by firstDay
+   RECENT  // recent_daily_summaries, keyed by latestDay
+}
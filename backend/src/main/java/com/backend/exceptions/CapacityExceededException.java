@@ -0,0 +1,11 @@
+package com.backend.exceptions;
+
+/**
+ * Custom exception for requests rejected because a server-side capacity limit is reached
+ * (e.g. the maximum number of event stream clients).
+ */
+public class CapacityExceededException extends RuntimeException {
+   public CapacityExceededException(String message) {
+      super(message);
+   }
+}
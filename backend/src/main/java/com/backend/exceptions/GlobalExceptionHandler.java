@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -30,6 +31,45 @@ public class GlobalExceptionHandler {
       return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
    }
 
+   /**
+    * Handles InvalidQueryParameterException and returns a structured error response.
+    *
+    * @param ex the InvalidQueryParameterException thrown.
+    * @return ResponseEntity containing the error details and BAD_REQUEST status.
+    */
+   @ExceptionHandler(InvalidQueryParameterException.class)
+   public ResponseEntity<ErrorResponse> handleInvalidQueryParameterException(InvalidQueryParameterException ex) {
+      logger.warn("Invalid query parameter: {}", ex.getMessage());
+      ErrorResponse error = new ErrorResponse("Invalid Query Parameter", ex.getMessage());
+      return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+   }
+
+   /**
+    * Handles CapacityExceededException and returns a structured error response.
+    *
+    * @param ex the CapacityExceededException thrown.
+    * @return ResponseEntity containing the error details and SERVICE_UNAVAILABLE status.
+    */
+   @ExceptionHandler(CapacityExceededException.class)
+   public ResponseEntity<ErrorResponse> handleCapacityExceededException(CapacityExceededException ex) {
+      logger.warn("Capacity exceeded: {}", ex.getMessage());
+      ErrorResponse error = new ErrorResponse("Service Unavailable", ex.getMessage());
+      return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+   }
+
+   /**
+    * Handles HttpMediaTypeNotAcceptableException, e.g. an Accept header without a supported format.
+    * No body is written, since none of the client's media types can be produced.
+    *
+    * @param ex the HttpMediaTypeNotAcceptableException thrown.
+    * @return an empty ResponseEntity with NOT_ACCEPTABLE status.
+    */
+   @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+   public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+      logger.warn("Not acceptable: {}", ex.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+   }
+
    /**
     * Handles any other exceptions not explicitly handled elsewhere.
     *
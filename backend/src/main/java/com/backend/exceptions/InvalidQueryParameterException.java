@@ -0,0 +1,10 @@
+package com.backend.exceptions;
+
+/**
+ * Custom exception for rejected request query parameters (e.g. unknown field names).
+ */
+public class InvalidQueryParameterException extends RuntimeException {
+   public InvalidQueryParameterException(String message) {
+      super(message);
+   }
+}
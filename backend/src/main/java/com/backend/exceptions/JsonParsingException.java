@@ -4,6 +4,10 @@ package com.backend.exceptions;
  * Custom exception for handling JSON parsing errors.
  */
 public class JsonParsingException extends RuntimeException {
+   public JsonParsingException(String message) {
+      super(message);
+   }
+
    public JsonParsingException(String message, Throwable cause) {
       super(message, cause);
    }
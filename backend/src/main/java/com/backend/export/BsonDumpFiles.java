@@ -0,0 +1,67 @@
+package com.backend.export;
+
+import org.bson.RawBsonDocument;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes BSON dump files: BSON documents stored back to back, as written by mongodump.
+ * <p>
+ * Every BSON document starts with its own little-endian int32 length, so no framing is needed and
+ * documents are copied as raw bytes without being decoded.
+ * </p>
+ */
+public final class BsonDumpFiles {
+
+   // MongoDB's 16 MiB document limit plus headroom, as allowed by mongorestore
+   private static final int MAX_DOCUMENT_SIZE = 16 * 1024 * 1024 + 16 * 1024;
+   private static final int MIN_DOCUMENT_SIZE = 5; // Length prefix and terminating zero
+
+   private BsonDumpFiles() {} // Prevent instantiation
+
+   /**
+    * Appends one document to the dump.
+    */
+   public static void writeDocument(OutputStream out, RawBsonDocument document) throws IOException {
+      ByteBuffer bytes = document.getByteBuffer().asNIO();
+      if (bytes.hasArray()) {
+         out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+      } else {
+         byte[] copy = new byte[bytes.remaining()];
+         bytes.get(copy);
+         out.write(copy);
+      }
+   }
+
+   /**
+    * Reads the next document from the dump.
+    *
+    * @return the document, or null at the end of the dump.
+    * @throws IOException if the dump is truncated or holds an invalid document length.
+    */
+   public static RawBsonDocument readDocument(InputStream in) throws IOException {
+      byte[] prefix = new byte[4];
+      int read = in.readNBytes(prefix, 0, prefix.length);
+      if (read == 0) {
+         return null;
+      }
+      if (read < prefix.length) {
+         throw new EOFException("Truncated BSON dump: incomplete document length");
+      }
+
+      int length = (prefix[0] & 0xFF) | (prefix[1] & 0xFF) << 8 | (prefix[2] & 0xFF) << 16 | (prefix[3] & 0xFF) << 24;
+      if (length < MIN_DOCUMENT_SIZE || length > MAX_DOCUMENT_SIZE) {
+         throw new IOException("Invalid BSON document length in dump: " + length);
+      }
+      byte[] document = new byte[length];
+      System.arraycopy(prefix, 0, document, 0, prefix.length);
+      if (in.readNBytes(document, prefix.length, length - prefix.length) < length - prefix.length) {
+         throw new EOFException("Truncated BSON dump: incomplete document");
+      }
+      return new RawBsonDocument(document);
+   }
+}
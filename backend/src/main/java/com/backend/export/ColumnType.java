@@ -0,0 +1,56 @@
+package com.backend.export;
+
+import java.io.IOException;
+import java.sql.Types;
+
+/**
+ * Physical type of a column in a columnar export, derived from the declared SQLite column type.
+ */
+public enum ColumnType {
+   INT64(1),   // INTEGER, BIGINT, BOOLEAN, ...
+   FLOAT64(2), // REAL, FLOAT, DOUBLE, NUMERIC
+   STRING(3),  // TEXT and everything else, incl. dates and "HH:MM:SS" durations; dictionary encoded
+   BYTES(4);   // BLOB
+
+   private final int code;
+
+   ColumnType(int code) {
+      this.code = code;
+   }
+
+   /**
+    * @return the code stored in the file header.
+    */
+   public int code() {
+      return code;
+   }
+
+   /**
+    * Maps a {@link Types} constant reported by the SQLite driver to a column type.
+    *
+    * @param sqlType the JDBC type of the column.
+    * @return the column type used to store it.
+    */
+   public static ColumnType fromSqlType(int sqlType) {
+      return switch (sqlType) {
+         case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.BOOLEAN, Types.BIT -> INT64;
+         case Types.REAL, Types.FLOAT, Types.DOUBLE, Types.NUMERIC, Types.DECIMAL -> FLOAT64;
+         case Types.BLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> BYTES;
+         default -> STRING;
+      };
+   }
+
+   /**
+    * Parses a code read from a file header.
+    *
+    * @throws IOException if the code is unknown, i.e. the file is corrupt or from a newer version.
+    */
+   public static ColumnType fromCode(int code) throws IOException {
+      for (ColumnType type : values()) {
+         if (type.code == code) {
+            return type;
+         }
+      }
+      throw new IOException("Unknown column type code: " + code);
+   }
+}
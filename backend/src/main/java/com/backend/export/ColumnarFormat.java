@@ -0,0 +1,55 @@
+package com.backend.export;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and helpers of the HRVC columnar export format ({@code .hrvc}).
+ * <p>
+ * All numbers are big-endian, as written by {@link DataOutputStream}:
+ * </p>
+ * <pre>
+ * file    = "HRVC" version:u8 columnCount:i32 (name:string type:u8){columnCount} batch* 0:i32
+ * batch   = rowCount:i32 column{columnCount}
+ * column  = validity:u8[ceil(rowCount / 8)] values
+ * values  = INT64:   i64 per non-null row
+ *         | FLOAT64: f64 per non-null row
+ *         | STRING:  dictSize:i32 string{dictSize} indexWidth:u8 index per non-null row (u8, u16 or i32)
+ *         | BYTES:   (length:i32 u8{length}) per non-null row
+ * string  = length:i32 UTF-8 bytes
+ * </pre>
+ * <p>
+ * Validity bit {@code row % 8} of byte {@code row / 8} is set when the value is present, as in Arrow.
+ * Dictionaries are per batch, so neither the writer nor the reader holds more than one batch.
+ * </p>
+ */
+public final class ColumnarFormat {
+
+   static final byte[] MAGIC = {'H', 'R', 'V', 'C'};
+   static final int VERSION = 1;
+   static final int END_OF_BATCHES = 0;
+
+   private ColumnarFormat() {} // Prevent instantiation
+
+   static void writeString(DataOutputStream out, String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+   }
+
+   static String readString(DataInputStream in) throws IOException {
+      return new String(readBytes(in), StandardCharsets.UTF_8);
+   }
+
+   static byte[] readBytes(DataInputStream in) throws IOException {
+      int length = in.readInt();
+      if (length < 0) {
+         throw new IOException("Negative length in columnar file: " + length);
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return bytes;
+   }
+}
@@ -0,0 +1,233 @@
+package com.backend.export;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads files written by {@link ColumnarWriter}, one batch at a time.
+ * <p>
+ * Numeric columns are decoded into primitive arrays and string columns keep their dictionary,
+ * so reading a batch costs a few array copies rather than parsing every value.
+ * </p>
+ */
+public class ColumnarReader implements Closeable {
+
+   private final DataInputStream in;
+   private final List<String> columnNames;
+   private final List<ColumnType> columnTypes;
+   private boolean finished;
+
+   /**
+    * Opens a columnar file and reads its header.
+    *
+    * @throws IOException if the stream is not a supported columnar file.
+    */
+   public ColumnarReader(InputStream in) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(in));
+      byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+      this.in.readFully(magic);
+      if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+         throw new IOException("Not a columnar export file");
+      }
+      int version = this.in.readUnsignedByte();
+      if (version != ColumnarFormat.VERSION) {
+         throw new IOException("Unsupported columnar file version: " + version);
+      }
+
+      int columnCount = this.in.readInt();
+      List<String> names = new ArrayList<>(columnCount);
+      List<ColumnType> types = new ArrayList<>(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+         names.add(ColumnarFormat.readString(this.in));
+         types.add(ColumnType.fromCode(this.in.readUnsignedByte()));
+      }
+      this.columnNames = Collections.unmodifiableList(names);
+      this.columnTypes = Collections.unmodifiableList(types);
+   }
+
+   public List<String> columnNames() {
+      return columnNames;
+   }
+
+   public List<ColumnType> columnTypes() {
+      return columnTypes;
+   }
+
+   /**
+    * Reads the next batch.
+    *
+    * @return the batch, or null after the last one.
+    */
+   public Batch nextBatch() throws IOException {
+      if (finished) {
+         return null;
+      }
+      int rows = in.readInt();
+      if (rows == ColumnarFormat.END_OF_BATCHES) {
+         finished = true;
+         return null;
+      }
+
+      Column[] columns = new Column[columnTypes.size()];
+      for (int c = 0; c < columns.length; c++) {
+         byte[] validity = new byte[(rows + 7) / 8];
+         in.readFully(validity);
+         columns[c] = readColumn(columnTypes.get(c), rows, validity);
+      }
+      return new Batch(rows, columns);
+   }
+
+   /**
+    * Reads all remaining rows as maps of column name to value, e.g. for tests and small tables.
+    */
+   public List<Map<String, Object>> readRows() throws IOException {
+      List<Map<String, Object>> rows = new ArrayList<>();
+      for (Batch batch = nextBatch(); batch != null; batch = nextBatch()) {
+         for (int row = 0; row < batch.rowCount(); row++) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int c = 0; c < columnNames.size(); c++) {
+               values.put(columnNames.get(c), batch.get(c, row));
+            }
+            rows.add(values);
+         }
+      }
+      return rows;
+   }
+
+   @Override
+   public void close() throws IOException {
+      in.close();
+   }
+
+   private Column readColumn(ColumnType type, int rows, byte[] validity) throws IOException {
+      Column column = new Column(type, validity);
+      switch (type) {
+         case INT64 -> {
+            column.longs = new long[rows];
+            for (int row = 0; row < rows; row++) {
+               if (column.isValid(row)) {
+                  column.longs[row] = in.readLong();
+               }
+            }
+         }
+         case FLOAT64 -> {
+            column.doubles = new double[rows];
+            for (int row = 0; row < rows; row++) {
+               if (column.isValid(row)) {
+                  column.doubles[row] = in.readDouble();
+               }
+            }
+         }
+         case STRING -> {
+            column.dictionary = new String[in.readInt()];
+            for (int i = 0; i < column.dictionary.length; i++) {
+               column.dictionary[i] = ColumnarFormat.readString(in);
+            }
+            int indexWidth = in.readUnsignedByte();
+            column.indices = new int[rows];
+            for (int row = 0; row < rows; row++) {
+               if (column.isValid(row)) {
+                  column.indices[row] = switch (indexWidth) {
+                     case 1 -> in.readUnsignedByte();
+                     case 2 -> in.readUnsignedShort();
+                     case 4 -> in.readInt();
+                     default -> throw new IOException("Unsupported dictionary index width: " + indexWidth);
+                  };
+               }
+            }
+         }
+         case BYTES -> {
+            column.bytes = new byte[rows][];
+            for (int row = 0; row < rows; row++) {
+               if (column.isValid(row)) {
+                  column.bytes[row] = ColumnarFormat.readBytes(in);
+               }
+            }
+         }
+      }
+      return column;
+   }
+
+   /**
+    * One batch of rows; values are addressed by column index and row index within the batch.
+    */
+   public static final class Batch {
+
+      private final int rowCount;
+      private final Column[] columns;
+
+      private Batch(int rowCount, Column[] columns) {
+         this.rowCount = rowCount;
+         this.columns = columns;
+      }
+
+      public int rowCount() {
+         return rowCount;
+      }
+
+      public boolean isNull(int column, int row) {
+         return !columns[column].isValid(row);
+      }
+
+      public long getLong(int column, int row) {
+         return columns[column].longs[row];
+      }
+
+      public double getDouble(int column, int row) {
+         return columns[column].doubles[row];
+      }
+
+      public String getString(int column, int row) {
+         Column c = columns[column];
+         return c.isValid(row) ? c.dictionary[c.indices[row]] : null;
+      }
+
+      public byte[] getBytes(int column, int row) {
+         return columns[column].bytes[row];
+      }
+
+      /**
+       * @return the value as a Long, Double, String or byte[], or null.
+       */
+      public Object get(int column, int row) {
+         if (isNull(column, row)) {
+            return null;
+         }
+         return switch (columns[column].type) {
+            case INT64 -> getLong(column, row);
+            case FLOAT64 -> getDouble(column, row);
+            case STRING -> getString(column, row);
+            case BYTES -> getBytes(column, row);
+         };
+      }
+   }
+
+   private static final class Column {
+
+      private final ColumnType type;
+      private final byte[] validity;
+      private long[] longs;
+      private double[] doubles;
+      private String[] dictionary;
+      private int[] indices;
+      private byte[][] bytes;
+
+      private Column(ColumnType type, byte[] validity) {
+         this.type = type;
+         this.validity = validity;
+      }
+
+      private boolean isValid(int row) {
+         return (validity[row >>> 3] & (1 << (row & 7))) != 0;
+      }
+   }
+}
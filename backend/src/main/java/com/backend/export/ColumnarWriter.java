@@ -0,0 +1,273 @@
+package com.backend.export;
+
+import com.backend.repos.SQL.TableRowWriter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes streamed table rows in the {@link ColumnarFormat HRVC columnar format}.
+ * <p>
+ * Rows are collected into typed column buffers of {@code batchRows} rows and written column by
+ * column when a batch is full, so memory is bounded by the batch size rather than the table size.
+ * Call {@link #finish()} after the last row.
+ * </p>
+ */
+public class ColumnarWriter implements TableRowWriter {
+
+   private final DataOutputStream out;
+   private final int batchRows;
+   private ColumnBuffer[] buffers;
+   private int rowsInBatch;
+
+   public ColumnarWriter(OutputStream out, int batchRows) {
+      if (batchRows < 1) {
+         throw new IllegalArgumentException("batchRows must be at least 1");
+      }
+      this.out = new DataOutputStream(out);
+      this.batchRows = batchRows;
+   }
+
+   @Override
+   public void columns(String[] columns, int[] sqlTypes) throws IOException {
+      out.write(ColumnarFormat.MAGIC);
+      out.writeByte(ColumnarFormat.VERSION);
+      out.writeInt(columns.length);
+      buffers = new ColumnBuffer[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+         ColumnType type = ColumnType.fromSqlType(sqlTypes[i]);
+         ColumnarFormat.writeString(out, columns[i]);
+         out.writeByte(type.code());
+         buffers[i] = switch (type) {
+            case INT64 -> new LongColumn(columns[i], batchRows);
+            case FLOAT64 -> new DoubleColumn(columns[i], batchRows);
+            case STRING -> new StringColumn(columns[i], batchRows);
+            case BYTES -> new BytesColumn(columns[i], batchRows);
+         };
+      }
+   }
+
+   @Override
+   public void row(Object[] values) throws IOException {
+      for (int i = 0; i < buffers.length; i++) {
+         buffers[i].set(rowsInBatch, values[i]);
+      }
+      if (++rowsInBatch == batchRows) {
+         writeBatch();
+      }
+   }
+
+   /**
+    * Writes the last partial batch and the end marker, and flushes the stream.
+    * Does not close the underlying stream.
+    */
+   public void finish() throws IOException {
+      if (buffers == null) {
+         throw new IllegalStateException("No columns were written");
+      }
+      if (rowsInBatch > 0) {
+         writeBatch();
+      }
+      out.writeInt(ColumnarFormat.END_OF_BATCHES);
+      out.flush();
+   }
+
+   private void writeBatch() throws IOException {
+      out.writeInt(rowsInBatch);
+      byte[] validity = new byte[(rowsInBatch + 7) / 8];
+      for (ColumnBuffer buffer : buffers) {
+         Arrays.fill(validity, (byte) 0);
+         for (int row = 0; row < rowsInBatch; row++) {
+            if (buffer.valid[row]) {
+               validity[row >>> 3] |= (byte) (1 << (row & 7));
+            }
+         }
+         out.write(validity);
+         buffer.writeValues(out, rowsInBatch);
+      }
+      rowsInBatch = 0;
+   }
+
+   // Buffers one column of the current batch; null values are only recorded in 'valid'.
+   private abstract static class ColumnBuffer {
+
+      final String name;
+      final boolean[] valid;
+
+      ColumnBuffer(String name, int capacity) {
+         this.name = name;
+         this.valid = new boolean[capacity];
+      }
+
+      void set(int row, Object value) throws IOException {
+         valid[row] = value != null;
+         if (value != null) {
+            store(row, value);
+         }
+      }
+
+      abstract void store(int row, Object value) throws IOException;
+
+      abstract void writeValues(DataOutputStream out, int rows) throws IOException;
+
+      IOException mismatch(Object value, String expected) {
+         return new IOException("Column '" + name + "' holds a value that is not " + expected + ": " + value);
+      }
+   }
+
+   private static final class LongColumn extends ColumnBuffer {
+
+      private final long[] values;
+
+      LongColumn(String name, int capacity) {
+         super(name, capacity);
+         this.values = new long[capacity];
+      }
+
+      @Override
+      void store(int row, Object value) throws IOException {
+         values[row] = switch (value) {
+            case Long l -> l;
+            case Integer i -> i;
+            case Short s -> s;
+            case Byte b -> b;
+            case Boolean b -> b ? 1 : 0;
+            case Number n when n.doubleValue() == Math.rint(n.doubleValue()) -> n.longValue();
+            case String s -> {
+               try {
+                  yield Long.parseLong(s.trim());
+               } catch (NumberFormatException e) {
+                  throw mismatch(value, "an integer");
+               }
+            }
+            default -> throw mismatch(value, "an integer"); // SQLite does not enforce declared types
+         };
+      }
+
+      @Override
+      void writeValues(DataOutputStream out, int rows) throws IOException {
+         for (int row = 0; row < rows; row++) {
+            if (valid[row]) {
+               out.writeLong(values[row]);
+            }
+         }
+      }
+   }
+
+   private static final class DoubleColumn extends ColumnBuffer {
+
+      private final double[] values;
+
+      DoubleColumn(String name, int capacity) {
+         super(name, capacity);
+         this.values = new double[capacity];
+      }
+
+      @Override
+      void store(int row, Object value) throws IOException {
+         values[row] = switch (value) {
+            case Number n -> n.doubleValue();
+            case String s -> {
+               try {
+                  yield Double.parseDouble(s.trim());
+               } catch (NumberFormatException e) {
+                  throw mismatch(value, "a number");
+               }
+            }
+            default -> throw mismatch(value, "a number");
+         };
+      }
+
+      @Override
+      void writeValues(DataOutputStream out, int rows) throws IOException {
+         for (int row = 0; row < rows; row++) {
+            if (valid[row]) {
+               out.writeDouble(values[row]);
+            }
+         }
+      }
+   }
+
+   private static final class StringColumn extends ColumnBuffer {
+
+      private final String[] values;
+
+      StringColumn(String name, int capacity) {
+         super(name, capacity);
+         this.values = new String[capacity];
+      }
+
+      @Override
+      void store(int row, Object value) {
+         values[row] = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+      }
+
+      @Override
+      void writeValues(DataOutputStream out, int rows) throws IOException {
+         // Dictionary-encode the batch: dates, units and durations repeat across many rows.
+         Map<String, Integer> dictionary = new HashMap<>();
+         String[] entries = new String[rows];
+         int[] indices = new int[rows];
+         for (int row = 0; row < rows; row++) {
+            if (valid[row]) {
+               String value = values[row];
+               Integer index = dictionary.get(value);
+               if (index == null) {
+                  index = dictionary.size();
+                  dictionary.put(value, index);
+                  entries[index] = value;
+               }
+               indices[row] = index;
+            }
+            values[row] = null; // Release the batch's strings early
+         }
+
+         out.writeInt(dictionary.size());
+         for (int i = 0; i < dictionary.size(); i++) {
+            ColumnarFormat.writeString(out, entries[i]);
+         }
+         int indexWidth = dictionary.size() <= 0xFF ? 1 : dictionary.size() <= 0xFFFF ? 2 : 4;
+         out.writeByte(indexWidth);
+         for (int row = 0; row < rows; row++) {
+            if (valid[row]) {
+               switch (indexWidth) {
+                  case 1 -> out.writeByte(indices[row]);
+                  case 2 -> out.writeShort(indices[row]);
+                  default -> out.writeInt(indices[row]);
+               }
+            }
+         }
+      }
+   }
+
+   private static final class BytesColumn extends ColumnBuffer {
+
+      private final byte[][] values;
+
+      BytesColumn(String name, int capacity) {
+         super(name, capacity);
+         this.values = new byte[capacity][];
+      }
+
+      @Override
+      void store(int row, Object value) {
+         values[row] = value instanceof byte[] bytes ? bytes.clone() : value.toString().getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      void writeValues(DataOutputStream out, int rows) throws IOException {
+         for (int row = 0; row < rows; row++) {
+            if (valid[row]) {
+               out.writeInt(values[row].length);
+               out.write(values[row]);
+            }
+            values[row] = null;
+         }
+      }
+   }
+}
@@ -0,0 +1,37 @@
+package com.backend.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compression applied to exported files.
+ * <p>
+ * Codecs are Spring beans collected by {@link ExportCodecs}, so a new codec only needs a new
+ * component. The codec's extension is appended to the format's extension
+ * (e.g. {@code daily_summary.ndjson.gz}), which lets importers pick the codec from the file name.
+ * </p>
+ */
+public interface ExportCodec {
+
+   /**
+    * @return the request parameter value for this codec (e.g. "gzip").
+    */
+   String name();
+
+   /**
+    * @return the file extension added by this codec (e.g. ".gz"), or an empty string.
+    */
+   String extension();
+
+   /**
+    * Wraps a stream so that everything written to it is compressed.
+    * Closing the returned stream finishes the compressed data and closes {@code out}.
+    */
+   OutputStream compress(OutputStream out) throws IOException;
+
+   /**
+    * Wraps a stream written by {@link #compress(OutputStream)}.
+    */
+   InputStream decompress(InputStream in) throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.backend.export;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of the available {@link ExportCodec}s, looked up by name or by file name.
+ */
+@Component
+public class ExportCodecs {
+
+   private final Map<String, ExportCodec> codecs = new LinkedHashMap<>();
+
+   public ExportCodecs(List<ExportCodec> codecs) {
+      for (ExportCodec codec : codecs) {
+         if (this.codecs.putIfAbsent(codec.name(), codec) != null) {
+            throw new IllegalStateException("Duplicate export codec: " + codec.name());
+         }
+      }
+   }
+
+   /**
+    * Returns the codec for a request parameter (case-insensitive).
+    *
+    * @param name the codec name (e.g. "gzip"), or null for no compression.
+    * @return the matching codec.
+    * @throws InvalidQueryParameterException if no codec has that name.
+    */
+   public ExportCodec get(String name) {
+      String key = name == null || name.isBlank() ? IdentityCodec.NAME : name.trim().toLowerCase(Locale.ROOT);
+      ExportCodec codec = codecs.get(key);
+      if (codec == null) {
+         throw new InvalidQueryParameterException(
+             "Unsupported codec: " + name + " (expected one of " + String.join(", ", codecs.keySet()) + ")");
+      }
+      return codec;
+   }
+
+   /**
+    * Returns the codec whose extension ends the file name, preferring the longest match.
+    *
+    * @param fileName the name of an exported file (e.g. "daily_summary.ndjson.gz").
+    * @return the codec, or empty if the file is not compressed by a known codec.
+    */
+   public Optional<ExportCodec> forFileName(String fileName) {
+      return codecs.values().stream()
+          .filter(codec -> !codec.extension().isEmpty() && fileName.endsWith(codec.extension()))
+          .max(Comparator.comparingInt(codec -> codec.extension().length()));
+   }
+}
@@ -0,0 +1,48 @@
+package com.backend.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * File helpers shared by the exporters.
+ */
+public final class ExportFiles {
+
+   private static final Logger logger = LoggerFactory.getLogger(ExportFiles.class);
+
+   private ExportFiles() {} // Prevent instantiation
+
+   /**
+    * Renames a finished temp file over the target, falling back to a plain replace on file
+    * systems that do not support atomic moves.
+    */
+   public static void moveAtomically(Path source, Path target) throws IOException {
+      try {
+         Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+         Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+   }
+
+   /**
+    * Deletes a file if it exists, logging instead of throwing on failure.
+    *
+    * @param file the file to delete, may be null.
+    */
+   public static void deleteQuietly(Path file) {
+      if (file == null) {
+         return;
+      }
+      try {
+         Files.deleteIfExists(file);
+      } catch (IOException e) {
+         logger.warn("⚠️ Could not delete export file '{}': {}", file, e.getMessage());
+      }
+   }
+}
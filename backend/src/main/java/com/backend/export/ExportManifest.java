@@ -0,0 +1,43 @@
+package com.backend.export;
+
+import java.util.List;
+
+/**
+ * Manifest of an incremental table export, stored as {@code manifest.json} next to the chunk files.
+ * <p>
+ * Rows are exported sorted by {@code keyColumns} (or by rowid, with the row position as key, if the
+ * table has no primary key) and split into NDJSON chunks. Each chunk records its key range and two
+ * SHA-256 checksums: one of the uncompressed rows, used to detect changed chunks on the next export,
+ * and one of the stored file, which consumers can check without reading SQLite.
+ * </p>
+ */
+public record ExportManifest(
+    int version,               // Manifest layout version
+    String table,              // Exported table
+    List<String> keyColumns,   // Primary key columns; empty if rows are keyed by position
+    String codec,              // Compression of every chunk file
+    long rows,                 // Rows over all chunks
+    List<Object> firstKey,     // Key of the first row, or null if the table is empty
+    List<Object> lastKey,      // Key of the last row, or null if the table is empty
+    String updatedAt,          // ISO-8601 time of the export that wrote this manifest
+    List<Chunk> chunks         // Chunks in key order
+) {
+
+   public static final int VERSION = 1;
+   public static final String FILE_NAME = "manifest.json";
+
+   /**
+    * One chunk file holding a contiguous key range.
+    */
+   public record Chunk(
+       int id,                 // Stable chunk id; also part of the file name
+       String file,            // File name, relative to the manifest
+       long rows,              // Rows in the chunk
+       List<Object> firstKey,  // Key of the first row
+       List<Object> lastKey,   // Key of the last row
+       String contentSha256,   // SHA-256 of the uncompressed NDJSON rows
+       long bytes,             // Size of the stored file
+       String fileSha256       // SHA-256 of the stored file
+   ) {
+   }
+}
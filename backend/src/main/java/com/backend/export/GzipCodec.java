@@ -0,0 +1,57 @@
+package com.backend.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses exports with gzip from the JDK.
+ * <p>
+ * The level trades CPU for size: exported GarminDB tables are highly repetitive, so even
+ * {@link Deflater#BEST_SPEED} shrinks them several times over.
+ * </p>
+ */
+@Component
+public class GzipCodec implements ExportCodec {
+
+   private static final int BUFFER_SIZE = 64 * 1024;
+
+   private final int level;
+
+   public GzipCodec(@Value("${hrvibe.export.gzip-level:6}") int level) {
+      if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+         throw new IllegalArgumentException("gzip level must be between 1 and 9");
+      }
+      this.level = level;
+   }
+
+   @Override
+   public String name() {
+      return "gzip";
+   }
+
+   @Override
+   public String extension() {
+      return ".gz";
+   }
+
+   @Override
+   public OutputStream compress(OutputStream out) throws IOException {
+      return new GZIPOutputStream(out, BUFFER_SIZE) {
+         {
+            def.setLevel(level);
+         }
+      };
+   }
+
+   @Override
+   public InputStream decompress(InputStream in) throws IOException {
+      return new GZIPInputStream(in, BUFFER_SIZE);
+   }
+}
@@ -0,0 +1,35 @@
+package com.backend.export;
+
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes exports uncompressed.
+ */
+@Component
+public class IdentityCodec implements ExportCodec {
+
+   public static final String NAME = "none";
+
+   @Override
+   public String name() {
+      return NAME;
+   }
+
+   @Override
+   public String extension() {
+      return "";
+   }
+
+   @Override
+   public OutputStream compress(OutputStream out) {
+      return out;
+   }
+
+   @Override
+   public InputStream decompress(InputStream in) {
+      return in;
+   }
+}
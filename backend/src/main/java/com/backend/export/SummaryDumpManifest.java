@@ -0,0 +1,32 @@
+package com.backend.export;
+
+import java.util.List;
+
+/**
+ * Manifest of a summary collection dump, stored as {@code dump.json} next to the BSON files.
+ * <p>
+ * It is written after every collection file, so a dump without a manifest is incomplete.
+ * Restores read the codec and document counts from it.
+ * </p>
+ */
+public record SummaryDumpManifest(
+    int version,                  // Manifest layout version
+    String createdAt,             // ISO-8601 time of the dump
+    String codec,                 // Compression of every collection file
+    List<Collection> collections  // Dumped collections, in restore order
+) {
+
+   public static final int VERSION = 1;
+   public static final String FILE_NAME = "dump.json";
+
+   /**
+    * One dumped collection.
+    */
+   public record Collection(
+       String name,     // MongoDB collection name
+       String file,     // File name, relative to the manifest
+       long documents,  // Documents in the file
+       long bytes       // Size of the stored file
+   ) {
+   }
+}
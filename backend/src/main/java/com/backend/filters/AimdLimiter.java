@@ -0,0 +1,66 @@
+package com.backend.filters;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit.
+ *
+ * While requests complete within the latency target and the limit is actually in use, the
+ * limit grows by about one per limit's worth of requests. A slow or failed request shrinks it
+ * by {@code backoff}, so the limit settles just below the concurrency MongoDB can serve at the
+ * target latency.
+ */
+final class AimdLimiter {
+
+   private final int minLimit;
+   private final int maxLimit;
+   private final long latencyTargetNanos;
+   private final double backoff;
+
+   private double limit;
+   private int inFlight;
+
+   AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos, double backoff) {
+      if (minLimit < 1 || minLimit > maxLimit) {
+         throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+      }
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      this.latencyTargetNanos = latencyTargetNanos;
+      this.backoff = backoff;
+      this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+   }
+
+   /**
+    * @return true if the request may run; it must then call {@link #release}.
+    */
+   synchronized boolean tryAcquire() {
+      if (inFlight >= (int) limit) {
+         return false;
+      }
+      inFlight++;
+      return true;
+   }
+
+   /**
+    * Records the outcome of a request admitted by {@link #tryAcquire()} and adjusts the limit.
+    *
+    * @param latencyNanos how long the request took.
+    * @param failed       whether the request failed on the server side (5xx or exception).
+    */
+   synchronized void release(long latencyNanos, boolean failed) {
+      boolean saturated = inFlight * 2 >= limit; // Only grow a limit that is being used
+      inFlight--;
+      if (failed || latencyNanos > latencyTargetNanos) {
+         limit = Math.max(minLimit, limit * backoff);
+      } else if (saturated) {
+         limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+   }
+
+   synchronized int limit() {
+      return (int) limit;
+   }
+
+   synchronized int inFlight() {
+      return inFlight;
+   }
+}
@@ -0,0 +1,164 @@
+package com.backend.filters;
+
+import com.backend.dtos.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of concurrent requests to the MongoDB-backed read endpoints with an adaptive
+ * (AIMD) limit.
+ *
+ * The limit grows while requests finish within the latency target and shrinks when they get
+ * slower or fail. A request beyond the limit is answered right away with 503 Service Unavailable
+ * and "Retry-After: 1", so under overload some clients get a fast rejection instead of every
+ * client waiting longer. Responses served from validators or the response cache never reach
+ * this filter. Streamed responses hold their slot until the async response completes.
+ */
+@Component
+@Order(3) // After ConditionalGetFilter and ResponseCacheFilter, which answer without MongoDB
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+   private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+   private static final String DASHBOARD_PATH = "/garmin/dashboard";
+
+   private final ObjectMapper objectMapper;
+   private final AimdLimiter limiter;
+   private final LongSupplier nanoClock;
+   private final LongAdder rejections = new LongAdder();
+
+   public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                 @Value("${hrvibe.concurrency.initial-limit:20}") int initialLimit,
+                                 @Value("${hrvibe.concurrency.min-limit:4}") int minLimit,
+                                 @Value("${hrvibe.concurrency.max-limit:200}") int maxLimit,
+                                 @Value("${hrvibe.concurrency.latency-target:500ms}") Duration latencyTarget) {
+      this(objectMapper, new AimdLimiter(initialLimit, minLimit, maxLimit, latencyTarget.toNanos(), 0.9),
+           System::nanoTime);
+   }
+
+   ConcurrencyLimitFilter(ObjectMapper objectMapper, AimdLimiter limiter, LongSupplier nanoClock) {
+      this.objectMapper = objectMapper;
+      this.limiter = limiter;
+      this.nanoClock = nanoClock;
+   }
+
+   @Override
+   protected boolean shouldNotFilter(HttpServletRequest request) {
+      String path = request.getRequestURI().substring(request.getContextPath().length());
+      boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+      return !read || (ConditionalGetFilter.resolve(path) == null && !path.equals(DASHBOARD_PATH));
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+       throws ServletException, IOException {
+      if (!limiter.tryAcquire()) {
+         rejections.increment();
+         logger.warn("🛑 Concurrency limit {} reached, rejecting {}.", limiter.limit(), request.getRequestURI());
+         response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+         response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+         objectMapper.writeValue(response.getOutputStream(),
+                                 new ErrorResponse("Service Unavailable", "Server is busy, please retry"));
+         return;
+      }
+
+      long start = nanoClock.getAsLong();
+      boolean failed = true;
+      boolean async = false;
+      try {
+         chain.doFilter(request, response);
+         failed = response.getStatus() >= 500;
+         if (request.isAsyncStarted()) {
+            // Streamed listings keep reading MongoDB on the async writer after the chain returns.
+            request.getAsyncContext().addListener(new ReleaseOnCompletion(response, start));
+            async = true;
+         }
+      } finally {
+         if (!async) {
+            limiter.release(nanoClock.getAsLong() - start, failed);
+         }
+      }
+   }
+
+   /**
+    * Releases the slot of an async request once its response is complete, failed or timed out.
+    */
+   private final class ReleaseOnCompletion implements AsyncListener {
+
+      private final HttpServletResponse response;
+      private final long start;
+      private final AtomicBoolean released = new AtomicBoolean();
+
+      private ReleaseOnCompletion(HttpServletResponse response, long start) {
+         this.response = response;
+         this.start = start;
+      }
+
+      @Override
+      public void onComplete(AsyncEvent event) {
+         release(response.getStatus() >= 500);
+      }
+
+      @Override
+      public void onError(AsyncEvent event) {
+         release(true);
+      }
+
+      @Override
+      public void onTimeout(AsyncEvent event) {
+         release(true);
+      }
+
+      @Override
+      public void onStartAsync(AsyncEvent event) {
+         event.getAsyncContext().addListener(this); // Stay registered across re-dispatches
+      }
+
+      private void release(boolean failed) {
+         if (released.compareAndSet(false, true)) {
+            limiter.release(nanoClock.getAsLong() - start, failed);
+         }
+      }
+   }
+
+   /**
+    * @return the current concurrency limit.
+    */
+   public int currentLimit() {
+      return limiter.limit();
+   }
+
+   /**
+    * @return the number of admitted requests still running.
+    */
+   public int inFlight() {
+      return limiter.inFlight();
+   }
+
+   /**
+    * @return the number of requests rejected with 503.
+    */
+   public long rejections() {
+      return rejections.sum();
+   }
+}
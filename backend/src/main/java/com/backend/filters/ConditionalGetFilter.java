@@ -0,0 +1,279 @@
+package com.backend.filters;
+
+import com.backend.events.SummaryType;
+import com.backend.models.DataVersion;
+import com.backend.services.DataVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Adds HTTP validators to the summary GET endpoints and answers conditional requests.
+ *
+ * The ETag is derived from the data version of the summary type behind the endpoint plus the
+ * request (path, query and negotiated headers), and Last-Modified from when the period (or the
+ * type) was last ingested. Both come from memory, so a matching If-None-Match or
+ * If-Modified-Since is answered with 304 Not Modified before the controller or MongoDB is hit.
+ *
+ * Periods that ended before the current month are not expected to change and may be kept by
+ * the browser for a configurable time; everything else must be revalidated on every use.
+ * Validators and the long max-age are only sent with 304 and 2xx responses; errors (e.g. a 404
+ * for a day not ingested yet) must be revalidated, so they disappear once the data arrives.
+ *
+ * GET /garmin/dashboard is not versioned: it combines several summary types and reports the
+ * timing and errors of each part, so the same data does not give the same body.
+ */
+@Component
+@Order(1) // Before ResponseCacheFilter: a 304 needs no body at all
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+   private static final String PREFIX = "/garmin/";
+   private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+   private final DataVersionService dataVersionService;
+   private final String closedPeriodCacheControl;
+
+   public ConditionalGetFilter(DataVersionService dataVersionService,
+                               @Value("${hrvibe.http.closed-period-max-age:7d}") Duration closedPeriodMaxAge) {
+      this.dataVersionService = dataVersionService;
+      this.closedPeriodCacheControl = CacheControl.maxAge(closedPeriodMaxAge).cachePrivate().getHeaderValue();
+   }
+
+   @Override
+   protected boolean shouldNotFilter(HttpServletRequest request) {
+      boolean readOnly = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+      return !readOnly || resolve(path(request)) == null;
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+       throws ServletException, IOException {
+      Target target = resolve(path(request));
+      Optional<DataVersion> version = dataVersionService.currentVersion(target.type());
+      if (version.isEmpty()) {
+         chain.doFilter(request, response); // Versions not loaded yet
+         return;
+      }
+
+      long lastModified = dataVersionService.lastModified(target.type(), target.period())
+          .map(Instant::toEpochMilli)
+          .orElse(-1L);
+      String cacheControl = isClosed(target, request.getParameter("year"), LocalDate.now())
+          ? closedPeriodCacheControl : REVALIDATE;
+      String etag = etag(request, version.get());
+
+      // The check may switch the response to 304; the validators themselves are added below.
+      if (new ServletWebRequest(request, new StatusOnlyResponse(response)).checkNotModified(etag, lastModified)) {
+         if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            addValidators(response, etag, lastModified, cacheControl);
+         }
+         return; // 304, or 412 for a failed If-Match
+      }
+      ValidatedResponse validated = new ValidatedResponse(response, etag, lastModified, cacheControl);
+      chain.doFilter(request, validated);
+      if (!request.isAsyncStarted()) {
+         validated.applyHeaders(); // A response without a body was never written to
+      }
+   }
+
+   private static void addValidators(HttpServletResponse response, String etag, long lastModified, String cacheControl) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+      response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+      response.setHeader(HttpHeaders.ETAG, etag);
+      if (lastModified > 0) {
+         response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+      }
+   }
+
+   /**
+    * Builds a strong ETag: identical for the same request as long as the data version is unchanged.
+    */
+   static String etag(HttpServletRequest request, DataVersion version) {
+      String representation = request.getRequestURI()
+          + "?" + request.getQueryString()
+          + "|" + request.getHeader(HttpHeaders.ACCEPT)
+          + "|" + request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+      String hash = DigestUtils.md5DigestAsHex(representation.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+      return "\"" + version.id().toLowerCase(Locale.ROOT) + "-" + version.version() + "-" + hash + "\"";
+   }
+
+   /**
+    * Maps a request path to the summary type it reads and, for single-period endpoints, the period.
+    *
+    * @return the target, or null if the path is not a versioned summary endpoint.
+    */
+   static Target resolve(String path) {
+      if (!path.startsWith(PREFIX)) {
+         return null;
+      }
+      String[] segments = path.substring(PREFIX.length()).split("/");
+      SummaryType type = switch (segments[0]) {
+         case "days", "stats", "series" -> SummaryType.DAY; // Stats and series are built from day summaries
+         case "weeks" -> SummaryType.WEEK;
+         case "months" -> SummaryType.MONTH;
+         case "years" -> SummaryType.YEAR;
+         case "recent" -> SummaryType.RECENT;
+         default -> null; // e.g. /garmin/admin/**, whose responses are not versioned
+      };
+      if (type == null || segments.length > 2) {
+         return null;
+      }
+      LocalDate period = null;
+      if (segments.length == 2) {
+         try {
+            period = LocalDate.parse(segments[1]);
+         } catch (DateTimeParseException e) {
+            return null; // Left to the controller to reject
+         }
+      }
+      return new Target(type, period);
+   }
+
+   /**
+    * A period is closed once it ended before the current month.
+    */
+   static boolean isClosed(Target target, String yearParam, LocalDate today) {
+      LocalDate firstOfMonth = today.withDayOfMonth(1);
+      if (target.period() != null) {
+         LocalDate end = switch (target.type()) {
+            case DAY, RECENT -> target.period();
+            case WEEK -> target.period().plusDays(6);
+            default -> null;
+         };
+         return end != null && end.isBefore(firstOfMonth);
+      }
+      if (target.type() == SummaryType.MONTH && yearParam != null) {
+         try {
+            return Integer.parseInt(yearParam) < today.getYear();
+         } catch (NumberFormatException e) {
+            return false;
+         }
+      }
+      return false;
+   }
+
+   private static String path(HttpServletRequest request) {
+      return request.getRequestURI().substring(request.getContextPath().length());
+   }
+
+   record Target(SummaryType type, LocalDate period) {}
+
+   /**
+    * Passes the status of a conditional check through but drops its headers.
+    */
+   private static final class StatusOnlyResponse extends HttpServletResponseWrapper {
+
+      private StatusOnlyResponse(HttpServletResponse response) {
+         super(response);
+      }
+
+      @Override
+      public void setHeader(String name, String value) {
+      }
+
+      @Override
+      public void addHeader(String name, String value) {
+      }
+
+      @Override
+      public void setDateHeader(String name, long date) {
+      }
+
+      @Override
+      public String getHeader(String name) {
+         return null;
+      }
+   }
+
+   /**
+    * Adds the validators once the status is known: when the body or an error is about to be
+    * written, or after the chain for responses without a body.
+    */
+   private static final class ValidatedResponse extends HttpServletResponseWrapper {
+
+      private final String etag;
+      private final long lastModified;
+      private final String cacheControl;
+      private boolean applied;
+
+      private ValidatedResponse(HttpServletResponse response, String etag, long lastModified, String cacheControl) {
+         super(response);
+         this.etag = etag;
+         this.lastModified = lastModified;
+         this.cacheControl = cacheControl;
+      }
+
+      @Override
+      public void sendError(int sc) throws IOException {
+         setStatus(sc);
+         applyHeaders();
+         super.sendError(sc);
+      }
+
+      @Override
+      public void sendError(int sc, String msg) throws IOException {
+         setStatus(sc);
+         applyHeaders();
+         super.sendError(sc, msg);
+      }
+
+      @Override
+      public void sendRedirect(String location) throws IOException {
+         setStatus(SC_FOUND);
+         applyHeaders();
+         super.sendRedirect(location);
+      }
+
+      @Override
+      public ServletOutputStream getOutputStream() throws IOException {
+         applyHeaders();
+         return super.getOutputStream();
+      }
+
+      @Override
+      public PrintWriter getWriter() throws IOException {
+         applyHeaders();
+         return super.getWriter();
+      }
+
+      @Override
+      public void flushBuffer() throws IOException {
+         applyHeaders();
+         super.flushBuffer();
+      }
+
+      void applyHeaders() {
+         if (applied || isCommitted()) {
+            return;
+         }
+         applied = true;
+         HttpServletResponse response = (HttpServletResponse) getResponse();
+         if (getStatus() >= 200 && getStatus() < 300) {
+            addValidators(response, etag, lastModified, cacheControl);
+         } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+         }
+      }
+   }
+}
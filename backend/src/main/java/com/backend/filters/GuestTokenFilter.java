@@ -0,0 +1,57 @@
+package com.backend.filters;
+
+import com.backend.services.GuestTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Recognises guests by their signed guest cookie instead of a server session.
+ *
+ * A valid token marks the request with the guest ID (used e.g. as the rate-limit key) and, unless
+ * an admin is logged in, authenticates it as an anonymous "guest:&lt;id&gt;" principal with
+ * ROLE_GUEST. Guests stay anonymous for the authorization rules, so they can still only read.
+ * Checking the token is one HMAC computation; nothing is stored.
+ *
+ * Registered inside the Spring Security chain by SecurityConfig rather than as a bean, so it
+ * runs exactly once, after the admin's security context has been loaded.
+ */
+public class GuestTokenFilter extends OncePerRequestFilter {
+
+   public static final String GUEST_ID_ATTRIBUTE = GuestTokenFilter.class.getName() + ".guestId";
+   private static final String ANONYMOUS_KEY = "hrvibe-guest";
+
+   private final GuestTokenService guestTokenService;
+
+   public GuestTokenFilter(GuestTokenService guestTokenService) {
+      this.guestTokenService = guestTokenService;
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+       throws ServletException, IOException {
+      Cookie cookie = WebUtils.getCookie(request, GuestTokenService.GUEST_COOKIE);
+      if (cookie != null) {
+         guestTokenService.verify(cookie.getValue()).ifPresent(guestId -> {
+            request.setAttribute(GUEST_ID_ATTRIBUTE, guestId);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+               SecurityContext context = SecurityContextHolder.createEmptyContext();
+               context.setAuthentication(new AnonymousAuthenticationToken(
+                   ANONYMOUS_KEY, "guest:" + guestId, AuthorityUtils.createAuthorityList("ROLE_GUEST")));
+               SecurityContextHolder.setContext(context);
+            }
+         });
+      }
+      chain.doFilter(request, response);
+   }
+}
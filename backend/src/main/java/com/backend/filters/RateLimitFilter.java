@@ -0,0 +1,200 @@
+package com.backend.filters;
+
+import com.backend.dtos.ErrorResponse;
+import com.backend.dtos.SummaryPageRequest;
+import com.backend.services.GarminDashboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how fast a single client may read the public /garmin endpoints, with one token bucket
+ * per client.
+ *
+ * Clients are identified by their signed guest token or, for the admin, by the session once the
+ * session cookie is sent back, and by their IP address otherwise (so dropping the cookie does
+ * not reset the bucket). Requests with a guest token or session are also charged to a shared
+ * bucket of their IP address, {@code per-ip-factor} times the size of a client bucket, so minting
+ * new guest tokens does not multiply a client's budget. Issuing a guest token (GET /auth/guest)
+ * is charged to that shared IP bucket only, with or without a previous token, so minting tokens
+ * uses up the same budget their reads would. Behind a reverse proxy, the IP address is only the
+ * client's if the forwarded headers of the trusted proxy are applied (server.forward-headers-strategy).
+ *
+ * Every request costs one token plus one per started page of 30 requested items ("limit");
+ * streamed listings are charged as a maximal page and the dashboard one token per part. A request
+ * without enough tokens gets 429 Too Many Requests with a Retry-After header. Buckets of idle
+ * clients are dropped periodically.
+ */
+@Component
+@Order(0) // Before anything else: conditional and cached responses still count
+public class RateLimitFilter extends OncePerRequestFilter {
+
+   private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+   private static final String PREFIX = "/garmin/";
+   private static final String ADMIN_PREFIX = "/garmin/admin/";
+   private static final String GUEST_LOGIN_PATH = "/auth/guest";
+   private static final String DASHBOARD_PATH = "/garmin/dashboard";
+   private static final String IP_KEY = "ip:";
+   private static final String NETWORK_KEY = "net:"; // Shared by the guests and sessions of one IP address
+   static final int ITEMS_PER_TOKEN = 30; // The default page size
+
+   private final ObjectMapper objectMapper;
+   private final double capacity;
+   private final double refillPerSecond;
+   private final double perIpFactor;
+   private final LongSupplier nanoClock;
+   private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+   private final LongAdder rejections = new LongAdder();
+
+   public RateLimitFilter(ObjectMapper objectMapper,
+                          @Value("${hrvibe.rate-limit.capacity:120}") double capacity,
+                          @Value("${hrvibe.rate-limit.refill-per-second:10}") double refillPerSecond,
+                          @Value("${hrvibe.rate-limit.per-ip-factor:4}") double perIpFactor) {
+      this(objectMapper, capacity, refillPerSecond, perIpFactor, System::nanoTime);
+   }
+
+   RateLimitFilter(ObjectMapper objectMapper, double capacity, double refillPerSecond, double perIpFactor,
+                   LongSupplier nanoClock) {
+      this.objectMapper = objectMapper;
+      this.capacity = capacity;
+      this.refillPerSecond = refillPerSecond;
+      this.perIpFactor = perIpFactor;
+      this.nanoClock = nanoClock;
+   }
+
+   @Override
+   protected boolean shouldNotFilter(HttpServletRequest request) {
+      String path = path(request);
+      boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+      if (read && path.equals(GUEST_LOGIN_PATH)) {
+         return false;
+      }
+      return !read || !path.startsWith(PREFIX) || path.startsWith(ADMIN_PREFIX); // Writes and admin tools need a login
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+       throws ServletException, IOException {
+      String client = clientKey(request);
+      double cost = cost(request);
+      long now = nanoClock.getAsLong();
+      long waitNanos;
+      if (path(request).equals(GUEST_LOGIN_PATH)) {
+         client = NETWORK_KEY + request.getRemoteAddr(); // Token issuance
+         waitNanos = bucket(client, perIpFactor, now).tryConsume(cost, now);
+      } else if (client.startsWith(IP_KEY)) {
+         waitNanos = bucket(client, 1, now).tryConsume(cost, now);
+      } else {
+         // Charged to the shared IP bucket first; given back if the client's own bucket is empty.
+         TokenBucket network = bucket(NETWORK_KEY + request.getRemoteAddr(), perIpFactor, now);
+         waitNanos = network.tryConsume(cost, now);
+         if (waitNanos == 0) {
+            waitNanos = bucket(client, 1, now).tryConsume(cost, now);
+            if (waitNanos > 0) {
+               network.refund(cost);
+            }
+         }
+      }
+      if (waitNanos == 0) {
+         chain.doFilter(request, response);
+         return;
+      }
+
+      rejections.increment();
+      long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+      logger.warn("🚦 Rate limit exceeded by {} on {}.", client, request.getRequestURI());
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+          "Too Many Requests", "Request rate limit exceeded, retry in " + retryAfter + " s"));
+   }
+
+   /**
+    * Drops the buckets of clients that have been idle long enough to refill them completely;
+    * a new bucket for the same client would start full anyway.
+    */
+   @Scheduled(fixedRateString = "${hrvibe.rate-limit.cleanup-interval:1m}")
+   public void evictIdleClients() {
+      long now = nanoClock.getAsLong();
+      buckets.values().removeIf(bucket -> bucket.isFull(now));
+   }
+
+   /**
+    * @return the number of clients with a bucket.
+    */
+   public int trackedClients() {
+      return buckets.size();
+   }
+
+   /**
+    * @return the number of requests rejected with 429.
+    */
+   public long rejections() {
+      return rejections.sum();
+   }
+
+   /**
+    * The token cost of a request: 1, plus 1 per started page of {@value #ITEMS_PER_TOKEN} requested items,
+    * or one per part for the dashboard bundle.
+    */
+   static double cost(HttpServletRequest request) {
+      if (path(request).equals(DASHBOARD_PATH)) {
+         return GarminDashboardService.PARTS; // Each part reads at most one page
+      }
+      boolean streamed = "true".equals(request.getParameter("stream"))
+          || String.valueOf(request.getHeader(HttpHeaders.ACCEPT)).contains("application/x-ndjson");
+      int items = streamed ? SummaryPageRequest.MAX_LIMIT : 0;
+      String limit = request.getParameter("limit");
+      if (!streamed && limit != null) {
+         try {
+            // Charged for the rows actually read: the page size is capped at MAX_LIMIT.
+            items = Math.clamp(Integer.parseInt(limit.trim()), 0, SummaryPageRequest.MAX_LIMIT);
+         } catch (NumberFormatException e) {
+            items = 0; // Rejected with 400 by the controller
+         }
+      }
+      return 1 + Math.ceil((double) items / ITEMS_PER_TOKEN);
+   }
+
+   /**
+    * Identifies the client: its guest token or established session, otherwise its IP address.
+    */
+   static String clientKey(HttpServletRequest request) {
+      if (request.getAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE) instanceof String guestId) {
+         return "guest:" + guestId; // Verified guest token
+      }
+      HttpSession session = request.getSession(false);
+      if (session != null && !session.isNew()) {
+         return "session:" + session.getId();
+      }
+      return IP_KEY + request.getRemoteAddr();
+   }
+
+   private TokenBucket bucket(String key, double factor, long now) {
+      return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity * factor, refillPerSecond * factor, now));
+   }
+
+   private static String path(HttpServletRequest request) {
+      return request.getRequestURI().substring(request.getContextPath().length());
+   }
+}
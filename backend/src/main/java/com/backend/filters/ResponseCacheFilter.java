@@ -0,0 +1,198 @@
+package com.backend.filters;
+
+import com.backend.events.SummaryType;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.DataVersion;
+import com.backend.services.DataVersionService;
+import com.backend.utils.SummaryFieldUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the final response bytes of the heaviest summary GET endpoints
+ * (/garmin/years, /garmin/months and /garmin/recent/{date}).
+ *
+ * The first request runs the controller as usual; its JSON body is stored both as-is and
+ * gzip-compressed, keyed by the data version, path, the parameters these endpoints read
+ * ("year" and "fields", in canonical form) and the Accept header. Later requests for the same
+ * key skip the controller, Jackson and compression entirely and write the stored encoding that
+ * matches their Accept-Encoding. An ingest run bumps the data version, so stale entries are
+ * never served again and simply age out of the LRU.
+ *
+ * The cache is bounded by the total size of the stored bodies, so a few large month listings
+ * cannot hold more memory than configured; other query parameters never create new entries.
+ */
+@Component
+@Order(2) // After ConditionalGetFilter, so a 304 never reaches the cache
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+   private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+   private static final Set<SummaryType> CACHED_TYPES = Set.of(SummaryType.YEAR, SummaryType.MONTH, SummaryType.RECENT);
+   private static final String GZIP = "gzip";
+
+   private final DataVersionService dataVersionService;
+   private final long maxBytes;
+   private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true); // LRU order
+   private long bytes; // Size of all entries; guarded by responses
+
+   public ResponseCacheFilter(DataVersionService dataVersionService,
+                              @Value("${hrvibe.response-cache.max-size:16MB}") DataSize maxSize) {
+      this.dataVersionService = dataVersionService;
+      this.maxBytes = maxSize.toBytes();
+   }
+
+   @Override
+   protected boolean shouldNotFilter(HttpServletRequest request) {
+      if (!"GET".equals(request.getMethod())) {
+         return true;
+      }
+      ConditionalGetFilter.Target target =
+          ConditionalGetFilter.resolve(request.getRequestURI().substring(request.getContextPath().length()));
+      return target == null || !CACHED_TYPES.contains(target.type());
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+       throws ServletException, IOException {
+      ConditionalGetFilter.Target target =
+          ConditionalGetFilter.resolve(request.getRequestURI().substring(request.getContextPath().length()));
+      Optional<DataVersion> version = dataVersionService.currentVersion(target.type());
+      if (version.isEmpty()) {
+         chain.doFilter(request, response); // Without a version, entries could not be invalidated
+         return;
+      }
+
+      String query = normalizedQuery(request);
+      if (query == null) {
+         chain.doFilter(request, response); // Invalid parameters: the controller answers with 400
+         return;
+      }
+      String key = version.get().id() + "-" + version.get().version()
+          + "|" + request.getRequestURI() + "?" + query
+          + "|" + request.getHeader(HttpHeaders.ACCEPT);
+      boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+      CachedResponse cached;
+      synchronized (responses) {
+         cached = responses.get(key);
+      }
+      if (cached != null) {
+         write(cached, gzip, response);
+         return;
+      }
+
+      ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+      chain.doFilter(request, wrapper);
+
+      byte[] body = wrapper.getContentAsByteArray();
+      if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length == 0 || wrapper.getContentType() == null) {
+         wrapper.copyBodyToResponse(); // Errors and empty bodies are not cached
+         return;
+      }
+      CachedResponse entry = new CachedResponse(wrapper.getContentType(), body, compress(body));
+      put(key, entry);
+      logger.debug("Cached response for {} ({} bytes, {} gzipped).", key, body.length, entry.gzipped().length);
+      write(entry, gzip, response);
+   }
+
+   /**
+    * Builds the query part of the cache key from the parameters the cached endpoints read.
+    *
+    * @return "year=...&fields=..." with the fields sorted, or null if a parameter is invalid.
+    */
+   static String normalizedQuery(HttpServletRequest request) {
+      String year = request.getParameter("year");
+      try {
+         if (year != null && !year.isEmpty()) {
+            year = String.valueOf(Integer.parseInt(year));
+         }
+         Set<String> fields = new TreeSet<>(SummaryFieldUtils.parseFields(request.getParameter("fields")));
+         return "year=" + (year == null ? "" : year) + "&fields=" + String.join(",", fields);
+      } catch (NumberFormatException | InvalidQueryParameterException e) {
+         return null;
+      }
+   }
+
+   // Stores an entry and evicts the least recently used ones until the cache fits its size again.
+   private void put(String key, CachedResponse entry) {
+      long size = entry.size(key);
+      if (size > maxBytes) {
+         return;
+      }
+      synchronized (responses) {
+         CachedResponse replaced = responses.put(key, entry);
+         bytes += size - (replaced == null ? 0 : replaced.size(key));
+         Iterator<Map.Entry<String, CachedResponse>> eldest = responses.entrySet().iterator();
+         while (bytes > maxBytes) {
+            Map.Entry<String, CachedResponse> evicted = eldest.next();
+            bytes -= evicted.getValue().size(evicted.getKey());
+            eldest.remove();
+         }
+      }
+   }
+
+   /**
+    * Checks whether the client accepts gzip (explicitly or via "*") with a non-zero quality.
+    */
+   static boolean acceptsGzip(String acceptEncoding) {
+      if (acceptEncoding == null) {
+         return false;
+      }
+      for (String coding : acceptEncoding.split(",")) {
+         String[] parts = coding.trim().split(";");
+         String name = parts[0].trim();
+         boolean rejected = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+         if ((GZIP.equalsIgnoreCase(name) || "*".equals(name)) && !rejected) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private static void write(CachedResponse cached, boolean gzip, HttpServletResponse response) throws IOException {
+      byte[] bytes = gzip ? cached.gzipped() : cached.identity();
+      response.setContentType(cached.contentType());
+      if (gzip) {
+         response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+      }
+      response.setContentLength(bytes.length);
+      response.getOutputStream().write(bytes);
+   }
+
+   private static byte[] compress(byte[] body) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+         gzip.write(body);
+      }
+      return out.toByteArray();
+   }
+
+   private record CachedResponse(String contentType, byte[] identity, byte[] gzipped) {
+
+      // Approximate heap use: both encodings plus the key.
+      long size(String key) {
+         return identity.length + gzipped.length + 2L * key.length();
+      }
+   }
+}
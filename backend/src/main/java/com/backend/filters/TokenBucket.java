@@ -0,0 +1,57 @@
+package com.backend.filters;
+
+/**
+ * A token bucket: holds up to {@code capacity} tokens and refills continuously at a fixed rate.
+ * Time is passed in (System.nanoTime() values) so callers and tests control the clock.
+ */
+final class TokenBucket {
+
+   private final double capacity;
+   private final double refillPerNano;
+   private double tokens;
+   private long updatedAt;
+
+   TokenBucket(double capacity, double refillPerSecond, long now) {
+      this.capacity = capacity;
+      this.refillPerNano = refillPerSecond / 1_000_000_000d;
+      this.tokens = capacity;
+      this.updatedAt = now;
+   }
+
+   /**
+    * Takes {@code cost} tokens if available. Costs above the capacity are charged as the capacity.
+    *
+    * @return 0 if the tokens were taken, otherwise the nanoseconds until enough tokens are available.
+    */
+   synchronized long tryConsume(double cost, long now) {
+      refill(now);
+      double charged = Math.min(cost, capacity);
+      if (tokens >= charged) {
+         tokens -= charged;
+         return 0;
+      }
+      return (long) Math.ceil((charged - tokens) / refillPerNano);
+   }
+
+   /**
+    * Gives back tokens taken for a request that was rejected by another limit after all.
+    */
+   synchronized void refund(double cost) {
+      tokens = Math.min(capacity, tokens + Math.min(cost, capacity));
+   }
+
+   /**
+    * @return true if the bucket has refilled completely, i.e. the client has been idle.
+    */
+   synchronized boolean isFull(long now) {
+      refill(now);
+      return tokens >= capacity;
+   }
+
+   private void refill(long now) {
+      if (now > updatedAt) {
+         tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerNano);
+         updatedAt = now;
+      }
+   }
+}
@@ -3,6 +3,7 @@ package com.backend.models;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 
 @Document(collection = "current_day_summaries") // Stores the latest day's summary
 @JsonInclude(JsonInclude.Include.ALWAYS)  // Ensures null fields are included
+@CompoundIndex (name = "unique_day", def = "{'day': 1}", unique = true) // Serves day lookups and range aggregations
 public record CurrentDaySummary(
     @Id String id, // Unique MongoDB ID
 
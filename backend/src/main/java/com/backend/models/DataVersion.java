@@ -0,0 +1,16 @@
+package com.backend.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+@Document(collection = "data_versions") // Change counters used for HTTP validators (ETag / Last-Modified)
+public record DataVersion(
+    @Id String id, // Summary type (e.g. "DAY") or summary type plus period (e.g. "DAY/2024-03-10")
+
+    @Field("version") long version, // Bumped once per ingest run of the summary type
+
+    @Field("modifiedAt") Instant modifiedAt // When the type or period was last written
+) {}
@@ -0,0 +1,31 @@
+package com.backend.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+
+@Document(collection = "heart_rate_days") // Minute-level heart rate from GarminDB's monitoring_hr, one document per day
+@CompoundIndex (name = "unique_day", def = "{'day': 1}", unique = true) // Serves day lookups and range queries
+public record HeartRateDay(
+    @Id String id, // Unique MongoDB ID
+
+    @Field ("day")
+    @JsonFormat (shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    LocalDate day, // Day of the readings (local time, as stored by GarminDB)
+
+    @Field("n") int samples, // Readings packed into this day
+
+    @Field("m") int minutes, // Minutes with at least one reading
+
+    @Field("lo") Integer hrMin, // Lowest minute value, null if the day has no readings
+
+    @Field("hi") Integer hrMax, // Highest minute value
+
+    @Field("avg") Integer hrAvg, // Average over the minutes with readings
+
+    @Field("bpm") byte[] bpm // 1440 unsigned bytes, the average bpm of each minute of the day (0 = no reading)
+) {}
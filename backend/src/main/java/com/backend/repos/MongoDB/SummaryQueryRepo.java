@@ -0,0 +1,218 @@
+package com.backend.repos.MongoDB;
+
+import com.backend.models.CurrentDaySummary;
+import com.backend.models.MonthlySummary;
+import com.backend.models.RecentDailySummaries;
+import com.backend.models.WeeklySummary;
+import com.backend.models.YearlySummary;
+import com.backend.utils.SummaryFieldUtils;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repository for summary lookups that MongoRepository derived queries cannot express.
+ *
+ * Methods take the selected metric names (e.g. "hrAvg") and push them down to MongoDB as a
+ * field projection, so documents come back with only the identifying fields and the requested
+ * metrics; an empty selection reads whole documents. Metric names are mapped to their stored
+ * keys by the model mapping.
+ *
+ * Day and week listings are read as keyset pages: a range condition on the indexed date key
+ * plus a sort and limit, so every page costs the same no matter how deep it is. The same range
+ * can also be read as a cursor-backed Stream for responses that are written incrementally.
+ */
+@Repository
+public class SummaryQueryRepo {
+
+   private static final int STREAM_BATCH_SIZE = 500;
+
+   private final MongoTemplate mongoTemplate;
+
+   public SummaryQueryRepo(MongoTemplate mongoTemplate) {
+      this.mongoTemplate = mongoTemplate;
+   }
+
+   /**
+    * Finds one keyset page of day summaries within an inclusive date range.
+    *
+    * @param lowest    the earliest day to include, or null for no lower bound.
+    * @param highest   the latest day to include, or null for no upper bound.
+    * @param ascending true to read the oldest days of the range first, false for the newest first.
+    * @param limit     the maximum number of day summaries to return.
+    * @param fields    the metric names to read (empty for all).
+    * @return a List of CurrentDaySummary objects in the requested order.
+    */
+   public List<CurrentDaySummary> findDayPage(LocalDate lowest, LocalDate highest, boolean ascending,
+                                              int limit, Set<String> fields) {
+      Query query = pageQuery("day", lowest, highest, ascending, limit);
+      return mongoTemplate.find(projectSummary(query, "day", fields), CurrentDaySummary.class);
+   }
+
+   /**
+    * Streams all day summaries within an inclusive date range, newest first, from a MongoDB cursor.
+    * The caller must close the returned Stream.
+    *
+    * @param lowest  the earliest day to include, or null for no lower bound.
+    * @param highest the latest day to include, or null for no upper bound.
+    * @param fields  the metric names to read (empty for all).
+    * @return a Stream of CurrentDaySummary objects.
+    */
+   public Stream<CurrentDaySummary> streamDays(LocalDate lowest, LocalDate highest, Set<String> fields) {
+      Query query = pageQuery("day", lowest, highest, false, 0).cursorBatchSize(STREAM_BATCH_SIZE);
+      return mongoTemplate.stream(projectSummary(query, "day", fields), CurrentDaySummary.class);
+   }
+
+   /**
+    * Streams raw day documents within an inclusive date range, oldest first, from a MongoDB cursor.
+    * Only the day and the stored keys of the given metrics are read, and no entity mapping is
+    * applied, for consumers that pick a few values out of every row. The caller must close the Stream.
+    *
+    * @param lowest  the earliest day to include, or null for no lower bound.
+    * @param highest the latest day to include, or null for no upper bound.
+    * @param metrics the metric names to read.
+    * @return a Stream of raw documents with "day" and a trimmed "summary" sub-document.
+    */
+   public Stream<Document> streamDayMetrics(LocalDate lowest, LocalDate highest, Set<String> metrics) {
+      Query query = pageQuery("day", lowest, highest, true, 0).cursorBatchSize(STREAM_BATCH_SIZE);
+      query.fields().include("day");
+      metrics.forEach(metric -> query.fields().include("summary." + SummaryFieldUtils.storedFieldName(metric)));
+      return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(CurrentDaySummary.class));
+   }
+
+   /**
+    * Finds the day summary for a specific date.
+    *
+    * @param day    the date to look up.
+    * @param fields the metric names to read.
+    * @return an Optional containing the projected CurrentDaySummary if found.
+    */
+   public Optional<CurrentDaySummary> findDaySummary(LocalDate day, Set<String> fields) {
+      Query query = new Query(Criteria.where("day").is(day));
+      return Optional.ofNullable(mongoTemplate.findOne(projectSummary(query, "day", fields), CurrentDaySummary.class));
+   }
+
+   /**
+    * Finds one keyset page of weekly summaries within an inclusive firstDay range.
+    *
+    * @param lowest    the earliest firstDay to include, or null for no lower bound.
+    * @param highest   the latest firstDay to include, or null for no upper bound.
+    * @param ascending true to read the oldest weeks of the range first, false for the newest first.
+    * @param limit     the maximum number of weekly summaries to return.
+    * @param fields    the metric names to read (empty for all).
+    * @return a List of WeeklySummary objects in the requested order.
+    */
+   public List<WeeklySummary> findWeekPage(LocalDate lowest, LocalDate highest, boolean ascending,
+                                           int limit, Set<String> fields) {
+      Query query = pageQuery("firstDay", lowest, highest, ascending, limit);
+      return mongoTemplate.find(projectSummary(query, "firstDay", fields), WeeklySummary.class);
+   }
+
+   /**
+    * Streams all weekly summaries within an inclusive firstDay range, newest first, from a MongoDB cursor.
+    * The caller must close the returned Stream.
+    *
+    * @param lowest  the earliest firstDay to include, or null for no lower bound.
+    * @param highest the latest firstDay to include, or null for no upper bound.
+    * @param fields  the metric names to read (empty for all).
+    * @return a Stream of WeeklySummary objects.
+    */
+   public Stream<WeeklySummary> streamWeeks(LocalDate lowest, LocalDate highest, Set<String> fields) {
+      Query query = pageQuery("firstDay", lowest, highest, false, 0).cursorBatchSize(STREAM_BATCH_SIZE);
+      return mongoTemplate.stream(projectSummary(query, "firstDay", fields), WeeklySummary.class);
+   }
+
+   /**
+    * Finds the weekly summary starting on the given day.
+    *
+    * @param firstDay the first day of the week.
+    * @param fields   the metric names to read.
+    * @return an Optional containing the projected WeeklySummary if found.
+    */
+   public Optional<WeeklySummary> findWeekSummary(LocalDate firstDay, Set<String> fields) {
+      Query query = new Query(Criteria.where("firstDay").is(firstDay));
+      return Optional.ofNullable(mongoTemplate.findOne(projectSummary(query, "firstDay", fields), WeeklySummary.class));
+   }
+
+   /**
+    * Finds monthly summaries, newest first, optionally restricted to one year.
+    * The year filter is a range on firstDay so it can use the firstDay index.
+    *
+    * @param year   the year to filter by, or null for all monthly summaries.
+    * @param fields the metric names to read.
+    * @return a List of projected MonthlySummary objects.
+    */
+   public List<MonthlySummary> findMonthSummaries(Integer year, Set<String> fields) {
+      Query query = new Query().with(Sort.by(Sort.Direction.DESC, "firstDay"));
+      if (year != null) {
+         query.addCriteria(Criteria.where("firstDay")
+                               .gte(LocalDate.of(year, 1, 1))
+                               .lt(LocalDate.of(year + 1, 1, 1)));
+      }
+      return mongoTemplate.find(projectSummary(query, "firstDay", fields), MonthlySummary.class);
+   }
+
+   /**
+    * Finds all yearly summaries, newest first.
+    *
+    * @param fields the metric names to read.
+    * @return a List of projected YearlySummary objects.
+    */
+   public List<YearlySummary> findYearSummaries(Set<String> fields) {
+      Query query = new Query().with(Sort.by(Sort.Direction.DESC, "firstDay"));
+      return mongoTemplate.find(projectSummary(query, "firstDay", fields), YearlySummary.class);
+   }
+
+   /**
+    * Finds the recent daily summaries for the given latest day.
+    * The metrics are top-level lists in this collection, so they are projected directly.
+    *
+    * @param latestDay the most recent day of the 7-day window.
+    * @param fields    the metric names to read.
+    * @return an Optional containing the projected RecentDailySummaries if found.
+    */
+   public Optional<RecentDailySummaries> findRecentDailySummaries(LocalDate latestDay, Set<String> fields) {
+      Query query = new Query(Criteria.where("latestDay").is(latestDay));
+      query.fields().include("latestDay");
+      fields.forEach(field -> query.fields().include(field));
+      return Optional.ofNullable(mongoTemplate.findOne(query, RecentDailySummaries.class));
+   }
+
+   /**
+    * Builds a sorted range query on the date key. A limit of 0 reads the whole range.
+    */
+   private static Query pageQuery(String dateField, LocalDate lowest, LocalDate highest, boolean ascending, int limit) {
+      Query query = new Query()
+          .with(Sort.by(ascending ? Sort.Direction.ASC : Sort.Direction.DESC, dateField))
+          .limit(limit);
+      if (lowest != null || highest != null) {
+         Criteria range = Criteria.where(dateField);
+         if (lowest != null) {
+            range.gte(lowest);
+         }
+         if (highest != null) {
+            range.lte(highest);
+         }
+         query.addCriteria(range);
+      }
+      return query;
+   }
+
+   private static Query projectSummary(Query query, String dateField, Set<String> fields) {
+      if (fields.isEmpty()) {
+         return query; // Read whole documents
+      }
+      query.fields().include(dateField);
+      fields.forEach(field -> query.fields().include("summary." + field));
+      return query;
+   }
+}
@@ -0,0 +1,83 @@
+package com.backend.repos.SQL;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only row of a table read by {@link SQLitePageReader}: the values array of the row, looked up by column
+ * name through an index shared by all rows of the table. Equal to a {@code HashMap} with the same entries,
+ * without allocating a hash table per row.
+ */
+final class ColumnRow extends AbstractMap<String, Object> {
+
+   private final Map<String, Integer> columnIndex; // Column name -> position, shared by all rows
+   private final String[] columns;
+   private final Object[] values;
+
+   ColumnRow(Map<String, Integer> columnIndex, String[] columns, Object[] values) {
+      this.columnIndex = columnIndex;
+      this.columns = columns;
+      this.values = values;
+   }
+
+   @Override
+   public Object get(Object key) {
+      Integer index = columnIndex.get(key);
+      return index == null ? null : values[index];
+   }
+
+   @Override
+   public boolean containsKey(Object key) {
+      return columnIndex.containsKey(key);
+   }
+
+   @Override
+   public int size() {
+      return columnIndex.size();
+   }
+
+   @Override
+   public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<>() {
+         @Override
+         public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<>() {
+               private int next = nextColumn(0);
+
+               @Override
+               public boolean hasNext() {
+                  return next < columns.length;
+               }
+
+               @Override
+               public Entry<String, Object> next() {
+                  if (next >= columns.length) {
+                     throw new NoSuchElementException();
+                  }
+                  Entry<String, Object> entry = new SimpleImmutableEntry<>(columns[next], values[next]);
+                  next = nextColumn(next + 1);
+                  return entry;
+               }
+            };
+         }
+
+         @Override
+         public int size() {
+            return columnIndex.size();
+         }
+      };
+   }
+
+   // Skips columns hidden by a later column of the same name, as in a HashMap built in column order.
+   private int nextColumn(int from) {
+      int i = from;
+      while (i < columns.length && columnIndex.get(columns[i]) != i) {
+         i++;
+      }
+      return i;
+   }
+}
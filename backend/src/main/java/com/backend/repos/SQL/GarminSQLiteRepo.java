@@ -4,25 +4,41 @@ import com.backend.config.GarminDatabaseConfig;
 import com.backend.exceptions.GarminDatabaseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 public class GarminSQLiteRepo {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminSQLiteRepo.class);
+   private static final int STREAM_FETCH_SIZE = 1000;
    private final GarminDatabaseConfig garminDbConfig;
+   private final boolean pageReaderEnabled; // Full-table reads via SQLitePageReader instead of JDBC
+   private final Map<Path, MappedDatabase> pageReaders = new ConcurrentHashMap<>();
 
-   public GarminSQLiteRepo(GarminDatabaseConfig garminDbConfig) {
+   public GarminSQLiteRepo(
+       GarminDatabaseConfig garminDbConfig,
+       @Value("${hrvibe.sqlite.page-reader:false}") boolean pageReaderEnabled) {
       this.garminDbConfig = garminDbConfig;
+      this.pageReaderEnabled = pageReaderEnabled;
    }
 
    /**
@@ -51,15 +67,31 @@ public class GarminSQLiteRepo {
    /**
     * Fetches all rows from a specified SQLite table.
     * Ensures table name is valid and returns an empty list if no data is found.
+    * With {@code hrvibe.sqlite.page-reader} enabled, the table is read from the memory-mapped database file
+    * and JDBC is only used for files or tables the page reader does not support.
     */
    public List<Map<String, Object>> fetchTableData(String databaseName, String tableName) {
-      List<Map<String, Object>> result = new ArrayList<>();
-
       // ✅ Validate the table name before querying
       if (!isValidTableName(tableName)) {
          throw new IllegalArgumentException("❌ Invalid table name: " + tableName);
       }
 
+      List<Map<String, Object>> result = pageReaderEnabled ? fetchWithPageReader(databaseName, tableName.trim()) : null;
+      if (result == null) {
+         result = fetchWithJdbc(databaseName, tableName);
+      }
+
+      if (result.isEmpty()) {
+         logger.warn("⚠️ No data found in table '{}' from database '{}'", tableName, databaseName);
+      } else {
+         logger.info("✅ Retrieved {} rows from table '{}' in database '{}'", result.size(), tableName, databaseName);
+      }
+
+      return result;
+   }
+
+   private List<Map<String, Object>> fetchWithJdbc(String databaseName, String tableName) {
+      List<Map<String, Object>> result = new ArrayList<>();
       String query = "SELECT * FROM " + tableName;
 
       try (Connection connection = garminDbConfig.getConnection(databaseName);
@@ -79,14 +111,212 @@ public class GarminSQLiteRepo {
       } catch (SQLException e) {
          throw new GarminDatabaseException("❌ Error querying table '" + tableName + "' in database '" + databaseName + "': " + e.getMessage(), e);
       }
+      return result;
+   }
 
-      if (result.isEmpty()) {
-         logger.warn("⚠️ No data found in table '{}' from database '{}'", tableName, databaseName);
-      } else {
-         logger.info("✅ Retrieved {} rows from table '{}' in database '{}'", result.size(), tableName, databaseName);
+   /**
+    * Reads all rows of a table with {@link SQLitePageReader}, without JDBC.
+    * Rows are {@link ColumnRow}s over the decoded values, sharing one column index.
+    *
+    * @return the rows, or null if the page reader cannot read this database or table.
+    */
+   private List<Map<String, Object>> fetchWithPageReader(String databaseName, String tableName) {
+      Path path = garminDbConfig.getDatabasePath(databaseName);
+      try {
+         SQLitePageReader reader = pageReader(path);
+         String[] columns = reader.columnNames(tableName);
+         Map<String, Integer> columnIndex = HashMap.newHashMap(columns.length);
+         for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+         }
+         List<Map<String, Object>> result = new ArrayList<>();
+         reader.scan(tableName, values -> result.add(new ColumnRow(columnIndex, columns, values.clone())));
+         return result;
+      } catch (SQLitePageReader.UnsupportedTableException | RuntimeException e) {
+         // Only this table falls back to JDBC; decoding errors (e.g. ClassCastException) included.
+         logger.info("↩️ Page reader cannot read table '{}' in database '{}', using JDBC: {}", tableName, databaseName, e.toString());
+         return null;
+      } catch (IOException e) {
+         // A journal or WAL, a change during the scan, a corrupt page or a failed mapping: map the file again next time.
+         pageReaders.remove(path);
+         logger.info("↩️ Page reader cannot read database '{}', using JDBC: {}", databaseName, e.toString());
+         return null;
       }
+   }
 
-      return result;
+   // One mapping per database file, replaced when the file's size or modification time changes.
+   // A replaced mapping is released once the garbage collector reclaims its reader.
+   private SQLitePageReader pageReader(Path path) throws IOException {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      MappedDatabase cached = pageReaders.get(path);
+      if (cached != null && cached.size() == attributes.size() && cached.modified().equals(attributes.lastModifiedTime())) {
+         return cached.reader();
+      }
+      SQLitePageReader reader = SQLitePageReader.open(path);
+      pageReaders.put(path, new MappedDatabase(attributes.size(), attributes.lastModifiedTime(), reader));
+      return reader;
+   }
+
+   /**
+    * Returns the cached mapping of a database file, or null. Package-private for testing.
+    */
+   SQLitePageReader mappedReader(Path path) {
+      MappedDatabase cached = pageReaders.get(path);
+      return cached == null ? null : cached.reader();
+   }
+
+   private record MappedDatabase(
+       long size,              // File size when mapped
+       FileTime modified,      // Last modification time when mapped
+       SQLitePageReader reader
+   ) {
+   }
+
+   /**
+    * Streams all rows of a specified SQLite table to the given writer, one row at a time,
+    * so memory use does not depend on the size of the table.
+    *
+    * @return the number of rows written.
+    * @throws IOException if the writer fails.
+    */
+   public long streamTableData(String databaseName, String tableName, TableRowWriter writer) throws IOException {
+      return streamTableData(databaseName, tableName, List.of(), writer);
+   }
+
+   /**
+    * Streams all rows of a specified SQLite table to the given writer, sorted by the given columns
+    * (e.g. the primary key, or "rowid").
+    *
+    * @return the number of rows written.
+    * @throws IOException if the writer fails.
+    */
+   public long streamTableData(String databaseName, String tableName, List<String> orderBy, TableRowWriter writer)
+       throws IOException {
+      if (!isValidTableName(tableName)) {
+         throw new IllegalArgumentException("❌ Invalid table name: " + tableName);
+      }
+      for (String column : orderBy) {
+         if (!isValidTableName(column)) {
+            throw new IllegalArgumentException("❌ Invalid column name: " + column);
+         }
+      }
+
+      String query = "SELECT * FROM " + tableName.trim()
+          + (orderBy.isEmpty() ? "" : " ORDER BY " + String.join(", ", orderBy));
+      try (Connection connection = garminDbConfig.getConnection(databaseName);
+           Statement stmt = connection.createStatement()) {
+         stmt.setFetchSize(STREAM_FETCH_SIZE);
+         try (ResultSet rs = stmt.executeQuery(query)) {
+            return writeRows(rs, writer);
+         }
+      } catch (SQLException e) {
+         throw new GarminDatabaseException("❌ Error streaming table '" + tableName + "' in database '" + databaseName + "': " + e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Streams the rows of a table whose column value lies in [from, to), sorted by that column.
+    * Large time-series tables (e.g. monitoring_hr) are read in date-partitioned chunks this way,
+    * using the index on the column instead of a full scan.
+    *
+    * @return the number of rows written.
+    * @throws IOException if the writer fails.
+    */
+   public long streamTableRange(String databaseName, String tableName, String column, String from, String to,
+                                TableRowWriter writer) throws IOException {
+      if (!isValidTableName(tableName)) {
+         throw new IllegalArgumentException("❌ Invalid table name: " + tableName);
+      }
+      if (!isValidTableName(column)) {
+         throw new IllegalArgumentException("❌ Invalid column name: " + column);
+      }
+
+      String query = "SELECT * FROM " + tableName.trim() + " WHERE " + column + " >= ? AND " + column + " < ? ORDER BY " + column;
+      try (Connection connection = garminDbConfig.getConnection(databaseName);
+           PreparedStatement stmt = connection.prepareStatement(query)) {
+         stmt.setFetchSize(STREAM_FETCH_SIZE);
+         stmt.setString(1, from);
+         stmt.setString(2, to);
+         try (ResultSet rs = stmt.executeQuery()) {
+            return writeRows(rs, writer);
+         }
+      } catch (SQLException e) {
+         throw new GarminDatabaseException("❌ Error streaming table '" + tableName + "' in database '" + databaseName + "': " + e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Returns the smallest and largest value of a column, as text.
+    *
+    * @return the first and last value, or an empty list if the table has no rows.
+    */
+   public List<String> getColumnBounds(String databaseName, String tableName, String column) {
+      if (!isValidTableName(tableName)) {
+         throw new IllegalArgumentException("❌ Invalid table name: " + tableName);
+      }
+      if (!isValidTableName(column)) {
+         throw new IllegalArgumentException("❌ Invalid column name: " + column);
+      }
+
+      try (Connection connection = garminDbConfig.getConnection(databaseName);
+           Statement stmt = connection.createStatement();
+           ResultSet rs = stmt.executeQuery("SELECT MIN(" + column + "), MAX(" + column + ") FROM " + tableName.trim())) {
+         if (!rs.next() || rs.getString(1) == null) {
+            return List.of();
+         }
+         return List.of(rs.getString(1), rs.getString(2));
+      } catch (SQLException e) {
+         throw new GarminDatabaseException("❌ Failed to read the range of '" + column + "' in table '" + tableName + "' of database '" + databaseName + "'", e);
+      }
+   }
+
+   // Passes the rows of a result set to the writer, reusing one value array.
+   private static long writeRows(ResultSet rs, TableRowWriter writer) throws SQLException, IOException {
+      ResultSetMetaData metaData = rs.getMetaData();
+      String[] columns = new String[metaData.getColumnCount()];
+      int[] sqlTypes = new int[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+         columns[i] = metaData.getColumnName(i + 1);
+         sqlTypes[i] = metaData.getColumnType(i + 1);
+      }
+      writer.columns(columns, sqlTypes);
+
+      long rows = 0;
+      Object[] values = new Object[columns.length]; // Reused for every row
+      while (rs.next()) {
+         for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1);
+         }
+         writer.row(values);
+         rows++;
+      }
+      return rows;
+   }
+
+   /**
+    * Returns the primary key columns of a table, in key order.
+    *
+    * @return the key columns, or an empty list if the table has no declared primary key.
+    */
+   public List<String> getPrimaryKeyColumns(String databaseName, String tableName) {
+      if (!isValidTableName(tableName)) {
+         throw new IllegalArgumentException("❌ Invalid table name: " + tableName);
+      }
+
+      Map<Integer, String> keyColumns = new TreeMap<>();
+      try (Connection connection = garminDbConfig.getConnection(databaseName);
+           Statement stmt = connection.createStatement();
+           ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + tableName.trim() + ")")) {
+         while (rs.next()) {
+            int position = rs.getInt("pk"); // 0 if not part of the key, otherwise the 1-based key position
+            if (position > 0) {
+               keyColumns.put(position, rs.getString("name"));
+            }
+         }
+      } catch (SQLException e) {
+         throw new GarminDatabaseException("❌ Failed to read the primary key of table '" + tableName + "' in database '" + databaseName + "'", e);
+      }
+      return new ArrayList<>(keyColumns.values());
    }
 
    /**
@@ -0,0 +1,546 @@
+package com.backend.repos.SQL;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read-only reader for the SQLite file format, used for full-table scans without sqlite-jdbc.
+ * <p>
+ * The database file is memory-mapped and the table B-tree is walked page by page. Records are decoded
+ * straight from the mapped pages into the values {@code ResultSet.getObject} returns for them
+ * (Integer or Long, Double, String, byte[] or null), so rows match a {@code SELECT *} through JDBC.
+ * </p>
+ * <p>
+ * Only rowid tables of UTF-8 databases without a pending journal or WAL are supported. Anything else
+ * (WITHOUT ROWID or virtual tables, generated columns, UTF-16 text, files over 2 GiB, a file changed
+ * during the scan, a corrupt page) throws {@link IOException}, and callers fall back to JDBC. Problems
+ * of a single table throw {@link UnsupportedTableException}: the mapping can still serve other tables.
+ * </p>
+ * <p>
+ * A reader holds no state besides the mapping, so one instance can serve concurrent scans.
+ * </p>
+ */
+public final class SQLitePageReader {
+
+   private static final byte[] MAGIC = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+   private static final int FILE_HEADER_SIZE = 100;
+   private static final int MAX_TREE_DEPTH = 64;
+
+   private static final int INTERIOR_TABLE_PAGE = 0x05;
+   private static final int LEAF_TABLE_PAGE = 0x0D;
+
+   // Words that end the type of a column definition
+   private static final Set<String> COLUMN_CONSTRAINTS = Set.of(
+       "CONSTRAINT", "PRIMARY", "NOT", "NULL", "UNIQUE", "CHECK", "DEFAULT", "COLLATE", "REFERENCES", "GENERATED", "AS");
+   private static final Set<String> TABLE_CONSTRAINTS = Set.of("CONSTRAINT", "PRIMARY", "UNIQUE", "CHECK", "FOREIGN");
+
+   // sqlite_master (type, name, tbl_name, rootpage, sql) is the table rooted at page 1
+   private static final Table SCHEMA_TABLE = new Table("sqlite_master", 1,
+       new String[] {"type", "name", "tbl_name", "rootpage", "sql"}, new boolean[5], new boolean[5], -1);
+
+   // Reused to decode text values; per thread, as scans of one reader may run concurrently
+   private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+   private final Path file;
+   private final ByteBuffer buffer; // The whole file, mapped read-only
+   private final int pageSize;
+   private final int usableSize;    // Page size without the reserved bytes at the end of every page
+   private final int pageCount;
+
+   private SQLitePageReader(Path file, ByteBuffer buffer) throws IOException {
+      this.file = file;
+      this.buffer = buffer;
+
+      for (int i = 0; i < MAGIC.length; i++) {
+         if (buffer.get(i) != MAGIC[i]) {
+            throw new IOException("Not a SQLite database: " + file);
+         }
+      }
+      int size = buffer.getShort(16) & 0xFFFF;
+      this.pageSize = size == 1 ? 65536 : size;
+      if (pageSize < 512 || Integer.bitCount(pageSize) != 1) {
+         throw new IOException("Invalid page size " + pageSize + " in " + file);
+      }
+      if ((buffer.get(19) & 0xFF) > 2) {
+         throw new IOException("Unsupported file format read version in " + file);
+      }
+      this.usableSize = pageSize - (buffer.get(20) & 0xFF);
+      int encoding = buffer.getInt(56);
+      if (encoding > 1) {
+         throw new IOException("Only UTF-8 databases are supported, " + file + " uses text encoding " + encoding);
+      }
+      this.pageCount = buffer.capacity() / pageSize;
+   }
+
+   /**
+    * Memory-maps a database file.
+    *
+    * @throws IOException if the file cannot be mapped, is not a supported SQLite database, or has a pending
+    *                     rollback journal or WAL that the file does not reflect yet.
+    */
+   public static SQLitePageReader open(Path file) throws IOException {
+      checkNoJournal(file);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         long size = channel.size();
+         if (size < FILE_HEADER_SIZE) {
+            throw new IOException("Not a SQLite database: " + file);
+         }
+         if (size > Integer.MAX_VALUE) {
+            throw new IOException("Database is too large to map: " + file);
+         }
+         // The mapping stays valid after the channel is closed.
+         return new SQLitePageReader(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+      }
+   }
+
+   /**
+    * Returns the column names of a table, in declaration order (the order of {@code SELECT *}).
+    *
+    * @throws IOException if the table does not exist or is not supported.
+    */
+   public String[] columnNames(String tableName) throws IOException {
+      return findTable(tableName).columns().clone();
+   }
+
+   /**
+    * Passes every row of a table to the consumer, in rowid order.
+    *
+    * @param rows receives the values in column order; the array is reused, so it is only valid during the call.
+    * @return the number of rows read.
+    * @throws IOException if the table is not supported, the file is corrupt, or the database changed during the scan.
+    */
+   public long scan(String tableName, Consumer<Object[]> rows) throws IOException {
+      Table table = findTable(tableName);
+      int changeCounter = buffer.getInt(24);
+      long count = walk(table, table.rootPage(), 0, new Object[table.columns().length], rows);
+      checkNoJournal(file);
+      if (buffer.getInt(24) != changeCounter) {
+         throw new IOException("Database changed during the scan: " + file);
+      }
+      return count;
+   }
+
+   private Table findTable(String tableName) throws IOException {
+      Object[][] found = new Object[1][];
+      walk(SCHEMA_TABLE, 1, 0, new Object[SCHEMA_TABLE.columns().length], entry -> {
+         if (found[0] == null && "table".equals(entry[0]) && tableName.equalsIgnoreCase(String.valueOf(entry[1]))) {
+            found[0] = entry.clone();
+         }
+      });
+      if (found[0] == null) {
+         throw new UnsupportedTableException("Table '" + tableName + "' not found in " + file);
+      }
+      if (!(found[0][3] instanceof Number rootPage) || rootPage.intValue() == 0 || found[0][4] == null) {
+         throw new UnsupportedTableException("Table '" + tableName + "' is a virtual table");
+      }
+      return parseTable(tableName, rootPage.intValue(), (String) found[0][4]);
+   }
+
+   // --- B-TREE ---
+
+   private long walk(Table table, int page, int depth, Object[] values, Consumer<Object[]> rows) throws IOException {
+      if (depth > MAX_TREE_DEPTH) {
+         throw new IOException("B-tree of table '" + table.name() + "' is too deep in " + file);
+      }
+      try {
+         int pageStart = pageOffset(page);
+         int header = pageStart + (page == 1 ? FILE_HEADER_SIZE : 0);
+         int type = buffer.get(header) & 0xFF;
+         int cells = buffer.getShort(header + 3) & 0xFFFF;
+         long count = 0;
+
+         if (type == INTERIOR_TABLE_PAGE) {
+            for (int i = 0; i < cells; i++) {
+               int cell = pageStart + (buffer.getShort(header + 12 + 2 * i) & 0xFFFF);
+               count += walk(table, buffer.getInt(cell), depth + 1, values, rows);
+            }
+            return count + walk(table, buffer.getInt(header + 8), depth + 1, values, rows);
+         }
+         if (type != LEAF_TABLE_PAGE) {
+            throw new UnsupportedTableException("Table '" + table.name() + "' is not a rowid table (page type " + type + ")");
+         }
+         for (int i = 0; i < cells; i++) {
+            Cursor cell = new Cursor(buffer, pageStart + (buffer.getShort(header + 8 + 2 * i) & 0xFFFF));
+            long payloadSize = cell.varint();
+            long rowid = cell.varint();
+            readRecord(table, payload(cell.position, payloadSize), rowid, values);
+            rows.accept(values);
+            count++;
+         }
+         return count;
+      } catch (IndexOutOfBoundsException e) {
+         throw new IOException("Corrupt page " + page + " in " + file, e);
+      }
+   }
+
+   // Returns a cursor on the record, copying it out of the file only if it spills onto overflow pages.
+   private Cursor payload(int start, long payloadSize) throws IOException {
+      if (payloadSize > buffer.capacity()) {
+         throw new IOException("Invalid record size " + payloadSize + " in " + file);
+      }
+      int size = (int) payloadSize;
+      int maxLocal = usableSize - 35;
+      if (size <= maxLocal) {
+         return new Cursor(buffer, start);
+      }
+
+      int minLocal = (usableSize - 12) * 32 / 255 - 23;
+      int local = minLocal + (size - minLocal) % (usableSize - 4);
+      if (local > maxLocal) {
+         local = minLocal;
+      }
+      byte[] bytes = new byte[size];
+      buffer.get(start, bytes, 0, local);
+      int copied = local;
+      int overflowPage = buffer.getInt(start + local);
+      for (int pages = 0; copied < size; pages++) {
+         if (pages >= pageCount) {
+            throw new IOException("Overflow chain loops in " + file);
+         }
+         int pageStart = pageOffset(overflowPage);
+         int length = Math.min(usableSize - 4, size - copied);
+         buffer.get(pageStart + 4, bytes, copied, length);
+         copied += length;
+         overflowPage = buffer.getInt(pageStart);
+      }
+      return new Cursor(ByteBuffer.wrap(bytes), 0);
+   }
+
+   private int pageOffset(int page) throws IOException {
+      if (page < 1 || page > pageCount) {
+         throw new IOException("Page " + page + " is out of range in " + file);
+      }
+      return (page - 1) * pageSize;
+   }
+
+   // --- RECORDS ---
+
+   private void readRecord(Table table, Cursor record, long rowid, Object[] values) throws IOException {
+      int headerEnd = record.position + (int) record.varint();
+      int body = headerEnd;
+      for (int i = 0; i < values.length; i++) {
+         if (record.position < headerEnd) {
+            long serialType = record.varint();
+            values[i] = value(record.buffer, body, serialType, table.real()[i]);
+            body += contentSize(serialType);
+         } else if (table.hasDefault()[i]) {
+            // Rows written before ALTER TABLE ADD COLUMN take the column default, which is not evaluated here.
+            throw new UnsupportedTableException("Column '" + table.columns()[i] + "' of table '" + table.name() + "' needs its DEFAULT value");
+         } else {
+            values[i] = null;
+         }
+      }
+      if (table.rowidColumn() >= 0) {
+         values[table.rowidColumn()] = integer(rowid); // INTEGER PRIMARY KEY columns are stored as the rowid
+      }
+   }
+
+   private Object value(ByteBuffer bytes, int position, long serialType, boolean real) throws IOException {
+      if (serialType >= 12) {
+         int length = (int) ((serialType - 12) >> 1);
+         if ((serialType & 1) == 0) {
+            byte[] blob = new byte[length];
+            bytes.get(position, blob);
+            return blob;
+         }
+         byte[] scratch = SCRATCH.get();
+         if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            SCRATCH.set(scratch);
+         }
+         bytes.get(position, scratch, 0, length);
+         return new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+
+      if (serialType == 0) {
+         return null;
+      }
+      if (serialType == 7) {
+         return bytes.getDouble(position);
+      }
+      long integer = switch ((int) serialType) {
+         case 1 -> bytes.get(position);
+         case 2 -> bytes.getShort(position);
+         case 3 -> (bytes.get(position) << 16) | ((bytes.get(position + 1) & 0xFF) << 8) | (bytes.get(position + 2) & 0xFF);
+         case 4 -> bytes.getInt(position);
+         case 5 -> ((long) bytes.getShort(position) << 32) | (bytes.getInt(position + 2) & 0xFFFFFFFFL);
+         case 6 -> bytes.getLong(position);
+         case 8 -> 0;
+         case 9 -> 1;
+         default -> throw new IOException("Invalid serial type " + serialType + " in " + file);
+      };
+      // REAL columns store integral values as integers on disk; SQLite reads them back as REAL.
+      return real ? (Object) (double) integer : integer(integer);
+   }
+
+   private static int contentSize(long serialType) {
+      return switch ((int) Math.min(serialType, 12)) {
+         case 0, 8, 9 -> 0;
+         case 1 -> 1;
+         case 2 -> 2;
+         case 3 -> 3;
+         case 4 -> 4;
+         case 5 -> 6;
+         case 6, 7 -> 8;
+         default -> (int) ((serialType - 12) >> 1);
+      };
+   }
+
+   // sqlite-jdbc returns Integer when the value fits, otherwise Long.
+   private static Object integer(long value) {
+      return value == (int) value ? (Object) (int) value : (Object) value;
+   }
+
+   private static void checkNoJournal(Path file) throws IOException {
+      for (String suffix : List.of("-journal", "-wal")) {
+         Path journal = file.resolveSibling(file.getFileName() + suffix);
+         if (Files.exists(journal) && Files.size(journal) > 0) {
+            throw new IOException("Database has a pending " + suffix.substring(1) + ": " + file);
+         }
+      }
+   }
+
+   // --- SCHEMA ---
+
+   /**
+    * Reads the columns of a table from its CREATE TABLE statement.
+    */
+   static Table parseTable(String tableName, int rootPage, String sql) throws IOException {
+      int open = sql.indexOf('(');
+      int close = sql.lastIndexOf(')');
+      if (open < 0 || close < open) {
+         throw new UnsupportedTableException("Cannot read the definition of table '" + tableName + "'");
+      }
+      if (sql.substring(close + 1).toUpperCase(Locale.ROOT).contains("WITHOUT")) {
+         throw new UnsupportedTableException("Table '" + tableName + "' is a WITHOUT ROWID table");
+      }
+
+      List<String> columns = new ArrayList<>();
+      List<String> types = new ArrayList<>();
+      List<Boolean> defaults = new ArrayList<>();
+      int rowidColumn = -1;
+      String tablePrimaryKey = null; // Single column of a table-level PRIMARY KEY
+
+      for (String definition : splitTopLevel(sql.substring(open + 1, close))) {
+         List<String> tokens = tokens(definition);
+         if (tokens.isEmpty()) {
+            continue;
+         }
+         String first = tokens.getFirst().toUpperCase(Locale.ROOT);
+         if (TABLE_CONSTRAINTS.contains(first) && !isQuoted(tokens.getFirst())) {
+            int primary = indexOfWord(tokens, "PRIMARY", 0);
+            if (primary >= 0 && primary + 2 < tokens.size() && tokens.get(primary + 2).startsWith("(")) {
+               List<String> keyColumns = splitTopLevel(tokens.get(primary + 2).substring(1, tokens.get(primary + 2).length() - 1));
+               if (keyColumns.size() == 1) {
+                  tablePrimaryKey = unquote(tokens(keyColumns.getFirst()).getFirst());
+               }
+            }
+            continue;
+         }
+
+         int end = 1;
+         while (end < tokens.size() && !COLUMN_CONSTRAINTS.contains(tokens.get(end).toUpperCase(Locale.ROOT))) {
+            end++;
+         }
+         String type = String.join(" ", tokens.subList(1, end)).toUpperCase(Locale.ROOT);
+         if (indexOfWord(tokens, "GENERATED", end) >= 0 || indexOfWord(tokens, "AS", end) >= 0) {
+            throw new UnsupportedTableException("Table '" + tableName + "' has generated columns");
+         }
+         int primary = indexOfWord(tokens, "PRIMARY", end);
+         boolean descending = primary >= 0 && primary + 2 < tokens.size()
+             && tokens.get(primary + 2).equalsIgnoreCase("DESC");
+         if (primary >= 0 && type.equals("INTEGER") && !descending) {
+            rowidColumn = columns.size();
+         }
+         columns.add(unquote(tokens.getFirst()));
+         types.add(type);
+         defaults.add(indexOfWord(tokens, "DEFAULT", end) >= 0);
+      }
+
+      if (tablePrimaryKey != null) {
+         for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase(tablePrimaryKey) && types.get(i).equals("INTEGER")) {
+               rowidColumn = i;
+            }
+         }
+      }
+      if (columns.isEmpty()) {
+         throw new UnsupportedTableException("Table '" + tableName + "' has no columns");
+      }
+
+      boolean[] real = new boolean[columns.size()];
+      boolean[] hasDefault = new boolean[columns.size()];
+      for (int i = 0; i < real.length; i++) {
+         real[i] = hasRealAffinity(types.get(i));
+         hasDefault[i] = defaults.get(i);
+      }
+      return new Table(tableName, rootPage, columns.toArray(String[]::new), real, hasDefault, rowidColumn);
+   }
+
+   // Column affinity rules of https://www.sqlite.org/datatype3.html, in their order of precedence.
+   private static boolean hasRealAffinity(String type) {
+      if (type.contains("INT") || type.contains("CHAR") || type.contains("CLOB") || type.contains("TEXT")
+          || type.contains("BLOB") || type.isEmpty()) {
+         return false;
+      }
+      return type.contains("REAL") || type.contains("FLOA") || type.contains("DOUB");
+   }
+
+   // Splits on commas outside of parentheses and quotes.
+   private static List<String> splitTopLevel(String text) throws IOException {
+      List<String> parts = new ArrayList<>();
+      int depth = 0;
+      int start = 0;
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         if (c == '\'' || c == '"' || c == '`' || c == '[') {
+            i = closingQuote(text, i);
+         } else if (c == '(') {
+            depth++;
+         } else if (c == ')') {
+            depth--;
+         } else if (c == ',' && depth == 0) {
+            parts.add(text.substring(start, i).trim());
+            start = i + 1;
+         }
+      }
+      parts.add(text.substring(start).trim());
+      return parts;
+   }
+
+   // Splits a definition into words, quoted names and parenthesised groups.
+   private static List<String> tokens(String definition) throws IOException {
+      List<String> tokens = new ArrayList<>();
+      int i = 0;
+      while (i < definition.length()) {
+         char c = definition.charAt(i);
+         if (Character.isWhitespace(c)) {
+            i++;
+            continue;
+         }
+         int end;
+         if (c == '\'' || c == '"' || c == '`' || c == '[') {
+            end = closingQuote(definition, i) + 1;
+         } else if (c == '(') {
+            int depth = 0;
+            end = i;
+            do {
+               char d = definition.charAt(end);
+               if (d == '\'' || d == '"' || d == '`' || d == '[') {
+                  end = closingQuote(definition, end);
+               } else if (d == '(') {
+                  depth++;
+               } else if (d == ')') {
+                  depth--;
+               }
+               end++;
+            } while (depth > 0 && end < definition.length());
+         } else {
+            end = i;
+            while (end < definition.length() && !Character.isWhitespace(definition.charAt(end))
+                && "('\"`[".indexOf(definition.charAt(end)) < 0) {
+               end++;
+            }
+         }
+         tokens.add(definition.substring(i, end));
+         i = end;
+      }
+      return tokens;
+   }
+
+   private static int closingQuote(String text, int open) throws IOException {
+      char quote = text.charAt(open) == '[' ? ']' : text.charAt(open);
+      for (int i = open + 1; i < text.length(); i++) {
+         if (text.charAt(i) == quote) {
+            if (quote != ']' && i + 1 < text.length() && text.charAt(i + 1) == quote) {
+               i++; // Doubled quote inside a quoted name
+            } else {
+               return i;
+            }
+         }
+      }
+      throw new UnsupportedTableException("Unterminated quote in table definition");
+   }
+
+   private static int indexOfWord(List<String> tokens, String word, int from) {
+      for (int i = from; i < tokens.size(); i++) {
+         if (tokens.get(i).equalsIgnoreCase(word)) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   private static boolean isQuoted(String token) {
+      return "'\"`[".indexOf(token.charAt(0)) >= 0;
+   }
+
+   private static String unquote(String name) {
+      if (!isQuoted(name)) {
+         return name;
+      }
+      String quote = name.charAt(0) == '[' ? "]" : name.substring(0, 1);
+      return name.substring(1, name.length() - 1).replace(quote + quote, quote);
+   }
+
+   /**
+    * Columns of a rowid table and where its B-tree starts.
+    */
+   record Table(
+       String name,          // Table name
+       int rootPage,         // Page number of the B-tree root
+       String[] columns,     // Column names, in declaration order
+       boolean[] real,       // Columns with REAL affinity
+       boolean[] hasDefault, // Columns with a DEFAULT clause
+       int rowidColumn       // INTEGER PRIMARY KEY column holding the rowid, or -1
+   ) {
+   }
+
+   /**
+    * Reads varints from a position in a page or in a copied record.
+    */
+   /**
+    * Thrown when one table cannot be read (e.g. WITHOUT ROWID, or a column that needs its DEFAULT),
+    * while the file itself is fine.
+    */
+   public static final class UnsupportedTableException extends IOException {
+
+      UnsupportedTableException(String message) {
+         super(message);
+      }
+   }
+
+   private static final class Cursor {
+
+      private final ByteBuffer buffer;
+      private int position;
+
+      private Cursor(ByteBuffer buffer, int position) {
+         this.buffer = buffer;
+         this.position = position;
+      }
+
+      // SQLite varint: 1 to 9 bytes, big-endian, 7 bits per byte, all 8 bits of the ninth byte.
+      private long varint() {
+         long value = 0;
+         for (int i = 0; i < 8; i++) {
+            int b = buffer.get(position++) & 0xFF;
+            value = (value << 7) | (b & 0x7F);
+            if (b < 0x80) {
+               return value;
+            }
+         }
+         return (value << 8) | (buffer.get(position++) & 0xFF);
+      }
+   }
+}
@@ -0,0 +1,24 @@
+package com.backend.repos.SQL;
+
+import java.io.IOException;
+
+/**
+ * Receives the rows of a SQLite table streamed by {@link GarminSQLiteRepo#streamTableData}.
+ */
+public interface TableRowWriter {
+
+   /**
+    * Called once, before the first row.
+    *
+    * @param columns  the column names, in select order.
+    * @param sqlTypes the {@link java.sql.Types} of the columns, from the declared SQLite column types.
+    */
+   void columns(String[] columns, int[] sqlTypes) throws IOException;
+
+   /**
+    * Called for every row.
+    *
+    * @param values the column values; the array is reused, so it is only valid during the call.
+    */
+   void row(Object[] values) throws IOException;
+}
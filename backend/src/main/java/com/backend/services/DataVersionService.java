@@ -0,0 +1,236 @@
+package com.backend.services;
+
+import com.backend.cache.SummaryCacheInvalidator;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.models.DataVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataVersionService keeps a change counter per summary type and a last-modified timestamp per
+ * period, persisted in the "data_versions" collection.
+ *
+ * Versions are loaded at startup and then served from memory, so HTTP validators can be checked
+ * without querying MongoDB. Each ingest run bumps the version of its summary type with an atomic
+ * $inc, so instances sharing the database never hand out the same version for different data.
+ * Every instance re-reads the type versions on a short interval and picks up bumps made elsewhere:
+ * it evicts the affected retrieval cache entries before serving the new version, so the new ETag
+ * never tags a body cached before the other instance's ingest.
+ */
+@Service
+public class DataVersionService {
+
+   private static final Logger logger = LoggerFactory.getLogger(DataVersionService.class);
+
+   private final MongoTemplate mongoTemplate;
+   private final SummaryCacheInvalidator summaryCacheInvalidator;
+   private final Map<SummaryType, DataVersion> typeVersions = new ConcurrentHashMap<>();
+   private final Map<String, Instant> periodModified = new ConcurrentHashMap<>();
+   private volatile boolean loaded;
+
+   public DataVersionService(MongoTemplate mongoTemplate, SummaryCacheInvalidator summaryCacheInvalidator) {
+      this.mongoTemplate = mongoTemplate;
+      this.summaryCacheInvalidator = summaryCacheInvalidator;
+   }
+
+   /**
+    * Loads the persisted versions into memory.
+    * Until this has run, no versions are reported and conditional requests are not answered.
+    */
+   @EventListener(ApplicationReadyEvent.class)
+   public void loadVersions() {
+      try {
+         for (DataVersion stored : mongoTemplate.findAll(DataVersion.class)) {
+            SummaryType type = typeOf(stored.id());
+            if (type == null) {
+               continue; // Unknown entry, e.g. a type that no longer exists
+            }
+            if (stored.id().equals(type.name())) {
+               typeVersions.merge(type, stored, DataVersionService::newer);
+            } else {
+               periodModified.merge(stored.id(), stored.modifiedAt(), DataVersionService::later);
+            }
+         }
+         loaded = true;
+         logger.info("✅ Loaded data versions for {} summary types and {} periods.", typeVersions.size(), periodModified.size());
+      } catch (DataAccessException e) {
+         logger.error("❌ Failed to load data versions; conditional GETs are disabled: {}", e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Picks up versions bumped by other instances. Only the type counters are read on every run;
+    * the period timestamps of a type are re-read when its counter moved.
+    */
+   @Scheduled(fixedDelayString = "${hrvibe.http.version-refresh-interval:5s}")
+   public void refreshVersions() {
+      if (!loaded) {
+         return; // Nothing is served from the versions yet
+      }
+      try {
+         List<String> typeIds = Arrays.stream(SummaryType.values()).map(SummaryType::name).toList();
+         for (DataVersion stored : mongoTemplate.find(new Query(Criteria.where("_id").in(typeIds)), DataVersion.class)) {
+            SummaryType type = SummaryType.valueOf(stored.id());
+            DataVersion current = typeVersions.get(type);
+            if (current == null || stored.version() > current.version()) {
+               applyRemoteChange(type, stored);
+            }
+         }
+      } catch (DataAccessException e) {
+         logger.warn("⚠️ Failed to refresh data versions: {}", e.getMessage());
+      }
+   }
+
+   // Serves a version bumped by another instance, after evicting what its ingest changed.
+   private synchronized void applyRemoteChange(SummaryType type, DataVersion stored) {
+      DataVersion current = typeVersions.get(type);
+      if (current != null && stored.version() <= current.version()) {
+         return; // Already applied by this instance in the meantime
+      }
+      int changed = reloadPeriods(type);
+      typeVersions.put(type, stored);
+      logger.info("🔖 {} data version is now {} (ingested by another instance, {} periods changed).",
+                  type, stored.version(), changed);
+   }
+
+   // Re-reads the period stamps of a type and evicts the periods another instance wrote since they were last read.
+   private int reloadPeriods(SummaryType type) {
+      Set<LocalDate> changed = new HashSet<>();
+      Query periods = new Query(Criteria.where("_id").regex("^" + type.name() + "/"));
+      for (DataVersion period : mongoTemplate.find(periods, DataVersion.class)) {
+         Instant known = periodModified.get(period.id());
+         if (known == null || period.modifiedAt().isAfter(known)) {
+            changed.add(LocalDate.parse(period.id().substring(type.name().length() + 1)));
+            periodModified.put(period.id(), period.modifiedAt());
+         }
+      }
+      if (!changed.isEmpty()) {
+         summaryCacheInvalidator.onSummaryDataChanged(new SummaryDataChangedEvent(type, changed));
+      }
+      return changed.size();
+   }
+
+   /**
+    * Bumps the version of the changed summary type and stamps the changed periods.
+    * Runs after the retrieval cache eviction, so a new version never tags a stale cached body.
+    * The periods are stamped before the type counter moves, so another instance that sees the new
+    * counter also sees the periods it covers.
+    *
+    * @param event the change event published by an ingest run.
+    */
+   @EventListener
+   @Order(2)
+   public synchronized void onSummaryDataChanged(SummaryDataChangedEvent event) {
+      Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS); // HTTP dates have second precision
+      SummaryType type = event.type();
+      event.periods().forEach(period -> periodModified.put(periodId(type, period), now));
+
+      DataVersion bumped = null;
+      try {
+         if (!event.periods().isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DataVersion.class);
+            event.periods().forEach(period -> bulk.upsert(byId(periodId(type, period)), new Update()
+                .set("modifiedAt", now)
+                .setOnInsert("version", 0L)));
+            bulk.execute();
+         }
+         bumped = mongoTemplate.findAndModify(byId(type.name()),
+                                              new Update().inc("version", 1L).set("modifiedAt", now),
+                                              FindAndModifyOptions.options().upsert(true).returnNew(true),
+                                              DataVersion.class);
+      } catch (DataAccessException e) {
+         logger.error("❌ Failed to persist the {} data version: {}", type, e.getMessage(), e);
+      }
+      DataVersion current = typeVersions.get(type);
+      if (bumped != null && current != null && bumped.version() > current.version() + 1) {
+         // Another instance ingested since the last refresh; its periods would otherwise never be evicted here.
+         reloadPeriods(type);
+      }
+      if (bumped == null) {
+         // Not persisted: bump locally so this instance still stops answering with the old ETags.
+         bumped = new DataVersion(type.name(), current == null ? 1 : current.version() + 1, now);
+      }
+      typeVersions.merge(type, bumped, DataVersionService::newer);
+      logger.info("🔖 {} data version is now {} ({} periods changed).", type, bumped.version(), event.periods().size());
+   }
+
+   /**
+    * Returns the current version of a summary type.
+    *
+    * @param type the summary type.
+    * @return the version, or empty if versions are not loaded yet.
+    */
+   public Optional<DataVersion> currentVersion(SummaryType type) {
+      if (!loaded) {
+         return Optional.empty();
+      }
+      // A type that was never ingested through the API still gets a stable version.
+      return Optional.of(typeVersions.getOrDefault(type, new DataVersion(type.name(), 0, null)));
+   }
+
+   /**
+    * Returns when a single period was last written, falling back to the summary type.
+    *
+    * @param type   the summary type.
+    * @param period the period's date key (day, firstDay or latestDay), or null for the whole type.
+    * @return the last-modified timestamp, or empty if unknown.
+    */
+   public Optional<Instant> lastModified(SummaryType type, LocalDate period) {
+      if (period != null) {
+         Instant modified = periodModified.get(periodId(type, period));
+         if (modified != null) {
+            return Optional.of(modified);
+         }
+      }
+      return currentVersion(type).map(DataVersion::modifiedAt);
+   }
+
+   private static String periodId(SummaryType type, LocalDate period) {
+      return type.name() + "/" + period;
+   }
+
+   private static SummaryType typeOf(String id) {
+      String name = id.contains("/") ? id.substring(0, id.indexOf('/')) : id;
+      try {
+         return SummaryType.valueOf(name);
+      } catch (IllegalArgumentException e) {
+         return null;
+      }
+   }
+
+   private static Query byId(String id) {
+      return new Query(Criteria.where("_id").is(id));
+   }
+
+   private static DataVersion newer(DataVersion a, DataVersion b) {
+      return b.version() > a.version() ? b : a;
+   }
+
+   private static Instant later(Instant a, Instant b) {
+      return b.isAfter(a) ? b : a;
+   }
+}
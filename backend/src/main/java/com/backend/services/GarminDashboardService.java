@@ -0,0 +1,118 @@
+package com.backend.services;
+
+import com.backend.dtos.DashboardDTO;
+import com.backend.dtos.DashboardPartDTO;
+import com.backend.dtos.SummaryPageRequest;
+import com.backend.exceptions.GarminProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * GarminDashboardService loads everything the dashboard needs in one call.
+ *
+ * The parts (current day, 7-day window, recent weeks and the year's months) are independent
+ * lookups, so they run in parallel on virtual threads and the bundle takes as long as its
+ * slowest part instead of their sum. Each part reports its own timing and error.
+ */
+@Service
+public class GarminDashboardService {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminDashboardService.class);
+   static final int RECENT_WEEKS = 4;
+   public static final int PARTS = 4; // Independent lookups per bundle (each at most one page of summaries)
+
+   private final GarminRetrievalService retrievalService;
+   private final Duration timeout;
+
+   public GarminDashboardService(GarminRetrievalService retrievalService,
+                                 @Value("${hrvibe.dashboard.timeout:5s}") Duration timeout) {
+      this.retrievalService = retrievalService;
+      this.timeout = timeout;
+   }
+
+   /**
+    * Loads the dashboard bundle for a reference date.
+    *
+    * @param date   the reference date.
+    * @param fields the metric names to return (empty for the full DTOs).
+    * @return a DashboardDTO with one entry per part.
+    */
+   public DashboardDTO getDashboard(LocalDate date, Set<String> fields) {
+      logger.info("📊 Loading dashboard for {} with fields {}...", date, fields);
+      long start = System.nanoTime();
+      boolean full = fields.isEmpty();
+      SummaryPageRequest weeks = new SummaryPageRequest(null, null, null, date, RECENT_WEEKS);
+
+      ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+      try {
+         Future<DashboardPartDTO> currentDay = executor.submit(() -> timed(() -> full
+             ? retrievalService.getDaySummary(date)
+             : retrievalService.getDaySummary(date, fields)));
+         Future<DashboardPartDTO> recentDays = executor.submit(() -> timed(() -> full
+             ? retrievalService.getRecentDailySummaries(date)
+             : retrievalService.getRecentDailySummaries(date, fields)));
+         Future<DashboardPartDTO> recentWeeks = executor.submit(() -> timed(() -> full
+             ? retrievalService.getWeekSummaryPage(weeks).items()
+             : retrievalService.getWeekSummaryPage(weeks, fields).items()));
+         Future<DashboardPartDTO> months = executor.submit(() -> timed(() -> full
+             ? retrievalService.getMonthSummaries(date.getYear())
+             : retrievalService.getMonthSummaries(date.getYear(), fields)));
+
+         // All parts share one deadline, measured from the start of the bundle.
+         long deadline = start + timeout.toNanos();
+         DashboardDTO dashboard = new DashboardDTO(
+             date.toString(),
+             await(currentDay, deadline),
+             await(recentDays, deadline),
+             await(recentWeeks, deadline),
+             await(months, deadline),
+             elapsedMillis(start));
+         logger.info("✅ Dashboard for {} loaded in {} ms.", date, dashboard.totalMillis());
+         return dashboard;
+      } finally {
+         executor.shutdownNow(); // Interrupts parts that missed the deadline
+      }
+   }
+
+   // Runs one part and records its duration; expected failures become part errors.
+   private static DashboardPartDTO timed(Supplier<Object> part) {
+      long start = System.nanoTime();
+      try {
+         return DashboardPartDTO.success(part.get(), elapsedMillis(start));
+      } catch (GarminProcessingException e) {
+         return DashboardPartDTO.failure(e.getMessage(), elapsedMillis(start));
+      }
+   }
+
+   private DashboardPartDTO await(Future<DashboardPartDTO> part, long deadline) {
+      try {
+         return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+         part.cancel(true);
+         return DashboardPartDTO.failure("Timed out", timeout.toMillis());
+      } catch (ExecutionException e) {
+         logger.error("❌ Dashboard part failed: {}", e.getCause().getMessage(), e.getCause());
+         return DashboardPartDTO.failure("Unexpected error", 0);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new GarminProcessingException("Interrupted while loading the dashboard", e);
+      }
+   }
+
+   private static long elapsedMillis(long startNanos) {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+   }
+}
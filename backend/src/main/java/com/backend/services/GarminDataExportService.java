@@ -1,33 +1,53 @@
 package com.backend.services;
 
+import com.backend.dtos.ExportFormat;
+import com.backend.dtos.ExportReportDTO;
 import com.backend.exceptions.GarminDatabaseException;
 import com.backend.exceptions.GarminExportException;
+import com.backend.export.ColumnarWriter;
+import com.backend.export.ExportCodec;
+import com.backend.export.ExportCodecs;
+import com.backend.export.ExportFiles;
+import com.backend.export.IdentityCodec;
 import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class GarminDataExportService {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminDataExportService.class);
    private final GarminSQLiteRepo garminSQLiteRepo;
-   private static final String EXPORT_DIR = System.getProperty("user.dir") + "/backend/data/raw_garmin_data/";
+   static final String EXPORT_DIR = System.getProperty("user.dir") + "/backend/data/raw_garmin_data/";
+   private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+   private static final int COLUMNAR_BATCH_ROWS = 8192;
 
    private final ObjectMapper objectMapper; // Injected instead of creating a new one
+   private final ExportCodecs exportCodecs;
 
-   public GarminDataExportService(GarminSQLiteRepo garminSQLiteRepo, ObjectMapper objectMapper) {
+   public GarminDataExportService(GarminSQLiteRepo garminSQLiteRepo, ObjectMapper objectMapper, ExportCodecs exportCodecs) {
       this.garminSQLiteRepo = garminSQLiteRepo;
       this.objectMapper = objectMapper; // uses the injected mock
+      this.exportCodecs = exportCodecs;
    }
 
    /**
@@ -44,39 +64,81 @@ public class GarminDataExportService {
    }
 
    /**
-    * ✅ Saves a specific table as a JSON file.
+    * ✅ Saves a specific table as a pretty-printed JSON file.
     * Throws a `GarminExportException` if the process fails.
     */
    public void saveTableAsJson(String databaseName, String tableName) {
-      logger.info("🔄 Exporting table '{}' from database '{}' to JSON...", tableName, databaseName);
-      List<Map<String, Object>> tableData;
+      exportTableAsJson(databaseName, tableName, true);
+   }
 
-      try {
-         tableData = garminSQLiteRepo.fetchTableData(databaseName, tableName);
-      } catch (Exception e) {
-         logger.error("❌ Failed to fetch data from table '{}': {}", tableName, e.getMessage());
-         throw new GarminDatabaseException("Failed to retrieve data for table: " + tableName, e);
-      }
+   /**
+    * ✅ Streams a specific table into a JSON file.
+    *
+    * @param pretty whether to indent the output.
+    * @return the number of rows and bytes written and the throughput.
+    */
+   public ExportReportDTO exportTableAsJson(String databaseName, String tableName, boolean pretty) {
+      return exportTable(databaseName, tableName, ExportFormat.JSON, exportCodecs.get(IdentityCodec.NAME), pretty);
+   }
 
-      if (tableData.isEmpty()) {
-         logger.warn("⚠️ No data found for table '{}'. Skipping export.", tableName);
-         return;
-      }
+   /**
+    * ✅ Streams a specific table into a file of the given format, compressed with the given codec.
+    * Rows are written one at a time from the JDBC result set through a JsonGenerator, so memory
+    * use does not depend on the size of the table. The file is written under a temporary name
+    * and atomically renamed, so readers never see a partial export.
+    * Throws a `GarminDatabaseException` if reading the table fails and a `GarminExportException`
+    * if writing the file fails.
+    *
+    * @param format the file layout; NDJSON and columnar files are never indented.
+    * @param codec  the compression applied to the file.
+    * @param pretty whether to indent JSON output.
+    * @return the number of rows and bytes written and the throughput.
+    */
+   public ExportReportDTO exportTable(String databaseName, String tableName, ExportFormat format, ExportCodec codec,
+                                      boolean pretty) {
+      logger.info("🔄 Exporting table '{}' from database '{}' as {} ({})...",
+                  tableName, databaseName, format.param(), codec.name());
+      long start = System.nanoTime();
+      Path tempFile = null;
 
       try {
          Path databaseFolder = Paths.get(EXPORT_DIR, databaseName.replace(".db", ""));
          if (Files.notExists(databaseFolder)) {
             Files.createDirectories(databaseFolder);
          }
+         String fileName = tableName + format.extension() + codec.extension();
+         tempFile = Files.createTempFile(databaseFolder, fileName + ".", ".tmp");
 
-         File jsonFile = new File(databaseFolder.toFile(), tableName + ".json");
+         long rows;
+         try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+              OutputStream out = new BufferedOutputStream(codec.compress(Channels.newOutputStream(channel)), WRITE_BUFFER_SIZE)) {
+            rows = switch (format) {
+               case JSON, NDJSON -> writeJson(out, databaseName, tableName, format == ExportFormat.NDJSON, pretty);
+               case COLUMNAR -> writeColumnar(out, databaseName, tableName);
+            };
+         }
 
-         objectMapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile, tableData);
+         if (rows == 0) {
+            Files.deleteIfExists(tempFile);
+            logger.warn("⚠️ No data found for table '{}'. Skipping export.", tableName);
+            return report(tableName, null, format, codec, 0, 0, start);
+         }
 
-         logger.info("✅ Successfully exported table '{}' to JSON.", tableName);
+         Path exportFile = databaseFolder.resolve(fileName);
+         ExportFiles.moveAtomically(tempFile, exportFile);
+         ExportReportDTO report = report(tableName, exportFile.toString(), format, codec, rows, Files.size(exportFile), start);
+         logger.info("✅ Successfully exported table '{}' to {}: {} rows, {} bytes in {} ms ({} rows/s, {} bytes/s).",
+                     tableName, fileName, report.rows(), report.bytes(), report.millis(),
+                     report.rowsPerSecond(), report.bytesPerSecond());
+         return report;
       } catch (IOException e) {
-         logger.error("❌ Error saving table '{}' as JSON: {}", tableName, e.getMessage());
-         throw new GarminExportException("Error saving table as JSON: " + tableName, e);
+         ExportFiles.deleteQuietly(tempFile);
+         logger.error("❌ Error saving table '{}' as {}: {}", tableName, format.param(), e.getMessage());
+         throw new GarminExportException("Error saving table as " + format.name() + ": " + tableName, e);
+      } catch (RuntimeException e) {
+         ExportFiles.deleteQuietly(tempFile);
+         logger.error("❌ Failed to fetch data from table '{}': {}", tableName, e.getMessage());
+         throw new GarminDatabaseException("Failed to retrieve data for table: " + tableName, e);
       }
    }
 
@@ -86,8 +148,88 @@ public class GarminDataExportService {
     */
    public List<String> saveAllTablesAsJson(String databaseName) {
       logger.info("🔄 Exporting all tables from database '{}' to JSON...", databaseName);
-      List<String> tableNames;
+      List<String> tableNames = tableNamesToExport(databaseName);
+
+      for (String tableName : tableNames) {
+         try {
+            saveTableAsJson(databaseName, tableName);
+         } catch (GarminExportException e) {
+            logger.error("❌ Skipping export for table '{}': {}", tableName, e.getMessage());
+         }
+      }
+
+      return tableNames;
+   }
+
+   /**
+    * ✅ Exports all tables from SQLite in the given format and codec.
+    * Tables that fail to export are logged and skipped.
+    *
+    * @return one report per exported table, in table order.
+    */
+   public List<ExportReportDTO> exportAllTables(String databaseName, ExportFormat format, ExportCodec codec) {
+      logger.info("🔄 Exporting all tables from database '{}' as {} ({})...", databaseName, format.param(), codec.name());
+      List<ExportReportDTO> reports = new ArrayList<>();
+
+      for (String tableName : tableNamesToExport(databaseName)) {
+         try {
+            reports.add(exportTable(databaseName, tableName, format, codec, false));
+         } catch (GarminExportException e) {
+            logger.error("❌ Skipping export for table '{}': {}", tableName, e.getMessage());
+         }
+      }
+
+      return reports;
+   }
+
+   /**
+    * ✅ Streams the given tables into a zip archive written to {@code out}, one entry per table.
+    * Rows go straight from the JDBC cursor through the zip deflater into the stream, so nothing
+    * is staged on disk and memory use is bounded by the write buffer and one columnar batch.
+    * Empty tables still get an entry. The stream is finished but not closed.
+    * Throws a `GarminDatabaseException` if reading a table fails and a `GarminExportException`
+    * if writing to the stream fails, e.g. because the client disconnected.
+    *
+    * @param tableNames the tables to include, resolved before the response is committed.
+    * @param format     the layout of each entry; JSON entries are not indented.
+    * @return the total number of rows written.
+    */
+   public long writeTablesAsZip(String databaseName, List<String> tableNames, ExportFormat format, OutputStream out) {
+      logger.info("🔄 Streaming {} tables from database '{}' as a {} zip...", tableNames.size(), databaseName, format.param());
+      long start = System.nanoTime();
+      long totalRows = 0;
+      String tableName = null;
 
+      try {
+         ZipOutputStream zip = new ZipOutputStream(out);
+         OutputStream entryOut = new BufferedOutputStream(zip, WRITE_BUFFER_SIZE);
+         for (String table : tableNames) {
+            tableName = table;
+            zip.putNextEntry(new ZipEntry(table + format.extension()));
+            totalRows += switch (format) {
+               case JSON, NDJSON -> writeJson(entryOut, databaseName, table, format == ExportFormat.NDJSON, false);
+               case COLUMNAR -> writeColumnar(entryOut, databaseName, table);
+            };
+            entryOut.flush();
+            zip.closeEntry();
+         }
+         zip.finish();
+         zip.flush();
+      } catch (IOException e) {
+         logger.error("❌ Error streaming table '{}' into the zip download: {}", tableName, e.getMessage());
+         throw new GarminExportException("Error streaming zip download at table: " + tableName, e);
+      } catch (RuntimeException e) {
+         logger.error("❌ Failed to fetch data from table '{}': {}", tableName, e.getMessage());
+         throw new GarminDatabaseException("Failed to retrieve data for table: " + tableName, e);
+      }
+
+      logger.info("✅ Streamed {} tables ({} rows) from database '{}' in {} ms.",
+                  tableNames.size(), totalRows, databaseName, (System.nanoTime() - start) / 1_000_000);
+      return totalRows;
+   }
+
+   private List<String> tableNamesToExport(String databaseName) {
+      List<String> tableNames;
       try {
          tableNames = garminSQLiteRepo.getAllTableNames(databaseName);
       } catch (Exception e) {
@@ -97,17 +239,73 @@ public class GarminDataExportService {
 
       if (tableNames.isEmpty()) {
          logger.warn("⚠️ No tables found in database '{}'. Nothing to export.", databaseName);
-         return List.of();
       }
+      return tableNames;
+   }
 
-      for (String tableName : tableNames) {
-         try {
-            saveTableAsJson(databaseName, tableName);
-         } catch (GarminExportException e) {
-            logger.error("❌ Skipping export for table '{}': {}", tableName, e.getMessage());
+   // Writes the rows as a JSON array, or as one JSON object per line. Leaves 'out' open for the caller.
+   private long writeJson(OutputStream out, String databaseName, String tableName, boolean lineDelimited, boolean pretty)
+       throws IOException {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+         if (lineDelimited) {
+            generator.setRootValueSeparator(null); // Rows are separated by the newline written after each row
+            return garminSQLiteRepo.streamTableData(databaseName, tableName, new JsonRowWriter(generator, true));
+         }
+         if (pretty) {
+            generator.useDefaultPrettyPrinter();
          }
+         generator.writeStartArray();
+         long rows = garminSQLiteRepo.streamTableData(databaseName, tableName, new JsonRowWriter(generator, false));
+         generator.writeEndArray();
+         return rows;
       }
+   }
 
-      return tableNames;
+   // Writes the rows as typed, dictionary-encoded column batches.
+   private long writeColumnar(OutputStream out, String databaseName, String tableName) throws IOException {
+      ColumnarWriter writer = new ColumnarWriter(out, COLUMNAR_BATCH_ROWS);
+      long rows = garminSQLiteRepo.streamTableData(databaseName, tableName, writer);
+      writer.finish();
+      return rows;
+   }
+
+   private static ExportReportDTO report(String tableName, String file, ExportFormat format, ExportCodec codec,
+                                         long rows, long bytes, long startNanos) {
+      long nanos = Math.max(System.nanoTime() - startNanos, 1);
+      return new ExportReportDTO(tableName, file, format.param(), codec.name(), rows, bytes, nanos / 1_000_000,
+                                 rows * 1_000_000_000L / nanos, bytes * 1_000_000_000L / nanos);
+   }
+
+   /**
+    * Writes each row as a JSON object whose fields are the column names, optionally followed by a newline.
+    */
+   private static final class JsonRowWriter implements TableRowWriter {
+
+      private final JsonGenerator generator;
+      private final boolean lineDelimited;
+      private String[] columns;
+
+      private JsonRowWriter(JsonGenerator generator, boolean lineDelimited) {
+         this.generator = generator;
+         this.lineDelimited = lineDelimited;
+      }
+
+      @Override
+      public void columns(String[] columns, int[] sqlTypes) {
+         this.columns = columns;
+      }
+
+      @Override
+      public void row(Object[] values) throws IOException {
+         generator.writeStartObject();
+         for (int i = 0; i < columns.length; i++) {
+            generator.writePOJOField(columns[i], values[i]);
+         }
+         generator.writeEndObject();
+         if (lineDelimited) {
+            generator.writeRaw('\n');
+         }
+      }
    }
 }
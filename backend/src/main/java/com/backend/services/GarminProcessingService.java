@@ -1,6 +1,9 @@
 package com.backend.services;
 
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
 import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
 import com.backend.models.CurrentDaySummary;
 import com.backend.models.MonthlySummary;
 import com.backend.models.RecentDailySummaries;
@@ -13,14 +16,19 @@ import com.backend.repos.MongoDB.YearlySummaryRepo;
 import com.backend.repos.MongoDB.RecentDailySummariesRepo;
 import com.backend.repos.SQL.GarminSQLiteRepo;
 import com.backend.utils.DataParsingUtils;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Service;
 
@@ -36,6 +44,7 @@ public class GarminProcessingService {
    private final YearlySummaryRepo yearlySummaryRepo;
    private final RecentDailySummariesRepo recentDailySummariesRepo;
    private final ValidationService validationService;
+   private final ApplicationEventPublisher eventPublisher;
 
    public GarminProcessingService(GarminSQLiteRepo garminSQLiteRepo,
                                   CurrentDaySummaryRepo currentDaySummaryRepo,
@@ -43,7 +52,8 @@ public class GarminProcessingService {
                                   MonthlySummaryRepo monthlySummaryRepo,
                                   YearlySummaryRepo yearlySummaryRepo,
                                   RecentDailySummariesRepo recentDailySummariesRepo,
-                                  ValidationService validationService) {
+                                  ValidationService validationService,
+                                  ApplicationEventPublisher eventPublisher) {
       this.garminSQLiteRepo = garminSQLiteRepo;
       this.currentDaySummaryRepo = currentDaySummaryRepo;
       this.weeklySummaryRepo = weeklySummaryRepo;
@@ -51,6 +61,7 @@ public class GarminProcessingService {
       this.yearlySummaryRepo = yearlySummaryRepo;
       this.recentDailySummariesRepo = recentDailySummariesRepo;
       this.validationService = validationService;
+      this.eventPublisher = eventPublisher;
    }
 
    /**
@@ -74,16 +85,7 @@ public class GarminProcessingService {
           .map(DataParsingUtils::mapToCurrentDaySummary)
           .toList();
 
-      for (CurrentDaySummary summary : summaries) {
-         validationService.validate(summary);
-         Optional<CurrentDaySummary> existing = currentDaySummaryRepo.findByDay(summary.day());
-         if (existing.isPresent()) {
-            CurrentDaySummary updated = mergeCurrentDay(existing.get(), summary);
-            currentDaySummaryRepo.save(updated);
-         } else {
-            currentDaySummaryRepo.insert(summary);
-         }
-      }
+      saveAll(SummaryType.DAY, summaries, summary -> saveCurrentDay(summary).day());
       logger.info("✅ Successfully processed and saved CurrentDaySummaries.");
    }
 
@@ -99,16 +101,7 @@ public class GarminProcessingService {
       List<WeeklySummary> summaries = rawData.stream()
           .map(DataParsingUtils::mapToWeeklySummary)
           .toList();
-      for (WeeklySummary summary : summaries) {
-         validationService.validate(summary);
-         Optional<WeeklySummary> existing = weeklySummaryRepo.findByFirstDay(summary.firstDay());
-         if (existing.isPresent()) {
-            WeeklySummary updated = mergeWeekly(existing.get(), summary);
-            weeklySummaryRepo.save(updated);
-         } else {
-            weeklySummaryRepo.insert(summary);
-         }
-      }
+      saveAll(SummaryType.WEEK, summaries, summary -> saveWeekly(summary).firstDay());
       logger.info("✅ Successfully processed and saved WeeklySummaries.");
    }
 
@@ -118,16 +111,7 @@ public class GarminProcessingService {
     */
    public void processAndSaveMonthlySummary(String databaseName, String tableName) {
       List<MonthlySummary> summaries = parseMonthlyData(databaseName, tableName);
-      for (MonthlySummary summary : summaries) {
-         validationService.validate(summary);
-         Optional<MonthlySummary> existing = monthlySummaryRepo.findByFirstDay(summary.firstDay());
-         if (existing.isPresent()) {
-            MonthlySummary updated = mergeMonthly(existing.get(), summary);
-            monthlySummaryRepo.save(updated);
-         } else {
-            monthlySummaryRepo.insert(summary);
-         }
-      }
+      saveAll(SummaryType.MONTH, summaries, summary -> saveMonthly(summary).firstDay());
       logger.info("✅ Successfully processed and saved MonthlySummaries.");
    }
 
@@ -143,16 +127,7 @@ public class GarminProcessingService {
       List<YearlySummary> summaries = rawData.stream()
           .map(DataParsingUtils::mapToYearlySummary)
           .toList();
-      for (YearlySummary summary : summaries) {
-         validationService.validate(summary);
-         Optional<YearlySummary> existing = yearlySummaryRepo.findByFirstDay(summary.firstDay());
-         if (existing.isPresent()) {
-            YearlySummary updated = mergeYearly(existing.get(), summary);
-            yearlySummaryRepo.save(updated);
-         } else {
-            yearlySummaryRepo.insert(summary);
-         }
-      }
+      saveAll(SummaryType.YEAR, summaries, summary -> saveYearly(summary).firstDay());
       logger.info("✅ Successfully processed and saved YearlySummaries.");
    }
 
@@ -188,9 +163,115 @@ public class GarminProcessingService {
          recentDailySummariesRepo.insert((RecentDailySummaries) recentSummary);
       }
 
+      publishChanged(SummaryType.RECENT, Set.of(recentSummary.latestDay()));
       logger.info("✅ Successfully processed and saved RecentDailySummaries for latest day {}", recentSummary.latestDay());
    }
 
+   /**
+    * Imports exported summary rows (a JSON array or NDJSON, as written by the table exports) through
+    * the same mapping, validation and upsert steps as the SQLite ingest.
+    * Rows are read and saved one at a time, so the input size does not affect memory use.
+    * Listeners are told about every saved period, even if a later row fails.
+    *
+    * @param type the kind of summary held in the input; RECENT is derived from day summaries and cannot be imported.
+    * @param in   the JSON input, left open.
+    * @return the number of imported rows.
+    */
+   public long importSummaries(SummaryType type, InputStream in) {
+      if (type == SummaryType.RECENT) {
+         throw new InvalidQueryParameterException("Recent summaries cannot be imported; process them from the imported days.");
+      }
+      logger.info("🔄 Importing {} summaries from JSON...", type);
+      Set<LocalDate> periods = new HashSet<>();
+
+      try {
+         long rows = DataParsingUtils.JsonUtils.forEachJsonObject(in, row -> periods.add(saveRow(type, row)));
+         if (rows == 0) {
+            throw new GarminProcessingException("No data found in import for " + type + " summaries");
+         }
+         logger.info("✅ Successfully imported {} {} summaries.", rows, type);
+         return rows;
+      } finally {
+         if (!periods.isEmpty()) {
+            publishChanged(type, periods);
+         }
+      }
+   }
+
+   // Saves each summary in order. Listeners are told about every saved period, even if a later summary fails.
+   private <T> void saveAll(SummaryType type, List<T> summaries, Function<T, LocalDate> save) {
+      Set<LocalDate> periods = new HashSet<>();
+      try {
+         summaries.forEach(summary -> periods.add(save.apply(summary)));
+      } finally {
+         if (!periods.isEmpty()) {
+            publishChanged(type, periods);
+         }
+      }
+   }
+
+   // Maps, validates and saves one imported row, returning its period key.
+   private LocalDate saveRow(SummaryType type, Map<String, Object> row) {
+      return switch (type) {
+         case DAY -> saveCurrentDay(DataParsingUtils.mapToCurrentDaySummary(row)).day();
+         case WEEK -> saveWeekly(DataParsingUtils.mapToWeeklySummary(row)).firstDay();
+         case MONTH -> saveMonthly(DataParsingUtils.mapToMonthlySummary(row)).firstDay();
+         case YEAR -> saveYearly(DataParsingUtils.mapToYearlySummary(row)).firstDay();
+         case RECENT -> throw new IllegalArgumentException("Recent summaries are not imported");
+      };
+   }
+
+   // Upserts: validate, then update the stored summary with the same key or insert a new one.
+
+   private CurrentDaySummary saveCurrentDay(CurrentDaySummary summary) {
+      validationService.validate(summary);
+      Optional<CurrentDaySummary> existing = currentDaySummaryRepo.findByDay(summary.day());
+      if (existing.isPresent()) {
+         currentDaySummaryRepo.save(mergeCurrentDay(existing.get(), summary));
+      } else {
+         currentDaySummaryRepo.insert(summary);
+      }
+      return summary;
+   }
+
+   private WeeklySummary saveWeekly(WeeklySummary summary) {
+      validationService.validate(summary);
+      Optional<WeeklySummary> existing = weeklySummaryRepo.findByFirstDay(summary.firstDay());
+      if (existing.isPresent()) {
+         weeklySummaryRepo.save(mergeWeekly(existing.get(), summary));
+      } else {
+         weeklySummaryRepo.insert(summary);
+      }
+      return summary;
+   }
+
+   private MonthlySummary saveMonthly(MonthlySummary summary) {
+      validationService.validate(summary);
+      Optional<MonthlySummary> existing = monthlySummaryRepo.findByFirstDay(summary.firstDay());
+      if (existing.isPresent()) {
+         monthlySummaryRepo.save(mergeMonthly(existing.get(), summary));
+      } else {
+         monthlySummaryRepo.insert(summary);
+      }
+      return summary;
+   }
+
+   private YearlySummary saveYearly(YearlySummary summary) {
+      validationService.validate(summary);
+      Optional<YearlySummary> existing = yearlySummaryRepo.findByFirstDay(summary.firstDay());
+      if (existing.isPresent()) {
+         yearlySummaryRepo.save(mergeYearly(existing.get(), summary));
+      } else {
+         yearlySummaryRepo.insert(summary);
+      }
+      return summary;
+   }
+
+   // Tells listeners (e.g. the retrieval cache) which periods were just written.
+   private void publishChanged(SummaryType type, Set<LocalDate> periods) {
+      eventPublisher.publishEvent(new SummaryDataChangedEvent(type, periods));
+   }
+
 
    // Helper to parse monthly data.
    private List<MonthlySummary> parseMonthlyData(String databaseName, String tableName) {
@@ -1,28 +1,42 @@
 package com.backend.services;
 
+import com.backend.cache.SingleFlight;
+import com.backend.cache.SummaryCache;
+import com.backend.cache.SummaryCacheKey;
 import com.backend.dtos.CurrentDaySummaryDTO;
 import com.backend.dtos.MonthlySummaryDTO;
 import com.backend.dtos.RecentDailySummariesDTO;
+import com.backend.dtos.SummaryPage;
+import com.backend.dtos.SummaryPageRequest;
 import com.backend.dtos.WeeklySummaryDTO;
 import com.backend.dtos.YearlySummaryDTO;
+import com.backend.events.SummaryType;
 import com.backend.exceptions.GarminProcessingException;
+import com.backend.models.CurrentDaySummary;
 import com.backend.models.MonthlySummary;
+import com.backend.models.WeeklySummary;
 import com.backend.models.YearlySummary;
 import com.backend.repos.MongoDB.CurrentDaySummaryRepo;
 import com.backend.repos.MongoDB.MonthlySummaryRepo;
 import com.backend.repos.MongoDB.WeeklySummaryRepo;
 import com.backend.repos.MongoDB.YearlySummaryRepo;
 import com.backend.repos.MongoDB.RecentDailySummariesRepo;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
+import com.backend.utils.CursorUtils;
+import com.backend.utils.SummaryFieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * GarminRetrievalService provides methods to retrieve Garmin summary data from various MongoDB repositories.
@@ -35,42 +49,50 @@ import java.util.stream.Collectors;
  *   - Week summaries
  *   - Month summaries (either all, or filtered by year)
  *   - Year summaries
+
+ * Each lookup also has a sparse variant that takes a set of metric names. Those variants read
+ * only the selected metrics from MongoDB and return trimmed maps instead of full DTOs.
+
+ * Single-summary lookups and the month/year listings (the dashboard reads) are served through a
+ * bounded in-process cache that is evicted per period whenever an ingest run changes the data.
+ * Concurrent misses for the same key are coalesced (see {@link SingleFlight}), so a burst of
+ * identical dashboard requests runs one MongoDB query and shares its result.
+
+ * Day and week listings are served as keyset pages (see {@link SummaryPageRequest}): each page
+ * carries opaque cursors for the next (older) and previous (newer) page.
  */
 @Service
 public class GarminRetrievalService {
 
    private static final Logger logger = LoggerFactory.getLogger(GarminRetrievalService.class);
+   private static final String DAYS_CURSOR = "days";
+   private static final String WEEKS_CURSOR = "weeks";
 
    private final CurrentDaySummaryRepo currentDaySummaryRepo;
    private final WeeklySummaryRepo weeklySummaryRepo;
    private final MonthlySummaryRepo monthlySummaryRepo;
    private final YearlySummaryRepo yearlySummaryRepo;
    private final RecentDailySummariesRepo recentDailySummariesRepo;
+   private final SummaryQueryRepo summaryQueryRepo;
+   private final SummaryCache summaryCache;
+   private final SingleFlight<SummaryCacheKey> singleFlight;
 
    public GarminRetrievalService(CurrentDaySummaryRepo currentDaySummaryRepo,
                                  WeeklySummaryRepo weeklySummaryRepo,
                                  MonthlySummaryRepo monthlySummaryRepo,
                                  YearlySummaryRepo yearlySummaryRepo,
-                                 RecentDailySummariesRepo recentDailySummariesRepo) {
+                                 RecentDailySummariesRepo recentDailySummariesRepo,
+                                 SummaryQueryRepo summaryQueryRepo,
+                                 SummaryCache summaryCache,
+                                 SingleFlight<SummaryCacheKey> singleFlight) {
       this.currentDaySummaryRepo = currentDaySummaryRepo;
       this.weeklySummaryRepo = weeklySummaryRepo;
       this.monthlySummaryRepo = monthlySummaryRepo;
       this.yearlySummaryRepo = yearlySummaryRepo;
       this.recentDailySummariesRepo = recentDailySummariesRepo;
-   }
-
-   /**
-    * Retrieves a list of day summaries up to the specified limit.
-    *
-    * @param limit the maximum number of day summaries to return.
-    * @return a List of CurrentDaySummaryDTO objects.
-    */
-   public List<CurrentDaySummaryDTO> getAllDaySummaries(int limit) {
-      logger.info("Retrieving up to {} day summaries from MongoDB...", limit);
-      Pageable pageable = PageRequest.of(0, limit);
-      return currentDaySummaryRepo.findAllByOrderByDayDesc(pageable).stream()
-          .map(CurrentDaySummaryDTO::fromModel)
-          .collect(Collectors.toList());
+      this.summaryQueryRepo = summaryQueryRepo;
+      this.summaryCache = summaryCache;
+      this.singleFlight = singleFlight;
    }
 
    /**
@@ -81,10 +103,12 @@ public class GarminRetrievalService {
     * @throws GarminProcessingException if no summary is found for the day.
     */
    public CurrentDaySummaryDTO getDaySummary(LocalDate day) {
-      logger.info("Retrieving day summary for date {}...", day);
-      return currentDaySummaryRepo.findByDay(day)
-          .map(CurrentDaySummaryDTO::fromModel)
-          .orElseThrow(() -> new GarminProcessingException("No day summary found for " + day));
+      return cached(SummaryCacheKey.of(SummaryType.DAY, day), () -> {
+         logger.info("Retrieving day summary for date {}...", day);
+         return currentDaySummaryRepo.findByDay(day)
+             .map(CurrentDaySummaryDTO::fromModel)
+             .orElseThrow(() -> new GarminProcessingException("No day summary found for " + day));
+      });
    }
 
    /**
@@ -95,24 +119,12 @@ public class GarminRetrievalService {
     * @throws GarminProcessingException if no recent daily summaries are found.
     */
    public RecentDailySummariesDTO getRecentDailySummaries(LocalDate referenceDate) {
-      logger.info("Retrieving recent daily summaries for reference date {}...", referenceDate);
-      return recentDailySummariesRepo.findByLatestDay(referenceDate)
-          .map(RecentDailySummariesDTO::fromModel)
-          .orElseThrow(() -> new GarminProcessingException("No recent daily summaries found for " + referenceDate));
-   }
-
-   /**
-    * Retrieves a list of weekly summary DTOs up to the specified limit.
-    *
-    * @param limit the maximum number of weekly summaries to return.
-    * @return a List of WeeklySummaryDTO objects.
-    */
-   public List<WeeklySummaryDTO> getAllWeekSummaries(int limit) {
-      logger.info("Retrieving up to {} weekly summaries from MongoDB...", limit);
-      Pageable pageable = PageRequest.of(0, limit);
-      return weeklySummaryRepo.findAllByOrderByFirstDayDesc(pageable).stream()
-          .map(WeeklySummaryDTO::fromModel)
-          .collect(Collectors.toList());
+      return cached(SummaryCacheKey.of(SummaryType.RECENT, referenceDate), () -> {
+         logger.info("Retrieving recent daily summaries for reference date {}...", referenceDate);
+         return recentDailySummariesRepo.findByLatestDay(referenceDate)
+             .map(RecentDailySummariesDTO::fromModel)
+             .orElseThrow(() -> new GarminProcessingException("No recent daily summaries found for " + referenceDate));
+      });
    }
 
    /**
@@ -123,10 +135,12 @@ public class GarminRetrievalService {
     * @throws GarminProcessingException if no weekly summary is found.
     */
    public WeeklySummaryDTO getWeekSummary(LocalDate referenceDate) {
-      logger.info("Retrieving weekly summary for reference date {}...", referenceDate);
-      return weeklySummaryRepo.findByFirstDay(referenceDate)
-          .map(WeeklySummaryDTO::fromModel)
-          .orElseThrow(() -> new GarminProcessingException("No weekly summary found for " + referenceDate));
+      return cached(SummaryCacheKey.of(SummaryType.WEEK, referenceDate), () -> {
+         logger.info("Retrieving weekly summary for reference date {}...", referenceDate);
+         return weeklySummaryRepo.findByFirstDay(referenceDate)
+             .map(WeeklySummaryDTO::fromModel)
+             .orElseThrow(() -> new GarminProcessingException("No weekly summary found for " + referenceDate));
+      });
    }
 
    /**
@@ -142,6 +156,10 @@ public class GarminRetrievalService {
     * @throws GarminProcessingException if processing fails.
     */
    public List<MonthlySummaryDTO> getMonthSummaries(Integer year) {
+      return cached(SummaryCacheKey.months(year), () -> loadMonthSummaries(year));
+   }
+
+   private List<MonthlySummaryDTO> loadMonthSummaries(Integer year) {
       logger.info("Retrieving monthly summaries with year={}", year);
       List<MonthlySummary> summaries;
       if (year == null) {
@@ -153,7 +171,7 @@ public class GarminRetrievalService {
       summaries.sort(Comparator.comparing(MonthlySummary::firstDay).reversed());
       return summaries.stream()
           .map(MonthlySummaryDTO::fromModel)
-          .collect(Collectors.toList());
+          .toList(); // Unmodifiable, as the list is shared through the cache
    }
 
    /**
@@ -164,12 +182,217 @@ public class GarminRetrievalService {
     * @return a List of YearlySummaryDTO objects.
     */
    public List<YearlySummaryDTO> getYearSummaries() {
+      return cached(SummaryCacheKey.years(), this::loadYearSummaries);
+   }
+
+   private List<YearlySummaryDTO> loadYearSummaries() {
       logger.info("Retrieving yearly summaries from MongoDB...");
       List<YearlySummary> summaries = yearlySummaryRepo.findAll();
       // Sort the yearly summaries in descending order by the firstDay field.
       summaries.sort(Comparator.comparing(YearlySummary::firstDay).reversed());
       return summaries.stream()
           .map(YearlySummaryDTO::fromModel)
-          .collect(Collectors.toList());
+          .toList(); // Unmodifiable, as the list is shared through the cache
+   }
+
+   // ======================================================================
+   // Sparse fieldsets
+   // ======================================================================
+
+   /**
+    * Retrieves a day summary for a specific date, reading only the selected metrics.
+    *
+    * @param day    the date to look up.
+    * @param fields the selected metric names.
+    * @return the trimmed day summary.
+    * @throws GarminProcessingException if no summary is found for the day.
+    */
+   public Map<String, Object> getDaySummary(LocalDate day, Set<String> fields) {
+      logger.info("Retrieving day summary for date {} with fields {}...", day, fields);
+      return summaryQueryRepo.findDaySummary(day, fields)
+          .map(model -> SummaryFieldUtils.selectFields(CurrentDaySummaryDTO.fromModel(model), fields))
+          .orElseThrow(() -> new GarminProcessingException("No day summary found for " + day));
+   }
+
+   /**
+    * Retrieves recent daily summaries for the reference date, reading only the selected metrics.
+    *
+    * @param referenceDate the reference date for fetching recent summaries.
+    * @param fields        the selected metric names.
+    * @return the trimmed recent daily summaries.
+    * @throws GarminProcessingException if no recent daily summaries are found.
+    */
+   public Map<String, Object> getRecentDailySummaries(LocalDate referenceDate, Set<String> fields) {
+      logger.info("Retrieving recent daily summaries for reference date {} with fields {}...", referenceDate, fields);
+      return summaryQueryRepo.findRecentDailySummaries(referenceDate, fields)
+          .map(model -> SummaryFieldUtils.selectFields(RecentDailySummariesDTO.fromModel(model), fields))
+          .orElseThrow(() -> new GarminProcessingException("No recent daily summaries found for " + referenceDate));
+   }
+
+   /**
+    * Retrieves a weekly summary for the reference date, reading only the selected metrics.
+    *
+    * @param referenceDate the reference date used to determine the week.
+    * @param fields        the selected metric names.
+    * @return the trimmed weekly summary.
+    * @throws GarminProcessingException if no weekly summary is found.
+    */
+   public Map<String, Object> getWeekSummary(LocalDate referenceDate, Set<String> fields) {
+      logger.info("Retrieving weekly summary for reference date {} with fields {}...", referenceDate, fields);
+      return summaryQueryRepo.findWeekSummary(referenceDate, fields)
+          .map(model -> SummaryFieldUtils.selectFields(WeeklySummaryDTO.fromModel(model), fields))
+          .orElseThrow(() -> new GarminProcessingException("No weekly summary found for " + referenceDate));
+   }
+
+   /**
+    * Retrieves monthly summaries (optionally for one year), reading only the selected metrics.
+    * The list is sorted in descending order by the <code>firstDay</code> field.
+    *
+    * @param year   the year to filter by, or null to retrieve all summaries.
+    * @param fields the selected metric names.
+    * @return a List of trimmed monthly summaries.
+    */
+   public List<Map<String, Object>> getMonthSummaries(Integer year, Set<String> fields) {
+      logger.info("Retrieving monthly summaries with year={} and fields {}", year, fields);
+      return summaryQueryRepo.findMonthSummaries(year, fields).stream()
+          .map(model -> SummaryFieldUtils.selectFields(MonthlySummaryDTO.fromModel(model), fields))
+          .toList();
+   }
+
+   /**
+    * Retrieves all yearly summaries, reading only the selected metrics.
+    * The list is sorted in descending order by the <code>firstDay</code> field.
+    *
+    * @param fields the selected metric names.
+    * @return a List of trimmed yearly summaries.
+    */
+   public List<Map<String, Object>> getYearSummaries(Set<String> fields) {
+      logger.info("Retrieving yearly summaries with fields {}...", fields);
+      return summaryQueryRepo.findYearSummaries(fields).stream()
+          .map(model -> SummaryFieldUtils.selectFields(YearlySummaryDTO.fromModel(model), fields))
+          .toList();
+   }
+
+   // ======================================================================
+   // Keyset pagination
+   // ======================================================================
+
+   /**
+    * Retrieves one keyset page of day summaries, newest first.
+    *
+    * @param request the page request (cursor, date range and limit).
+    * @return a SummaryPage of CurrentDaySummaryDTO objects.
+    */
+   public SummaryPage<CurrentDaySummaryDTO> getDaySummaryPage(SummaryPageRequest request) {
+      logger.info("Retrieving day summary page {}...", request);
+      return findDayPage(request, Set.of()).map(CurrentDaySummaryDTO::fromModel);
+   }
+
+   /**
+    * Retrieves one keyset page of day summaries, reading only the selected metrics.
+    *
+    * @param request the page request (cursor, date range and limit).
+    * @param fields  the selected metric names.
+    * @return a SummaryPage of trimmed day summaries.
+    */
+   public SummaryPage<Map<String, Object>> getDaySummaryPage(SummaryPageRequest request, Set<String> fields) {
+      logger.info("Retrieving day summary page {} with fields {}...", request, fields);
+      return findDayPage(request, fields)
+          .map(model -> SummaryFieldUtils.selectFields(CurrentDaySummaryDTO.fromModel(model), fields));
+   }
+
+   /**
+    * Retrieves one keyset page of weekly summaries, newest first.
+    *
+    * @param request the page request (cursor, date range and limit).
+    * @return a SummaryPage of WeeklySummaryDTO objects.
+    */
+   public SummaryPage<WeeklySummaryDTO> getWeekSummaryPage(SummaryPageRequest request) {
+      logger.info("Retrieving weekly summary page {}...", request);
+      return findWeekPage(request, Set.of()).map(WeeklySummaryDTO::fromModel);
+   }
+
+   /**
+    * Retrieves one keyset page of weekly summaries, reading only the selected metrics.
+    *
+    * @param request the page request (cursor, date range and limit).
+    * @param fields  the selected metric names.
+    * @return a SummaryPage of trimmed weekly summaries.
+    */
+   public SummaryPage<Map<String, Object>> getWeekSummaryPage(SummaryPageRequest request, Set<String> fields) {
+      logger.info("Retrieving weekly summary page {} with fields {}...", request, fields);
+      return findWeekPage(request, fields)
+          .map(model -> SummaryFieldUtils.selectFields(WeeklySummaryDTO.fromModel(model), fields));
+   }
+
+   private SummaryPage<CurrentDaySummary> findDayPage(SummaryPageRequest request, Set<String> fields) {
+      return findPage(request, DAYS_CURSOR, CurrentDaySummary::day,
+                      (lowest, highest, ascending, limit) ->
+                          summaryQueryRepo.findDayPage(lowest, highest, ascending, limit, fields));
+   }
+
+   private SummaryPage<WeeklySummary> findWeekPage(SummaryPageRequest request, Set<String> fields) {
+      return findPage(request, WEEKS_CURSOR, WeeklySummary::firstDay,
+                      (lowest, highest, ascending, limit) ->
+                          summaryQueryRepo.findWeekPage(lowest, highest, ascending, limit, fields));
+   }
+
+   /**
+    * Reads one keyset page. Cursors are turned into an inclusive date range on the date key;
+    * one extra row is read to find out whether another page exists in the paging direction.
+    */
+   private <T> SummaryPage<T> findPage(SummaryPageRequest request, String cursorKind,
+                                       Function<T, LocalDate> dateKey, PageQuery<T> pageQuery) {
+      LocalDate before = CursorUtils.decode(request.before(), cursorKind);
+      LocalDate after = CursorUtils.decode(request.after(), cursorKind);
+      LocalDate lowest = latest(after == null ? null : after.plusDays(1), request.from());
+      LocalDate highest = earliest(before == null ? null : before.minusDays(1), request.to());
+      boolean towardsNewer = after != null;
+
+      if (lowest != null && highest != null && lowest.isAfter(highest)) {
+         return new SummaryPage<>(List.of(), null, null);
+      }
+
+      List<T> rows = new ArrayList<>(pageQuery.find(lowest, highest, towardsNewer, request.limit() + 1));
+      boolean hasMore = rows.size() > request.limit();
+      if (hasMore) {
+         rows = new ArrayList<>(rows.subList(0, request.limit()));
+      }
+      if (towardsNewer) {
+         Collections.reverse(rows); // Pages are always returned newest first
+      }
+      if (rows.isEmpty()) {
+         return new SummaryPage<>(rows, null, null);
+      }
+
+      boolean hasOlder = towardsNewer || hasMore;
+      boolean hasNewer = towardsNewer ? hasMore : before != null;
+      String nextCursor = hasOlder ? CursorUtils.encode(cursorKind, dateKey.apply(rows.get(rows.size() - 1))) : null;
+      String prevCursor = hasNewer ? CursorUtils.encode(cursorKind, dateKey.apply(rows.get(0))) : null;
+      return new SummaryPage<>(rows, nextCursor, prevCursor);
+   }
+
+   // Cache misses for the same key that overlap share one MongoDB query.
+   private <V> V cached(SummaryCacheKey key, Supplier<V> loader) {
+      return summaryCache.get(key, () -> singleFlight.execute(key, loader));
+   }
+
+   private static LocalDate latest(LocalDate first, LocalDate second) {
+      if (first == null || second == null) {
+         return first == null ? second : first;
+      }
+      return first.isAfter(second) ? first : second;
+   }
+
+   private static LocalDate earliest(LocalDate first, LocalDate second) {
+      if (first == null || second == null) {
+         return first == null ? second : first;
+      }
+      return first.isBefore(second) ? first : second;
+   }
+
+   @FunctionalInterface
+   private interface PageQuery<T> {
+      List<T> find(LocalDate lowest, LocalDate highest, boolean ascending, int limit);
    }
 }
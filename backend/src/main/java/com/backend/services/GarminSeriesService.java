@@ -0,0 +1,218 @@
+package com.backend.services;
+
+import com.backend.dtos.DownsamplingMode;
+import com.backend.dtos.MetricSeriesDTO;
+import com.backend.dtos.SeriesDTO;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
+import com.backend.utils.DateUtils;
+import com.backend.utils.DownsamplingUtils;
+import com.backend.utils.SummaryFieldUtils;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * GarminSeriesService builds columnar metric series for charts.
+ *
+ * Day summaries are read from a projected MongoDB cursor (only the day and the requested
+ * metrics) in a single pass. Each metric is collected into a primitive array aligned with a
+ * shared date axis, plus a bitmap marking the days without a value, which is much smaller on
+ * the wire than one JSON object per day.
+ *
+ * Long ranges can be capped at a number of points per metric. The rows are then fed through a
+ * streaming downsampler (LTTB or min-max buckets) instead of being collected, so memory, payload
+ * and chart render time stay bounded however many days the range covers.
+ */
+@Service
+public class GarminSeriesService {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminSeriesService.class);
+   private static final int INITIAL_CAPACITY = 64;
+
+   private final SummaryQueryRepo summaryQueryRepo;
+
+   public GarminSeriesService(SummaryQueryRepo summaryQueryRepo) {
+      this.summaryQueryRepo = summaryQueryRepo;
+   }
+
+   /**
+    * Builds the series of the given metrics for an inclusive date range.
+    *
+    * @param metrics the metric names, in the order they should be returned.
+    * @param from    the first day of the range.
+    * @param to      the last day of the range, inclusive.
+    * @return a SeriesDTO with one column per metric.
+    * @throws InvalidQueryParameterException if no metric is given or the range is inverted.
+    */
+   public SeriesDTO getSeries(Set<String> metrics, LocalDate from, LocalDate to) {
+      return getSeries(metrics, from, to, null, DownsamplingMode.LTTB);
+   }
+
+   /**
+    * Builds the series of the given metrics, downsampled to at most {@code maxPoints} values
+    * per metric if the range has more days than that.
+    *
+    * @param metrics   the metric names, in the order they should be returned.
+    * @param from      the first day of the range.
+    * @param to        the last day of the range, inclusive.
+    * @param maxPoints the maximum number of values per metric, or null for no limit.
+    * @param mode      the downsampling algorithm.
+    * @return a SeriesDTO with one column per metric.
+    * @throws InvalidQueryParameterException if no metric is given, the range is inverted or
+    *                                        maxPoints is too small for the mode.
+    */
+   public SeriesDTO getSeries(Set<String> metrics, LocalDate from, LocalDate to,
+                              Integer maxPoints, DownsamplingMode mode) {
+      if (metrics.isEmpty()) {
+         throw new InvalidQueryParameterException("At least one metric is required");
+      }
+      if (from.isAfter(to)) {
+         throw new InvalidQueryParameterException("'from' must not be after 'to'");
+      }
+      if (maxPoints != null && maxPoints < mode.minPoints()) {
+         throw new InvalidQueryParameterException("'maxPoints' must be at least " + mode.minPoints() + " for " + mode.param());
+      }
+      int span = (int) ChronoUnit.DAYS.between(from, to) + 1;
+      if (maxPoints != null && span > maxPoints) {
+         return getDownsampledSeries(metrics, from, to, span, maxPoints, mode);
+      }
+      logger.info("📈 Building series for {} from {} to {}...", metrics, from, to);
+
+      List<String> days = new ArrayList<>();
+      List<Column> columns = metrics.stream().map(Column::new).toList();
+      try (Stream<Document> rows = summaryQueryRepo.streamDayMetrics(from, to, metrics)) {
+         Iterator<Document> iterator = rows.iterator();
+         while (iterator.hasNext()) {
+            Document row = iterator.next();
+            Document summary = row.get("summary", Document.class);
+            int index = days.size();
+            days.add(DateUtils.formatLocalDate(DateUtils.fromMongoDate(row.getDate("day"))));
+            for (Column column : columns) {
+               column.set(index, summary == null ? null : summary.get(column.storedKey));
+            }
+         }
+      }
+
+      Map<String, MetricSeriesDTO> series = new LinkedHashMap<>();
+      columns.forEach(column -> series.put(column.metric, column.toDTO(days.size())));
+      logger.info("✅ Built series of {} days for {} metrics.", days.size(), columns.size());
+      return new SeriesDTO(from.toString(), to.toString(), null, days, series);
+   }
+
+   private SeriesDTO getDownsampledSeries(Set<String> metrics, LocalDate from, LocalDate to,
+                                          int span, int maxPoints, DownsamplingMode mode) {
+      logger.info("📈 Building {} series for {} from {} to {} with at most {} points...", mode.param(), metrics, from, to, maxPoints);
+      Map<String, DownsamplingUtils.Downsampler> samplers = new LinkedHashMap<>();
+      metrics.forEach(metric -> samplers.put(metric, mode == DownsamplingMode.MINMAX
+          ? DownsamplingUtils.minMax(span, maxPoints)
+          : DownsamplingUtils.lttb(span, maxPoints)));
+
+      try (Stream<Document> rows = summaryQueryRepo.streamDayMetrics(from, to, metrics)) {
+         Iterator<Document> iterator = rows.iterator();
+         while (iterator.hasNext()) {
+            Document row = iterator.next();
+            Document summary = row.get("summary", Document.class);
+            if (summary == null) {
+               continue;
+            }
+            int x = (int) ChronoUnit.DAYS.between(from, DateUtils.fromMongoDate(row.getDate("day")));
+            samplers.forEach((metric, sampler) -> {
+               Number value = numericValue(summary.get(SummaryFieldUtils.storedFieldName(metric)));
+               if (value != null) {
+                  sampler.add(x, value.doubleValue()); // Null values are dropped rather than flagged
+               }
+            });
+         }
+      }
+
+      Map<String, MetricSeriesDTO> series = new LinkedHashMap<>();
+      samplers.forEach((metric, sampler) -> {
+         DownsamplingUtils.Points points = sampler.finish();
+         Object values = SummaryFieldUtils.isDecimalMetric(metric)
+             ? points.y()
+             : Arrays.stream(points.y()).mapToInt(y -> (int) y).toArray();
+         series.put(metric, new MetricSeriesDTO(typeOf(metric), points.x(), values, null, 0));
+      });
+      return new SeriesDTO(from.toString(), to.toString(), mode.param(), null, series);
+   }
+
+   private static Number numericValue(Object raw) {
+      return raw instanceof String duration ? SummaryFieldUtils.durationSeconds(duration) : (Number) raw;
+   }
+
+   private static String typeOf(String metric) {
+      if (SummaryFieldUtils.isDecimalMetric(metric)) {
+         return "double";
+      }
+      return SummaryFieldUtils.isDurationMetric(metric) ? "seconds" : "int";
+   }
+
+   /**
+    * Growable primitive column for one metric.
+    */
+   private static final class Column {
+
+      private final String metric;
+      private final String storedKey;
+      private final String type;
+      private final BitSet nulls = new BitSet();
+      private int[] ints;
+      private double[] doubles;
+
+      private Column(String metric) {
+         this.metric = metric;
+         this.storedKey = SummaryFieldUtils.storedFieldName(metric);
+         this.type = typeOf(metric);
+         if (SummaryFieldUtils.isDecimalMetric(metric)) {
+            doubles = new double[INITIAL_CAPACITY];
+         } else {
+            ints = new int[INITIAL_CAPACITY];
+         }
+      }
+
+      private void set(int index, Object raw) {
+         Number value = numericValue(raw);
+         if (doubles != null) {
+            if (index == doubles.length) {
+               doubles = Arrays.copyOf(doubles, index * 2);
+            }
+            if (value != null) {
+               doubles[index] = value.doubleValue();
+            }
+         } else {
+            if (index == ints.length) {
+               ints = Arrays.copyOf(ints, index * 2);
+            }
+            if (value != null) {
+               ints[index] = value.intValue();
+            }
+         }
+         if (value == null) {
+            nulls.set(index);
+         }
+      }
+
+      private MetricSeriesDTO toDTO(int size) {
+         Object values = doubles != null ? Arrays.copyOf(doubles, size) : Arrays.copyOf(ints, size);
+         int nullCount = nulls.cardinality();
+         // BitSet.toByteArray is little-endian: bit i lives in byte i / 8 at position i % 8.
+         String bitmap = nullCount == 0 ? null : Base64.getEncoder().encodeToString(nulls.toByteArray());
+         return new MetricSeriesDTO(type, null, values, bitmap, nullCount);
+      }
+   }
+}
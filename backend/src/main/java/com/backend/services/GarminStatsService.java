@@ -0,0 +1,170 @@
+package com.backend.services;
+
+import com.backend.dtos.MetricStatsDTO;
+import com.backend.dtos.StatsBucketDTO;
+import com.backend.dtos.StatsGranularity;
+import com.backend.dtos.StatsResponseDTO;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.CurrentDaySummary;
+import com.backend.utils.DateUtils;
+import com.backend.utils.SummaryFieldUtils;
+import com.mongodb.MongoException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GarminStatsService computes aggregate statistics (min, max, avg, sum, count) for arbitrary date ranges.
+ *
+ * The statistics are computed by MongoDB over the day summaries: a {@code $match} on the indexed
+ * {@code day} key, a {@code $project} that extracts the requested metrics, and a {@code $group} per
+ * day, week or month bucket. Only the aggregated buckets are transferred to the application.
+ *
+ * Duration metrics (HH:MM:SS strings) are converted to seconds inside the pipeline.
+ */
+@Service
+public class GarminStatsService {
+
+   private static final Logger logger = LoggerFactory.getLogger(GarminStatsService.class);
+
+   private final MongoTemplate mongoTemplate;
+
+   public GarminStatsService(MongoTemplate mongoTemplate) {
+      this.mongoTemplate = mongoTemplate;
+   }
+
+   /**
+    * Computes statistics for the given metrics between two days (inclusive).
+    *
+    * @param metrics     the metric names to aggregate.
+    * @param from        the first day of the range.
+    * @param to          the last day of the range (inclusive).
+    * @param granularity the bucket size.
+    * @return a StatsResponseDTO with one bucket per period that has data.
+    * @throws InvalidQueryParameterException if no metrics are requested or the range is inverted.
+    * @throws GarminProcessingException      if the aggregation fails.
+    */
+   public StatsResponseDTO getStats(Set<String> metrics, LocalDate from, LocalDate to, StatsGranularity granularity) {
+      if (metrics.isEmpty()) {
+         throw new InvalidQueryParameterException("At least one metric is required");
+      }
+      if (from.isAfter(to)) {
+         throw new InvalidQueryParameterException("'from' must not be after 'to'");
+      }
+
+      logger.info("📊 Aggregating {} from {} to {} by {}...", metrics, from, to, granularity.unit());
+      String collectionName = mongoTemplate.getCollectionName(CurrentDaySummary.class);
+      List<Document> results;
+      try {
+         results = mongoTemplate.getCollection(collectionName)
+             .aggregate(buildPipeline(metrics, from, to, granularity))
+             .into(new ArrayList<>());
+      } catch (MongoException e) {
+         throw new GarminProcessingException("Failed to aggregate statistics from " + from + " to " + to, e);
+      }
+
+      List<StatsBucketDTO> buckets = results.stream()
+          .map(result -> toBucket(result, metrics))
+          .toList();
+      logger.info("✅ Aggregated {} {} buckets.", buckets.size(), granularity.unit());
+      return new StatsResponseDTO(from.toString(), to.toString(), granularity.unit(), buckets);
+   }
+
+   /**
+    * Builds the aggregation pipeline. Package-private for testing.
+    */
+   List<Document> buildPipeline(Set<String> metrics, LocalDate from, LocalDate to, StatsGranularity granularity) {
+      Document match = new Document("day", new Document("$gte", DateUtils.toMongoDate(from))
+          .append("$lte", DateUtils.toMongoDate(to)));
+
+      Document project = new Document("_id", 0).append("day", 1);
+      metrics.forEach(metric -> project.append(metric, metricExpression(metric)));
+
+      Document dateTrunc = new Document("date", "$day")
+          .append("unit", granularity.unit())
+          .append("timezone", ZoneId.systemDefault().getId()); // Days are stored as local midnight
+      if (granularity == StatsGranularity.WEEK) {
+         dateTrunc.append("startOfWeek", "monday");
+      }
+
+      Document group = new Document("_id", new Document("$dateTrunc", dateTrunc))
+          .append("days", new Document("$sum", 1));
+      for (String metric : metrics) {
+         String value = "$" + metric;
+         group.append(metric + "_min", new Document("$min", value))
+             .append(metric + "_max", new Document("$max", value))
+             .append(metric + "_avg", new Document("$avg", value))
+             .append(metric + "_sum", new Document("$sum", value))
+             .append(metric + "_count", new Document("$sum",
+                 new Document("$cond", List.of(new Document("$isNumber", value), 1, 0))));
+      }
+
+      return List.of(
+          new Document("$match", match),
+          new Document("$project", project),
+          new Document("$group", group),
+          new Document("$sort", new Document("_id", 1))
+      );
+   }
+
+   /**
+    * Returns the expression reading a metric from the stored summary.
+    * Durations are split on ':' and converted to seconds; missing or malformed values become null.
+    */
+   private static Object metricExpression(String metric) {
+      String path = "$summary." + SummaryFieldUtils.storedFieldName(metric);
+      if (!SummaryFieldUtils.isDurationMetric(metric)) {
+         return path;
+      }
+
+      List<Object> seconds = List.of(
+          new Document("$multiply", List.of(timePart(0), 3600)),
+          new Document("$multiply", List.of(timePart(1), 60)),
+          timePart(2));
+      return new Document("$let", new Document("vars", new Document("parts", new Document("$split", List.of(path, ":"))))
+          .append("in", new Document("$add", seconds)));
+   }
+
+   private static Document timePart(int index) {
+      return new Document("$convert", new Document("input", new Document("$arrayElemAt", List.of("$$parts", index)))
+          .append("to", "int")
+          .append("onError", null)
+          .append("onNull", null));
+   }
+
+   private static StatsBucketDTO toBucket(Document result, Set<String> metrics) {
+      Map<String, MetricStatsDTO> stats = new LinkedHashMap<>();
+      for (String metric : metrics) {
+         long count = toLong(result.get(metric + "_count"));
+         stats.put(metric, new MetricStatsDTO(
+             toDouble(result.get(metric + "_min")),
+             toDouble(result.get(metric + "_max")),
+             toDouble(result.get(metric + "_avg")),
+             count == 0 ? null : toDouble(result.get(metric + "_sum")), // $sum yields 0 for an empty bucket
+             count
+         ));
+      }
+      LocalDate start = DateUtils.fromMongoDate(result.get("_id", Date.class));
+      return new StatsBucketDTO(DateUtils.formatLocalDate(start), toLong(result.get("days")), stats);
+   }
+
+   private static Double toDouble(Object value) {
+      return value instanceof Number number ? number.doubleValue() : null;
+   }
+
+   private static long toLong(Object value) {
+      return value instanceof Number number ? number.longValue() : 0L;
+   }
+}
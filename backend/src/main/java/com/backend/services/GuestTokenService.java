@@ -0,0 +1,123 @@
+package com.backend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * GuestTokenService issues and verifies the signed guest tokens that replace guest sessions.
+ *
+ * A token is {@code <guestId>.<expiresAtEpochSeconds>.<signature>}, where the signature is an
+ * HMAC-SHA256 of the first two parts under a server secret. Verifying one needs no storage, so
+ * guests cost no server memory and any instance sharing the secret accepts the token.
+ *
+ * Without a configured secret a random one is generated at startup; tokens then do not survive
+ * a restart and are only accepted by the instance that issued them.
+ */
+@Service
+public class GuestTokenService {
+
+   private static final Logger logger = LoggerFactory.getLogger(GuestTokenService.class);
+   public static final String GUEST_COOKIE = "HRV_GUEST";
+   private static final String ALGORITHM = "HmacSHA256";
+   private static final int ID_BYTES = 12;
+
+   private final SecretKeySpec key;
+   private final Duration ttl;
+   private final Clock clock;
+   private final SecureRandom random = new SecureRandom();
+
+   public GuestTokenService(@Value("${hrvibe.guest.token-secret:}") String secret,
+                            @Value("${hrvibe.guest.token-ttl:12h}") Duration ttl) {
+      this(secret, ttl, Clock.systemUTC());
+   }
+
+   GuestTokenService(String secret, Duration ttl, Clock clock) {
+      byte[] keyBytes;
+      if (secret == null || secret.isBlank()) {
+         logger.warn("⚠️ No hrvibe.guest.token-secret configured; guest tokens are only valid on this instance until restart.");
+         keyBytes = new byte[32];
+         random.nextBytes(keyBytes);
+      } else {
+         keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+      }
+      this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+      this.ttl = ttl;
+      this.clock = clock;
+   }
+
+   /**
+    * Issues a token for a new guest.
+    *
+    * @return the signed token.
+    */
+   public String issue() {
+      byte[] id = new byte[ID_BYTES];
+      random.nextBytes(id);
+      String payload = encode(id) + "." + clock.instant().plus(ttl).getEpochSecond();
+      return payload + "." + encode(sign(payload));
+   }
+
+   /**
+    * Verifies a token.
+    *
+    * @param token the token from the guest cookie, may be null.
+    * @return the guest ID if the token is authentic and not expired, otherwise empty.
+    */
+   public Optional<String> verify(String token) {
+      if (token == null) {
+         return Optional.empty();
+      }
+      int signatureStart = token.lastIndexOf('.');
+      int expiryStart = token.indexOf('.');
+      if (expiryStart <= 0 || signatureStart <= expiryStart) {
+         return Optional.empty();
+      }
+      String payload = token.substring(0, signatureStart);
+      try {
+         byte[] signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+         if (!MessageDigest.isEqual(sign(payload), signature)) { // Constant-time comparison
+            return Optional.empty();
+         }
+         long expiresAt = Long.parseLong(payload.substring(expiryStart + 1));
+         return expiresAt > clock.instant().getEpochSecond()
+             ? Optional.of(payload.substring(0, expiryStart))
+             : Optional.empty();
+      } catch (IllegalArgumentException e) { // Malformed Base64 or expiry
+         return Optional.empty();
+      }
+   }
+
+   /**
+    * @return how long an issued token is valid.
+    */
+   public Duration ttl() {
+      return ttl;
+   }
+
+   private byte[] sign(String payload) {
+      try {
+         Mac mac = Mac.getInstance(ALGORITHM); // Not thread-safe, so one per call
+         mac.init(key);
+         return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+      } catch (GeneralSecurityException e) {
+         throw new IllegalStateException("HMAC-SHA256 is not available", e);
+      }
+   }
+
+   private static String encode(byte[] bytes) {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+   }
+}
@@ -0,0 +1,245 @@
+package com.backend.services;
+
+import com.backend.dtos.HeartRateIngestReportDTO;
+import com.backend.exceptions.GarminDataParsingException;
+import com.backend.exceptions.GarminDatabaseException;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.HeartRateDay;
+import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ingests minute-level heart rate readings (GarminDB's monitoring_hr in garmin_monitoring.db) into
+ * the heart_rate_days collection.
+ * <p>
+ * The table is read in date-partitioned chunks, each streamed in timestamp order through
+ * {@link GarminSQLiteRepo#streamTableRange}. Readings are packed into one {@link HeartRateDay} per day
+ * (one byte per minute), and every chunk is written with one unordered bulk upsert on a virtual thread
+ * while the next chunk is read.
+ * </p>
+ */
+@Service
+public class HeartRateIngestService {
+
+   private static final Logger logger = LoggerFactory.getLogger(HeartRateIngestService.class);
+
+   public static final int MINUTES_PER_DAY = 24 * 60;
+   static final String TIMESTAMP_COLUMN = "timestamp";
+   static final String HEART_RATE_COLUMN = "heart_rate";
+
+   private final GarminSQLiteRepo garminSQLiteRepo;
+   private final MongoTemplate mongoTemplate;
+   private final int partitionDays; // Days read per SQLite query and written per bulk operation
+
+   public HeartRateIngestService(GarminSQLiteRepo garminSQLiteRepo, MongoTemplate mongoTemplate,
+                                 @Value("${hrvibe.heart-rate.partition-days:31}") int partitionDays) {
+      this.garminSQLiteRepo = garminSQLiteRepo;
+      this.mongoTemplate = mongoTemplate;
+      this.partitionDays = Math.max(1, partitionDays);
+   }
+
+   /**
+    * Packs the readings of the given days into heart_rate_days, replacing stored days.
+    *
+    * @param databaseName the SQLite database name (e.g. garmin_monitoring.db).
+    * @param tableName    the heart rate table (e.g. monitoring_hr), with timestamp and heart_rate columns.
+    * @param from         the first day to ingest, or null to start at the first reading.
+    * @param to           the last day to ingest (inclusive), or null to end at the last reading.
+    * @return the ingestion report.
+    * @throws GarminProcessingException if the table has no readings or writing to MongoDB fails.
+    */
+   public HeartRateIngestReportDTO ingest(String databaseName, String tableName, LocalDate from, LocalDate to) {
+      if (from == null || to == null) {
+         List<String> bounds = garminSQLiteRepo.getColumnBounds(databaseName, tableName, TIMESTAMP_COLUMN);
+         if (bounds.isEmpty()) {
+            throw new GarminProcessingException("No data found in table " + tableName + " of " + databaseName);
+         }
+         from = from != null ? from : parseDay(bounds.get(0));
+         to = to != null ? to : parseDay(bounds.get(1));
+      }
+      if (to.isBefore(from)) {
+         throw new InvalidQueryParameterException("'to' (" + to + ") must not be before 'from' (" + from + ")");
+      }
+
+      logger.info("💓 Ingesting heart rate from {}/{} for {} to {} in {}-day partitions...",
+                  databaseName, tableName, from, to, partitionDays);
+      long start = System.nanoTime();
+      int partitions = 0;
+      long days = 0;
+      long samples = 0;
+      long skipped = 0;
+
+      try (ExecutorService writer = Executors.newVirtualThreadPerTaskExecutor()) {
+         CompletableFuture<Integer> pendingWrite = CompletableFuture.completedFuture(0);
+         for (LocalDate partitionStart = from; !partitionStart.isAfter(to); partitionStart = partitionStart.plusDays(partitionDays)) {
+            LocalDate partitionEnd = partitionStart.plusDays(partitionDays);
+            if (partitionEnd.isAfter(to.plusDays(1))) {
+               partitionEnd = to.plusDays(1);
+            }
+
+            DayPacker packer = new DayPacker();
+            garminSQLiteRepo.streamTableRange(databaseName, tableName, TIMESTAMP_COLUMN,
+                                              partitionStart.toString(), partitionEnd.toString(), packer);
+            List<HeartRateDay> packed = packer.finish();
+            partitions++;
+            samples += packer.samples;
+            skipped += packer.skipped;
+
+            // One write in flight: it overlaps the read of the next partition.
+            days += pendingWrite.join();
+            pendingWrite = CompletableFuture.supplyAsync(() -> write(packed), writer);
+         }
+         days += pendingWrite.join();
+      } catch (IOException e) {
+         throw new GarminDatabaseException("Failed to read heart rate from table " + tableName + " in " + databaseName, e);
+      } catch (CompletionException e) {
+         throw new GarminProcessingException("Failed to save heart rate days: " + e.getCause().getMessage(), e.getCause());
+      }
+
+      long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+      HeartRateIngestReportDTO report = new HeartRateIngestReportDTO(
+          from, to, partitions, days, samples, skipped, millis, samples * 1000 / millis);
+      logger.info("✅ Packed {} heart rate readings into {} days in {} ms ({} readings/s, {} rows skipped).",
+                  samples, days, millis, report.samplesPerSecond(), skipped);
+      return report;
+   }
+
+   // Upserts the packed days of one partition, keyed by day.
+   private int write(List<HeartRateDay> packed) {
+      if (packed.isEmpty()) {
+         return 0;
+      }
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, HeartRateDay.class);
+      for (HeartRateDay day : packed) {
+         bulk.upsert(Query.query(Criteria.where("day").is(day.day())), new Update()
+             .set("samples", day.samples())
+             .set("minutes", day.minutes())
+             .set("hrMin", day.hrMin())
+             .set("hrMax", day.hrMax())
+             .set("hrAvg", day.hrAvg())
+             .set("bpm", day.bpm()));
+      }
+      bulk.execute();
+      return packed.size();
+   }
+
+   private static LocalDate parseDay(String timestamp) {
+      if (timestamp.length() < 10) {
+         throw new GarminDataParsingException("Invalid heart rate timestamp: '" + timestamp + "'");
+      }
+      return LocalDate.parse(timestamp.substring(0, 10));
+   }
+
+   /**
+    * Packs rows sorted by timestamp into day documents. Readings within the same minute are averaged.
+    * Timestamps are GarminDB's "yyyy-MM-dd HH:mm:ss[.ffffff]" text and are read by position, without parsing a date per row.
+    */
+   static final class DayPacker implements TableRowWriter {
+
+      private final List<HeartRateDay> days = new ArrayList<>();
+      private final int[] sums = new int[MINUTES_PER_DAY];
+      private final int[] counts = new int[MINUTES_PER_DAY];
+      private int timestampIndex = -1;
+      private int heartRateIndex = -1;
+      private String currentDay; // "yyyy-MM-dd" of the day being packed
+      private int daySamples;
+      long samples;
+      long skipped;
+
+      @Override
+      public void columns(String[] columns, int[] sqlTypes) {
+         for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equalsIgnoreCase(TIMESTAMP_COLUMN)) {
+               timestampIndex = i;
+            } else if (columns[i].equalsIgnoreCase(HEART_RATE_COLUMN)) {
+               heartRateIndex = i;
+            }
+         }
+         if (timestampIndex < 0 || heartRateIndex < 0) {
+            throw new GarminDataParsingException(
+                "Heart rate table needs '" + TIMESTAMP_COLUMN + "' and '" + HEART_RATE_COLUMN + "' columns, found " + Arrays.toString(columns));
+         }
+      }
+
+      @Override
+      public void row(Object[] values) {
+         if (!(values[heartRateIndex] instanceof Number heartRate) || heartRate.intValue() <= 0 || heartRate.intValue() > 255) {
+            skipped++;
+            return;
+         }
+         if (!(values[timestampIndex] instanceof String timestamp) || timestamp.length() < 16) {
+            throw new GarminDataParsingException("Invalid heart rate timestamp: '" + values[timestampIndex] + "'");
+         }
+
+         if (currentDay == null || !timestamp.regionMatches(0, currentDay, 0, 10)) {
+            flushDay();
+            currentDay = timestamp.substring(0, 10);
+         }
+         int minute = twoDigits(timestamp, 11, 23) * 60 + twoDigits(timestamp, 14, 59);
+         sums[minute] += heartRate.intValue();
+         counts[minute]++;
+         daySamples++;
+         samples++;
+      }
+
+      List<HeartRateDay> finish() {
+         flushDay();
+         return days;
+      }
+
+      private void flushDay() {
+         if (daySamples == 0) {
+            return;
+         }
+         byte[] bpm = new byte[MINUTES_PER_DAY];
+         int minutes = 0;
+         int min = Integer.MAX_VALUE;
+         int max = 0;
+         long total = 0;
+         for (int i = 0; i < MINUTES_PER_DAY; i++) {
+            if (counts[i] > 0) {
+               int value = (sums[i] + counts[i] / 2) / counts[i];
+               bpm[i] = (byte) value;
+               minutes++;
+               min = Math.min(min, value);
+               max = Math.max(max, value);
+               total += value;
+            }
+         }
+         days.add(new HeartRateDay(null, parseDay(currentDay), daySamples, minutes, min, max,
+                                   (int) ((total + minutes / 2) / minutes), bpm));
+         Arrays.fill(sums, 0);
+         Arrays.fill(counts, 0);
+         daySamples = 0;
+      }
+
+      private static int twoDigits(String timestamp, int index, int maxValue) {
+         int tens = timestamp.charAt(index) - '0';
+         int ones = timestamp.charAt(index + 1) - '0';
+         if (tens < 0 || tens > 9 || ones < 0 || ones > 9 || tens * 10 + ones > maxValue) {
+            throw new GarminDataParsingException("Invalid heart rate timestamp: '" + timestamp + "'");
+         }
+         return tens * 10 + ones;
+      }
+   }
+}
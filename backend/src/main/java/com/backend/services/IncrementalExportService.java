@@ -0,0 +1,479 @@
+package com.backend.services;
+
+import com.backend.dtos.IncrementalExportReportDTO;
+import com.backend.dtos.ManifestVerificationDTO;
+import com.backend.exceptions.GarminDatabaseException;
+import com.backend.exceptions.GarminExportException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.export.ExportCodec;
+import com.backend.export.ExportFiles;
+import com.backend.export.ExportManifest;
+import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exports SQLite tables incrementally into NDJSON chunk files described by an {@link ExportManifest}.
+ * <p>
+ * Each table gets its own folder holding {@code manifest.json} and {@code chunk-NNNNN.ndjson[.gz]}
+ * files. Rows are streamed sorted by primary key and assigned to the key ranges of the previous
+ * export's chunks; a chunk is only rewritten if the checksum of its rows changed. Rows past the
+ * previous last key top up the last chunk until it holds {@code chunkRows} rows and then go into
+ * new chunks, and a key range that grew past {@code chunkRows} rows is split. Chunk files are never overwritten: rewritten
+ * chunks get a new id, and the files the new manifest no longer references are deleted once it is
+ * in place, so a reader always finds the files of the manifest it read. At most one chunk is held
+ * in memory.
+ * </p>
+ */
+@Service
+public class IncrementalExportService {
+
+   private static final Logger logger = LoggerFactory.getLogger(IncrementalExportService.class);
+   private static final String ROWID = "rowid";
+   private static final String CHUNK_PREFIX = "chunk-";
+
+   private final GarminSQLiteRepo garminSQLiteRepo;
+   private final ObjectMapper objectMapper;
+   private final int chunkRows;
+   private final Path exportDir;
+
+   @Autowired
+   public IncrementalExportService(GarminSQLiteRepo garminSQLiteRepo, ObjectMapper objectMapper,
+                                   @Value("${hrvibe.export.chunk-rows:10000}") int chunkRows) {
+      this(garminSQLiteRepo, objectMapper, chunkRows, Paths.get(GarminDataExportService.EXPORT_DIR));
+   }
+
+   IncrementalExportService(GarminSQLiteRepo garminSQLiteRepo, ObjectMapper objectMapper, int chunkRows, Path exportDir) {
+      if (chunkRows < 1) {
+         throw new IllegalArgumentException("chunkRows must be at least 1");
+      }
+      this.garminSQLiteRepo = garminSQLiteRepo;
+      this.objectMapper = objectMapper;
+      this.chunkRows = chunkRows;
+      this.exportDir = exportDir;
+   }
+
+   /**
+    * ✅ Exports all tables of a database incrementally.
+    * Tables that fail to export are logged and skipped.
+    *
+    * @return one report per exported table, in table order.
+    */
+   public List<IncrementalExportReportDTO> exportAllTables(String databaseName, ExportCodec codec) {
+      List<String> tableNames;
+      try {
+         tableNames = garminSQLiteRepo.getAllTableNames(databaseName);
+      } catch (Exception e) {
+         logger.error("❌ Error fetching table names for '{}': {}", databaseName, e.getMessage());
+         throw new GarminDatabaseException("Failed to retrieve table names for " + databaseName, e);
+      }
+
+      List<IncrementalExportReportDTO> reports = new ArrayList<>();
+      for (String tableName : tableNames) {
+         try {
+            reports.add(exportTable(databaseName, tableName, codec));
+         } catch (GarminExportException e) {
+            logger.error("❌ Skipping incremental export for table '{}': {}", tableName, e.getMessage());
+         }
+      }
+      return reports;
+   }
+
+   /**
+    * ✅ Exports a table incrementally, rewriting only the chunks whose rows changed.
+    * If the codec or primary key changed since the previous export, every chunk is rewritten.
+    * Throws a `GarminDatabaseException` if reading the table fails and a `GarminExportException`
+    * if writing the files fails.
+    */
+   public IncrementalExportReportDTO exportTable(String databaseName, String tableName, ExportCodec codec) {
+      logger.info("🔄 Incrementally exporting table '{}' from database '{}' ({})...", tableName, databaseName, codec.name());
+      long start = System.nanoTime();
+      Path tableFolder = tableFolder(databaseName, tableName);
+
+      try {
+         List<String> keyColumns = garminSQLiteRepo.getPrimaryKeyColumns(databaseName, tableName); // Validates the name
+         Files.createDirectories(tableFolder);
+         ExportManifest previous = previousManifest(tableFolder)
+             .filter(manifest -> manifest.codec().equals(codec.name()) && manifest.keyColumns().equals(keyColumns))
+             .orElse(null);
+         List<ExportManifest.Chunk> previousChunks = previous == null ? List.of() : previous.chunks();
+
+         ChunkingWriter writer = new ChunkingWriter(tableFolder, codec, keyColumns, previousChunks, firstFreeId(tableFolder));
+         long rows = garminSQLiteRepo.streamTableData(databaseName, tableName,
+                                                      keyColumns.isEmpty() ? List.of(ROWID) : keyColumns, writer);
+         writer.finish();
+
+         List<ExportManifest.Chunk> chunks = writer.chunks;
+         ExportManifest manifest = new ExportManifest(
+             ExportManifest.VERSION, tableName, keyColumns, codec.name(), rows,
+             chunks.isEmpty() ? null : chunks.getFirst().firstKey(),
+             chunks.isEmpty() ? null : chunks.getLast().lastKey(),
+             Instant.now().toString(), chunks);
+         writeManifest(tableFolder, manifest);
+         deleteUnreferencedChunks(tableFolder, chunks);
+
+         IncrementalExportReportDTO report = new IncrementalExportReportDTO(
+             tableName, tableFolder.resolve(ExportManifest.FILE_NAME).toString(), rows,
+             writer.unchanged, writer.rewritten, writer.appended, writer.removed, writer.bytesWritten,
+             (System.nanoTime() - start) / 1_000_000);
+         logger.info("✅ Incrementally exported table '{}': {} rows, {} chunks unchanged, {} rewritten, {} appended, {} removed.",
+                     tableName, rows, report.chunksUnchanged(), report.chunksRewritten(), report.chunksAppended(),
+                     report.chunksRemoved());
+         return report;
+      } catch (IOException e) {
+         logger.error("❌ Error exporting table '{}' incrementally: {}", tableName, e.getMessage());
+         throw new GarminExportException("Error exporting table incrementally: " + tableName, e);
+      } catch (RuntimeException e) {
+         logger.error("❌ Failed to fetch data from table '{}': {}", tableName, e.getMessage());
+         throw new GarminDatabaseException("Failed to retrieve data for table: " + tableName, e);
+      }
+   }
+
+   /**
+    * ✅ Checks every chunk file of a table's export against the manifest, without touching SQLite.
+    * Throws a `GarminExportException` if there is no readable manifest.
+    */
+   public ManifestVerificationDTO verify(String databaseName, String tableName) {
+      if (!tableName.matches("^[a-zA-Z0-9_]+$")) {
+         throw new InvalidQueryParameterException("Invalid table name: " + tableName);
+      }
+      Path tableFolder = tableFolder(databaseName, tableName);
+      ExportManifest manifest;
+      try {
+         manifest = readManifest(tableFolder)
+             .orElseThrow(() -> new GarminExportException("No export manifest for table: " + tableName));
+      } catch (IOException e) {
+         throw new GarminExportException("Unreadable export manifest for table: " + tableName, e);
+      }
+
+      List<String> problems = new ArrayList<>();
+      for (ExportManifest.Chunk chunk : manifest.chunks()) {
+         Path file = tableFolder.resolve(chunk.file());
+         try {
+            if (Files.notExists(file)) {
+               problems.add(chunk.file() + ": missing");
+            } else if (Files.size(file) != chunk.bytes()) {
+               problems.add(chunk.file() + ": expected " + chunk.bytes() + " bytes, found " + Files.size(file));
+            } else if (!sha256(file).equals(chunk.fileSha256())) {
+               problems.add(chunk.file() + ": checksum mismatch");
+            }
+         } catch (IOException e) {
+            problems.add(chunk.file() + ": unreadable (" + e.getMessage() + ")");
+         }
+      }
+      if (!problems.isEmpty()) {
+         logger.warn("⚠️ Export of table '{}' failed verification: {}", tableName, problems);
+      }
+      return new ManifestVerificationDTO(tableName, manifest.chunks().size(), manifest.rows(), problems.isEmpty(), problems);
+   }
+
+   private Path tableFolder(String databaseName, String tableName) {
+      return exportDir.resolve(databaseName.replace(".db", "")).resolve(tableName);
+   }
+
+   // A missing, outdated or unreadable manifest means every chunk is rewritten.
+   private Optional<ExportManifest> previousManifest(Path tableFolder) {
+      try {
+         return readManifest(tableFolder);
+      } catch (IOException e) {
+         logger.warn("⚠️ Ignoring unreadable export manifest in '{}': {}", tableFolder, e.getMessage());
+         return Optional.empty();
+      }
+   }
+
+   private Optional<ExportManifest> readManifest(Path tableFolder) throws IOException {
+      Path file = tableFolder.resolve(ExportManifest.FILE_NAME);
+      if (Files.notExists(file)) {
+         return Optional.empty();
+      }
+      ExportManifest manifest = objectMapper.readValue(file.toFile(), ExportManifest.class);
+      return manifest.version() == ExportManifest.VERSION ? Optional.of(manifest) : Optional.empty();
+   }
+
+   private void writeManifest(Path tableFolder, ExportManifest manifest) throws IOException {
+      Path tempFile = Files.createTempFile(tableFolder, ExportManifest.FILE_NAME + ".", ".tmp");
+      try {
+         objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), manifest);
+         ExportFiles.moveAtomically(tempFile, tableFolder.resolve(ExportManifest.FILE_NAME));
+      } finally {
+         ExportFiles.deleteQuietly(tempFile);
+      }
+   }
+
+   // Ids already used by chunk files, including those of an ignored or unreadable manifest, are never reused.
+   private static int firstFreeId(Path tableFolder) throws IOException {
+      try (var files = Files.list(tableFolder)) {
+         return files.map(file -> file.getFileName().toString())
+             .filter(name -> name.startsWith(CHUNK_PREFIX))
+             .map(name -> name.substring(CHUNK_PREFIX.length()).split("\\.", 2)[0])
+             .filter(id -> !id.isEmpty() && id.chars().allMatch(Character::isDigit))
+             .mapToInt(Integer::parseInt)
+             .max().orElse(-1) + 1;
+      }
+   }
+
+   // Removed and superseded chunks are deleted only after the new manifest is in place.
+   private static void deleteUnreferencedChunks(Path tableFolder, List<ExportManifest.Chunk> chunks) throws IOException {
+      List<String> referenced = chunks.stream().map(ExportManifest.Chunk::file).toList();
+      try (var files = Files.list(tableFolder)) {
+         files.filter(file -> file.getFileName().toString().startsWith(CHUNK_PREFIX))
+             .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+             .filter(file -> !referenced.contains(file.getFileName().toString()))
+             .forEach(ExportFiles::deleteQuietly);
+      }
+   }
+
+   private static String sha256(Path file) throws IOException {
+      MessageDigest digest = newSha256();
+      try (InputStream in = Files.newInputStream(file)) {
+         byte[] buffer = new byte[64 * 1024];
+         for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            digest.update(buffer, 0, read);
+         }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+   }
+
+   private static MessageDigest newSha256() {
+      try {
+         return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 is not available", e);
+      }
+   }
+
+   /**
+    * Compares keys the way SQLite orders them: NULL, then numbers, then text, then blobs.
+    */
+   static int compareKeys(List<Object> a, List<Object> b) {
+      for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+         int result = compareValues(a.get(i), b.get(i));
+         if (result != 0) {
+            return result;
+         }
+      }
+      return Integer.compare(a.size(), b.size());
+   }
+
+   private static int compareValues(Object a, Object b) {
+      int rankA = rank(a);
+      int rankB = rank(b);
+      if (rankA != rankB) {
+         return Integer.compare(rankA, rankB);
+      }
+      return switch (a) {
+         case null -> 0;
+         case Number n when isIntegral(n) && isIntegral((Number) b) -> Long.compare(n.longValue(), ((Number) b).longValue());
+         case Number n -> Double.compare(n.doubleValue(), ((Number) b).doubleValue());
+         case byte[] bytes -> Arrays.compare(bytes, (byte[]) b);
+         default -> a.toString().compareTo(b.toString());
+      };
+   }
+
+   private static int rank(Object value) {
+      return switch (value) {
+         case null -> 0;
+         case Number n -> 1;
+         case byte[] bytes -> 3;
+         default -> 2;
+      };
+   }
+
+   private static boolean isIntegral(Number n) {
+      return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+   }
+
+   /**
+    * Assigns streamed rows to the key ranges of the previous chunks and writes every chunk whose
+    * content checksum changed.
+    */
+   private final class ChunkingWriter implements TableRowWriter {
+
+      private final Path tableFolder;
+      private final ExportCodec codec;
+      private final List<String> keyColumns;
+      private final List<ExportManifest.Chunk> previousChunks;
+      private final List<ExportManifest.Chunk> chunks = new ArrayList<>();
+
+      private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      private final JsonGenerator generator;
+      private String[] columns;
+      private int[] keyIndexes;
+      private long position;
+      private int previousIndex;
+      private boolean split; // Part of the current previous chunk's range was already closed
+      private int nextId;
+
+      // The chunk being filled
+      private long rows;
+      private List<Object> firstKey;
+      private List<Object> lastKey;
+
+      private int unchanged;
+      private int rewritten;
+      private int appended;
+      private int removed;
+      private long bytesWritten;
+
+      private ChunkingWriter(Path tableFolder, ExportCodec codec, List<String> keyColumns,
+                             List<ExportManifest.Chunk> previousChunks, int firstFreeId) throws IOException {
+         this.tableFolder = tableFolder;
+         this.codec = codec;
+         this.keyColumns = keyColumns;
+         this.previousChunks = previousChunks;
+         this.nextId = Math.max(firstFreeId, previousChunks.stream().mapToInt(ExportManifest.Chunk::id).max().orElse(-1) + 1);
+         this.generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8);
+         this.generator.setRootValueSeparator(null);
+      }
+
+      @Override
+      public void columns(String[] columns, int[] sqlTypes) throws IOException {
+         this.columns = columns.clone();
+         this.keyIndexes = new int[keyColumns.size()];
+         for (int k = 0; k < keyIndexes.length; k++) {
+            keyIndexes[k] = List.of(columns).indexOf(keyColumns.get(k));
+            if (keyIndexes[k] < 0) {
+               throw new IOException("Primary key column '" + keyColumns.get(k) + "' is not in the result set");
+            }
+         }
+      }
+
+      @Override
+      public void row(Object[] values) throws IOException {
+         List<Object> key = keyOf(values);
+
+         // Close the previous chunks whose key range ends before this row.
+         while (previousIndex < previousChunks.size()
+                && compareKeys(key, previousChunks.get(previousIndex).lastKey()) > 0
+                && !isOpen(previousIndex)) {
+            closePrevious();
+         }
+         if (rows == chunkRows) {
+            // A full chunk: the rest of the range, or of the rows past the previous export, goes into a new one.
+            closeChunk(split || previousIndex == previousChunks.size() ? null : previousChunks.get(previousIndex));
+            split = previousIndex < previousChunks.size();
+         }
+
+         generator.writeStartObject();
+         for (int i = 0; i < columns.length; i++) {
+            generator.writePOJOField(columns[i], values[i]);
+         }
+         generator.writeEndObject();
+         generator.writeRaw('\n');
+
+         if (rows == 0) {
+            firstKey = key;
+         }
+         lastKey = key;
+         rows++;
+      }
+
+      void finish() throws IOException {
+         while (previousIndex < previousChunks.size()) {
+            closePrevious();
+         }
+         if (rows > 0) {
+            closeChunk(null);
+         }
+         generator.close();
+      }
+
+      // The last previous chunk stays open for the following rows until it is full.
+      private boolean isOpen(int index) {
+         return index == previousChunks.size() - 1 && previousChunks.get(index).rows() < chunkRows;
+      }
+
+      private void closePrevious() throws IOException {
+         closeChunk(split ? null : previousChunks.get(previousIndex));
+         split = false;
+         previousIndex++;
+      }
+
+      private List<Object> keyOf(Object[] values) {
+         position++;
+         if (keyIndexes.length == 0) {
+            return List.of(position); // No primary key: rows are keyed by their position in rowid order
+         }
+         List<Object> key = new ArrayList<>(keyIndexes.length);
+         for (int index : keyIndexes) {
+            key.add(values[index]);
+         }
+         return key;
+      }
+
+      /**
+       * Finishes the chunk being filled.
+       *
+       * @param previous the previous export's chunk covering the same key range, or null for a new chunk.
+       */
+      private void closeChunk(ExportManifest.Chunk previous) throws IOException {
+         generator.flush();
+         if (rows == 0) {
+            if (previous != null) {
+               removed++; // Every row in its range was deleted
+            }
+            return;
+         }
+
+         byte[] content = buffer.toByteArray();
+         String contentSha256 = HexFormat.of().formatHex(newSha256().digest(content));
+         if (previous != null && previous.contentSha256().equals(contentSha256)
+             && Files.exists(tableFolder.resolve(previous.file()))) {
+            chunks.add(previous);
+            unchanged++;
+         } else {
+            // A new file even for a rewrite: the previous manifest still references the old one.
+            chunks.add(writeChunk(nextId++, content, contentSha256));
+            if (previous != null) {
+               rewritten++;
+            } else {
+               appended++;
+            }
+         }
+         buffer.reset();
+         rows = 0;
+      }
+
+      private ExportManifest.Chunk writeChunk(int id, byte[] content, String contentSha256) throws IOException {
+         String fileName = String.format("%s%05d.ndjson%s", CHUNK_PREFIX, id, codec.extension());
+         Path tempFile = Files.createTempFile(tableFolder, fileName + ".", ".tmp");
+         try {
+            MessageDigest fileDigest = newSha256();
+            try (OutputStream out = codec.compress(new DigestOutputStream(Files.newOutputStream(tempFile), fileDigest))) {
+               out.write(content);
+            }
+            long bytes = Files.size(tempFile);
+            ExportFiles.moveAtomically(tempFile, tableFolder.resolve(fileName));
+            bytesWritten += bytes;
+            return new ExportManifest.Chunk(id, fileName, rows, firstKey, lastKey, contentSha256, bytes,
+                                            HexFormat.of().formatHex(fileDigest.digest()));
+         } finally {
+            ExportFiles.deleteQuietly(tempFile);
+         }
+      }
+   }
+}
@@ -0,0 +1,108 @@
+package com.backend.services;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.dtos.MonthlySummaryDTO;
+import com.backend.dtos.PayloadSchemaDTO;
+import com.backend.dtos.RecentDailySummariesDTO;
+import com.backend.dtos.WeeklySummaryDTO;
+import com.backend.dtos.YearlySummaryDTO;
+import com.backend.utils.SummaryFieldUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PayloadSchemaService describes the summary DTOs returned by the retrieval endpoints.
+ *
+ * The schema is derived from the record components once at startup, so it cannot drift from
+ * the payloads. Types are "int32", "int64", "float64", "bool", "string", "date" (YYYY-MM-DD),
+ * "duration" (HH:MM:SS), the name of a nested DTO, or any of those followed by "[]" for arrays.
+ * Every metric may be null.
+ */
+@Service
+public class PayloadSchemaService {
+
+   static final List<String> FORMATS = List.of(
+       MediaType.APPLICATION_JSON_VALUE,
+       MediaType.APPLICATION_CBOR_VALUE,
+       "application/x-jackson-smile");
+
+   private static final List<Class<? extends Record>> ROOT_TYPES = List.of(
+       CurrentDaySummaryDTO.class, RecentDailySummariesDTO.class, WeeklySummaryDTO.class,
+       MonthlySummaryDTO.class, YearlySummaryDTO.class);
+   private static final Set<String> DATE_FIELDS = Set.of("day", "firstDay", "latestDay");
+
+   private final PayloadSchemaDTO schema;
+
+   public PayloadSchemaService() {
+      Map<String, Map<String, String>> types = new LinkedHashMap<>();
+      ROOT_TYPES.forEach(type -> describe(type, types));
+      this.schema = new PayloadSchemaDTO(version(types), FORMATS, Collections.unmodifiableMap(types));
+   }
+
+   /**
+    * @return the schema of the summary payloads.
+    */
+   public PayloadSchemaDTO getSchema() {
+      return schema;
+   }
+
+   private static void describe(Class<?> type, Map<String, Map<String, String>> types) {
+      if (types.containsKey(type.getSimpleName())) {
+         return;
+      }
+      Map<String, String> fields = new LinkedHashMap<>();
+      types.put(type.getSimpleName(), fields); // Registered first, so self-references terminate
+      for (RecordComponent component : type.getRecordComponents()) {
+         fields.put(component.getName(), typeName(component, component.getGenericType(), types));
+      }
+   }
+
+   private static String typeName(RecordComponent component, Type type, Map<String, Map<String, String>> types) {
+      if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+         return typeName(component, parameterized.getActualTypeArguments()[0], types) + "[]";
+      }
+      Class<?> raw = (Class<?>) type;
+      if (raw.isRecord()) {
+         describe(raw, types);
+         return raw.getSimpleName();
+      }
+      if (raw == Integer.class || raw == int.class) {
+         return "int32";
+      }
+      if (raw == Long.class || raw == long.class) {
+         return "int64";
+      }
+      if (raw == Double.class || raw == double.class) {
+         return "float64";
+      }
+      if (raw == Boolean.class || raw == boolean.class) {
+         return "bool";
+      }
+      if (DATE_FIELDS.contains(component.getName())) {
+         return "date";
+      }
+      return SummaryFieldUtils.isDurationMetric(component.getName()) ? "duration" : "string";
+   }
+
+   private static String version(Map<String, Map<String, String>> types) {
+      try {
+         byte[] hash = MessageDigest.getInstance("SHA-256").digest(types.toString().getBytes(StandardCharsets.UTF_8));
+         return HexFormat.of().formatHex(hash, 0, 6);
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 is not available", e);
+      }
+   }
+}
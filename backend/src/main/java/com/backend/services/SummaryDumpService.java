@@ -0,0 +1,401 @@
+package com.backend.services;
+
+import com.backend.dtos.SummaryDumpReportDTO;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.exceptions.GarminExportException;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.export.BsonDumpFiles;
+import com.backend.export.ExportCodec;
+import com.backend.export.ExportCodecs;
+import com.backend.export.ExportFiles;
+import com.backend.export.SummaryDumpManifest;
+import com.backend.models.CurrentDaySummary;
+import com.backend.models.MonthlySummary;
+import com.backend.models.RecentDailySummaries;
+import com.backend.models.WeeklySummary;
+import com.backend.models.YearlySummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * SummaryDumpService dumps the processed summary collections to BSON files and restores them,
+ * so a new environment can be seeded without the GarminDB files or the ingest pipeline.
+ * <p>
+ * Documents are copied as raw BSON in both directions: a dump streams the cursor's bytes into
+ * {@code <collection>.bson[.gz]} files and a restore inserts them without mapping them to models.
+ * A restore replaces each collection: the dump is inserted into a temporary collection with
+ * parallel unordered bulk inserts while it has no secondary indexes, the indexes declared on the
+ * model are built, and the temporary collection is renamed over the live one. Readers see either
+ * the old or the restored documents, and a failed restore leaves the live collection untouched.
+ * </p>
+ */
+@Service
+public class SummaryDumpService {
+
+   private static final Logger logger = LoggerFactory.getLogger(SummaryDumpService.class);
+   static final String DUMP_DIR = System.getProperty("user.dir") + "/backend/data/mongo_dump/";
+   private static final Pattern DUMP_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+   private static final int BUFFER_SIZE = 64 * 1024;
+   private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+   static final String RESTORE_SUFFIX = "_restoring"; // Temporary collection filled before it replaces the live one
+
+   // Dumped collections in restore order, with the date key published to listeners after a restore
+   private static final List<DumpedCollection> COLLECTIONS = List.of(
+       new DumpedCollection(SummaryType.DAY, CurrentDaySummary.class, "day"),
+       new DumpedCollection(SummaryType.WEEK, WeeklySummary.class, "firstDay"),
+       new DumpedCollection(SummaryType.MONTH, MonthlySummary.class, "firstDay"),
+       new DumpedCollection(SummaryType.YEAR, YearlySummary.class, "firstDay"),
+       new DumpedCollection(SummaryType.RECENT, RecentDailySummaries.class, "latestDay")
+   );
+
+   private final MongoTemplate mongoTemplate;
+   private final ObjectMapper objectMapper;
+   private final ExportCodecs exportCodecs;
+   private final ApplicationEventPublisher eventPublisher;
+   private final int batchSize;
+   private final int parallelism;
+   private final Path dumpDir;
+
+   @Autowired
+   public SummaryDumpService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, ExportCodecs exportCodecs,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${hrvibe.dump.batch-size:1000}") int batchSize,
+                             @Value("${hrvibe.dump.restore-parallelism:4}") int parallelism) {
+      this(mongoTemplate, objectMapper, exportCodecs, eventPublisher, batchSize, parallelism, Paths.get(DUMP_DIR));
+   }
+
+   SummaryDumpService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, ExportCodecs exportCodecs,
+                      ApplicationEventPublisher eventPublisher, int batchSize, int parallelism, Path dumpDir) {
+      if (batchSize < 1 || parallelism < 1) {
+         throw new IllegalArgumentException("batchSize and parallelism must be at least 1");
+      }
+      this.mongoTemplate = mongoTemplate;
+      this.objectMapper = objectMapper;
+      this.exportCodecs = exportCodecs;
+      this.eventPublisher = eventPublisher;
+      this.batchSize = batchSize;
+      this.parallelism = parallelism;
+      this.dumpDir = dumpDir;
+   }
+
+   /**
+    * Dumps every summary collection into a named dump, replacing an existing dump of that name.
+    * Throws a `GarminProcessingException` if reading MongoDB fails and a `GarminExportException`
+    * if writing the files fails.
+    *
+    * @param name  the dump name (letters, digits, '-' and '_').
+    * @param codec the compression applied to each BSON file.
+    * @return the documents and bytes written per collection.
+    */
+   public SummaryDumpReportDTO dump(String name, ExportCodec codec) {
+      Path folder = dumpFolder(name);
+      logger.info("🔄 Dumping summary collections to '{}' ({})...", folder, codec.name());
+      long start = System.nanoTime();
+      List<SummaryDumpManifest.Collection> entries = new ArrayList<>();
+      List<SummaryDumpReportDTO.Collection> reports = new ArrayList<>();
+
+      try {
+         Files.createDirectories(folder);
+         for (DumpedCollection dumped : COLLECTIONS) {
+            long collectionStart = System.nanoTime();
+            String collectionName = mongoTemplate.getCollectionName(dumped.entity());
+            SummaryDumpManifest.Collection entry = dumpCollection(folder, collectionName, codec);
+            entries.add(entry);
+            reports.add(new SummaryDumpReportDTO.Collection(collectionName, entry.documents(), entry.bytes(),
+                                                            (System.nanoTime() - collectionStart) / 1_000_000));
+            logger.info("✅ Dumped {} documents from '{}' ({} bytes).", entry.documents(), collectionName, entry.bytes());
+         }
+         writeManifest(folder, new SummaryDumpManifest(SummaryDumpManifest.VERSION, Instant.now().toString(),
+                                                       codec.name(), entries));
+      } catch (IOException e) {
+         logger.error("❌ Error writing summary dump '{}': {}", name, e.getMessage());
+         throw new GarminExportException("Error writing summary dump: " + name, e);
+      } catch (MongoException e) {
+         logger.error("❌ Error reading summary collections for dump '{}': {}", name, e.getMessage());
+         throw new GarminProcessingException("Failed to read summary collections for dump: " + name, e);
+      }
+
+      return report(name, folder, codec.name(), reports, start);
+   }
+
+   /**
+    * Replaces every summary collection with the contents of a named dump and rebuilds the indexes.
+    * Listeners are told which periods were replaced or restored, so cached responses are evicted,
+    * also for the collections already replaced when a later one fails.
+    * Throws an `InvalidQueryParameterException` if the dump does not exist and a
+    * `GarminProcessingException` if reading the dump or writing MongoDB fails.
+    *
+    * @param name the dump name.
+    * @return the documents inserted per collection.
+    */
+   public SummaryDumpReportDTO restore(String name) {
+      Path folder = dumpFolder(name);
+      SummaryDumpManifest manifest = readManifest(name, folder);
+      ExportCodec codec = exportCodecs.get(manifest.codec());
+      logger.info("🔄 Restoring summary collections from '{}' ({})...", folder, codec.name());
+      long start = System.nanoTime();
+      List<SummaryDumpReportDTO.Collection> reports = new ArrayList<>();
+      Map<SummaryType, Set<LocalDate>> changed = new EnumMap<>(SummaryType.class);
+
+      try {
+         for (SummaryDumpManifest.Collection entry : manifest.collections()) {
+            DumpedCollection dumped = COLLECTIONS.stream()
+                .filter(collection -> mongoTemplate.getCollectionName(collection.entity()).equals(entry.name()))
+                .findFirst()
+                .orElse(null);
+            if (dumped == null) {
+               logger.warn("⚠️ Skipping unknown collection '{}' in dump '{}'.", entry.name(), name);
+               continue;
+            }
+
+            long collectionStart = System.nanoTime();
+            Set<LocalDate> periods = new HashSet<>();
+            long inserted;
+            try {
+               inserted = restoreCollection(folder.resolve(entry.file()), entry.name(), codec, dumped, periods);
+            } catch (IOException e) {
+               logger.error("❌ Error reading '{}' from dump '{}': {}", entry.file(), name, e.getMessage());
+               throw new GarminProcessingException("Failed to read collection from dump: " + entry.name(), e);
+            } catch (MongoException e) {
+               logger.error("❌ Error restoring collection '{}': {}", entry.name(), e.getMessage());
+               throw new GarminProcessingException("Failed to restore collection: " + entry.name(), e);
+            }
+            changed.put(dumped.type(), periods);
+
+            if (inserted != entry.documents()) {
+               logger.warn("⚠️ Restored {} documents into '{}', but the dump manifest lists {}.",
+                           inserted, entry.name(), entry.documents());
+            }
+            reports.add(new SummaryDumpReportDTO.Collection(entry.name(), inserted, entry.bytes(),
+                                                            (System.nanoTime() - collectionStart) / 1_000_000));
+            logger.info("✅ Restored {} documents into '{}' and rebuilt its indexes.", inserted, entry.name());
+         }
+      } finally {
+         changed.forEach((type, periods) -> {
+            if (!periods.isEmpty()) {
+               eventPublisher.publishEvent(new SummaryDataChangedEvent(type, periods));
+            }
+         });
+      }
+
+      return report(name, folder, codec.name(), reports, start);
+   }
+
+   private SummaryDumpManifest.Collection dumpCollection(Path folder, String collectionName, ExportCodec codec)
+       throws IOException {
+      String fileName = collectionName + ".bson" + codec.extension();
+      Path tempFile = Files.createTempFile(folder, fileName + ".", ".tmp");
+      long documents = 0;
+
+      try {
+         MongoCollection<RawBsonDocument> collection = rawCollection(collectionName);
+         try (OutputStream out = new BufferedOutputStream(codec.compress(Files.newOutputStream(tempFile)), BUFFER_SIZE);
+              MongoCursor<RawBsonDocument> cursor = collection.find().batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+               BsonDumpFiles.writeDocument(out, cursor.next());
+               documents++;
+            }
+         }
+         Path file = folder.resolve(fileName);
+         ExportFiles.moveAtomically(tempFile, file);
+         return new SummaryDumpManifest.Collection(collectionName, fileName, documents, Files.size(file));
+      } finally {
+         ExportFiles.deleteQuietly(tempFile);
+      }
+   }
+
+   /**
+    * Fills a temporary collection from the dump file, indexes it and renames it over the live collection.
+    * Adds the periods of both the replaced and the restored documents to 'periods'.
+    */
+   private long restoreCollection(Path file, String collectionName, ExportCodec codec, DumpedCollection dumped,
+                                  Set<LocalDate> periods) throws IOException {
+      String tempName = collectionName + RESTORE_SUFFIX;
+      MongoCollection<RawBsonDocument> temp = rawCollection(tempName);
+      temp.drop(); // Left over from an interrupted restore
+      try {
+         mongoTemplate.createCollection(tempName); // An empty dump must still have a collection to rename
+         long documents = insertAll(file, codec, temp, dumped.keyField(), periods);
+         rebuildIndexes(dumped.entity(), tempName);
+         MongoCollection<RawBsonDocument> live = rawCollection(collectionName);
+         try (MongoCursor<RawBsonDocument> cursor = live.find().projection(new Document(dumped.keyField(), 1))
+             .batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+               addPeriod(cursor.next(), dumped.keyField(), periods); // Periods only in the replaced documents change too
+            }
+         }
+         temp.renameCollection(live.getNamespace(), new RenameCollectionOptions().dropTarget(true));
+         return documents;
+      } catch (IOException | RuntimeException e) {
+         try {
+            temp.drop();
+         } catch (MongoException suppressed) {
+            e.addSuppressed(suppressed);
+         }
+         throw e;
+      }
+   }
+
+   // Inserts the dump file with up to 'parallelism' unordered insertMany batches in flight.
+   private long insertAll(Path file, ExportCodec codec, MongoCollection<RawBsonDocument> collection, String keyField,
+                          Set<LocalDate> periods) throws IOException {
+      Semaphore inFlight = new Semaphore(parallelism);
+      AtomicReference<RuntimeException> failure = new AtomicReference<>();
+      long documents = 0;
+
+      try (InputStream in = new BufferedInputStream(codec.decompress(Files.newInputStream(file)), BUFFER_SIZE);
+           ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+         List<RawBsonDocument> batch = new ArrayList<>(batchSize);
+         for (RawBsonDocument document = BsonDumpFiles.readDocument(in); document != null && failure.get() == null;
+              document = BsonDumpFiles.readDocument(in)) {
+            batch.add(document);
+            addPeriod(document, keyField, periods);
+            documents++;
+            if (batch.size() == batchSize) {
+               submitInsert(executor, inFlight, failure, collection, batch);
+               batch = new ArrayList<>(batchSize);
+            }
+         }
+         if (!batch.isEmpty() && failure.get() == null) {
+            submitInsert(executor, inFlight, failure, collection, batch);
+         }
+      } // Closing the executor waits for the submitted inserts
+
+      if (failure.get() != null) {
+         throw failure.get();
+      }
+      return documents;
+   }
+
+   private MongoCollection<RawBsonDocument> rawCollection(String collectionName) {
+      return mongoTemplate.getCollection(collectionName).withDocumentClass(RawBsonDocument.class);
+   }
+
+   private static void submitInsert(ExecutorService executor, Semaphore inFlight, AtomicReference<RuntimeException> failure,
+                                    MongoCollection<RawBsonDocument> collection, List<RawBsonDocument> batch) {
+      try {
+         inFlight.acquire(); // Bounds the documents held in memory
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new GarminProcessingException("Interrupted while restoring collection: " + collection.getNamespace(), e);
+      }
+      executor.execute(() -> {
+         try {
+            collection.insertMany(batch, UNORDERED);
+         } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+         } finally {
+            inFlight.release();
+         }
+      });
+   }
+
+   // Builds the indexes declared on the model in the given collection.
+   private void rebuildIndexes(Class<?> entity, String collectionName) {
+      IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+      IndexOperations indexOps = mongoTemplate.indexOps(collectionName);
+      for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+         indexOps.ensureIndex(index);
+      }
+   }
+
+   // Converts the stored date key back to a LocalDate the same way the models are read.
+   private void addPeriod(RawBsonDocument document, String keyField, Set<LocalDate> periods) {
+      BsonValue key = document.get(keyField);
+      if (key != null && key.isDateTime()) {
+         LocalDate period = mongoTemplate.getConverter().getConversionService()
+             .convert(new Date(key.asDateTime().getValue()), LocalDate.class);
+         if (period != null) {
+            periods.add(period);
+         }
+      }
+   }
+
+   private Path dumpFolder(String name) {
+      if (name == null || !DUMP_NAME.matcher(name).matches()) {
+         throw new InvalidQueryParameterException(
+             "Invalid dump name: '" + name + "'. Use up to 64 letters, digits, '-' or '_'.");
+      }
+      return dumpDir.resolve(name);
+   }
+
+   private SummaryDumpManifest readManifest(String name, Path folder) {
+      Path file = folder.resolve(SummaryDumpManifest.FILE_NAME);
+      if (Files.notExists(file)) {
+         throw new InvalidQueryParameterException("No complete summary dump named '" + name + "' was found.");
+      }
+      try {
+         SummaryDumpManifest manifest = objectMapper.readValue(file.toFile(), SummaryDumpManifest.class);
+         if (manifest.version() != SummaryDumpManifest.VERSION) {
+            throw new GarminProcessingException("Unsupported summary dump version: " + manifest.version());
+         }
+         return manifest;
+      } catch (IOException e) {
+         throw new GarminProcessingException("Failed to read summary dump manifest: " + name, e);
+      }
+   }
+
+   private void writeManifest(Path folder, SummaryDumpManifest manifest) throws IOException {
+      Path tempFile = Files.createTempFile(folder, SummaryDumpManifest.FILE_NAME + ".", ".tmp");
+      try {
+         objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), manifest);
+         ExportFiles.moveAtomically(tempFile, folder.resolve(SummaryDumpManifest.FILE_NAME));
+      } finally {
+         ExportFiles.deleteQuietly(tempFile);
+      }
+   }
+
+   private static SummaryDumpReportDTO report(String name, Path folder, String codec,
+                                              List<SummaryDumpReportDTO.Collection> collections, long startNanos) {
+      return new SummaryDumpReportDTO(
+          name, folder.toString(), codec, collections,
+          collections.stream().mapToLong(SummaryDumpReportDTO.Collection::documents).sum(),
+          collections.stream().mapToLong(SummaryDumpReportDTO.Collection::bytes).sum(),
+          (System.nanoTime() - startNanos) / 1_000_000);
+   }
+
+   private record DumpedCollection(SummaryType type, Class<?> entity, String keyField) {
+   }
+}
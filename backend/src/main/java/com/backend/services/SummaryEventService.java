@@ -0,0 +1,155 @@
+package com.backend.services;
+
+import com.backend.dtos.DataChangedEventDTO;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.exceptions.CapacityExceededException;
+import com.backend.models.DataVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SummaryEventService pushes a compact "data-changed" event to every connected SSE client
+ * after an ingest run, so the frontend can refetch instead of polling.
+ *
+ * Connections are held as async {@link SseEmitter}s, so an idle client costs no thread.
+ * Events and heartbeats are written on virtual threads, one per client, so a slow client
+ * never delays the ingest run or the other clients. A client whose write fails, times out
+ * or completes is removed from the registry; the periodic heartbeat is what detects clients
+ * that disappeared without closing the connection.
+ */
+@Service
+public class SummaryEventService implements DisposableBean {
+
+   private static final Logger logger = LoggerFactory.getLogger(SummaryEventService.class);
+   static final String DATA_CHANGED = "data-changed";
+
+   private final DataVersionService dataVersionService;
+   private final ExecutorService sender;
+   private final Duration timeout;
+   private final int maxClients;
+   private final Set<SseEmitter> clients = ConcurrentHashMap.newKeySet();
+
+   public SummaryEventService(DataVersionService dataVersionService,
+                              @Value("${hrvibe.events.timeout:30m}") Duration timeout,
+                              @Value("${hrvibe.events.max-clients:5000}") int maxClients) {
+      this(dataVersionService, Executors.newVirtualThreadPerTaskExecutor(), timeout, maxClients);
+   }
+
+   SummaryEventService(DataVersionService dataVersionService, ExecutorService sender,
+                       Duration timeout, int maxClients) {
+      this.dataVersionService = dataVersionService;
+      this.sender = sender;
+      this.timeout = timeout;
+      this.maxClients = maxClients;
+   }
+
+   /**
+    * Registers a new client. The connection is closed after the configured timeout;
+    * EventSource clients reconnect automatically.
+    *
+    * @return the emitter to return from the controller.
+    * @throws CapacityExceededException if the maximum number of clients is connected.
+    */
+   public SseEmitter subscribe() {
+      if (clients.size() >= maxClients) {
+         throw new CapacityExceededException("Too many event stream clients");
+      }
+      SseEmitter emitter = createEmitter();
+      emitter.onCompletion(() -> clients.remove(emitter));
+      emitter.onTimeout(() -> clients.remove(emitter));
+      emitter.onError(error -> clients.remove(emitter));
+      clients.add(emitter);
+      // Opens the stream right away, so proxies and the browser see a live connection.
+      send(emitter, SseEmitter.event().comment("connected").build());
+      logger.debug("SSE client connected ({} connected).", clients.size());
+      return emitter;
+   }
+
+   /**
+    * Broadcasts the change to every client.
+    * Runs after the data version bump, so the event carries the version the ETags now use.
+    *
+    * @param event the change event published by an ingest run.
+    */
+   @EventListener
+   @Order(3)
+   public void onSummaryDataChanged(SummaryDataChangedEvent event) {
+      long version = dataVersionService.currentVersion(event.type()).map(DataVersion::version).orElse(0L);
+      DataChangedEventDTO payload = new DataChangedEventDTO(
+          event.type().name(),
+          event.periods().stream().sorted().map(LocalDate::toString).toList(),
+          version);
+      logger.info("📣 Broadcasting {} v{} change to {} SSE clients.", payload.type(), version, clients.size());
+      broadcast(SseEmitter.event()
+                    .name(DATA_CHANGED)
+                    .id(payload.type() + "-" + version)
+                    .data(payload, MediaType.APPLICATION_JSON));
+   }
+
+   /**
+    * Sends a comment to every client. Keeps idle connections open through proxies and
+    * evicts clients whose connection is gone.
+    */
+   @Scheduled(fixedRateString = "${hrvibe.events.heartbeat:25s}")
+   public void heartbeat() {
+      if (!clients.isEmpty()) {
+         broadcast(SseEmitter.event().comment("heartbeat"));
+      }
+   }
+
+   // Creates the emitter for a new client; overridden in tests to capture what is sent.
+   SseEmitter createEmitter() {
+      return new SseEmitter(timeout.toMillis());
+   }
+
+   /**
+    * @return the number of connected clients.
+    */
+   public int clientCount() {
+      return clients.size();
+   }
+
+   @Override
+   public void destroy() {
+      clients.forEach(SseEmitter::complete);
+      clients.clear();
+      sender.shutdownNow();
+   }
+
+   private void broadcast(SseEmitter.SseEventBuilder event) {
+      // Built once and shared: a builder must not be sent more than once.
+      Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+      for (SseEmitter emitter : clients) {
+         sender.execute(() -> send(emitter, frame));
+      }
+   }
+
+   private void send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+      try {
+         emitter.send(frame);
+      } catch (IOException e) {
+         // The client is gone: evict it and release the async request.
+         clients.remove(emitter);
+         emitter.completeWithError(e);
+      } catch (IllegalStateException e) {
+         clients.remove(emitter); // Already completed, e.g. timed out between listing and sending
+      }
+   }
+}
@@ -0,0 +1,187 @@
+package com.backend.services;
+
+import com.backend.dtos.CollectionStorageStatsDTO;
+import com.backend.dtos.StorageMigrationReportDTO;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.models.CurrentDaySummary;
+import com.backend.models.MonthlySummary;
+import com.backend.models.WeeklySummary;
+import com.backend.models.YearlySummary;
+import com.backend.utils.SummaryFieldUtils;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SummaryStorageService reports on and maintains the physical storage of the summary collections.
+ *
+ * <p>It provides the one-off migration from the legacy encoding (every metric stored under its
+ * long camelCase name, nulls included) to the compact encoding used by {@link com.backend.models.BaseSummary}.
+ * The mapping only reads the compact keys, so the migration runs at startup whenever a stored summary
+ * still uses a legacy key. It runs once all beans are created, before the web server accepts requests,
+ * so legacy documents are never served with empty metrics.
+ */
+@Service
+public class SummaryStorageService implements SmartInitializingSingleton {
+
+   private static final Logger logger = LoggerFactory.getLogger(SummaryStorageService.class);
+   private static final int BATCH_SIZE = 500;
+   private static final List<Class<?>> SUMMARY_ENTITIES =
+       List.of(CurrentDaySummary.class, WeeklySummary.class, MonthlySummary.class, YearlySummary.class);
+
+   // Matches summaries that still store at least one metric under its legacy long name.
+   private static final Bson LEGACY_SUMMARY_FILTER = Filters.or(
+       SummaryFieldUtils.storedFieldNames().keySet().stream()
+           .map(metric -> Filters.exists("summary." + metric))
+           .toList());
+
+   private final MongoTemplate mongoTemplate;
+   private final boolean migrateOnStartup;
+
+   public SummaryStorageService(MongoTemplate mongoTemplate,
+                                @Value("${hrvibe.storage.migrate-on-startup:true}") boolean migrateOnStartup) {
+      this.mongoTemplate = mongoTemplate;
+      this.migrateOnStartup = migrateOnStartup;
+   }
+
+   /**
+    * Migrates legacy summaries before the application serves requests.
+    * Skipped when every collection is already compact, so restarts only pay for one probe query per collection.
+    * A failure is logged and does not stop the application; the migration can be retried through
+    * POST /garmin/admin/storage/migrate-compact.
+    */
+   @Override
+   public void afterSingletonsInstantiated() {
+      if (!migrateOnStartup) {
+         return;
+      }
+      try {
+         if (!hasLegacySummaries()) {
+            logger.debug("✅ Summary collections already use the compact encoding.");
+            return;
+         }
+         logger.info("🔄 Found summaries in the legacy encoding, migrating before accepting requests...");
+         StorageMigrationReportDTO report = migrateToCompactEncoding();
+         logger.info("✅ Startup migration rewrote {} summary documents.", report.documentsRewritten());
+      } catch (MongoException | GarminProcessingException e) {
+         logger.error("❌ Startup migration to the compact summary encoding failed: {}", e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Checks whether any stored summary still uses a legacy long key.
+    *
+    * @return true if at least one collection needs the compact migration.
+    */
+   public boolean hasLegacySummaries() {
+      return SUMMARY_ENTITIES.stream()
+          .map(mongoTemplate::getCollectionName)
+          .anyMatch(name -> mongoTemplate.getCollection(name).find(LEGACY_SUMMARY_FILTER).limit(1).first() != null);
+   }
+
+   /**
+    * Retrieves storage statistics for all period summary collections.
+    *
+    * @return a List of CollectionStorageStatsDTO objects, one per collection.
+    */
+   public List<CollectionStorageStatsDTO> getStorageStats() {
+      return SUMMARY_ENTITIES.stream()
+          .map(mongoTemplate::getCollectionName)
+          .map(this::getCollectionStats)
+          .toList();
+   }
+
+   /**
+    * Rewrites the embedded summary of every stored document into the compact encoding.
+    * The migration is idempotent: documents that are already compact are left untouched.
+    *
+    * @return a StorageMigrationReportDTO with before/after statistics.
+    * @throws GarminProcessingException if MongoDB rejects the rewrite.
+    */
+   public StorageMigrationReportDTO migrateToCompactEncoding() {
+      List<CollectionStorageStatsDTO> before = getStorageStats();
+      long rewritten = 0;
+
+      for (Class<?> entity : SUMMARY_ENTITIES) {
+         String collectionName = mongoTemplate.getCollectionName(entity);
+         logger.info("🔄 Migrating '{}' to the compact summary encoding...", collectionName);
+         try {
+            long count = migrateCollection(mongoTemplate.getCollection(collectionName));
+            logger.info("✅ Rewrote {} documents in '{}'.", count, collectionName);
+            rewritten += count;
+         } catch (MongoException e) {
+            throw new GarminProcessingException("Failed to migrate collection: " + collectionName, e);
+         }
+      }
+
+      List<CollectionStorageStatsDTO> after = getStorageStats();
+      return new StorageMigrationReportDTO(before, after, rewritten);
+   }
+
+   private long migrateCollection(MongoCollection<Document> collection) {
+      List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+      long rewritten = 0;
+
+      try (MongoCursor<Document> cursor = collection.find(Filters.exists("summary")).batchSize(BATCH_SIZE).iterator()) {
+         while (cursor.hasNext()) {
+            Document document = cursor.next();
+            Document summary = document.get("summary", Document.class);
+            Document compact = SummaryFieldUtils.compactSummaryDocument(summary);
+            if (compact.equals(summary)) {
+               continue; // Already compact
+            }
+
+            batch.add(new UpdateOneModel<>(Filters.eq("_id", document.get("_id")), Updates.set("summary", compact)));
+            if (batch.size() == BATCH_SIZE) {
+               rewritten += flush(collection, batch);
+            }
+         }
+      }
+      return rewritten + flush(collection, batch);
+   }
+
+   private long flush(MongoCollection<Document> collection, List<WriteModel<Document>> batch) {
+      if (batch.isEmpty()) {
+         return 0;
+      }
+      long modified = collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+      batch.clear();
+      return modified;
+   }
+
+   private CollectionStorageStatsDTO getCollectionStats(String collectionName) {
+      Document stats = mongoTemplate.executeCommand(new Document("collStats", collectionName));
+      long size = getLong(stats, "size");
+      long totalIndexSize = getLong(stats, "totalIndexSize");
+      return new CollectionStorageStatsDTO(
+          collectionName,
+          getLong(stats, "count"),
+          size,
+          getLong(stats, "avgObjSize"),
+          getLong(stats, "storageSize"),
+          totalIndexSize,
+          size + totalIndexSize
+      );
+   }
+
+   private static long getLong(Document stats, String key) {
+      Object value = stats.get(key);
+      return value instanceof Number number ? number.longValue() : 0L;
+   }
+}
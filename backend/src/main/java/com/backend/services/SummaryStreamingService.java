@@ -0,0 +1,95 @@
+package com.backend.services;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.dtos.WeeklySummaryDTO;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
+import com.backend.utils.SummaryFieldUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * SummaryStreamingService writes summary listings as NDJSON (one JSON document per line).
+ *
+ * Summaries are read from a MongoDB cursor and each DTO is written to the output as soon as it
+ * is converted, so memory use does not depend on the size of the requested range.
+ */
+@Service
+public class SummaryStreamingService {
+
+   private static final Logger logger = LoggerFactory.getLogger(SummaryStreamingService.class);
+   private static final int FLUSH_EVERY = 100;
+
+   private final SummaryQueryRepo summaryQueryRepo;
+   private final ObjectMapper objectMapper; // Injected instead of creating a new one
+
+   public SummaryStreamingService(SummaryQueryRepo summaryQueryRepo, ObjectMapper objectMapper) {
+      this.summaryQueryRepo = summaryQueryRepo;
+      this.objectMapper = objectMapper;
+   }
+
+   /**
+    * Writes all day summaries within the range to the output, newest first.
+    *
+    * @param from   the earliest day to include, or null for no lower bound.
+    * @param to     the latest day to include, or null for no upper bound.
+    * @param fields the metric names to write (empty for the full DTO).
+    * @param out    the response output stream.
+    * @return the number of summaries written.
+    * @throws IOException if writing to the output fails.
+    */
+   public long writeDaySummaries(LocalDate from, LocalDate to, Set<String> fields, OutputStream out) throws IOException {
+      logger.info("📤 Streaming day summaries from {} to {}...", from, to);
+      return write(summaryQueryRepo.streamDays(from, to, fields), model -> {
+         CurrentDaySummaryDTO dto = CurrentDaySummaryDTO.fromModel(model);
+         return fields.isEmpty() ? dto : SummaryFieldUtils.selectFields(dto, fields);
+      }, out);
+   }
+
+   /**
+    * Writes all weekly summaries within the range to the output, newest first.
+    *
+    * @param from   the earliest week start to include, or null for no lower bound.
+    * @param to     the latest week start to include, or null for no upper bound.
+    * @param fields the metric names to write (empty for the full DTO).
+    * @param out    the response output stream.
+    * @return the number of summaries written.
+    * @throws IOException if writing to the output fails.
+    */
+   public long writeWeekSummaries(LocalDate from, LocalDate to, Set<String> fields, OutputStream out) throws IOException {
+      logger.info("📤 Streaming weekly summaries from {} to {}...", from, to);
+      return write(summaryQueryRepo.streamWeeks(from, to, fields), model -> {
+         WeeklySummaryDTO dto = WeeklySummaryDTO.fromModel(model);
+         return fields.isEmpty() ? dto : SummaryFieldUtils.selectFields(dto, fields);
+      }, out);
+   }
+
+   private <T> long write(Stream<T> rows, Function<T, Object> toJson, OutputStream out) throws IOException {
+      long written = 0;
+      try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+         generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // The container owns the response stream
+         generator.setRootValueSeparator(null); // Lines are separated explicitly below
+
+         Iterator<T> iterator = rows.iterator();
+         while (iterator.hasNext()) {
+            generator.writeObject(toJson.apply(iterator.next()));
+            generator.writeRaw('\n');
+            if (++written % FLUSH_EVERY == 0) {
+               generator.flush();
+            }
+         }
+      }
+      logger.info("✅ Streamed {} summaries.", written);
+      return written;
+   }
+}
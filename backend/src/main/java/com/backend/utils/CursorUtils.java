@@ -0,0 +1,57 @@
+package com.backend.utils;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utility class for the opaque cursor tokens used by keyset pagination.
+ * <p>
+ * A cursor identifies the boundary row of a page by its date key (e.g. {@code day} or
+ * {@code firstDay}) and the listing it belongs to, so a cursor issued by /garmin/days
+ * cannot be replayed against /garmin/weeks. Tokens are URL-safe Base64 strings.
+ * </p>
+ */
+public class CursorUtils {
+
+   private CursorUtils() {} // Prevent instantiation
+
+   /**
+    * Encodes a page boundary into a cursor token.
+    *
+    * @param kind the listing the cursor belongs to (e.g. "days").
+    * @param key  the date key of the boundary row.
+    * @return the cursor token.
+    */
+   public static String encode(String kind, LocalDate key) {
+      String raw = kind + ":" + key;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+   }
+
+   /**
+    * Decodes a cursor token issued by {@link #encode(String, LocalDate)}.
+    *
+    * @param token the cursor token, may be null.
+    * @param kind  the listing the cursor is expected to belong to.
+    * @return the date key of the boundary row, or null if no token was given.
+    * @throws InvalidQueryParameterException if the token is malformed or belongs to another listing.
+    */
+   public static LocalDate decode(String token, String kind) {
+      if (token == null || token.isBlank()) {
+         return null;
+      }
+      try {
+         String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+         String prefix = kind + ":";
+         if (!raw.startsWith(prefix)) {
+            throw new InvalidQueryParameterException("Cursor does not belong to /" + kind);
+         }
+         return LocalDate.parse(raw.substring(prefix.length()));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+         throw new InvalidQueryParameterException("Malformed cursor: " + token);
+      }
+   }
+}
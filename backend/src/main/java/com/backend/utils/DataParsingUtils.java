@@ -3,13 +3,17 @@ package com.backend.utils;
 import com.backend.exceptions.GarminDataParsingException;
 import com.backend.exceptions.JsonParsingException;
 import com.backend.models.*;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class DataParsingUtils {
 
@@ -283,6 +287,7 @@ public class DataParsingUtils {
    public static class JsonUtils {
 
       private static final ObjectMapper objectMapper = new ObjectMapper();
+      private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
 
       /**
        * ✅ Parses a JSON string into a List of Maps.
@@ -297,5 +302,41 @@ public class DataParsingUtils {
             throw new JsonParsingException("Error parsing JSON data", e);
          }
       }
+
+      /**
+       * ✅ Streams JSON objects to the consumer one at a time, as written by the table exports:
+       * either a JSON array of objects or whitespace-separated objects (NDJSON).
+       * Only the current object is held in memory. The stream is not closed.
+       * @param in       The JSON input.
+       * @param consumer Receives each object as a key-value map.
+       * @return The number of objects read.
+       * @throws JsonParsingException if the input is not valid JSON or holds something other than objects.
+       */
+      public static long forEachJsonObject(InputStream in, Consumer<Map<String, Object>> consumer) {
+         try (JsonParser parser = objectMapper.getFactory().createParser(in)
+             .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+               token = parser.nextToken();
+            }
+
+            long count = 0;
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+               if (token != JsonToken.START_OBJECT) {
+                  throw new JsonParsingException("Expected a JSON object but found " + token + " at object " + (count + 1));
+               }
+               consumer.accept(objectMapper.readValue(parser, ROW_TYPE));
+               count++;
+               token = parser.nextToken();
+            }
+            if (array && token == null) {
+               throw new JsonParsingException("Unexpected end of JSON array after " + count + " objects");
+            }
+            return count;
+         } catch (IOException e) {
+            throw new JsonParsingException("Error parsing JSON data", e);
+         }
+      }
    }
 }
@@ -1,10 +1,12 @@
 package com.backend.utils;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 
 /**
- * Utility class for formatting dates.
+ * Utility class for formatting dates and converting them to and from their MongoDB representation.
  */
 public class DateUtils {
 
@@ -20,4 +22,25 @@ public class DateUtils {
    public static String formatLocalDate(LocalDate date) {
       return (date == null) ? null : date.format(FORMATTER);
    }
+
+   /**
+    * Converts a LocalDate to the Date MongoDB stores for it (midnight in the system time zone),
+    * matching the conversion Spring Data applies when saving the models.
+    *
+    * @param date the LocalDate to convert.
+    * @return the stored Date value, or null if the date is null.
+    */
+   public static Date toMongoDate(LocalDate date) {
+      return (date == null) ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+   }
+
+   /**
+    * Converts a Date read from a raw MongoDB document back to a LocalDate.
+    *
+    * @param date the stored Date value.
+    * @return the LocalDate in the system time zone, or null if the date is null.
+    */
+   public static LocalDate fromMongoDate(Date date) {
+      return (date == null) ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+   }
 }
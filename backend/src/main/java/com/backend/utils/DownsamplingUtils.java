@@ -0,0 +1,264 @@
+package com.backend.utils;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for downsampling time series in a single streaming pass.
+ * <p>
+ * Points are fed in ascending x order (x = days since the start of the range) and buckets are
+ * fixed slices of the x range, so no point count is needed up front and only one or two
+ * buckets are buffered at a time, in primitive arrays. The output never exceeds the requested
+ * number of points, however long the range is.
+ * </p>
+ */
+public class DownsamplingUtils {
+
+   private DownsamplingUtils() {} // Prevent instantiation
+
+   /**
+    * A streaming downsampler. Feed points with {@link #add}, then call {@link #finish} once.
+    */
+   public interface Downsampler {
+
+      /**
+       * Adds the next point. Points must arrive in strictly ascending x order.
+       *
+       * @param x the point's position (days since the start of the range).
+       * @param y the point's value.
+       */
+      void add(int x, double y);
+
+      /**
+       * Flushes the buffered buckets and returns the selected points.
+       *
+       * @return the selected points in ascending x order.
+       */
+      Points finish();
+   }
+
+   /**
+    * Selected points as parallel primitive arrays.
+    */
+   public record Points(int[] x, double[] y) {
+
+      public int size() {
+         return x.length;
+      }
+   }
+
+   /**
+    * Creates a Largest-Triangle-Three-Buckets downsampler.
+    * The first and last points are always kept; every bucket in between contributes the point
+    * that forms the largest triangle with the previously kept point and the next bucket's average.
+    *
+    * @param span      the number of x positions in the range (e.g. days in the range).
+    * @param maxPoints the maximum number of points to return, at least 3.
+    * @return a new Downsampler.
+    */
+   public static Downsampler lttb(int span, int maxPoints) {
+      if (maxPoints < 3) {
+         throw new IllegalArgumentException("LTTB needs at least 3 points");
+      }
+      return new Lttb(span, maxPoints);
+   }
+
+   /**
+    * Creates a min-max downsampler that keeps the lowest and highest point of every bucket.
+    *
+    * @param span      the number of x positions in the range (e.g. days in the range).
+    * @param maxPoints the maximum number of points to return, at least 2.
+    * @return a new Downsampler.
+    */
+   public static Downsampler minMax(int span, int maxPoints) {
+      if (maxPoints < 2) {
+         throw new IllegalArgumentException("Min-max needs at least 2 points");
+      }
+      return new MinMax(span, maxPoints);
+   }
+
+   private static final class Lttb implements Downsampler {
+
+      private final double bucketWidth;
+      private final PointBuffer out;
+      private PointBuffer pending = new PointBuffer(); // Bucket waiting for the next bucket's average
+      private PointBuffer current = new PointBuffer(); // Bucket being filled
+      private int currentBucket = -1;
+      private int selectedX; // Last kept point
+      private double selectedY;
+      private int lastX; // Last point seen, kept separately at the end
+      private double lastY;
+      private int count;
+
+      private Lttb(int span, int maxPoints) {
+         this.bucketWidth = (double) span / (maxPoints - 2);
+         this.out = new PointBuffer();
+      }
+
+      @Override
+      public void add(int x, double y) {
+         if (count++ == 0) {
+            keep(x, y); // The first point is always kept
+            return;
+         }
+         if (count > 2) {
+            bucket(lastX, lastY); // The previous "last" point is now an ordinary one
+         }
+         lastX = x;
+         lastY = y;
+      }
+
+      @Override
+      public Points finish() {
+         if (count > 1) {
+            if (!pending.isEmpty()) {
+               select(pending, current.isEmpty() ? lastX : current.averageX(), current.isEmpty() ? lastY : current.averageY());
+            }
+            if (!current.isEmpty()) {
+               select(current, lastX, lastY);
+            }
+            keep(lastX, lastY);
+         }
+         return out.toPoints();
+      }
+
+      private void bucket(int x, double y) {
+         int bucket = (int) (x / bucketWidth);
+         if (bucket != currentBucket && !current.isEmpty()) {
+            // The current bucket is complete, so the pending one can now pick its point.
+            if (!pending.isEmpty()) {
+               select(pending, current.averageX(), current.averageY());
+            }
+            PointBuffer reuse = pending;
+            pending = current;
+            current = reuse;
+            current.clear();
+         }
+         currentBucket = bucket;
+         current.add(x, y);
+      }
+
+      private void select(PointBuffer bucket, double nextX, double nextY) {
+         int best = 0;
+         double bestArea = -1;
+         for (int i = 0; i < bucket.size; i++) {
+            double area = Math.abs((selectedX - nextX) * (bucket.y[i] - selectedY)
+                                   - (selectedX - bucket.x[i]) * (nextY - selectedY));
+            if (area > bestArea) {
+               bestArea = area;
+               best = i;
+            }
+         }
+         keep(bucket.x[best], bucket.y[best]);
+         bucket.clear();
+      }
+
+      private void keep(int x, double y) {
+         selectedX = x;
+         selectedY = y;
+         out.add(x, y);
+      }
+   }
+
+   private static final class MinMax implements Downsampler {
+
+      private final double bucketWidth;
+      private final PointBuffer out = new PointBuffer();
+      private int bucket = -1;
+      private int minX;
+      private double minY;
+      private int maxX;
+      private double maxY;
+
+      private MinMax(int span, int maxPoints) {
+         // Two points per bucket; never narrower than one x position.
+         this.bucketWidth = Math.max(1.0, (double) span / (maxPoints / 2));
+      }
+
+      @Override
+      public void add(int x, double y) {
+         int index = (int) (x / bucketWidth);
+         if (index != bucket) {
+            flush();
+            bucket = index;
+            minX = maxX = x;
+            minY = maxY = y;
+            return;
+         }
+         if (y < minY) {
+            minX = x;
+            minY = y;
+         }
+         if (y > maxY) {
+            maxX = x;
+            maxY = y;
+         }
+      }
+
+      @Override
+      public Points finish() {
+         flush();
+         return out.toPoints();
+      }
+
+      private void flush() {
+         if (bucket < 0) {
+            return;
+         }
+         if (minX == maxX) {
+            out.add(minX, minY);
+         } else if (minX < maxX) {
+            out.add(minX, minY);
+            out.add(maxX, maxY);
+         } else {
+            out.add(maxX, maxY);
+            out.add(minX, minY);
+         }
+      }
+   }
+
+   // Growable pair of primitive arrays.
+   private static final class PointBuffer {
+
+      private int[] x = new int[16];
+      private double[] y = new double[16];
+      private int size;
+
+      private void add(int px, double py) {
+         if (size == x.length) {
+            x = Arrays.copyOf(x, size * 2);
+            y = Arrays.copyOf(y, size * 2);
+         }
+         x[size] = px;
+         y[size] = py;
+         size++;
+      }
+
+      private boolean isEmpty() {
+         return size == 0;
+      }
+
+      private void clear() {
+         size = 0;
+      }
+
+      private double averageX() {
+         double sum = 0;
+         for (int i = 0; i < size; i++) {
+            sum += x[i];
+         }
+         return sum / size;
+      }
+
+      private double averageY() {
+         double sum = 0;
+         for (int i = 0; i < size; i++) {
+            sum += y[i];
+         }
+         return sum / size;
+      }
+
+      private Points toPoints() {
+         return new Points(Arrays.copyOf(x, size), Arrays.copyOf(y, size));
+      }
+   }
+}
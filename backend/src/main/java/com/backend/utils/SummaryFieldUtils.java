@@ -0,0 +1,207 @@
+package com.backend.utils;
+
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.BaseSummary;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class describing how {@link BaseSummary} metrics are stored in MongoDB.
+ * <p>
+ * The metric names used by the models, DTOs and API (e.g. {@code hrAvg}) are mapped to
+ * short stored keys (e.g. {@code ha}). The mapping is read once from the {@code @Field}
+ * annotations on {@link BaseSummary}, so the model stays the single source of truth.
+ * </p>
+ */
+public class SummaryFieldUtils {
+
+   private static final Map<String, String> STORED_FIELD_NAMES = resolveStoredFieldNames();
+   private static final Set<String> DURATION_METRICS = resolveMetricsOfType(String.class);
+   private static final Set<String> DECIMAL_METRICS = resolveMetricsOfType(Double.class);
+
+   private SummaryFieldUtils() {} // Prevent instantiation
+
+   /**
+    * Returns the metric name → stored key mapping, in record component order.
+    *
+    * @return an unmodifiable map of metric names to stored MongoDB keys.
+    */
+   public static Map<String, String> storedFieldNames() {
+      return STORED_FIELD_NAMES;
+   }
+
+   /**
+    * Returns the stored MongoDB key for a metric.
+    *
+    * @param metric the metric name (e.g. "hrAvg").
+    * @return the stored key (e.g. "ha"), or null if the metric is unknown.
+    */
+   public static String storedFieldName(String metric) {
+      return STORED_FIELD_NAMES.get(metric);
+   }
+
+   /**
+    * Checks whether a metric is a duration stored as an "HH:MM:SS" string (e.g. sleepAvg).
+    *
+    * @param metric the metric name.
+    * @return true if the metric is a duration.
+    */
+   public static boolean isDurationMetric(String metric) {
+      return DURATION_METRICS.contains(metric);
+   }
+
+   /**
+    * Checks whether a metric holds decimal values (e.g. weightAvg) rather than whole numbers.
+    *
+    * @param metric the metric name.
+    * @return true if the metric is a decimal.
+    */
+   public static boolean isDecimalMetric(String metric) {
+      return DECIMAL_METRICS.contains(metric);
+   }
+
+   /**
+    * Converts a stored "HH:MM:SS" duration into seconds.
+    *
+    * @param duration the duration string, may be null.
+    * @return the number of seconds, or null if the duration is null or malformed.
+    */
+   public static Integer durationSeconds(String duration) {
+      if (duration == null) {
+         return null;
+      }
+      String[] parts = duration.split(":");
+      if (parts.length != 3) {
+         return null;
+      }
+      try {
+         return Integer.parseInt(parts[0]) * 3600 + Integer.parseInt(parts[1]) * 60 + Integer.parseInt(parts[2]);
+      } catch (NumberFormatException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Parses a comma-separated {@code fields} request parameter into metric names.
+    * Every name is checked against the metrics declared by {@link BaseSummary}.
+    *
+    * @param fields the raw parameter value (e.g. "hrAvg,rhrAvg,sleepAvg"), may be null.
+    * @return the selected metric names in request order, or an empty set if none were requested.
+    * @throws InvalidQueryParameterException if a name is not a known metric.
+    */
+   public static Set<String> parseFields(String fields) {
+      Set<String> selected = new LinkedHashSet<>();
+      if (fields == null || fields.isBlank()) {
+         return selected;
+      }
+
+      Arrays.stream(fields.split(","))
+          .map(String::trim)
+          .filter(field -> !field.isEmpty())
+          .forEach(selected::add);
+
+      List<String> unknown = selected.stream().filter(field -> !STORED_FIELD_NAMES.containsKey(field)).toList();
+      if (!unknown.isEmpty()) {
+         throw new InvalidQueryParameterException("Unknown fields requested: " + String.join(", ", unknown));
+      }
+      return selected;
+   }
+
+   /**
+    * Converts a summary DTO into a map that only contains the selected metrics.
+    * <p>
+    * Non-metric components (id, day, firstDay, latestDay) are always kept, and an embedded
+    * {@code summary} record is trimmed the same way.
+    * </p>
+    *
+    * @param dto    the summary DTO record.
+    * @param fields the selected metric names.
+    * @return an ordered map suitable for a trimmed JSON response.
+    */
+   public static Map<String, Object> selectFields(Record dto, Set<String> fields) {
+      Map<String, Object> selected = new LinkedHashMap<>();
+      for (RecordComponent component : dto.getClass().getRecordComponents()) {
+         String name = component.getName();
+         Object value = readComponent(component, dto);
+         if (value instanceof Record summary && "summary".equals(name)) {
+            selected.put(name, selectFields(summary, fields));
+         } else if (!STORED_FIELD_NAMES.containsKey(name) || fields.contains(name)) {
+            selected.put(name, value);
+         }
+      }
+      return selected;
+   }
+
+   /**
+    * Rewrites an embedded summary document into the compact encoding.
+    * <p>
+    * Accepts documents written with the legacy long keys, the compact keys, or a mix of both.
+    * Null values are dropped and unknown keys are kept unchanged.
+    * </p>
+    *
+    * @param summary the stored summary document.
+    * @return a new compact summary document.
+    */
+   public static Document compactSummaryDocument(Map<String, Object> summary) {
+      Document compact = new Document();
+      if (summary == null) {
+         return compact;
+      }
+
+      for (Map.Entry<String, String> entry : STORED_FIELD_NAMES.entrySet()) {
+         Object value = summary.containsKey(entry.getKey()) ? summary.get(entry.getKey()) : summary.get(entry.getValue());
+         if (value != null) {
+            compact.put(entry.getValue(), value);
+         }
+      }
+
+      for (Map.Entry<String, Object> entry : summary.entrySet()) {
+         boolean known = STORED_FIELD_NAMES.containsKey(entry.getKey()) || STORED_FIELD_NAMES.containsValue(entry.getKey());
+         if (!known && entry.getValue() != null) {
+            compact.put(entry.getKey(), entry.getValue());
+         }
+      }
+      return compact;
+   }
+
+   private static Object readComponent(RecordComponent component, Record record) {
+      try {
+         return component.getAccessor().invoke(record);
+      } catch (ReflectiveOperationException e) {
+         throw new IllegalStateException("Unable to read record component: " + component.getName(), e);
+      }
+   }
+
+   private static Set<String> resolveMetricsOfType(Class<?> type) {
+      Set<String> metrics = new LinkedHashSet<>();
+      for (RecordComponent component : BaseSummary.class.getRecordComponents()) {
+         if (component.getType() == type) {
+            metrics.add(component.getName());
+         }
+      }
+      return Collections.unmodifiableSet(metrics);
+   }
+
+   private static Map<String, String> resolveStoredFieldNames() {
+      Map<String, String> names = new LinkedHashMap<>();
+      try {
+         for (RecordComponent component : BaseSummary.class.getRecordComponents()) {
+            // @Field targets fields, so it is read from the generated field rather than the record component.
+            Field field = BaseSummary.class.getDeclaredField(component.getName()).getAnnotation(Field.class);
+            names.put(component.getName(), field != null && !field.value().isEmpty() ? field.value() : component.getName());
+         }
+      } catch (NoSuchFieldException e) {
+         throw new IllegalStateException("Unable to resolve stored field names for BaseSummary", e);
+      }
+      return Collections.unmodifiableMap(names);
+   }
+}
@@ -0,0 +1,134 @@
+package com.backend.benchmarks;
+
+import com.backend.config.GarminDatabaseConfig;
+import com.backend.repos.SQL.GarminSQLiteRepo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of {@link GarminSQLiteRepo#fetchTableData} through sqlite-jdbc and through the memory-mapped
+ * {@link com.backend.repos.SQL.SQLitePageReader}, on a generated table shaped like GarminDB's days_summary.
+ * <p>
+ * Not a unit test; run it from the backend folder with:
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath com.backend.benchmarks.SQLiteScanBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SQLiteScanBenchmark {
+
+   private static final String DATABASE = "garmin_summary.db";
+   private static final String TABLE = "days_summary";
+
+   @Param({"3650", "36500"})
+   public int rows; // 10 and 100 years of daily summaries
+
+   private Path directory;
+   private GarminSQLiteRepo jdbcRepo;
+   private GarminSQLiteRepo pageReaderRepo;
+
+   @Setup(Level.Trial)
+   public void createDatabase() throws IOException, SQLException {
+      directory = Files.createTempDirectory("sqlite-scan-benchmark");
+      Path database = directory.resolve(DATABASE);
+      try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+           Statement stmt = connection.createStatement()) {
+         stmt.execute("CREATE TABLE days_summary (day DATE NOT NULL, hr_avg FLOAT, hr_min FLOAT, hr_max FLOAT, "
+                          + "rhr_avg FLOAT, steps INTEGER, floors FLOAT, sleep_avg TIME, stress_avg INTEGER, "
+                          + "calories_avg INTEGER, PRIMARY KEY (day))");
+         connection.setAutoCommit(false);
+         try (PreparedStatement insert = connection.prepareStatement("INSERT INTO days_summary VALUES (?,?,?,?,?,?,?,?,?,?)")) {
+            LocalDate day = LocalDate.of(1925, 1, 1);
+            for (int i = 0; i < rows; i++) {
+               insert.setString(1, day.plusDays(i).toString());
+               insert.setDouble(2, 60 + i % 20 * 0.5);
+               insert.setDouble(3, 45 + i % 7);
+               insert.setDouble(4, 120 + i % 40);
+               insert.setDouble(5, 52.5);
+               insert.setInt(6, 4000 + i * 37 % 12000);
+               insert.setDouble(7, i % 15);
+               insert.setString(8, "07:" + (10 + i % 50) + ":00");
+               insert.setInt(9, i % 60);
+               insert.setInt(10, 2000 + i % 800);
+               insert.addBatch();
+            }
+            insert.executeBatch();
+         }
+         connection.commit();
+      }
+
+      GarminDatabaseConfig config = new GarminDatabaseConfig() {
+         @Override
+         public Path getDatabasePath(String databaseName) {
+            return directory.resolve(databaseName);
+         }
+
+         @Override
+         public Connection getConnection(String databaseName) {
+            try {
+               return DriverManager.getConnection("jdbc:sqlite:" + getDatabasePath(databaseName));
+            } catch (SQLException e) {
+               throw new IllegalStateException(e);
+            }
+         }
+      };
+      jdbcRepo = new GarminSQLiteRepo(config, false);
+      pageReaderRepo = new GarminSQLiteRepo(config, true);
+   }
+
+   @TearDown(Level.Trial)
+   public void deleteDatabase() throws IOException {
+      try (var files = Files.list(directory)) {
+         for (Path file : files.toList()) {
+            Files.delete(file);
+         }
+      }
+      Files.delete(directory);
+   }
+
+   @Benchmark
+   public List<Map<String, Object>> jdbc() {
+      return jdbcRepo.fetchTableData(DATABASE, TABLE);
+   }
+
+   @Benchmark
+   public List<Map<String, Object>> pageReader() {
+      return pageReaderRepo.fetchTableData(DATABASE, TABLE);
+   }
+
+   public static void main(String[] args) throws RunnerException {
+      new Runner(new OptionsBuilder().include(SQLiteScanBenchmark.class.getSimpleName()).build()).run();
+   }
+}
@@ -0,0 +1,161 @@
+package com.backend.cache;
+
+import com.backend.dtos.SingleFlightStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.cache.SingleFlight}.
+
+ * Table of Contents:
+
+ *   1️⃣ execute(K key, Supplier loader)
+ *      - ✅ Concurrent callers for the same key share one load and its result.
+ *      - ✅ Sequential callers each run their own load (nothing is cached).
+ *      - ❌ Rethrows the loader's exception to every caller sharing the load.
+ *   2️⃣ forget(Collection keys)
+ *      - ✅ Callers arriving after forget start a new load.
+ */
+class SingleFlightTest {
+
+   private final SingleFlight<String> singleFlight = new SingleFlight<>();
+
+   /**
+    * 1️⃣ Test execute
+    * - ✅ Concurrent callers for the same key share one load and its result.
+    */
+   @Test
+   void testExecute_CoalescesConcurrentCalls() throws Exception {
+      // GIVEN: A load that blocks until the test releases it.
+      CountDownLatch release = new CountDownLatch(1);
+      AtomicInteger loads = new AtomicInteger();
+      int callers = 5;
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+         // WHEN: Several callers request the same key while the load is in flight.
+         List<Future<String>> futures = new ArrayList<>();
+         for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("years", () -> {
+               loads.incrementAndGet();
+               await(release);
+               return "result";
+            })));
+         }
+         awaitCoalesced(callers - 1);
+         release.countDown();
+
+         // THEN: The loader ran once and every caller got its result.
+         for (Future<String> future : futures) {
+            assertEquals("result", future.get(5, TimeUnit.SECONDS));
+         }
+      }
+      assertEquals(1, loads.get());
+      SingleFlightStatsDTO stats = singleFlight.stats();
+      assertEquals(callers, stats.calls());
+      assertEquals(1, stats.executions());
+      assertEquals(callers - 1, stats.coalesced());
+      assertEquals(0, stats.inFlight());
+   }
+
+   /**
+    * 1️⃣ Test execute
+    * - ✅ Sequential callers each run their own load (nothing is cached).
+    */
+   @Test
+   void testExecute_SequentialCallsNotShared() {
+      AtomicInteger loads = new AtomicInteger();
+
+      singleFlight.execute("years", loads::incrementAndGet);
+      singleFlight.execute("years", loads::incrementAndGet);
+
+      assertEquals(2, loads.get());
+      assertEquals(0, singleFlight.stats().coalesced());
+   }
+
+   /**
+    * 1️⃣ Test execute
+    * - ❌ Rethrows the loader's exception to every caller sharing the load.
+    */
+   @Test
+   void testExecute_SharesException() throws Exception {
+      CountDownLatch release = new CountDownLatch(1);
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+         Future<String> leader = executor.submit(() -> singleFlight.execute("day", () -> {
+            await(release);
+            throw new IllegalStateException("MongoDB unavailable");
+         }));
+         awaitInFlight();
+         Future<String> follower = executor.submit(() -> singleFlight.execute("day", () -> "unused"));
+         awaitCoalesced(1);
+         release.countDown();
+
+         for (Future<String> future : List.of(leader, follower)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("MongoDB unavailable", e.getCause().getMessage());
+         }
+      }
+   }
+
+   /**
+    * 2️⃣ Test forget
+    * - ✅ Callers arriving after forget start a new load.
+    */
+   @Test
+   void testForget_StartsNewLoad() throws Exception {
+      // GIVEN: A load that is in flight.
+      CountDownLatch release = new CountDownLatch(1);
+
+      try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+         Future<String> stale = executor.submit(() -> singleFlight.execute("week", () -> {
+            await(release);
+            return "stale";
+         }));
+         awaitInFlight();
+
+         // WHEN: An ingest run forgets the key and another caller asks for it.
+         singleFlight.forget(List.of("week"));
+         String fresh = singleFlight.execute("week", () -> "fresh");
+
+         // THEN: The new caller ran its own load; the original caller still gets its result.
+         assertEquals("fresh", fresh);
+         release.countDown();
+         assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(2, singleFlight.stats().executions());
+   }
+
+   private void awaitCoalesced(long expected) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (singleFlight.stats().coalesced() < expected && System.nanoTime() < deadline) {
+         Thread.sleep(1);
+      }
+   }
+
+   private void awaitInFlight() throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (singleFlight.stats().inFlight() == 0 && System.nanoTime() < deadline) {
+         Thread.sleep(1);
+      }
+   }
+
+   private static void await(CountDownLatch latch) {
+      try {
+         latch.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
@@ -0,0 +1,182 @@
+package com.backend.cache;
+
+import com.backend.dtos.CacheStatsDTO;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.cache.SummaryCache} and {@link com.backend.cache.SummaryCacheInvalidator}.
+
+ * Table of Contents:
+
+ *   1️⃣ get(SummaryCacheKey key, Supplier loader)
+ *      - ✅ Loads once and serves repeated lookups from the cache, counting hits and misses.
+ *      - ✅ Reloads an entry once its TTL has passed.
+ *      - ✅ Evicts the least recently used entry when full.
+ *      - ❌ Does not store a value whose load overlapped an invalidation.
+ *   2️⃣ SummaryCacheInvalidator.affectedKeys(SummaryDataChangedEvent event)
+ *      - ✅ Maps day changes to their day keys.
+ *      - ✅ Maps month changes to the affected year listings and the unfiltered listing.
+ */
+class SummaryCacheTest {
+
+   private MutableClock clock;
+   private SummaryCache cache;
+
+   @BeforeEach
+   void setUp() {
+      clock = new MutableClock(Instant.parse("2024-05-01T08:00:00Z"));
+      cache = new SummaryCache(2, Duration.ofMinutes(10), clock);
+   }
+
+   /**
+    * 1️⃣ Test get
+    * - ✅ Loads once and serves repeated lookups from the cache, counting hits and misses.
+    */
+   @Test
+   void testGet_HitAfterMiss() {
+      // GIVEN: A loader that counts its calls.
+      AtomicInteger loads = new AtomicInteger();
+      SummaryCacheKey key = SummaryCacheKey.of(SummaryType.DAY, LocalDate.of(2024, 5, 1));
+
+      // WHEN: Looking the key up twice.
+      String first = cache.get(key, () -> "v" + loads.incrementAndGet());
+      String second = cache.get(key, () -> "v" + loads.incrementAndGet());
+
+      // THEN: The loader ran once and the statistics record one miss and one hit.
+      assertEquals("v1", first);
+      assertEquals("v1", second);
+      CacheStatsDTO stats = cache.stats();
+      assertEquals(1, stats.hits());
+      assertEquals(1, stats.misses());
+      assertEquals(0.5, stats.hitRatio());
+      assertEquals("DAY/2024-05-01", stats.keys().get(0).key());
+      assertTrue(stats.keys().get(0).cached());
+   }
+
+   /**
+    * 1️⃣ Test get
+    * - ✅ Reloads an entry once its TTL has passed.
+    */
+   @Test
+   void testGet_ExpiresAfterTtl() {
+      SummaryCacheKey key = SummaryCacheKey.years();
+      cache.get(key, () -> "old");
+
+      clock.advance(Duration.ofMinutes(11));
+
+      assertEquals("new", cache.get(key, () -> "new"));
+      assertEquals(1, cache.stats().expirations());
+   }
+
+   /**
+    * 1️⃣ Test get
+    * - ✅ Evicts the least recently used entry when full.
+    */
+   @Test
+   void testGet_EvictsLeastRecentlyUsed() {
+      // GIVEN: A full cache where 'a' was used more recently than 'b'.
+      SummaryCacheKey a = SummaryCacheKey.of(SummaryType.DAY, LocalDate.of(2024, 5, 1));
+      SummaryCacheKey b = SummaryCacheKey.of(SummaryType.DAY, LocalDate.of(2024, 5, 2));
+      SummaryCacheKey c = SummaryCacheKey.of(SummaryType.DAY, LocalDate.of(2024, 5, 3));
+      cache.get(a, () -> "a");
+      cache.get(b, () -> "b");
+      cache.get(a, () -> "reloaded");
+
+      // WHEN: A third key is cached.
+      cache.get(c, () -> "c");
+
+      // THEN: 'b' was evicted and 'a' is still served from the cache.
+      assertEquals(1, cache.stats().evictions());
+      assertEquals("a", cache.get(a, () -> "reloaded"));
+      assertEquals("reloaded", cache.get(b, () -> "reloaded"));
+   }
+
+   /**
+    * 1️⃣ Test get
+    * - ❌ Does not store a value whose load overlapped an invalidation.
+    */
+   @Test
+   void testGet_LoadOverlappingInvalidationIsNotStored() {
+      SummaryCacheKey key = SummaryCacheKey.of(SummaryType.WEEK, LocalDate.of(2024, 4, 29));
+
+      // WHEN: An ingest run evicts the key while it is being loaded.
+      String stale = cache.get(key, () -> {
+         cache.evict(List.of(key));
+         return "stale";
+      });
+
+      // THEN: The caller still gets its value, but the next lookup reloads.
+      assertEquals("stale", stale);
+      assertEquals("fresh", cache.get(key, () -> "fresh"));
+   }
+
+   /**
+    * 2️⃣ Test affectedKeys
+    * - ✅ Maps day changes to their day keys.
+    */
+   @Test
+   void testAffectedKeys_Days() {
+      SummaryDataChangedEvent event = new SummaryDataChangedEvent(
+          SummaryType.DAY, Set.of(LocalDate.of(2024, 5, 1)));
+
+      assertEquals(Set.of(SummaryCacheKey.of(SummaryType.DAY, LocalDate.of(2024, 5, 1))),
+                   SummaryCacheInvalidator.affectedKeys(event));
+   }
+
+   /**
+    * 2️⃣ Test affectedKeys
+    * - ✅ Maps month changes to the affected year listings and the unfiltered listing.
+    */
+   @Test
+   void testAffectedKeys_Months() {
+      SummaryDataChangedEvent event = new SummaryDataChangedEvent(
+          SummaryType.MONTH, Set.of(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+
+      assertEquals(Set.of(SummaryCacheKey.months(2023), SummaryCacheKey.months(2024), SummaryCacheKey.months(null)),
+                   SummaryCacheInvalidator.affectedKeys(event));
+   }
+
+   // A Clock whose time is moved forward by the tests.
+   private static final class MutableClock extends Clock {
+
+      private Instant now;
+
+      private MutableClock(Instant now) {
+         this.now = now;
+      }
+
+      void advance(Duration duration) {
+         now = now.plus(duration);
+      }
+
+      @Override
+      public ZoneId getZone() {
+         return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+         return this;
+      }
+
+      @Override
+      public Instant instant() {
+         return now;
+      }
+   }
+}
@@ -0,0 +1,81 @@
+package com.backend.config;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.models.BaseSummary;
+import com.backend.models.CurrentDaySummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary encodings configured in {@link com.backend.config.MessageFormatConfig}.
+
+ * Table of Contents:
+
+ *   1️⃣ cborMapper(Jackson2ObjectMapperBuilder builder, boolean stringRefs)
+ *      - ✅ Round-trips a page of day summaries in a fraction of the JSON size.
+ *   2️⃣ smileMapper(Jackson2ObjectMapperBuilder builder)
+ *      - ✅ Round-trips a page of day summaries in a fraction of the JSON size.
+ */
+class MessageFormatConfigTest {
+
+   private static final TypeReference<List<CurrentDaySummaryDTO>> DAY_LIST = new TypeReference<>() {};
+
+   private final BaseSummary summary = new BaseSummary(
+       60, 120, 80, 60, 80, 70, 55, 75, 65,
+       2000, 2500, 1500, 1800, 500, 300,
+       60.0, 65.0, 62.0,
+       3000, 2800, 2900, 100, 110,
+       20, 80, 30,
+       10, 20, 15, 85, 90,
+       "08:00:00", "09:00:00", "08:30:00",
+       "01:00:00", "01:15:00", "01:05:00",
+       10000, 9000, 10, 8,
+       2, 5.0, "00:30:00", "00:45:00", "00:20:00", "00:10:00"
+   );
+
+   // A month of day summaries, as returned by GET /garmin/days.
+   private final List<CurrentDaySummaryDTO> days = IntStream.rangeClosed(1, 30)
+       .mapToObj(day -> CurrentDaySummaryDTO.fromModel(
+           new CurrentDaySummary("id" + day, LocalDate.of(2024, 4, day), summary)))
+       .toList();
+
+   /**
+    * 1️⃣ Test cborMapper
+    * - ✅ Round-trips a page of day summaries in a fraction of the JSON size.
+    */
+   @Test
+   void testCbor_RoundTripAndSize() throws Exception {
+      ObjectMapper cbor = MessageFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json(), true);
+
+      byte[] encoded = cbor.writeValueAsBytes(days);
+
+      assertEquals(days, cbor.readValue(encoded, DAY_LIST));
+      assertTrue(encoded.length * 2 < jsonSize(), "CBOR with stringrefs should be at least 2x smaller");
+   }
+
+   /**
+    * 2️⃣ Test smileMapper
+    * - ✅ Round-trips a page of day summaries in a fraction of the JSON size.
+    */
+   @Test
+   void testSmile_RoundTripAndSize() throws Exception {
+      ObjectMapper smile = MessageFormatConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+
+      byte[] encoded = smile.writeValueAsBytes(days);
+
+      assertEquals(days, smile.readValue(encoded, DAY_LIST));
+      assertTrue(encoded.length * 3 < jsonSize(), "Smile should be at least 3x smaller");
+   }
+
+   private int jsonSize() throws Exception {
+      return Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(days).length;
+   }
+}
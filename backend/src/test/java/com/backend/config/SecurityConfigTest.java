@@ -0,0 +1,111 @@
+package com.backend.config;
+
+import com.backend.controllers.GarminSQLiteController;
+import com.backend.export.ExportCodecs;
+import com.backend.export.IdentityCodec;
+import com.backend.services.GarminDataExportService;
+import com.backend.services.GuestTokenService;
+import com.backend.services.IncrementalExportService;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the authorization rules in {@link com.backend.config.SecurityConfig}, through the real
+ * security filter chain.
+
+ * Table of Contents:
+
+ *   1️⃣ securityFilterChain(HttpSecurity http, GuestTokenService guestTokenService)
+ *      - ❌ Rejects anonymous downloads and manifest checks of the raw SQLite exports with 401.
+ */
+@SpringJUnitWebConfig(SecurityConfigTest.TestConfig.class)
+class SecurityConfigTest {
+
+   @Autowired
+   private WebApplicationContext context;
+
+   @Autowired
+   private GarminDataExportService garminDataExportService;
+
+   @Autowired
+   private IncrementalExportService incrementalExportService;
+
+   private MockMvc mockMvc;
+
+   @BeforeEach
+   void setUp() {
+      mockMvc = MockMvcBuilders.webAppContextSetup(context)
+          .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+          .build();
+   }
+
+   /**
+    * 1️⃣ Test securityFilterChain
+    * - ❌ Rejects anonymous downloads and manifest checks of the raw SQLite exports with 401.
+    */
+   @Test
+   void givenAnonymousCaller_whenGarminSQLiteEndpoints_thenReturnsUnauthorized() throws Exception {
+      // WHEN: A caller without a login asks for the zip download and the manifest check.
+      mockMvc.perform(get("/garmin-sqlite/download").param("databaseName", "garmin.db"))
+          .andExpect(status().isUnauthorized());
+      mockMvc.perform(get("/garmin-sqlite/export-manifest/verify")
+                          .param("databaseName", "garmin.db")
+                          .param("tableName", "days_summary"))
+          .andExpect(status().isUnauthorized());
+
+      // THEN: Neither request reached the export services.
+      verifyNoInteractions(garminDataExportService, incrementalExportService);
+   }
+
+   @Configuration
+   @EnableWebMvc
+   @Import({SecurityConfig.class, GarminSQLiteController.class})
+   static class TestConfig {
+
+      @Bean
+      GarminDataExportService garminDataExportService() {
+         return mock(GarminDataExportService.class);
+      }
+
+      @Bean
+      IncrementalExportService incrementalExportService() {
+         return mock(IncrementalExportService.class);
+      }
+
+      @Bean
+      ExportCodecs exportCodecs() {
+         return new ExportCodecs(List.of(new IdentityCodec()));
+      }
+
+      @Bean
+      GuestTokenService guestTokenService() {
+         return mock(GuestTokenService.class);
+      }
+
+      @Bean
+      ClientRegistrationRepository clientRegistrationRepository() {
+         return new InMemoryClientRegistrationRepository(
+             CommonOAuth2Provider.GITHUB.getBuilder("github").clientId("test-client").clientSecret("test-secret").build());
+      }
+   }
+}
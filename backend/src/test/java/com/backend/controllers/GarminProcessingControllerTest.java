@@ -1,6 +1,13 @@
 package com.backend.controllers;
 
+import com.backend.dtos.HeartRateIngestReportDTO;
+import com.backend.events.SummaryType;
+import com.backend.exceptions.GlobalExceptionHandler;
+import com.backend.export.ExportCodecs;
+import com.backend.export.GzipCodec;
+import com.backend.export.IdentityCodec;
 import com.backend.services.GarminProcessingService;
+import com.backend.services.HeartRateIngestService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,11 +16,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +55,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 5. POST /garmin/process/recent
  *    - ✅ givenValidDataAndReferenceDate_whenProcessAndSaveRecentDailySummaries_thenSavesSuccessfully
  *    - ❌ givenNoData_whenProcessAndSaveRecentDailySummaries_thenSkipsSaving
+
+ * 6. POST /garmin/import/{period}
+ *    - ✅ givenGzipNdjsonBody_whenImportSummaries_thenReturnsImportedRows
+ *    - ❌ givenUnknownPeriod_whenImportSummaries_thenReturnsBadRequest
+
+ * 7. POST /garmin/process/heart-rate
+ *    - ✅ givenDayRange_whenProcessHeartRate_thenReturnsIngestReport
  */
 @ExtendWith (MockitoExtension.class)
 class GarminProcessingControllerTest {
@@ -44,6 +70,12 @@ class GarminProcessingControllerTest {
    @Mock
    private GarminProcessingService garminProcessingService;
 
+   @Mock
+   private HeartRateIngestService heartRateIngestService;
+
+   @Spy
+   private ExportCodecs exportCodecs = new ExportCodecs(List.of(new IdentityCodec(), new GzipCodec(6)));
+
    @InjectMocks
    private GarminProcessingController controller;
 
@@ -53,7 +85,9 @@ class GarminProcessingControllerTest {
    void setUp() {
       mapper.registerModule(new JavaTimeModule());
       mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-      mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+      mockMvc = MockMvcBuilders.standaloneSetup(controller)
+          .setControllerAdvice(new GlobalExceptionHandler())
+          .build();
    }
 
    @Test
@@ -139,4 +173,49 @@ class GarminProcessingControllerTest {
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.message").value("Processed and saved RecentDailySummaries."));
    }
-}
\ No newline at end of file
+
+   @Test
+   void givenGzipNdjsonBody_whenImportSummaries_thenReturnsImportedRows() throws Exception {
+      String ndjson = "{\"day\":\"2025-01-11\"}\n{\"day\":\"2025-01-12\"}\n";
+      ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+      try (OutputStream out = new GzipCodec(6).compress(gzipped)) {
+         out.write(ndjson.getBytes(StandardCharsets.UTF_8));
+      }
+      // The controller must hand over the decompressed body.
+      when(garminProcessingService.importSummaries(eq(SummaryType.DAY), any(InputStream.class))).thenAnswer(invocation -> {
+         InputStream in = invocation.getArgument(1);
+         return new String(in.readAllBytes(), StandardCharsets.UTF_8).equals(ndjson) ? 2L : -1L;
+      });
+
+      mockMvc.perform(post("/garmin/import/days")
+                          .param("codec", "gzip")
+                          .content(gzipped.toByteArray()))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.rows").value(2));
+   }
+
+   @Test
+   void givenUnknownPeriod_whenImportSummaries_thenReturnsBadRequest() throws Exception {
+      mockMvc.perform(post("/garmin/import/recent")
+                          .content("[]"))
+          .andExpect(status().isBadRequest());
+
+      verifyNoInteractions(garminProcessingService);
+   }
+
+   @Test
+   void givenDayRange_whenProcessHeartRate_thenReturnsIngestReport() throws Exception {
+      LocalDate from = LocalDate.of(2024, 3, 1);
+      LocalDate to = LocalDate.of(2024, 3, 31);
+      when(heartRateIngestService.ingest("garmin_monitoring.db", "monitoring_hr", from, to))
+          .thenReturn(new HeartRateIngestReportDTO(from, to, 1, 31, 44000, 12, 80, 550000));
+
+      mockMvc.perform(post("/garmin/process/heart-rate")
+                          .param("databaseName", "garmin_monitoring.db")
+                          .param("from", "2024-03-01")
+                          .param("to", "2024-03-31"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.days").value(31))
+          .andExpect(jsonPath("$.samples").value(44000));
+   }
+}
@@ -4,12 +4,15 @@ import com.backend.dtos.BaseSummaryDTO;
 import com.backend.dtos.CurrentDaySummaryDTO;
 import com.backend.dtos.MonthlySummaryDTO;
 import com.backend.dtos.RecentDailySummariesDTO;
+import com.backend.dtos.SummaryPage;
+import com.backend.dtos.SummaryPageRequest;
 import com.backend.dtos.WeeklySummaryDTO;
 import com.backend.dtos.YearlySummaryDTO;
 import com.backend.exceptions.GarminProcessingException;
 import com.backend.exceptions.GlobalExceptionHandler;
 import com.backend.controllers.GarminRetrievalController;
 import com.backend.services.GarminRetrievalService;
+import com.backend.services.SummaryStreamingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,16 +22,27 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,8 +51,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  *
  * Table of Contents:
  * <ul>
- *   <li>1️⃣ getAllDaySummaries(int limit)
- *      - ✅ Returns a valid list of day summaries when data is available.
+ *   <li>1️⃣ getAllDaySummaries(limit, before, after, from, to)
+ *      - ✅ Returns a page of day summaries with its cursor headers.
+ *      - ❌ Returns 400 Bad Request when both cursors are given.
  *   <li>2️⃣ getDaySummary(LocalDate day)
  *      - ✅ Returns a valid day summary for a given date.
  *      - ❌ Throws {@link GarminProcessingException} when a summary is not found.
@@ -53,6 +68,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  *      - ✅ Returns monthly summary DTOs for the given year when a year is provided.
  *   <li>7️⃣ getYearSummaries()
  *      - ✅ Returns a valid list of yearly summary DTOs when data is available.
+ *   <li>8️⃣ Sparse fieldsets (fields parameter)
+ *      - ✅ Returns trimmed day summaries when known fields are requested.
+ *      - ✅ Reads only the selected metrics for a single day.
+ *      - ❌ Returns 400 Bad Request when an unknown field is requested.
+ *   <li>9️⃣ Streaming (Accept: application/x-ndjson or stream=true)
+ *      - ✅ Streams day summaries as NDJSON for either selector.
  * </ul>
  */
 class GarminRetrievalControllerTest {
@@ -65,6 +86,9 @@ class GarminRetrievalControllerTest {
    @Mock
    private GarminRetrievalService retrievalService; // Injected service dependency
 
+   @Mock
+   private SummaryStreamingService streamingService; // Injected service dependency
+
    private ObjectMapper objectMapper;
 
    @BeforeEach
@@ -80,7 +104,7 @@ class GarminRetrievalControllerTest {
    }
 
    /**
-    * ✅ Test getAllDaySummaries returns a valid list of day summaries when data is available.
+    * ✅ Test getAllDaySummaries returns a page of day summaries with its cursor headers.
     */
    @Test
    void testGetAllDaySummaries() throws Exception {
@@ -98,15 +122,32 @@ class GarminRetrievalControllerTest {
           2, 5.0, "00:30:00", "00:45:00", "00:20:00", "00:10:00"
       );
       CurrentDaySummaryDTO dummyDTO = new CurrentDaySummaryDTO("1", LocalDate.now().toString(), baseSummary);
-      // WHEN: The retrievalService instance returns the dummy list.
-      when(retrievalService.getAllDaySummaries(anyInt())).thenReturn(Collections.singletonList(dummyDTO));
+      // WHEN: The retrievalService instance returns the newest page, which has older pages behind it.
+      when(retrievalService.getDaySummaryPage(SummaryPageRequest.firstPage(30)))
+          .thenReturn(new SummaryPage<>(Collections.singletonList(dummyDTO), "older", null));
 
-      // THEN: Perform GET /garmin/days?limit=30 and expect one element in the returned JSON array.
+      // THEN: Perform GET /garmin/days?limit=30 and expect one element and only the next-page cursor.
       mockMvc.perform(get("/garmin/days")
                           .param("limit", "30")
                           .accept(MediaType.APPLICATION_JSON))
           .andExpect(status().isOk())
-          .andExpect(jsonPath("$", hasSize(1)));
+          .andExpect(jsonPath("$", hasSize(1)))
+          .andExpect(header().string(GarminRetrievalController.NEXT_CURSOR_HEADER, "older"))
+          .andExpect(header().doesNotExist(GarminRetrievalController.PREV_CURSOR_HEADER));
+   }
+
+   /**
+    * ❌ Test getAllDaySummaries rejects a request with both cursors.
+    */
+   @Test
+   void testGetAllDaySummaries_BothCursors() throws Exception {
+      mockMvc.perform(get("/garmin/days")
+                          .param("before", "a")
+                          .param("after", "b")
+                          .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isBadRequest());
+
+      verify(retrievalService, never()).getDaySummaryPage(any());
    }
 
    /**
@@ -131,9 +172,14 @@ class GarminRetrievalControllerTest {
       when(retrievalService.getDaySummary(eq(testDate))).thenReturn(dummyDTO);
 
       // WHEN: Perform GET /garmin/days/{day} with a valid date.
+      // THEN: Without a fields parameter every metric is returned.
       mockMvc.perform(get("/garmin/days/{day}", testDate.toString())
                           .accept(MediaType.APPLICATION_JSON))
-          .andExpect(status().isOk());
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.day").value("2023-05-01"))
+          .andExpect(jsonPath("$.summary.hrAvg").value(80))
+          .andExpect(jsonPath("$.summary.sleepAvg").value("08:30:00"));
+      verify(retrievalService, never()).getDaySummary(any(), any());
    }
 
    /**
@@ -281,6 +327,101 @@ class GarminRetrievalControllerTest {
           .andExpect(jsonPath("$", hasSize(1)));
    }
 
+   /**
+    * ✅ Test getAllDaySummaries with a fields parameter returns trimmed summaries.
+    */
+   @Test
+   void testGetAllDaySummaries_WithFields() throws Exception {
+      // GIVEN: The service returns a trimmed day summary for the requested fields.
+      Set<String> fields = new LinkedHashSet<>(List.of("hrAvg", "sleepAvg"));
+      Map<String, Object> trimmed = Map.of(
+          "id", "1",
+          "day", "2023-05-01",
+          "summary", Map.of("hrAvg", 80, "sleepAvg", "08:30:00"));
+      when(retrievalService.getDaySummaryPage(SummaryPageRequest.firstPage(30), fields))
+          .thenReturn(new SummaryPage<>(Collections.singletonList(trimmed), null, null));
+
+      // WHEN: Perform GET /garmin/days?fields=hrAvg,sleepAvg.
+      mockMvc.perform(get("/garmin/days")
+                          .param("fields", "hrAvg, sleepAvg")
+                          .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$", hasSize(1)))
+          .andExpect(jsonPath("$[0].summary.hrAvg").value(80))
+          .andExpect(jsonPath("$[0].summary.rhrAvg").doesNotExist());
+   }
+
+   /**
+    * ✅ Test getDaySummary with a fields parameter reads only the selected metrics.
+    */
+   @Test
+   void testGetDaySummary_WithFields() throws Exception {
+      // GIVEN: The service returns a trimmed day summary for the requested field.
+      LocalDate testDate = LocalDate.of(2023, 5, 1);
+      Map<String, Object> trimmed = Map.of("id", "1", "day", "2023-05-01", "summary", Map.of("hrAvg", 80));
+      when(retrievalService.getDaySummary(testDate, Set.of("hrAvg"))).thenReturn(trimmed);
+
+      // WHEN: Perform GET /garmin/days/{day}?fields=hrAvg.
+      mockMvc.perform(get("/garmin/days/{day}", testDate.toString())
+                          .param("fields", "hrAvg")
+                          .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.summary.hrAvg").value(80))
+          .andExpect(jsonPath("$.summary.rhrAvg").doesNotExist());
+
+      // THEN: The full DTO is not read.
+      verify(retrievalService, never()).getDaySummary(testDate);
+   }
+
+   /**
+    * ❌ Test an unknown field is rejected with 400 Bad Request before the service is called.
+    */
+   @Test
+   void testGetAllDaySummaries_UnknownField() throws Exception {
+      mockMvc.perform(get("/garmin/days")
+                          .param("fields", "hrAvg,notAMetric")
+                          .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath("$.message").value("Unknown fields requested: notAMetric"));
+
+      verify(retrievalService, never()).getDaySummaryPage(any(), any());
+   }
+
+   /**
+    * ✅ Test day summaries are streamed as NDJSON for both the Accept header and the stream flag.
+    */
+   @Test
+   void testStreamDaySummaries() throws Exception {
+      // GIVEN: The streaming service writes two lines.
+      doAnswer(invocation -> {
+         OutputStream out = invocation.getArgument(3);
+         out.write("{\"day\":\"2023-05-02\"}\n{\"day\":\"2023-05-01\"}\n".getBytes());
+         return 2L;
+      }).when(streamingService).writeDaySummaries(eq(LocalDate.of(2023, 5, 1)), isNull(), eq(Set.of()), any());
+
+      // WHEN / THEN: Both selectors produce the same NDJSON body.
+      MvcResult byAccept = mockMvc.perform(get("/garmin/days")
+                                               .param("from", "2023-05-01")
+                                               .accept("application/x-ndjson"))
+          .andExpect(request().asyncStarted())
+          .andReturn();
+      mockMvc.perform(asyncDispatch(byAccept))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType("application/x-ndjson"))
+          .andExpect(content().string("{\"day\":\"2023-05-02\"}\n{\"day\":\"2023-05-01\"}\n"));
+
+      MvcResult byFlag = mockMvc.perform(get("/garmin/days")
+                                             .param("from", "2023-05-01")
+                                             .param("stream", "true"))
+          .andExpect(request().asyncStarted())
+          .andReturn();
+      mockMvc.perform(asyncDispatch(byFlag))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType("application/x-ndjson"));
+
+      verify(retrievalService, never()).getDaySummaryPage(any());
+   }
+
    /**
     * Helper method that loads a RecentDailySummariesDTO from the JSON file
     * located at /resources/mocks/DTOs/mongo_mock_recent_daily_summariesDTO.json.
@@ -1,18 +1,30 @@
 package com.backend.controllers;
 
+import com.backend.dtos.ExportFormat;
+import com.backend.dtos.ExportReportDTO;
+import com.backend.dtos.ManifestVerificationDTO;
+import com.backend.export.ExportCodecs;
+import com.backend.export.GzipCodec;
+import com.backend.export.IdentityCodec;
 import com.backend.services.GarminDataExportService;
+import com.backend.services.IncrementalExportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -33,6 +45,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
  * 3️⃣ Tests for POST /garmin-sqlite/export-all-tables-as-json:
  *    - ✅ givenValidDatabaseName_whenExportAllTablesAsJson_thenReturnsSuccessMessageAndTables
+
+ * 4️⃣ Tests for POST /garmin-sqlite/export-table:
+ *    - ✅ givenFormatAndCodec_whenExportTable_thenReturnsExportReport
+
+ * 5️⃣ Tests for GET /garmin-sqlite/export-manifest/verify:
+ *    - ✅ givenCorruptChunk_whenVerifyExport_thenReturnsProblems
+
+ * 6️⃣ Tests for GET /garmin-sqlite/download:
+ *    - ✅ givenDatabaseName_whenDownloadAllTables_thenStreamsZipAttachment
+ *    - ✅ givenSlowDownload_whenDownloadAllTables_thenNotCutOffByAsyncTimeout
  */
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +65,12 @@ public class GarminSQLiteControllerTest {
    @Mock
    private GarminDataExportService garminDataExportService;
 
+   @Mock
+   private IncrementalExportService incrementalExportService;
+
+   @Spy
+   private ExportCodecs exportCodecs = new ExportCodecs(List.of(new IdentityCodec(), new GzipCodec(6)));
+
    @InjectMocks
    private GarminSQLiteController garminSQLiteController;
 
@@ -151,4 +179,93 @@ public class GarminSQLiteControllerTest {
           .andExpect(jsonPath("$.tables.length()").value(savedTables.size()))
           .andExpect(jsonPath("$.tables[0]").value("table1"));
    }
+
+   // 4. --------------------------- POST /garmin-sqlite/export-table --------------------------- //
+
+   /**
+    * ✅ Test Case: givenFormatAndCodec_whenExportTable_thenReturnsExportReport
+    */
+   @Test
+   void givenFormatAndCodec_whenExportTable_thenReturnsExportReport() throws Exception {
+      ExportReportDTO report = new ExportReportDTO("table1", "testDB/table1.ndjson.gz", "ndjson", "gzip",
+                                                   2, 64, 5, 400, 12800);
+      when(garminDataExportService.exportTable(eq("testDB"), eq("table1"), eq(ExportFormat.NDJSON), any(GzipCodec.class), eq(false)))
+          .thenReturn(report);
+
+      mockMvc.perform(post("/garmin-sqlite/export-table")
+                          .param("databaseName", "testDB")
+                          .param("tableName", "table1")
+                          .param("format", "NDJSON")
+                          .param("codec", "gzip"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.file").value("testDB/table1.ndjson.gz"))
+          .andExpect(jsonPath("$.rows").value(2))
+          .andExpect(jsonPath("$.rowsPerSecond").value(400));
+   }
+
+   // 5. --------------------------- GET /garmin-sqlite/export-manifest/verify --------------------------- //
+
+   /**
+    * ✅ Test Case: givenCorruptChunk_whenVerifyExport_thenReturnsProblems
+    */
+   @Test
+   void givenCorruptChunk_whenVerifyExport_thenReturnsProblems() throws Exception {
+      when(incrementalExportService.verify("testDB", "table1")).thenReturn(
+          new ManifestVerificationDTO("table1", 3, 25000, false, List.of("chunk-00001.ndjson: checksum mismatch")));
+
+      mockMvc.perform(get("/garmin-sqlite/export-manifest/verify")
+                          .param("databaseName", "testDB")
+                          .param("tableName", "table1"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.valid").value(false))
+          .andExpect(jsonPath("$.problems[0]").value("chunk-00001.ndjson: checksum mismatch"));
+   }
+
+   // 6. --------------------------- GET /garmin-sqlite/download --------------------------- //
+
+   /**
+    * ✅ Test Case: givenDatabaseName_whenDownloadAllTables_thenStreamsZipAttachment
+    */
+   @Test
+   void givenDatabaseName_whenDownloadAllTables_thenStreamsZipAttachment() throws Exception {
+      List<String> tables = List.of("table1", "table2");
+      when(garminDataExportService.getAllTableNames("garmin.db")).thenReturn(tables);
+      doAnswer(invocation -> {
+         OutputStream out = invocation.getArgument(3);
+         out.write("PK".getBytes());
+         return 2L;
+      }).when(garminDataExportService).writeTablesAsZip(eq("garmin.db"), eq(tables), eq(ExportFormat.COLUMNAR), any());
+
+      mockMvc.perform(get("/garmin-sqlite/download")
+                          .param("databaseName", "garmin.db")
+                          .param("format", "columnar"))
+          .andExpect(request().asyncNotStarted())
+          .andExpect(status().isOk())
+          .andExpect(content().contentType("application/zip"))
+          .andExpect(header().string("Content-Disposition", "attachment; filename=\"garmin-export.zip\""))
+          .andExpect(content().string("PK"));
+   }
+
+   /**
+    * ✅ Test Case: givenSlowDownload_whenDownloadAllTables_thenNotCutOffByAsyncTimeout
+    */
+   @Test
+   void givenSlowDownload_whenDownloadAllTables_thenNotCutOffByAsyncTimeout() throws Exception {
+      // GIVEN: An async timeout far below the time the archive takes to write.
+      mockMvc = MockMvcBuilders.standaloneSetup(garminSQLiteController).setAsyncRequestTimeout(10).build();
+      when(garminDataExportService.getAllTableNames("garmin.db")).thenReturn(List.of("table1"));
+      doAnswer(invocation -> {
+         OutputStream out = invocation.getArgument(3);
+         out.write("PK".getBytes());
+         Thread.sleep(100);
+         out.write("END".getBytes());
+         return 1L;
+      }).when(garminDataExportService).writeTablesAsZip(eq("garmin.db"), eq(List.of("table1")), eq(ExportFormat.NDJSON), any());
+
+      // WHEN / THEN: The whole archive is written on the request itself, without an async timeout.
+      mockMvc.perform(get("/garmin-sqlite/download").param("databaseName", "garmin.db"))
+          .andExpect(request().asyncNotStarted())
+          .andExpect(status().isOk())
+          .andExpect(content().string("PKEND"));
+   }
 }
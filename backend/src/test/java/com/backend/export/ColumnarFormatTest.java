@@ -0,0 +1,145 @@
+package com.backend.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.export.ColumnarWriter} and {@link com.backend.export.ColumnarReader}.
+
+ * Table of Contents:
+
+ *   1️⃣ ColumnarWriter / ColumnarReader round trip
+ *      - ✅ Restores typed values and nulls across several batches.
+ *      - ✅ Dictionary-encodes repeated strings.
+ *      - ✅ Coerces values SQLite stored with a different type than declared.
+ *   2️⃣ Error handling
+ *      - ❌ Rejects a value that does not fit the column type.
+ *      - ❌ Rejects a file that is not a columnar export.
+ */
+class ColumnarFormatTest {
+
+   private static final String[] COLUMNS = {"day", "steps", "weight", "sleep", "raw"};
+   private static final int[] SQL_TYPES = {Types.DATE, Types.INTEGER, Types.REAL, Types.VARCHAR, Types.BLOB};
+
+   /**
+    * 1️⃣ Test round trip
+    * - ✅ Restores typed values and nulls across several batches.
+    */
+   @Test
+   void testRoundTrip_TypedValuesAndNulls() throws IOException {
+      // GIVEN: Five rows written in batches of two, with nulls in every column.
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ColumnarWriter writer = new ColumnarWriter(out, 2);
+      writer.columns(COLUMNS, SQL_TYPES);
+      writer.row(new Object[] {"2025-01-30", 9000, 71.5, "07:30:00", new byte[] {1, 2}});
+      writer.row(new Object[] {"2025-01-31", null, null, "07:30:00", null});
+      writer.row(new Object[] {null, 12000L, 71.2, null, new byte[] {}});
+      writer.row(new Object[] {"2025-02-02", 0, 0.0, "06:45:00", new byte[] {3}});
+      writer.row(new Object[] {"2025-02-03", Long.MAX_VALUE, -1.25, "", null});
+      writer.finish();
+
+      // WHEN: Reading the file back.
+      ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(out.toByteArray()));
+      List<Map<String, Object>> rows = reader.readRows();
+
+      // THEN: Column types come from the SQL types, and every value and null is restored.
+      assertEquals(List.of(COLUMNS), reader.columnNames());
+      assertEquals(List.of(ColumnType.STRING, ColumnType.INT64, ColumnType.FLOAT64, ColumnType.STRING, ColumnType.BYTES),
+                   reader.columnTypes());
+      assertEquals(5, rows.size());
+      assertEquals("2025-01-30", rows.get(0).get("day"));
+      assertEquals(9000L, rows.get(0).get("steps"));
+      assertEquals(71.5, rows.get(0).get("weight"));
+      assertArrayEquals(new byte[] {1, 2}, (byte[]) rows.get(0).get("raw"));
+      assertNull(rows.get(1).get("steps"));
+      assertNull(rows.get(1).get("weight"));
+      assertNull(rows.get(1).get("raw"));
+      assertNull(rows.get(2).get("day"));
+      assertNull(rows.get(2).get("sleep"));
+      assertArrayEquals(new byte[] {}, (byte[]) rows.get(2).get("raw"));
+      assertEquals(0L, rows.get(3).get("steps"));
+      assertEquals(Long.MAX_VALUE, rows.get(4).get("steps"));
+      assertEquals(-1.25, rows.get(4).get("weight"));
+      assertEquals("", rows.get(4).get("sleep"));
+      assertNull(reader.nextBatch(), "Reading past the end should return null");
+   }
+
+   /**
+    * 1️⃣ Test round trip
+    * - ✅ Dictionary-encodes repeated strings.
+    */
+   @Test
+   void testDictionaryEncoding_RepeatedStringsStoredOnce() throws IOException {
+      // GIVEN: 1000 rows with the same long duration string.
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ColumnarWriter writer = new ColumnarWriter(out, 1000);
+      writer.columns(new String[] {"sleep"}, new int[] {Types.VARCHAR});
+      String duration = "07:30:00 (long enough to dominate the file size)";
+      for (int i = 0; i < 1000; i++) {
+         writer.row(new Object[] {duration});
+      }
+      writer.finish();
+
+      // THEN: The string is stored once and each row only costs a one-byte index and a validity bit.
+      assertTrue(out.size() < 1000 + 125 + 200, "Expected one dictionary entry, got " + out.size() + " bytes");
+      ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(out.toByteArray()));
+      ColumnarReader.Batch batch = reader.nextBatch();
+      assertEquals(1000, batch.rowCount());
+      assertEquals(duration, batch.getString(0, 999));
+   }
+
+   /**
+    * 1️⃣ Test round trip
+    * - ✅ Coerces values SQLite stored with a different type than declared.
+    */
+   @Test
+   void testCoercion_DynamicSqliteTypes() throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ColumnarWriter writer = new ColumnarWriter(out, 10);
+      writer.columns(new String[] {"steps", "weight", "note"}, new int[] {Types.INTEGER, Types.REAL, Types.VARCHAR});
+      writer.row(new Object[] {"42", 70, 3.5});
+      writer.row(new Object[] {true, "70.5", "ok".getBytes(StandardCharsets.UTF_8)});
+      writer.row(new Object[] {8.0, 71.0f, 7});
+      writer.finish();
+
+      List<Map<String, Object>> rows = new ColumnarReader(new ByteArrayInputStream(out.toByteArray())).readRows();
+
+      assertEquals(Map.of("steps", 42L, "weight", 70.0, "note", "3.5"), rows.get(0));
+      assertEquals(Map.of("steps", 1L, "weight", 70.5, "note", "ok"), rows.get(1));
+      assertEquals(Map.of("steps", 8L, "weight", 71.0, "note", "7"), rows.get(2));
+   }
+
+   /**
+    * 2️⃣ Test error handling
+    * - ❌ Rejects a value that does not fit the column type.
+    */
+   @Test
+   void testTypeMismatch_Throws() throws IOException {
+      ColumnarWriter writer = new ColumnarWriter(new ByteArrayOutputStream(), 10);
+      writer.columns(new String[] {"steps"}, new int[] {Types.INTEGER});
+
+      IOException exception = assertThrows(IOException.class, () -> writer.row(new Object[] {1.5}));
+      assertTrue(exception.getMessage().contains("steps"));
+      assertThrows(IOException.class, () -> writer.row(new Object[] {"many"}));
+   }
+
+   /**
+    * 2️⃣ Test error handling
+    * - ❌ Rejects a file that is not a columnar export.
+    */
+   @Test
+   void testReader_RejectsOtherFiles() {
+      byte[] json = "[{\"day\":\"2025-01-30\"}]".getBytes(StandardCharsets.UTF_8);
+
+      assertThrows(IOException.class, () -> new ColumnarReader(new ByteArrayInputStream(json)));
+   }
+}
@@ -0,0 +1,169 @@
+package com.backend.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.filters.ConcurrencyLimitFilter} and {@link com.backend.filters.AimdLimiter}.
+
+ * Table of Contents:
+
+ *   1️⃣ doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+ *      - ✅ Admits requests below the limit and releases their slot afterwards.
+ *      - ✅ Holds the slot of a streamed response until the async response completes.
+ *      - ❌ Rejects a request beyond the limit with 503 and Retry-After.
+ *      - ❌ Leaves endpoints that do not read MongoDB untouched.
+ *   2️⃣ AimdLimiter.release(long latencyNanos, boolean failed)
+ *      - ✅ Grows the limit while saturated requests stay within the latency target.
+ *      - ✅ Shrinks the limit on slow or failed requests, not below the minimum.
+ */
+class ConcurrencyLimitFilterTest {
+
+   private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+   private long now = 0;
+   private AimdLimiter limiter;
+   private ConcurrencyLimitFilter filter;
+
+   @BeforeEach
+   void setUp() {
+      limiter = new AimdLimiter(2, 1, 10, TARGET, 0.5);
+      filter = new ConcurrencyLimitFilter(new ObjectMapper(), limiter, () -> now);
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Admits requests below the limit and releases their slot afterwards.
+    */
+   @Test
+   void testBelowLimit_PassesThrough() throws Exception {
+      MockFilterChain chain = new MockFilterChain();
+      MockHttpServletResponse response = new MockHttpServletResponse();
+
+      filter.doFilter(new MockHttpServletRequest("GET", "/garmin/days"), response, chain);
+
+      assertEquals(200, response.getStatus());
+      assertNotNull(chain.getRequest());
+      assertEquals(0, filter.inFlight());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Holds the slot of a streamed response until the async response completes.
+    */
+   @Test
+   void testAsync_ReleasesOnCompletion() throws Exception {
+      // GIVEN: A controller that hands its body to the async writer.
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+      request.setAsyncSupported(true);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      FilterChain streaming = (req, res) -> req.startAsync();
+
+      // WHEN: The chain returns while the body is still being written.
+      filter.doFilter(request, response, streaming);
+
+      // THEN: The slot is held until the response completes, and released only once.
+      assertEquals(1, filter.inFlight());
+      now += TARGET * 2;
+      request.getAsyncContext().complete();
+      assertEquals(0, filter.inFlight());
+      assertEquals(1, filter.currentLimit(), "The slow stream counts against the latency target");
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Rejects a request beyond the limit with 503 and Retry-After.
+    */
+   @Test
+   void testAtLimit_Returns503() throws Exception {
+      // GIVEN: A controller that sends a second request while the first one is still running.
+      MockHttpServletResponse nested = new MockHttpServletResponse();
+      FilterChain slowController = (request, response) -> {
+         assertTrue(limiter.tryAcquire()); // Another request occupies the last slot
+         filter.doFilter(new MockHttpServletRequest("GET", "/garmin/years"), nested, new MockFilterChain());
+         limiter.release(0, false);
+      };
+
+      // WHEN: The first request runs.
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(new MockHttpServletRequest("GET", "/garmin/months"), response, slowController);
+
+      // THEN: The nested request was rejected right away; the first one completed.
+      assertEquals(503, nested.getStatus());
+      assertEquals("1", nested.getHeader("Retry-After"));
+      assertTrue(nested.getContentAsString().contains("Service Unavailable"));
+      assertEquals(200, response.getStatus());
+      assertEquals(1, filter.rejections());
+      assertEquals(0, filter.inFlight());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Leaves endpoints that do not read MongoDB untouched.
+    */
+   @Test
+   void testNotFiltered() throws Exception {
+      for (String path : new String[] {"/garmin/events", "/garmin/schema", "/garmin/admin/cache/stats"}) {
+         FilterChain chain = (request, response) -> assertEquals(0, filter.inFlight(), path);
+         filter.doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(), chain);
+      }
+      FilterChain dashboard = (request, response) -> assertEquals(1, filter.inFlight());
+      filter.doFilter(new MockHttpServletRequest("GET", "/garmin/dashboard"), new MockHttpServletResponse(), dashboard);
+   }
+
+   /**
+    * 2️⃣ Test AimdLimiter.release
+    * - ✅ Grows the limit while saturated requests stay within the latency target.
+    */
+   @Test
+   void testLimiter_AdditiveIncrease() {
+      // Two concurrent fast requests per round; the limit grows by about one per limit's worth of requests.
+      for (int round = 0; round < 5; round++) {
+         assertTrue(limiter.tryAcquire());
+         assertTrue(limiter.tryAcquire());
+         limiter.release(TARGET / 2, false);
+         limiter.release(TARGET / 2, false);
+      }
+      assertTrue(limiter.limit() >= 3, "The limit should have grown from 2");
+      assertTrue(limiter.limit() <= 10);
+   }
+
+   /**
+    * 2️⃣ Test AimdLimiter.release
+    * - ✅ Shrinks the limit on slow or failed requests, not below the minimum.
+    */
+   @Test
+   void testLimiter_MultiplicativeDecrease() throws Exception {
+      limiter = new AimdLimiter(8, 1, 10, TARGET, 0.5);
+
+      assertTrue(limiter.tryAcquire());
+      limiter.release(TARGET * 2, false);
+      assertEquals(4, limiter.limit());
+
+      assertTrue(limiter.tryAcquire());
+      limiter.release(0, true);
+      assertEquals(2, limiter.limit());
+
+      for (int i = 0; i < 5; i++) {
+         assertTrue(limiter.tryAcquire());
+         limiter.release(0, true);
+      }
+      assertEquals(1, limiter.limit());
+
+      // A slow request through the filter shrinks the limit the same way.
+      filter = new ConcurrencyLimitFilter(new ObjectMapper(), limiter, () -> now);
+      FilterChain failing = (request, response) -> ((HttpServletResponse) response).setStatus(500);
+      filter.doFilter(new MockHttpServletRequest("GET", "/garmin/stats"), new MockHttpServletResponse(), failing);
+      assertEquals(1, filter.currentLimit());
+   }
+}
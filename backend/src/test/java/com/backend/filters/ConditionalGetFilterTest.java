@@ -0,0 +1,308 @@
+package com.backend.filters;
+
+import com.backend.cache.SummaryCacheInvalidator;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.models.DataVersion;
+import com.backend.services.DataVersionService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.filters.ConditionalGetFilter} together with
+ * {@link com.backend.services.DataVersionService}.
+
+ * Table of Contents:
+
+ *   1️⃣ doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+ *      - ✅ Adds ETag, Last-Modified and a revalidation Cache-Control to a summary GET.
+ *      - ✅ Answers a matching If-None-Match with 304 without calling the controller.
+ *      - ✅ Serves the full response again after an ingest run bumped the data version.
+ *      - ✅ Uses the version returned by the atomic increment in MongoDB.
+ *      - ✅ Picks up a version bumped by another instance and evicts the periods it wrote.
+ *      - ✅ Lets the browser keep periods that ended before the current month.
+ *      - ❌ Sends neither validators nor a long max-age with error responses.
+ *      - ❌ Leaves admin endpoints and writes untouched.
+ *      - ❌ Passes requests through while the data versions are not loaded.
+ *   2️⃣ isClosed(Target target, String yearParam, LocalDate today)
+ *      - ✅ Treats periods ending before the current month and month listings of past years as closed.
+ */
+class ConditionalGetFilterTest {
+
+   private MongoTemplate mongoTemplate;
+   private SummaryCacheInvalidator summaryCacheInvalidator;
+   private DataVersionService dataVersionService;
+   private ConditionalGetFilter filter;
+
+   @BeforeEach
+   void setUp() {
+      mongoTemplate = Mockito.mock(MongoTemplate.class);
+      when(mongoTemplate.findAll(DataVersion.class)).thenReturn(List.of(
+          new DataVersion("DAY", 4, Instant.parse("2024-05-01T08:00:00Z")),
+          new DataVersion("DAY/2024-04-30", 4, Instant.parse("2024-04-30T21:00:00Z"))));
+      when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(DataVersion.class)))
+          .thenReturn(Mockito.mock(BulkOperations.class));
+
+      summaryCacheInvalidator = Mockito.mock(SummaryCacheInvalidator.class);
+      dataVersionService = new DataVersionService(mongoTemplate, summaryCacheInvalidator);
+      dataVersionService.loadVersions();
+      filter = new ConditionalGetFilter(dataVersionService, Duration.ofDays(7));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Adds ETag, Last-Modified and a revalidation Cache-Control to a summary GET.
+    */
+   @Test
+   void testFirstRequest_AddsValidators() throws Exception {
+      // GIVEN: A listing request without validators.
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      MockFilterChain chain = new MockFilterChain();
+
+      // WHEN: The request passes the filter.
+      filter.doFilter(request, response, chain);
+
+      // THEN: The controller ran and the response carries the validators.
+      assertNotNull(chain.getRequest(), "The request should reach the controller");
+      assertEquals(200, response.getStatus());
+      assertTrue(response.getHeader("ETag").startsWith("\"day-4-"));
+      assertEquals(Instant.parse("2024-05-01T08:00:00Z").toEpochMilli(), response.getDateHeader("Last-Modified"));
+      assertEquals("no-cache", response.getHeader("Cache-Control"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Answers a matching If-None-Match with 304 without calling the controller.
+    */
+   @Test
+   void testMatchingIfNoneMatch_Returns304() throws Exception {
+      String etag = firstResponse("/garmin/days/2024-04-30").getHeader("ETag");
+
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days/2024-04-30");
+      request.addHeader("If-None-Match", etag);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      MockFilterChain chain = new MockFilterChain();
+      filter.doFilter(request, response, chain);
+
+      assertEquals(304, response.getStatus());
+      assertNull(chain.getRequest(), "The controller should not be called");
+      assertEquals(Instant.parse("2024-04-30T21:00:00Z").toEpochMilli(), response.getDateHeader("Last-Modified"));
+      Mockito.verify(mongoTemplate, Mockito.times(1)).findAll(DataVersion.class); // Only the startup load
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Serves the full response again after an ingest run bumped the data version.
+    */
+   @Test
+   void testIngest_InvalidatesEtag() throws Exception {
+      // GIVEN: A client holding the ETag of a day listing.
+      String etag = firstResponse("/garmin/days").getHeader("ETag");
+
+      // WHEN: Day summaries are ingested and the client revalidates.
+      dataVersionService.onSummaryDataChanged(
+          new SummaryDataChangedEvent(SummaryType.DAY, Set.of(LocalDate.of(2024, 5, 2))));
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+      request.addHeader("If-None-Match", etag);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      MockFilterChain chain = new MockFilterChain();
+      filter.doFilter(request, response, chain);
+
+      // THEN: The full response is served with the new version.
+      assertEquals(200, response.getStatus());
+      assertNotNull(chain.getRequest());
+      assertTrue(response.getHeader("ETag").startsWith("\"day-5-"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Uses the version returned by the atomic increment in MongoDB.
+    */
+   @Test
+   void testIngest_UsesStoredVersion() throws Exception {
+      // GIVEN: Another instance already bumped DAY to 5 since the last refresh, so the increment returns 6.
+      when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(DataVersion.class)))
+          .thenReturn(new DataVersion("DAY", 6, Instant.parse("2024-05-03T08:00:00Z")));
+      when(mongoTemplate.find(any(Query.class), eq(DataVersion.class))).thenReturn(List.of(
+          new DataVersion("DAY/2024-05-01", 0, Instant.parse("2024-05-02T08:00:00Z"))));
+
+      // WHEN: This instance ingests a day.
+      dataVersionService.onSummaryDataChanged(
+          new SummaryDataChangedEvent(SummaryType.DAY, Set.of(LocalDate.of(2024, 5, 2))));
+
+      // THEN: The ETag carries the stored version, and the day the other instance wrote is evicted.
+      assertTrue(firstResponse("/garmin/days").getHeader("ETag").startsWith("\"day-6-"));
+      Mockito.verify(summaryCacheInvalidator).onSummaryDataChanged(
+          new SummaryDataChangedEvent(SummaryType.DAY, Set.of(LocalDate.of(2024, 5, 1))));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Picks up a version bumped by another instance and evicts the periods it wrote.
+    */
+   @Test
+   void testRefresh_PicksUpRemoteVersion() throws Exception {
+      // GIVEN: A client holding the ETag of a day, and another instance that re-ingested that day.
+      MockHttpServletResponse first = firstResponse("/garmin/days/2024-04-30");
+      when(mongoTemplate.find(any(Query.class), eq(DataVersion.class))).thenAnswer(invocation -> {
+         // The type counters are read with {_id: {$in: [...]}}, the periods of a type with an _id regex.
+         boolean typeQuery = invocation.getArgument(0, Query.class).getQueryObject().get("_id") instanceof Document;
+         return typeQuery
+             ? List.of(new DataVersion("DAY", 5, Instant.parse("2024-05-02T08:00:00Z")))
+             : List.of(new DataVersion("DAY/2024-04-30", 0, Instant.parse("2024-05-02T08:00:00Z")));
+      });
+
+      // WHEN: The versions are refreshed and the client revalidates with its ETag.
+      dataVersionService.refreshVersions();
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days/2024-04-30");
+      request.addHeader("If-None-Match", first.getHeader("ETag"));
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(request, response, new MockFilterChain());
+
+      // THEN: The day was evicted locally and is served in full with the new version and timestamp.
+      Mockito.verify(summaryCacheInvalidator).onSummaryDataChanged(
+          new SummaryDataChangedEvent(SummaryType.DAY, Set.of(LocalDate.of(2024, 4, 30))));
+      assertEquals(200, response.getStatus());
+      assertTrue(response.getHeader("ETag").startsWith("\"day-5-"));
+      assertEquals(Instant.parse("2024-05-02T08:00:00Z").toEpochMilli(), response.getDateHeader("Last-Modified"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Lets the browser keep periods that ended before the current month.
+    */
+   @Test
+   void testClosedPeriod_LongLivedCacheControl() throws Exception {
+      MockHttpServletResponse response = firstResponse("/garmin/days/2020-01-15");
+
+      assertEquals("max-age=604800, private", response.getHeader("Cache-Control"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Sends neither validators nor a long max-age with error responses.
+    */
+   @Test
+   void testErrorResponse_NoValidators() throws Exception {
+      // GIVEN: A closed day that the controller does not find, once via sendError and once with a body.
+      HttpServlet sendError = new HttpServlet() {
+         @Override
+         protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.sendError(404);
+         }
+      };
+      HttpServlet errorBody = new HttpServlet() {
+         @Override
+         protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setStatus(404);
+            resp.getWriter().write("{\"error\":\"Not found\"}");
+         }
+      };
+
+      for (HttpServlet servlet : List.of(sendError, errorBody)) {
+         // WHEN: The request passes the filter.
+         MockHttpServletResponse response = new MockHttpServletResponse();
+         filter.doFilter(new MockHttpServletRequest("GET", "/garmin/days/2020-01-15"), response, new MockFilterChain(servlet));
+
+         // THEN: The 404 must be revalidated and carries no validators.
+         assertEquals(404, response.getStatus());
+         assertNull(response.getHeader("ETag"));
+         assertNull(response.getHeader("Last-Modified"));
+         assertEquals("no-cache", response.getHeader("Cache-Control"));
+      }
+
+      // THEN: A successful response for the same day still gets them.
+      HttpServlet found = new HttpServlet() {
+         @Override
+         protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.getWriter().write("{}");
+         }
+      };
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(new MockHttpServletRequest("GET", "/garmin/days/2020-01-15"), response, new MockFilterChain(found));
+      assertNotNull(response.getHeader("ETag"));
+      assertEquals("max-age=604800, private", response.getHeader("Cache-Control"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Leaves admin endpoints and writes untouched.
+    */
+   @Test
+   void testNotFiltered_AdminAndWrites() throws Exception {
+      MockHttpServletResponse admin = firstResponse("/garmin/admin/cache/stats");
+      assertNull(admin.getHeader("ETag"));
+
+      MockHttpServletResponse write = new MockHttpServletResponse();
+      filter.doFilter(new MockHttpServletRequest("POST", "/garmin/process/days"), write, new MockFilterChain());
+      assertNull(write.getHeader("ETag"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Passes requests through while the data versions are not loaded.
+    */
+   @Test
+   void testVersionsNotLoaded_PassesThrough() throws Exception {
+      filter = new ConditionalGetFilter(new DataVersionService(mongoTemplate, summaryCacheInvalidator), Duration.ofDays(7));
+
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/years");
+      request.addHeader("If-None-Match", "*");
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      MockFilterChain chain = new MockFilterChain();
+      filter.doFilter(request, response, chain);
+
+      assertEquals(200, response.getStatus());
+      assertNotNull(chain.getRequest());
+      assertNull(response.getHeader("ETag"));
+   }
+
+   /**
+    * 2️⃣ Test isClosed
+    * - ✅ Treats periods ending before the current month and month listings of past years as closed.
+    */
+   @Test
+   void testIsClosed() {
+      LocalDate today = LocalDate.of(2024, 5, 15);
+
+      assertTrue(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/days/2024-04-30"), null, today));
+      assertFalse(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/days/2024-05-01"), null, today));
+      // The week starting 2024-04-29 runs into May.
+      assertFalse(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/weeks/2024-04-29"), null, today));
+      assertTrue(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/months"), "2023", today));
+      assertFalse(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/months"), "2024", today));
+      assertFalse(ConditionalGetFilter.isClosed(ConditionalGetFilter.resolve("/garmin/years"), null, today));
+   }
+
+   private MockHttpServletResponse firstResponse(String path) throws Exception {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+      return response;
+   }
+}
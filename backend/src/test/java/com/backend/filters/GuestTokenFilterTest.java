@@ -0,0 +1,103 @@
+package com.backend.filters;
+
+import com.backend.services.GuestTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.filters.GuestTokenFilter}.
+
+ * Table of Contents:
+
+ *   1️⃣ doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+ *      - ✅ Marks a request with a valid guest cookie as an anonymous guest, without creating a session.
+ *      - ✅ Keeps a logged-in admin's authentication.
+ *      - ❌ Ignores a missing or forged guest cookie.
+ */
+class GuestTokenFilterTest {
+
+   private final GuestTokenService guestTokenService = new GuestTokenService("test-secret", Duration.ofHours(1));
+   private final GuestTokenFilter filter = new GuestTokenFilter(guestTokenService);
+
+   @AfterEach
+   void tearDown() {
+      SecurityContextHolder.clearContext();
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Marks a request with a valid guest cookie as an anonymous guest, without creating a session.
+    */
+   @Test
+   void testValidCookie_AuthenticatesGuest() throws Exception {
+      // GIVEN: A request carrying a guest token.
+      String token = guestTokenService.issue();
+      String guestId = guestTokenService.verify(token).orElseThrow();
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+      request.setCookies(new Cookie(GuestTokenService.GUEST_COOKIE, token));
+
+      // WHEN: The request passes the filter.
+      AtomicReference<Authentication> seen = new AtomicReference<>();
+      FilterChain chain = (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication());
+      filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+      // THEN: The request is a guest request, still anonymous for the authorization rules.
+      assertInstanceOf(AnonymousAuthenticationToken.class, seen.get());
+      assertEquals("guest:" + guestId, seen.get().getPrincipal());
+      assertTrue(seen.get().getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_GUEST")));
+      assertEquals(guestId, request.getAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE));
+      assertNull(request.getSession(false));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Keeps a logged-in admin's authentication.
+    */
+   @Test
+   void testAdmin_KeepsAuthentication() throws Exception {
+      Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of());
+      SecurityContextHolder.getContext().setAuthentication(admin);
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+      request.setCookies(new Cookie(GuestTokenService.GUEST_COOKIE, guestTokenService.issue()));
+
+      AtomicReference<Authentication> seen = new AtomicReference<>();
+      filter.doFilter(request, new MockHttpServletResponse(),
+                      (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+      assertSame(admin, seen.get());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Ignores a missing or forged guest cookie.
+    */
+   @Test
+   void testInvalidCookie_Ignored() throws Exception {
+      GuestTokenService otherSecret = new GuestTokenService("other-secret", Duration.ofHours(1));
+      for (Cookie[] cookies : new Cookie[][] {{}, {new Cookie(GuestTokenService.GUEST_COOKIE, otherSecret.issue())}}) {
+         MockHttpServletRequest request = new MockHttpServletRequest("GET", "/garmin/days");
+         request.setCookies(cookies);
+
+         AtomicReference<Authentication> seen = new AtomicReference<>();
+         filter.doFilter(request, new MockHttpServletResponse(),
+                         (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+         assertNull(seen.get());
+         assertNull(request.getAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE));
+      }
+   }
+}
@@ -0,0 +1,269 @@
+package com.backend.filters;
+
+import com.backend.services.GarminDashboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.filters.RateLimitFilter}.
+
+ * Table of Contents:
+
+ *   1️⃣ doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+ *      - ✅ Lets requests through while the client has tokens.
+ *      - ❌ Rejects a client that ran out of tokens with 429 and Retry-After, without affecting others.
+ *      - ✅ Admits the client again once the bucket has refilled.
+ *      - ❌ Leaves admin endpoints and writes untouched.
+ *      - ❌ Charges fresh guest tokens from one IP address to a shared IP bucket.
+ *      - ❌ Meters guest token requests per IP address.
+ *      - ❌ Charges minted guest tokens to the shared IP bucket their reads use.
+ *   2️⃣ cost(HttpServletRequest request)
+ *      - ✅ Scales with the requested limit, capped at a maximal page; streams cost a maximal page.
+ *      - ✅ Charges the dashboard one token per part.
+ *   3️⃣ clientKey(HttpServletRequest request)
+ *      - ✅ Uses the guest token or an established session, the IP address otherwise.
+ *   4️⃣ evictIdleClients()
+ *      - ✅ Drops the buckets of idle clients only.
+ */
+class RateLimitFilterTest {
+
+   private long now = 0;
+   private RateLimitFilter filter;
+
+   @BeforeEach
+   void setUp() {
+      // 20 tokens, refilled at 10 per second; 80 tokens shared by the guests of one IP address.
+      filter = new RateLimitFilter(new ObjectMapper(), 20, 10, 4, () -> now);
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Lets requests through while the client has tokens.
+    */
+   @Test
+   void testWithinLimit_PassesThrough() throws Exception {
+      MockFilterChain chain = new MockFilterChain();
+      MockHttpServletResponse response = new MockHttpServletResponse();
+
+      filter.doFilter(request("/garmin/days", "1.1.1.1"), response, chain);
+
+      assertEquals(200, response.getStatus());
+      assertNotNull(chain.getRequest());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Rejects a client that ran out of tokens with 429 and Retry-After, without affecting others.
+    */
+   @Test
+   void testExhausted_Returns429() throws Exception {
+      // GIVEN: A client that spent its 20 tokens on two pages of 270 days (1 + 9 tokens each).
+      for (int i = 0; i < 2; i++) {
+         MockHttpServletRequest request = request("/garmin/days", "1.1.1.1");
+         request.setParameter("limit", "270");
+         assertEquals(200, send(request).getStatus());
+      }
+
+      // WHEN: The client sends another request.
+      MockFilterChain chain = new MockFilterChain();
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(request("/garmin/years", "1.1.1.1"), response, chain);
+
+      // THEN: It is rejected before reaching the controller; another client is not affected.
+      assertEquals(429, response.getStatus());
+      assertNull(chain.getRequest());
+      assertEquals("1", response.getHeader("Retry-After"));
+      assertTrue(response.getContentAsString().contains("Too Many Requests"));
+      assertEquals(1, filter.rejections());
+      assertEquals(200, send(request("/garmin/years", "2.2.2.2")).getStatus());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Admits the client again once the bucket has refilled.
+    */
+   @Test
+   void testRefill_AdmitsAgain() throws Exception {
+      MockHttpServletRequest stream = request("/garmin/days", "1.1.1.1");
+      stream.setParameter("stream", "true");
+      assertEquals(200, send(stream).getStatus()); // 1 + 13 tokens, 6 left
+      MockHttpServletRequest page = request("/garmin/days", "1.1.1.1");
+      page.setParameter("limit", "300");
+      assertEquals(429, send(page).getStatus()); // Needs 11
+
+      now += TimeUnit.MILLISECONDS.toNanos(500); // +5 tokens
+
+      assertEquals(200, send(page).getStatus());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Leaves admin endpoints and writes untouched.
+    */
+   @Test
+   void testNotFiltered_AdminAndWrites() throws Exception {
+      for (int i = 0; i < 50; i++) {
+         assertEquals(200, send(request("/garmin/admin/cache/stats", "1.1.1.1")).getStatus());
+         MockHttpServletRequest write = request("/garmin/process/days", "1.1.1.1");
+         write.setMethod("POST");
+         assertEquals(200, send(write).getStatus());
+      }
+      assertEquals(0, filter.trackedClients());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Charges fresh guest tokens from one IP address to a shared IP bucket.
+    */
+   @Test
+   void testNewGuestTokens_ShareIpBucket() throws Exception {
+      // GIVEN: A client that spent the 80 tokens of its IP address with four guest tokens (2 × 10 tokens each).
+      for (int guest = 0; guest < 4; guest++) {
+         for (int i = 0; i < 2; i++) {
+            assertEquals(200, send(guestPage("g" + guest, "1.1.1.1")).getStatus());
+         }
+      }
+
+      // WHEN: It mints a fifth guest token, whose own bucket is full.
+      MockHttpServletResponse response = send(guestPage("g4", "1.1.1.1"));
+
+      // THEN: The request is rejected; a guest from another address is not affected.
+      assertEquals(429, response.getStatus());
+      assertEquals(200, send(guestPage("g5", "2.2.2.2")).getStatus());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Meters guest token requests per IP address.
+    */
+   @Test
+   void testGuestLogin_MeteredPerIp() throws Exception {
+      // GIVEN: An IP address that requested 80 guest tokens, half of them while holding one.
+      for (int i = 0; i < 80; i++) {
+         MockHttpServletRequest request = request("/auth/guest", "1.1.1.1");
+         if (i % 2 == 0) {
+            request.setAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE, "g" + i);
+         }
+         assertEquals(200, send(request).getStatus());
+      }
+
+      // THEN: Its shared bucket is empty; another address is not affected.
+      assertEquals(429, send(request("/auth/guest", "1.1.1.1")).getStatus());
+      assertEquals(200, send(request("/auth/guest", "2.2.2.2")).getStatus());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Charges minted guest tokens to the shared IP bucket their reads use.
+    */
+   @Test
+   void testGuestLogin_ChargedToSharedIpBucket() throws Exception {
+      // GIVEN: An IP address that minted 70 guest tokens, leaving 10 of its 80 shared tokens.
+      for (int i = 0; i < 70; i++) {
+         assertEquals(200, send(request("/auth/guest", "1.1.1.1")).getStatus());
+      }
+
+      // WHEN: Two fresh guests each read a page of 270 days (10 tokens).
+      MockHttpServletResponse first = send(guestPage("g0", "1.1.1.1"));
+      MockHttpServletResponse second = send(guestPage("g1", "1.1.1.1"));
+
+      // THEN: Only the first read fits into the shared bucket, although each guest bucket is full.
+      assertEquals(200, first.getStatus());
+      assertEquals(429, second.getStatus());
+   }
+
+   /**
+    * 2️⃣ Test cost
+    * - ✅ Scales with the requested limit, capped at a maximal page; streams cost a maximal page.
+    */
+   @Test
+   void testCost() {
+      MockHttpServletRequest request = request("/garmin/days", "1.1.1.1");
+      assertEquals(1, RateLimitFilter.cost(request));
+
+      request.setParameter("limit", "30");
+      assertEquals(2, RateLimitFilter.cost(request));
+      request.setParameter("limit", "31");
+      assertEquals(3, RateLimitFilter.cost(request));
+      request.setParameter("limit", "100000");
+      assertEquals(14, RateLimitFilter.cost(request));
+      request.setParameter("limit", "abc");
+      assertEquals(1, RateLimitFilter.cost(request));
+
+      MockHttpServletRequest stream = request("/garmin/weeks", "1.1.1.1");
+      stream.addHeader("Accept", "application/x-ndjson");
+      assertEquals(14, RateLimitFilter.cost(stream));
+   }
+
+   /**
+    * 2️⃣ Test cost
+    * - ✅ Charges the dashboard one token per part.
+    */
+   @Test
+   void testCost_Dashboard() {
+      assertEquals(GarminDashboardService.PARTS, RateLimitFilter.cost(request("/garmin/dashboard", "1.1.1.1")));
+   }
+
+   /**
+    * 3️⃣ Test clientKey
+    * - ✅ Uses the guest token or an established session, the IP address otherwise.
+    */
+   @Test
+   void testClientKey() {
+      MockHttpServletRequest request = request("/garmin/days", "1.1.1.1");
+      assertEquals("ip:1.1.1.1", RateLimitFilter.clientKey(request));
+
+      MockHttpSession session = new MockHttpSession(null, "abc");
+      request.setSession(session);
+      assertEquals("ip:1.1.1.1", RateLimitFilter.clientKey(request), "A new session may be a client dropping its cookie");
+
+      session.setNew(false);
+      assertEquals("session:abc", RateLimitFilter.clientKey(request));
+
+      request.setAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE, "g1");
+      assertEquals("guest:g1", RateLimitFilter.clientKey(request));
+   }
+
+   /**
+    * 4️⃣ Test evictIdleClients
+    * - ✅ Drops the buckets of idle clients only.
+    */
+   @Test
+   void testEvictIdleClients() throws Exception {
+      send(request("/garmin/days", "1.1.1.1"));
+      now += TimeUnit.SECONDS.toNanos(1); // 1.1.1.1 has refilled
+      send(request("/garmin/days", "2.2.2.2"));
+
+      filter.evictIdleClients();
+
+      assertEquals(1, filter.trackedClients());
+   }
+
+   private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(request, response, new MockFilterChain());
+      return response;
+   }
+
+   private static MockHttpServletRequest guestPage(String guestId, String ip) {
+      MockHttpServletRequest request = request("/garmin/days", ip);
+      request.setParameter("limit", "270");
+      request.setAttribute(GuestTokenFilter.GUEST_ID_ATTRIBUTE, guestId);
+      return request;
+   }
+
+   private static MockHttpServletRequest request(String path, String ip) {
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+      request.setRemoteAddr(ip);
+      return request;
+   }
+}
@@ -0,0 +1,222 @@
+package com.backend.filters;
+
+import com.backend.cache.SummaryCacheInvalidator;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.models.DataVersion;
+import com.backend.services.DataVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.filters.ResponseCacheFilter}.
+
+ * Table of Contents:
+
+ *   1️⃣ doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+ *      - ✅ Serves a repeated request from the stored bytes without calling the controller.
+ *      - ✅ Writes the gzip encoding when the client accepts it.
+ *      - ✅ Calls the controller again after an ingest run bumped the data version.
+ *      - ❌ Does not cache error responses.
+ *      - ✅ Keys only on the parameters the endpoint reads, and passes invalid ones through.
+ *      - ✅ Evicts the least recently used entries once the total size is exceeded.
+ *   2️⃣ acceptsGzip(String acceptEncoding)
+ *      - ✅ Honours explicit codings, wildcards and q=0.
+ */
+class ResponseCacheFilterTest {
+
+   private static final String BODY = "[{\"firstDay\":\"2024-01-01\"}]";
+
+   private DataVersionService dataVersionService;
+   private ResponseCacheFilter filter;
+   private final AtomicInteger controllerCalls = new AtomicInteger();
+   private int controllerStatus = 200;
+
+   // Stands in for the controller: counts its calls and writes a JSON body.
+   private final FilterChain controller = (request, response) -> {
+      controllerCalls.incrementAndGet();
+      HttpServletResponse httpResponse = (HttpServletResponse) response;
+      httpResponse.setStatus(controllerStatus);
+      httpResponse.setContentType("application/json");
+      httpResponse.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+   };
+
+   @BeforeEach
+   void setUp() {
+      MongoTemplate mongoTemplate = Mockito.mock(MongoTemplate.class);
+      when(mongoTemplate.findAll(DataVersion.class))
+          .thenReturn(List.of(new DataVersion("YEAR", 1, Instant.parse("2024-05-01T08:00:00Z"))));
+      when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(DataVersion.class)))
+          .thenReturn(Mockito.mock(BulkOperations.class));
+      dataVersionService = new DataVersionService(mongoTemplate, Mockito.mock(SummaryCacheInvalidator.class));
+      dataVersionService.loadVersions();
+      filter = new ResponseCacheFilter(dataVersionService, DataSize.ofKilobytes(64));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Serves a repeated request from the stored bytes without calling the controller.
+    */
+   @Test
+   void testRepeatedRequest_ServedFromCache() throws Exception {
+      // GIVEN: A first request that fills the cache.
+      MockHttpServletResponse first = get("/garmin/years", null);
+
+      // WHEN: The same request is made again.
+      MockHttpServletResponse second = get("/garmin/years", null);
+
+      // THEN: The controller ran once and both responses carry the same JSON.
+      assertEquals(1, controllerCalls.get());
+      assertEquals(BODY, first.getContentAsString());
+      assertEquals(BODY, second.getContentAsString());
+      assertEquals("application/json", second.getContentType());
+      assertNull(second.getHeader("Content-Encoding"));
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Writes the gzip encoding when the client accepts it.
+    */
+   @Test
+   void testGzipAccepted_WritesCompressedBytes() throws Exception {
+      get("/garmin/years", null);
+
+      MockHttpServletResponse response = get("/garmin/years", "gzip, deflate, br");
+
+      assertEquals("gzip", response.getHeader("Content-Encoding"));
+      try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+         assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+      assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Calls the controller again after an ingest run bumped the data version.
+    */
+   @Test
+   void testIngest_MissesAfterVersionBump() throws Exception {
+      get("/garmin/years", null);
+
+      dataVersionService.onSummaryDataChanged(
+          new SummaryDataChangedEvent(SummaryType.YEAR, Set.of(LocalDate.of(2024, 1, 1))));
+      get("/garmin/years", null);
+
+      assertEquals(2, controllerCalls.get());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ❌ Does not cache error responses.
+    */
+   @Test
+   void testErrorResponse_NotCached() throws Exception {
+      controllerStatus = 500;
+
+      MockHttpServletResponse first = get("/garmin/years", null);
+      get("/garmin/years", null);
+
+      assertEquals(500, first.getStatus());
+      assertEquals(BODY, first.getContentAsString(), "The error body is still written through");
+      assertEquals(2, controllerCalls.get());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Keys only on the parameters the endpoint reads, and passes invalid ones through.
+    */
+   @Test
+   void testQueryNormalized_UnknownParametersShareEntry() throws Exception {
+      // GIVEN: A cached listing for two fields.
+      get("/garmin/years?fields=hrAvg,rhrAvg", null);
+
+      // WHEN: The same fields are requested in another order, with an extra cache-busting parameter.
+      MockHttpServletResponse response = get("/garmin/years?fields=rhrAvg,hrAvg&nonce=123", null);
+
+      // THEN: The stored response is served.
+      assertEquals(1, controllerCalls.get());
+      assertEquals(BODY, response.getContentAsString());
+
+      // WHEN: An unknown field is requested twice.
+      get("/garmin/years?fields=notAMetric", null);
+      get("/garmin/years?fields=notAMetric", null);
+
+      // THEN: Both requests reach the controller, which rejects them.
+      assertEquals(3, controllerCalls.get());
+   }
+
+   /**
+    * 1️⃣ Test doFilterInternal
+    * - ✅ Evicts the least recently used entries once the total size is exceeded.
+    */
+   @Test
+   void testMaxSize_EvictsLeastRecentlyUsed() throws Exception {
+      // GIVEN: A cache with room for two responses.
+      filter = new ResponseCacheFilter(dataVersionService, DataSize.ofBytes(400));
+      get("/garmin/years?fields=hrAvg", null);
+      get("/garmin/years?fields=rhrAvg", null);
+
+      // WHEN: The first entry is used again and a third response is stored.
+      get("/garmin/years?fields=hrAvg", null);
+      get("/garmin/years?fields=sleepAvg", null);
+
+      // THEN: The second entry was evicted, the recently used first one was kept.
+      assertEquals(3, controllerCalls.get());
+      get("/garmin/years?fields=hrAvg", null);
+      assertEquals(3, controllerCalls.get());
+      get("/garmin/years?fields=rhrAvg", null);
+      assertEquals(4, controllerCalls.get());
+   }
+
+   /**
+    * 2️⃣ Test acceptsGzip
+    * - ✅ Honours explicit codings, wildcards and q=0.
+    */
+   @Test
+   void testAcceptsGzip() {
+      assertTrue(ResponseCacheFilter.acceptsGzip("gzip, deflate, br"));
+      assertTrue(ResponseCacheFilter.acceptsGzip("br;q=1.0, *;q=0.5"));
+      assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=0, br"));
+      assertFalse(ResponseCacheFilter.acceptsGzip("identity"));
+      assertFalse(ResponseCacheFilter.acceptsGzip(null));
+   }
+
+   private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+      MockHttpServletRequest request = new MockHttpServletRequest("GET", path.split("\\?")[0]);
+      if (path.contains("?")) {
+         request.setQueryString(path.substring(path.indexOf('?') + 1));
+         for (String parameter : request.getQueryString().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            request.addParameter(pair[0], pair[1]);
+         }
+      }
+      if (acceptEncoding != null) {
+         request.addHeader("Accept-Encoding", acceptEncoding);
+      }
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(request, response, controller);
+      return response;
+   }
+}
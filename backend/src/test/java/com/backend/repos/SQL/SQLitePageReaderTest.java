@@ -0,0 +1,299 @@
+package com.backend.repos.SQL;
+
+import com.backend.config.GarminDatabaseConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.repos.SQL.SQLitePageReader}, against files written by sqlite-jdbc.
+
+ * Table of Contents:
+
+ *   1️⃣ scan(String tableName, Consumer rows)
+ *      - ✅ Returns the same values and value types as JDBC across interior, leaf and overflow pages.
+ *      - ✅ Reads columns added by ALTER TABLE as null for older rows.
+ *   2️⃣ Unsupported files and tables
+ *      - ❌ Rejects WITHOUT ROWID tables, pending WAL files and files that are not SQLite databases.
+ *   3️⃣ GarminSQLiteRepo.fetchTableData with the page reader enabled
+ *      - ✅ Matches the JDBC result and falls back to JDBC for tables the page reader cannot read.
+ *      - ✅ Falls back to JDBC when decoding an unexpected schema fails with a runtime exception.
+ *      - ✅ Reuses the mapped file until it changes, then reads the new rows.
+ *      - ✅ Keeps the mapping when one table falls back, and drops it when the file has a pending WAL.
+ */
+class SQLitePageReaderTest {
+
+   private static final String DAYS_TABLE = "CREATE TABLE days_summary (\n\tday DATE NOT NULL, \n\thr_avg FLOAT, "
+       + "\n\tsteps INTEGER, \n\tsleep_avg TIME, \n\tnotes VARCHAR(20), \n\traw BLOB, \n\tPRIMARY KEY (day)\n)";
+
+   @TempDir
+   Path dir;
+
+   /**
+    * 1️⃣ Test scan
+    * - ✅ Returns the same values and value types as JDBC across interior, leaf and overflow pages.
+    */
+   @Test
+   void testScan_MatchesJdbc() throws Exception {
+      // GIVEN: Enough rows for a multi-level B-tree, integral FLOAT values, 64-bit integers and text larger than a page.
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute("PRAGMA page_size=1024");
+         stmt.execute(DAYS_TABLE);
+         stmt.execute("CREATE TABLE \"sleep events\" (id INTEGER PRIMARY KEY, [event name] TEXT DEFAULT 'a,b', duration INT)");
+         connection.setAutoCommit(false);
+         try (PreparedStatement insert = connection.prepareStatement("INSERT INTO days_summary VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < 3000; i++) {
+               insert.setString(1, LocalDate.of(2020, 1, 1).plusDays(i).toString());
+               insert.setObject(2, i % 5 == 0 ? null : i % 2 == 0 ? (Object) 60 : (Object) 61.25);
+               insert.setLong(3, i % 3 == 0 ? 5_000_000_000L * (i % 2 == 0 ? 1 : -1) : i - 100);
+               insert.setString(4, i % 4 == 0 ? null : "07:30:00");
+               insert.setString(5, i % 250 == 0 ? "é✓".repeat(1500) : "day " + i);
+               insert.setBytes(6, i % 100 == 0 ? new byte[3000 + i] : null);
+               insert.addBatch();
+            }
+            insert.executeBatch();
+         }
+         stmt.execute("INSERT INTO \"sleep events\" VALUES (-7, 'deep', 3600), (3000000000, NULL, NULL)");
+         connection.commit();
+      }
+
+      // WHEN / THEN: Both tables read the same as SELECT * through JDBC.
+      SQLitePageReader reader = SQLitePageReader.open(db);
+      assertArrayEquals(new String[] {"day", "hr_avg", "steps", "sleep_avg", "notes", "raw"}, reader.columnNames("days_summary"));
+      assertRowsEqual(jdbcRows(db, "days_summary"), pageRows(reader, "days_summary"));
+      assertArrayEquals(new String[] {"id", "event name", "duration"}, reader.columnNames("sleep events"));
+      assertRowsEqual(jdbcRows(db, "\"sleep events\""), pageRows(reader, "sleep events"));
+      assertEquals(60.0, pageRows(reader, "days_summary").get(2)[1], "Integral FLOAT values are read back as Double");
+   }
+
+   /**
+    * 1️⃣ Test scan
+    * - ✅ Reads columns added by ALTER TABLE as null for older rows.
+    */
+   @Test
+   void testScan_AddedColumn() throws Exception {
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute("CREATE TABLE weeks_summary (first_day DATE, steps INTEGER)");
+         stmt.execute("INSERT INTO weeks_summary VALUES ('2025-01-06', 50000)");
+         stmt.execute("ALTER TABLE weeks_summary ADD COLUMN hr_avg REAL");
+         stmt.execute("INSERT INTO weeks_summary VALUES ('2025-01-13', 61000, 58)");
+      }
+
+      List<Object[]> rows = pageRows(SQLitePageReader.open(db), "weeks_summary");
+
+      assertArrayEquals(new Object[] {"2025-01-06", 50000, null}, rows.get(0));
+      assertArrayEquals(new Object[] {"2025-01-13", 61000, 58.0}, rows.get(1));
+   }
+
+   /**
+    * 2️⃣ Test unsupported input
+    * - ❌ Rejects WITHOUT ROWID tables, pending WAL files and files that are not SQLite databases.
+    */
+   @Test
+   void testUnsupported_ThrowsIOException() throws Exception {
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute("CREATE TABLE settings (key TEXT PRIMARY KEY, value TEXT) WITHOUT ROWID");
+         stmt.execute("INSERT INTO settings VALUES ('units', 'metric')");
+      }
+      SQLitePageReader reader = SQLitePageReader.open(db);
+      assertThrows(SQLitePageReader.UnsupportedTableException.class, () -> reader.scan("settings", row -> {}));
+      assertThrows(SQLitePageReader.UnsupportedTableException.class, () -> reader.scan("missing", row -> {}));
+
+      Path wal = dir.resolve("wal.db");
+      try (Connection connection = connect(wal); Statement stmt = connection.createStatement()) {
+         stmt.execute("PRAGMA journal_mode=WAL");
+         stmt.execute("CREATE TABLE days_summary (day DATE)");
+         // The open connection keeps the committed table in the WAL, not in the database file.
+         assertThrows(IOException.class, () -> SQLitePageReader.open(wal));
+      }
+
+      Path text = Files.writeString(dir.resolve("notes.db"), "not a database".repeat(10));
+      assertThrows(IOException.class, () -> SQLitePageReader.open(text));
+   }
+
+   /**
+    * 3️⃣ Test GarminSQLiteRepo.fetchTableData with the page reader enabled
+    * - ✅ Matches the JDBC result and falls back to JDBC for tables the page reader cannot read.
+    */
+   @Test
+   void testFetchTableData_PageReaderWithJdbcFallback() throws Exception {
+      // GIVEN: A rowid table and a WITHOUT ROWID table, and repos with and without the page reader.
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute(DAYS_TABLE);
+         stmt.execute("INSERT INTO days_summary VALUES ('2025-01-30', 61, 9000, '07:30:00', NULL, NULL),"
+                          + " ('2025-01-31', NULL, NULL, NULL, 'rest', x'01')");
+         stmt.execute("CREATE TABLE settings (key TEXT PRIMARY KEY, value TEXT) WITHOUT ROWID");
+         stmt.execute("INSERT INTO settings VALUES ('units', 'metric')");
+      }
+      GarminDatabaseConfig config = mock(GarminDatabaseConfig.class);
+      when(config.getDatabasePath("garmin.db")).thenReturn(db);
+      when(config.getConnection("garmin.db")).thenAnswer(invocation -> connect(db));
+      GarminSQLiteRepo jdbcRepo = new GarminSQLiteRepo(config, false);
+      GarminSQLiteRepo pageRepo = new GarminSQLiteRepo(config, true);
+
+      // WHEN / THEN: Both return the same rows, including the table only JDBC can read.
+      List<Map<String, Object>> days = pageRepo.fetchTableData("garmin.db", "days_summary");
+      assertEquals(2, days.size());
+      assertEquals(61.0, days.getFirst().get("hr_avg"));
+      assertEquals(mapsWithHexBlobs(jdbcRepo.fetchTableData("garmin.db", "days_summary")), mapsWithHexBlobs(days));
+      assertEquals(List.of(Map.of("key", "units", "value", "metric")), pageRepo.fetchTableData("garmin.db", "settings"));
+   }
+
+   /**
+    * 3️⃣ Test GarminSQLiteRepo.fetchTableData with the page reader enabled
+    * - ✅ Falls back to JDBC when decoding an unexpected schema fails with a runtime exception.
+    */
+   @Test
+   void testFetchTableData_RuntimeExceptionFallsBackToJdbc() throws Exception {
+      // GIVEN: A table whose CREATE statement is stored as a BLOB, which SQLite accepts but the page reader does not expect.
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute("CREATE TABLE sleep (id INTEGER PRIMARY KEY, score INTEGER)");
+         stmt.execute("INSERT INTO sleep VALUES (1, 80)");
+         stmt.execute("PRAGMA writable_schema=ON");
+         stmt.execute("UPDATE sqlite_master SET sql = CAST(sql AS BLOB) WHERE name = 'sleep'");
+      }
+      assertThrows(ClassCastException.class, () -> SQLitePageReader.open(db).scan("sleep", row -> {}));
+
+      // WHEN / THEN: The repo still returns the rows, through JDBC.
+      assertEquals(List.of(Map.of("id", 1, "score", 80)), pageRepo(db).fetchTableData("garmin.db", "sleep"));
+   }
+
+   /**
+    * 3️⃣ Test GarminSQLiteRepo.fetchTableData with the page reader enabled
+    * - ✅ Reuses the mapped file until it changes, then reads the new rows.
+    */
+   @Test
+   void testFetchTableData_RemapsChangedFile() throws Exception {
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute(DAYS_TABLE);
+         stmt.execute("INSERT INTO days_summary VALUES ('2025-01-30', 61, 9000, '07:30:00', NULL, NULL)");
+      }
+      GarminSQLiteRepo repo = pageRepo(db);
+      assertEquals(1, repo.fetchTableData("garmin.db", "days_summary").size());
+      assertEquals(1, repo.fetchTableData("garmin.db", "days_summary").size());
+
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute("INSERT INTO days_summary VALUES ('2025-01-31', 58, 7000, '08:00:00', NULL, NULL)");
+      }
+
+      List<Map<String, Object>> days = repo.fetchTableData("garmin.db", "days_summary");
+      assertEquals(2, days.size());
+      assertEquals(7000, days.get(1).get("steps"));
+   }
+
+   /**
+    * 3️⃣ Test GarminSQLiteRepo.fetchTableData with the page reader enabled
+    * - ✅ Keeps the mapping when one table falls back, and drops it when the file has a pending WAL.
+    */
+   @Test
+   void testFetchTableData_EvictsMappingOnlyOnFileErrors() throws Exception {
+      // GIVEN: A rowid table read through the page reader, and a WITHOUT ROWID table in the same file.
+      Path db = dir.resolve("garmin.db");
+      try (Connection connection = connect(db); Statement stmt = connection.createStatement()) {
+         stmt.execute(DAYS_TABLE);
+         stmt.execute("INSERT INTO days_summary VALUES ('2025-01-30', 61, 9000, '07:30:00', NULL, NULL)");
+         stmt.execute("CREATE TABLE settings (key TEXT PRIMARY KEY, value TEXT) WITHOUT ROWID");
+         stmt.execute("INSERT INTO settings VALUES ('units', 'metric')");
+      }
+      GarminSQLiteRepo repo = pageRepo(db);
+      repo.fetchTableData("garmin.db", "days_summary");
+      SQLitePageReader mapped = repo.mappedReader(db);
+      assertNotNull(mapped);
+
+      // WHEN: The WITHOUT ROWID table falls back to JDBC.
+      assertEquals(1, repo.fetchTableData("garmin.db", "settings").size());
+
+      // THEN: The mapping of the file is kept for the other tables.
+      assertSame(mapped, repo.mappedReader(db));
+
+      // WHEN: A WAL file appears next to the database (ignored by SQLite in rollback journal mode).
+      Files.writeString(dir.resolve("garmin.db-wal"), "pending");
+      assertEquals(1, repo.fetchTableData("garmin.db", "days_summary").size());
+
+      // THEN: The mapping is dropped.
+      assertNull(repo.mappedReader(db));
+   }
+
+   private static GarminSQLiteRepo pageRepo(Path db) {
+      GarminDatabaseConfig config = mock(GarminDatabaseConfig.class);
+      when(config.getDatabasePath("garmin.db")).thenReturn(db);
+      when(config.getConnection("garmin.db")).thenAnswer(invocation -> connect(db));
+      return new GarminSQLiteRepo(config, true);
+   }
+
+   private static Connection connect(Path db) throws SQLException {
+      return DriverManager.getConnection("jdbc:sqlite:" + db);
+   }
+
+   private static List<Object[]> jdbcRows(Path db, String table) throws SQLException {
+      List<Object[]> rows = new ArrayList<>();
+      try (Connection connection = connect(db);
+           Statement stmt = connection.createStatement();
+           ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+         int columns = rs.getMetaData().getColumnCount();
+         while (rs.next()) {
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+               row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+         }
+      }
+      return rows;
+   }
+
+   private static List<Object[]> pageRows(SQLitePageReader reader, String table) throws IOException {
+      List<Object[]> rows = new ArrayList<>();
+      reader.scan(table, values -> rows.add(values.clone()));
+      return rows;
+   }
+
+   // Compares values and their classes (Integer vs Long vs Double), with arrays compared by content.
+   private static void assertRowsEqual(List<Object[]> expected, List<Object[]> actual) {
+      assertEquals(expected.size(), actual.size());
+      for (int row = 0; row < expected.size(); row++) {
+         assertArrayEquals(expected.get(row), actual.get(row), "Row " + row);
+         for (int column = 0; column < expected.get(row).length; column++) {
+            Object value = expected.get(row)[column];
+            if (value != null) {
+               assertEquals(value.getClass(), actual.get(row)[column].getClass(), "Row " + row + ", column " + column);
+            }
+         }
+      }
+   }
+
+   private static List<Map<String, Object>> mapsWithHexBlobs(List<Map<String, Object>> rows) {
+      List<Map<String, Object>> copies = new ArrayList<>();
+      for (Map<String, Object> row : rows) {
+         Map<String, Object> copy = new HashMap<>(row);
+         copy.replaceAll((column, value) -> value instanceof byte[] bytes ? Arrays.toString(bytes) : value);
+         copies.add(copy);
+      }
+      return copies;
+   }
+}
@@ -0,0 +1,137 @@
+package com.backend.services;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.dtos.DashboardDTO;
+import com.backend.dtos.RecentDailySummariesDTO;
+import com.backend.dtos.SummaryPage;
+import com.backend.dtos.SummaryPageRequest;
+import com.backend.exceptions.GarminProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.GarminDashboardService}.
+
+ * Table of Contents:
+
+ *   1️⃣ getDashboard(LocalDate date, Set fields)
+ *      - ✅ Loads all parts in parallel and returns them in one bundle.
+ *      - ✅ Passes the field selection to every part.
+ *      - ❌ Reports a missing part as an error without failing the other parts.
+ *      - ❌ Reports a part that misses the deadline as timed out.
+ */
+class GarminDashboardServiceTest {
+
+   private static final LocalDate DATE = LocalDate.of(2024, 5, 2);
+   private static final SummaryPageRequest WEEKS =
+       new SummaryPageRequest(null, null, null, DATE, GarminDashboardService.RECENT_WEEKS);
+
+   private GarminRetrievalService retrievalService;
+   private GarminDashboardService service;
+
+   @BeforeEach
+   void setUp() {
+      retrievalService = Mockito.mock(GarminRetrievalService.class);
+      service = new GarminDashboardService(retrievalService, Duration.ofSeconds(5));
+   }
+
+   /**
+    * 1️⃣ Test getDashboard
+    * - ✅ Loads all parts in parallel and returns them in one bundle.
+    */
+   @Test
+   void testGetDashboard_Parallel() {
+      // GIVEN: Lookups that only finish once all four have started (impossible if run one by one).
+      CountDownLatch allStarted = new CountDownLatch(4);
+      CurrentDaySummaryDTO day = Mockito.mock(CurrentDaySummaryDTO.class);
+      RecentDailySummariesDTO recent = Mockito.mock(RecentDailySummariesDTO.class);
+      when(retrievalService.getDaySummary(DATE)).thenAnswer(invocation -> rendezvous(allStarted, day));
+      when(retrievalService.getRecentDailySummaries(DATE)).thenAnswer(invocation -> rendezvous(allStarted, recent));
+      when(retrievalService.getWeekSummaryPage(WEEKS))
+          .thenAnswer(invocation -> rendezvous(allStarted, new SummaryPage<>(List.of(), null, null)));
+      when(retrievalService.getMonthSummaries(2024)).thenAnswer(invocation -> rendezvous(allStarted, List.of()));
+
+      // WHEN: Loading the dashboard.
+      DashboardDTO dashboard = service.getDashboard(DATE, Set.of());
+
+      // THEN: Every part succeeded.
+      assertEquals("2024-05-02", dashboard.date());
+      assertSame(day, dashboard.currentDay().data());
+      assertSame(recent, dashboard.recentDays().data());
+      assertEquals(List.of(), dashboard.recentWeeks().data());
+      assertEquals(List.of(), dashboard.months().data());
+      assertNull(dashboard.months().error());
+   }
+
+   /**
+    * 1️⃣ Test getDashboard
+    * - ✅ Passes the field selection to every part.
+    */
+   @Test
+   void testGetDashboard_WithFields() {
+      Set<String> fields = Set.of("rhrAvg");
+      when(retrievalService.getDaySummary(DATE, fields)).thenReturn(Map.of("day", "2024-05-02"));
+      when(retrievalService.getRecentDailySummaries(DATE, fields)).thenReturn(Map.of());
+      when(retrievalService.getWeekSummaryPage(WEEKS, fields)).thenReturn(new SummaryPage<>(List.of(), null, null));
+      when(retrievalService.getMonthSummaries(2024, fields)).thenReturn(List.of());
+
+      DashboardDTO dashboard = service.getDashboard(DATE, fields);
+
+      assertEquals(Map.of("day", "2024-05-02"), dashboard.currentDay().data());
+      Mockito.verify(retrievalService, Mockito.never()).getDaySummary(DATE);
+   }
+
+   /**
+    * 1️⃣ Test getDashboard
+    * - ❌ Reports a missing part as an error without failing the other parts.
+    */
+   @Test
+   void testGetDashboard_MissingDay() {
+      when(retrievalService.getDaySummary(DATE)).thenThrow(new GarminProcessingException("No day summary found for " + DATE));
+      when(retrievalService.getWeekSummaryPage(WEEKS)).thenReturn(new SummaryPage<>(List.of(), null, null));
+      when(retrievalService.getMonthSummaries(2024)).thenReturn(List.of());
+
+      DashboardDTO dashboard = service.getDashboard(DATE, Set.of());
+
+      assertNull(dashboard.currentDay().data());
+      assertEquals("No day summary found for 2024-05-02", dashboard.currentDay().error());
+      assertEquals(List.of(), dashboard.months().data());
+   }
+
+   /**
+    * 1️⃣ Test getDashboard
+    * - ❌ Reports a part that misses the deadline as timed out.
+    */
+   @Test
+   void testGetDashboard_Timeout() {
+      service = new GarminDashboardService(retrievalService, Duration.ofMillis(200));
+      when(retrievalService.getMonthSummaries(2024)).thenAnswer(invocation -> {
+         Thread.sleep(5_000);
+         return List.of();
+      });
+      when(retrievalService.getWeekSummaryPage(WEEKS)).thenReturn(new SummaryPage<>(List.of(), null, null));
+
+      DashboardDTO dashboard = service.getDashboard(DATE, Set.of());
+
+      assertEquals("Timed out", dashboard.months().error());
+      assertTrue(dashboard.totalMillis() < 5_000, "The bundle should not wait for the slow part");
+   }
+
+   private static <T> T rendezvous(CountDownLatch allStarted, T result) throws InterruptedException {
+      allStarted.countDown();
+      assertTrue(allStarted.await(5, TimeUnit.SECONDS), "All parts should run at the same time");
+      return result;
+   }
+}
@@ -1,24 +1,45 @@
 package com.backend.services;
 
+import com.backend.dtos.ExportFormat;
+import com.backend.dtos.ExportReportDTO;
 import com.backend.exceptions.GarminDatabaseException;
 import com.backend.exceptions.GarminExportException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.export.ColumnType;
+import com.backend.export.ColumnarReader;
+import com.backend.export.ExportCodecs;
+import com.backend.export.GzipCodec;
+import com.backend.export.IdentityCodec;
 import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Types;
+import java.util.Arrays;
 import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,14 +53,24 @@ import static org.mockito.Mockito.*;
 
  * 2️⃣ **saveTableAsJson(String databaseName, String tableName)**
  *    - ✅ Successfully writes table data to a JSON file.
+ *    - ✅ Writes compact JSON and reports rows, bytes and throughput when pretty-printing is off.
  *    - ❌ Logs a warning and skips file creation when table is empty.
  *    - ❌ Throws `GarminDatabaseException` if fetching data fails.
- *    - ❌ Throws `GarminExportException` if file writing fails.
+ *    - ❌ Throws `GarminExportException` if file writing fails, keeping the previous file and no temp file.
 
  * 3️⃣ **saveAllTablesAsJson(String databaseName)**
  *    - ✅ Successfully exports multiple tables.
  *    - ❌ Logs a warning and returns an empty list when there are no tables.
  *    - ❌ Skips problematic tables and logs errors without interrupting execution.
+
+ * 4️⃣ **exportTable(String databaseName, String tableName, ExportFormat format, ExportCodec codec, boolean pretty)**
+ *    - ✅ Writes one JSON object per line and compresses it with the selected codec.
+ *    - ✅ Writes a typed columnar file that reads back with ColumnarReader.
+ *    - ❌ Rejects an unknown codec name.
+
+ * 5️⃣ **writeTablesAsZip(String databaseName, List<String> tableNames, ExportFormat format, OutputStream out)**
+ *    - ✅ Streams one zip entry per table, including empty tables, without writing export files.
+ *    - ❌ Throws `GarminDatabaseException` if reading a table fails mid-stream.
  */
 
 class GarminDataExportServiceTest {
@@ -53,15 +84,45 @@ class GarminDataExportServiceTest {
    @TempDir
    Path tempDir;
 
-   @Mock
-   private ObjectMapper objectMapper;
+   @Spy
+   private ObjectMapper objectMapper = new ObjectMapper();
+
+   @Spy
+   private ExportCodecs exportCodecs = new ExportCodecs(List.of(new IdentityCodec(), new GzipCodec(6)));
 
    @BeforeEach
    void setUp() {
       MockitoAnnotations.openMocks(this);
+   }
+
+   // Stubs the repository to stream the given rows (all rows share the same TEXT columns).
+   private void givenTableRows(String databaseName, String tableName, List<String> columns, List<List<Object>> rows)
+       throws IOException {
+      int[] sqlTypes = new int[columns.size()];
+      Arrays.fill(sqlTypes, Types.VARCHAR);
+      givenTableRows(databaseName, tableName, columns, sqlTypes, rows);
+   }
 
-      // Ensure ObjectMapper mock returns a non-null writer
-      when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(new ObjectMapper().writerWithDefaultPrettyPrinter());
+   // Stubs the repository to stream the given rows with the given column types.
+   private void givenTableRows(String databaseName, String tableName, List<String> columns, int[] sqlTypes,
+                               List<List<Object>> rows) throws IOException {
+      when(garminSQLiteRepo.streamTableData(eq(databaseName), eq(tableName), any(TableRowWriter.class)))
+          .thenAnswer(invocation -> {
+             TableRowWriter writer = invocation.getArgument(2);
+             writer.columns(columns.toArray(String[]::new), sqlTypes);
+             for (List<Object> row : rows) {
+                writer.row(row.toArray());
+             }
+             return (long) rows.size();
+          });
+   }
+
+   private static File exportedFile(String tableName) {
+      return exportedFile(tableName, ".json");
+   }
+
+   private static File exportedFile(String tableName, String extension) {
+      return new File(System.getProperty("user.dir") + "/backend/data/raw_garmin_data/testDB/" + tableName + extension);
    }
 
    /**
@@ -109,18 +170,14 @@ class GarminDataExportServiceTest {
       // GIVEN mock SQLite data
       String databaseName = "testDB";
       String tableName = "daily_summary";
-      List<Map<String, Object>> mockData = List.of(
-          Map.of("day", "2025-01-30", "calories", 2500),
-          Map.of("day", "2025-01-31", "calories", 2600)
-                                                  );
-
-      when(garminSQLiteRepo.fetchTableData(databaseName, tableName)).thenReturn(mockData);
+      givenTableRows(databaseName, tableName, List.of("day", "calories"),
+                     List.of(List.of("2025-01-30", 2500), List.of("2025-01-31", 2600)));
 
       // WHEN exporting data to JSON
       garminDataExportService.saveTableAsJson(databaseName, tableName);
 
       // THEN verify the file was created correctly
-      File jsonFile = new File(System.getProperty("user.dir") + "/backend/data/raw_garmin_data/testDB/daily_summary.json");
+      File jsonFile = exportedFile(tableName);
 
       // Ensure file exists before reading
       assertTrue(jsonFile.exists(), "JSON file was not created");
@@ -132,8 +189,35 @@ class GarminDataExportServiceTest {
       assertNotNull(savedData, "JSON file was read but returned null");
       assertFalse(savedData.isEmpty(), "JSON file was created but contains no data");
       assertEquals(2, savedData.size());
+      assertEquals(Map.of("day", "2025-01-30", "calories", 2500), savedData.get(0));
+      assertTrue(Files.readString(jsonFile.toPath()).contains("\n"), "Default export should be pretty-printed");
 
-      verify(garminSQLiteRepo).fetchTableData(databaseName, tableName);
+      verify(garminSQLiteRepo).streamTableData(eq(databaseName), eq(tableName), any(TableRowWriter.class));
+   }
+
+   /**
+    * ✅ Test `exportTableAsJson()` writes compact JSON and reports the throughput.
+    */
+   @Test
+   void givenPrettyDisabled_whenExportTableAsJson_thenWritesCompactJsonAndReportsThroughput() throws IOException {
+      // GIVEN a table with a null value
+      String databaseName = "testDB";
+      String tableName = "compact_summary";
+      givenTableRows(databaseName, tableName, List.of("day", "steps"),
+                     List.of(List.of("2025-01-30", 9000), Arrays.asList("2025-01-31", null)));
+
+      // WHEN exporting without pretty-printing
+      ExportReportDTO report = garminDataExportService.exportTableAsJson(databaseName, tableName, false);
+
+      // THEN the file holds compact JSON and the report matches it
+      File jsonFile = exportedFile(tableName);
+      assertEquals("[{\"day\":\"2025-01-30\",\"steps\":9000},{\"day\":\"2025-01-31\",\"steps\":null}]",
+                   Files.readString(jsonFile.toPath()));
+      assertEquals(2, report.rows());
+      assertEquals(jsonFile.length(), report.bytes());
+      assertEquals(jsonFile.getPath(), report.file());
+      assertTrue(report.rowsPerSecond() > 0);
+      assertTrue(report.bytesPerSecond() > 0);
    }
 
 
@@ -145,27 +229,27 @@ class GarminDataExportServiceTest {
       // GIVEN empty table data
       String databaseName = "testDB";
       String tableName = "empty_table";
-      when(garminSQLiteRepo.fetchTableData(databaseName, tableName)).thenReturn(List.of());
+      givenTableRows(databaseName, tableName, List.of("day"), List.of());
 
       // WHEN exporting data
       garminDataExportService.saveTableAsJson(databaseName, tableName);
 
       // THEN ensure no file is created
-      File jsonFile = new File(System.getProperty("user.dir") + "/backend/data/raw_garmin_data/testDB/empty_table.json");
+      File jsonFile = exportedFile(tableName);
       assertFalse(jsonFile.exists());
 
-      verify(garminSQLiteRepo).fetchTableData(databaseName, tableName);
+      verify(garminSQLiteRepo).streamTableData(eq(databaseName), eq(tableName), any(TableRowWriter.class));
    }
 
    /**
     * ❌ Test `saveTableAsJson()` throws GarminDatabaseException when data fetch fails.
     */
    @Test
-   void givenDatabaseError_whenSaveTableAsJson_thenThrowsGarminDatabaseException() {
+   void givenDatabaseError_whenSaveTableAsJson_thenThrowsGarminDatabaseException() throws IOException {
       String databaseName = "testDB";
       String tableName = "error_table";
 
-      when(garminSQLiteRepo.fetchTableData(databaseName, tableName))
+      when(garminSQLiteRepo.streamTableData(eq(databaseName), eq(tableName), any(TableRowWriter.class)))
           .thenThrow(new RuntimeException("Mock database fetch failure"));
 
       Exception exception = assertThrows(GarminDatabaseException.class,
@@ -179,20 +263,19 @@ class GarminDataExportServiceTest {
     */
    @Test
    void givenIOException_whenSaveTableAsJson_thenThrowsGarminExportException() throws IOException {
+      // GIVEN a previous export and a write that fails halfway through the table
       String databaseName = "testDB";
-      String tableName = "daily_summary";
-      List<Map<String, Object>> mockData = List.of(Map.of("day", "2025-01-30", "calories", 2500));
-
-      System.out.println("Mocking IOException on objectMapper...");
-
-      when(garminSQLiteRepo.fetchTableData(databaseName, tableName)).thenReturn(mockData);
-
-      // ✅ Properly mock ObjectWriter
-      ObjectWriter mockWriter = mock(ObjectWriter.class);
-      when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(mockWriter);
+      String tableName = "failing_summary";
+      givenTableRows(databaseName, tableName, List.of("day"), List.of(List.of("2025-01-29")));
+      garminDataExportService.saveTableAsJson(databaseName, tableName);
+      String previous = Files.readString(exportedFile(tableName).toPath());
 
-      // ✅ Now the IOException will be correctly thrown
-      doThrow(new IOException("Mock IOException")).when(mockWriter).writeValue(any(File.class), any());
+      doAnswer(invocation -> {
+         TableRowWriter writer = invocation.getArgument(2);
+         writer.columns(new String[] {"day"}, new int[] {Types.VARCHAR});
+         writer.row(new Object[] {"2025-01-30"});
+         throw new IOException("Mock IOException");
+      }).when(garminSQLiteRepo).streamTableData(eq(databaseName), eq(tableName), any(TableRowWriter.class));
 
       // WHEN exporting data THEN exception should be thrown
       Exception exception = assertThrows(GarminExportException.class,
@@ -200,23 +283,89 @@ class GarminDataExportServiceTest {
 
       assertTrue(exception.getMessage().contains("Error saving table as JSON"));
 
-      verify(garminSQLiteRepo).fetchTableData(databaseName, tableName);
-      verify(objectMapper).writerWithDefaultPrettyPrinter();
-      verify(mockWriter).writeValue(any(File.class), any());
+      // AND the previous export is untouched and no temp file is left behind
+      assertEquals(previous, Files.readString(exportedFile(tableName).toPath()));
+      try (var files = Files.list(exportedFile(tableName).toPath().getParent())) {
+         assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+      }
+   }
+
+   /**
+    * ✅ Test `exportTable()` writes gzip-compressed NDJSON.
+    */
+   @Test
+   void givenNdjsonAndGzip_whenExportTable_thenWritesCompressedLines() throws IOException {
+      // GIVEN a table with two rows
+      String databaseName = "testDB";
+      String tableName = "ndjson_summary";
+      givenTableRows(databaseName, tableName, List.of("day", "steps"),
+                     List.of(List.of("2025-01-30", 9000), List.of("2025-01-31", 8000)));
+
+      // WHEN exporting as gzip-compressed NDJSON (pretty-printing does not apply to NDJSON)
+      ExportReportDTO report = garminDataExportService.exportTable(
+          databaseName, tableName, ExportFormat.NDJSON, exportCodecs.get("gzip"), true);
+
+      // THEN the file name carries both extensions and decompresses to one object per line
+      File exportFile = exportedFile(tableName, ".ndjson.gz");
+      assertEquals(exportFile.getPath(), report.file());
+      assertEquals("ndjson", report.format());
+      assertEquals("gzip", report.codec());
+      assertEquals(exportFile.length(), report.bytes());
+      try (InputStream in = exportCodecs.get("gzip").decompress(Files.newInputStream(exportFile.toPath()))) {
+         assertEquals("{\"day\":\"2025-01-30\",\"steps\":9000}\n{\"day\":\"2025-01-31\",\"steps\":8000}\n",
+                      new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+   }
+
+   /**
+    * ✅ Test `exportTable()` writes a typed columnar file.
+    */
+   @Test
+   void givenColumnarFormat_whenExportTable_thenWritesTypedColumns() throws IOException {
+      // GIVEN a table with TEXT, INTEGER and REAL columns
+      String databaseName = "testDB";
+      String tableName = "columnar_summary";
+      givenTableRows(databaseName, tableName, List.of("day", "steps", "weight"),
+                     new int[] {Types.VARCHAR, Types.INTEGER, Types.REAL},
+                     List.of(List.of("2025-01-30", 9000, 71.5), Arrays.asList("2025-01-31", null, 71.2)));
+
+      // WHEN exporting as a columnar file
+      ExportReportDTO report = garminDataExportService.exportTable(
+          databaseName, tableName, ExportFormat.COLUMNAR, exportCodecs.get("none"), false);
+
+      // THEN the file reads back with the column types taken from SQLite
+      File exportFile = exportedFile(tableName, ".hrvc");
+      assertEquals(exportFile.getPath(), report.file());
+      assertEquals(2, report.rows());
+      try (ColumnarReader reader = new ColumnarReader(Files.newInputStream(exportFile.toPath()))) {
+         assertEquals(List.of(ColumnType.STRING, ColumnType.INT64, ColumnType.FLOAT64), reader.columnTypes());
+         List<Map<String, Object>> rows = reader.readRows();
+         assertEquals(Map.of("day", "2025-01-30", "steps", 9000L, "weight", 71.5), rows.get(0));
+         assertNull(rows.get(1).get("steps"));
+      }
+   }
+
+   /**
+    * ❌ Test `ExportCodecs.get()` rejects an unknown codec.
+    */
+   @Test
+   void givenUnknownCodec_whenGetCodec_thenThrowsInvalidQueryParameterException() {
+      Exception exception = assertThrows(InvalidQueryParameterException.class, () -> exportCodecs.get("zstd"));
+
+      assertTrue(exception.getMessage().contains("none, gzip"));
    }
 
    /**
     * ✅ Test `saveAllTablesAsJson()` exports multiple tables.
     */
    @Test
-   void givenMultipleTables_whenSaveAllTablesAsJson_thenExportsEachTable() {
+   void givenMultipleTables_whenSaveAllTablesAsJson_thenExportsEachTable() throws IOException {
       String databaseName = "testDB";
       List<String> mockTables = List.of("daily_summary", "weekly_summary");
       when(garminSQLiteRepo.getAllTableNames(databaseName)).thenReturn(mockTables);
 
       for (String table : mockTables) {
-         when(garminSQLiteRepo.fetchTableData(databaseName, table))
-             .thenReturn(List.of(Map.of("day", "2025-01-30", "metric", 100)));
+         givenTableRows(databaseName, table, List.of("day", "metric"), List.of(List.of("2025-01-30", 100)));
       }
 
       List<String> result = garminDataExportService.saveAllTablesAsJson(databaseName);
@@ -225,10 +374,55 @@ class GarminDataExportServiceTest {
       assertEquals(2, result.size());
 
       for (String table : mockTables) {
-         File jsonFile = new File(System.getProperty("user.dir") + "/backend/data/raw_garmin_data/testDB/" + table + ".json");
-         assertTrue(jsonFile.exists());
+         assertTrue(exportedFile(table).exists());
       }
 
       verify(garminSQLiteRepo).getAllTableNames(databaseName);
    }
+
+   /**
+    * ✅ Test `writeTablesAsZip()` streams one entry per table and never touches the export folder.
+    */
+   @Test
+   void givenTables_whenWriteTablesAsZip_thenStreamsOneEntryPerTable() throws IOException {
+      // GIVEN: One table with two rows and one empty table.
+      givenTableRows("zipDB", "daily_summary", List.of("day", "steps"),
+                     List.of(List.of("2025-01-30", "100"), List.of("2025-01-31", "200")));
+      givenTableRows("zipDB", "sleep", List.of("day"), List.of());
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+      // WHEN: Both tables are streamed as NDJSON entries.
+      long rows = garminDataExportService.writeTablesAsZip("zipDB", List.of("daily_summary", "sleep"),
+                                                           ExportFormat.NDJSON, out);
+
+      // THEN: The archive holds both entries in order and nothing was written to disk.
+      assertEquals(2, rows);
+      Map<String, String> entries = new LinkedHashMap<>();
+      try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+         for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+         }
+      }
+      assertEquals(List.of("daily_summary.ndjson", "sleep.ndjson"), List.copyOf(entries.keySet()));
+      assertEquals("{\"day\":\"2025-01-30\",\"steps\":\"100\"}\n{\"day\":\"2025-01-31\",\"steps\":\"200\"}\n",
+                   entries.get("daily_summary.ndjson"));
+      assertEquals("", entries.get("sleep.ndjson"));
+      assertFalse(new File(System.getProperty("user.dir") + "/backend/data/raw_garmin_data/zipDB").exists());
+   }
+
+   /**
+    * ❌ Test `writeTablesAsZip()` throws `GarminDatabaseException` if reading a table fails mid-stream.
+    */
+   @Test
+   void givenFailingTable_whenWriteTablesAsZip_thenThrowsGarminDatabaseException() throws IOException {
+      givenTableRows("zipDB", "daily_summary", List.of("day"), List.of(List.of("2025-01-30")));
+      when(garminSQLiteRepo.streamTableData(eq("zipDB"), eq("sleep"), any(TableRowWriter.class)))
+          .thenThrow(new RuntimeException("database is locked"));
+
+      Exception exception = assertThrows(GarminDatabaseException.class, () ->
+          garminDataExportService.writeTablesAsZip("zipDB", List.of("daily_summary", "sleep"),
+                                                   ExportFormat.JSON, new ByteArrayOutputStream()));
+
+      assertTrue(exception.getMessage().contains("sleep"));
+   }
 }
@@ -1,6 +1,9 @@
 package com.backend.services;
 
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
 import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
 import com.backend.models.CurrentDaySummary;
 import com.backend.models.MonthlySummary;
 import com.backend.models.RecentDailySummaries;
@@ -20,11 +23,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
@@ -32,6 +39,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,6 +53,7 @@ import static org.mockito.Mockito.*;
  *    - ✅ `givenValidData_whenProcessAndSaveSummary_thenSavesSuccessfully`
  *    - ❌ `givenNoData_whenProcessAndSaveSummary_thenThrowsException`
  *    - ❌ `givenInvalidData_whenProcessAndSaveSummary_thenThrowsValidationException`
+ *    - ❌ `givenInvalidRowPartway_whenProcessAndSaveSummary_thenPublishesSavedDays`
  *    - ❌ `givenDatabaseException_whenProcessAndSaveSummary_thenThrowsProcessingException`
  *
  * 2️⃣ Tests for `processAndSaveCurrentDaySummary`
@@ -66,6 +76,11 @@ import static org.mockito.Mockito.*;
  * 6️⃣ Tests for `processAndSaveRecentDailySummaries`
  *    - ✅ `givenValidData_whenProcessAndSaveRecentDailySummaries_thenSavesSuccessfully`
  *    - ❌ `givenNoData_whenProcessAndSaveRecentDailySummaries_thenLogsWarningAndSkipsSaving`
+ *
+ * 7️⃣ Tests for `importSummaries`
+ *    - ✅ `givenExportedJsonArray_whenImportSummaries_thenUpsertsEachRowAndPublishesDays`
+ *    - ✅ `givenNdjsonForExistingWeek_whenImportSummaries_thenUpdatesExisting`
+ *    - ❌ `givenRecentType_whenImportSummaries_thenThrowsInvalidQueryParameterException`
  */
 @ExtendWith(MockitoExtension.class)
 class GarminProcessingServiceTest {
@@ -91,6 +106,9 @@ class GarminProcessingServiceTest {
    @Mock
    private ValidationService validationService;
 
+   @Mock
+   private ApplicationEventPublisher eventPublisher;
+
    @InjectMocks
    private GarminProcessingService garminProcessingService;
 
@@ -248,6 +266,28 @@ class GarminProcessingServiceTest {
           garminProcessingService.processAndSaveCurrentDaySummary(databaseName, tableName));
    }
 
+   /**
+    * 1️⃣ Test Case: Given a row that fails validation after another row was saved,
+    * when processAndSaveSummary (for current day) is called, then the saved day is still published.
+    */
+   @Test
+   void givenInvalidRowPartway_whenProcessAndSaveSummary_thenPublishesSavedDays() {
+      String databaseName = "testDB";
+      String tableName = "daily_summary";
+
+      when(garminSQLiteRepo.fetchTableData(databaseName, tableName)).thenReturn(mockSQLiteDataDay);
+      when(currentDaySummaryRepo.findByDay(any())).thenReturn(Optional.empty());
+      doNothing().doThrow(new RuntimeException("Validation failed"))
+          .when(validationService).validate(any(CurrentDaySummary.class));
+
+      assertThrows(RuntimeException.class, () ->
+          garminProcessingService.processAndSaveCurrentDaySummary(databaseName, tableName));
+
+      // The first day was upserted before the failure, so listeners must evict it.
+      verify(currentDaySummaryRepo).insert(any(CurrentDaySummary.class));
+      verify(eventPublisher).publishEvent(new SummaryDataChangedEvent(SummaryType.DAY, Set.of(LocalDate.of(2025, 1, 10))));
+   }
+
    /**
     * 1️⃣ Test Case: Given a database exception, when processAndSaveSummary (for current day) is called,
     * then GarminProcessingException is thrown.
@@ -328,6 +368,13 @@ class GarminProcessingServiceTest {
          assertNotNull(summary.firstDay(), "Weekly summary must have a firstDay set");
          verify(validationService).validate(summary);
       });
+
+      // The written weeks are announced so the retrieval cache can evict them.
+      ArgumentCaptor<SummaryDataChangedEvent> eventCaptor = ArgumentCaptor.forClass(SummaryDataChangedEvent.class);
+      verify(eventPublisher).publishEvent(eventCaptor.capture());
+      assertEquals(SummaryType.WEEK, eventCaptor.getValue().type());
+      assertEquals(insertedSummaries.stream().map(WeeklySummary::firstDay).collect(Collectors.toSet()),
+                   eventCaptor.getValue().periods());
    }
 
    /**
@@ -505,4 +552,61 @@ class GarminProcessingServiceTest {
       verify(recentDailySummariesRepo, never()).insert(any(RecentDailySummaries.class));
       verify(recentDailySummariesRepo, never()).save(any());
    }
+
+   // --- IMPORT TESTS ---
+
+   /**
+    * 7️⃣ Test Case: Given an exported JSON array of days, when importSummaries is called,
+    * then every row is validated and inserted and the imported days are published.
+    */
+   @Test
+   void givenExportedJsonArray_whenImportSummaries_thenUpsertsEachRowAndPublishesDays() throws IOException {
+      when(currentDaySummaryRepo.findByDay(any())).thenReturn(Optional.empty());
+
+      long rows;
+      try (InputStream in = Files.newInputStream(Paths.get("src/test/resources/mocks/models/sqlite_mock_days_summary.json"))) {
+         rows = garminProcessingService.importSummaries(SummaryType.DAY, in);
+      }
+
+      assertEquals(mockSQLiteDataDay.size(), rows);
+      verify(validationService, times(mockSQLiteDataDay.size())).validate(any(CurrentDaySummary.class));
+      verify(currentDaySummaryRepo, times(mockSQLiteDataDay.size())).insert(any(CurrentDaySummary.class));
+      verify(eventPublisher).publishEvent(new SummaryDataChangedEvent(SummaryType.DAY, mockSQLiteDataDay.stream()
+          .map(row -> LocalDate.parse(row.get("day").toString()))
+          .collect(Collectors.toSet())));
+   }
+
+   /**
+    * 7️⃣ Test Case: Given NDJSON for a week that is already stored, when importSummaries is called,
+    * then the stored week is updated instead of inserting a duplicate.
+    */
+   @Test
+   void givenNdjsonForExistingWeek_whenImportSummaries_thenUpdatesExisting() throws IOException {
+      String ndjson = new ObjectMapper().writeValueAsString(mockSQLiteDataWeek.getFirst()) + "\n";
+      WeeklySummary incoming = DataParsingUtils.mapToWeeklySummary(mockSQLiteDataWeek.getFirst());
+      when(weeklySummaryRepo.findByFirstDay(incoming.firstDay()))
+          .thenReturn(Optional.of(new WeeklySummary("weekId", incoming.firstDay(), null)));
+
+      long rows = garminProcessingService.importSummaries(
+          SummaryType.WEEK, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+      assertEquals(1, rows);
+      ArgumentCaptor<WeeklySummary> captor = ArgumentCaptor.forClass(WeeklySummary.class);
+      verify(weeklySummaryRepo).save(captor.capture());
+      assertEquals("weekId", captor.getValue().id());
+      verify(weeklySummaryRepo, never()).insert(any(WeeklySummary.class));
+   }
+
+   /**
+    * 7️⃣ Test Case: Given the RECENT type, when importSummaries is called,
+    * then the import is rejected before reading the input.
+    */
+   @Test
+   void givenRecentType_whenImportSummaries_thenThrowsInvalidQueryParameterException() {
+      InputStream in = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+      assertThrows(InvalidQueryParameterException.class, () ->
+          garminProcessingService.importSummaries(SummaryType.RECENT, in));
+      verifyNoInteractions(eventPublisher);
+   }
 }
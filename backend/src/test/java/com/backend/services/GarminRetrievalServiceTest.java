@@ -1,5 +1,9 @@
 package com.backend.services;
 
+import com.backend.cache.SingleFlight;
+import com.backend.cache.SummaryCache;
+import com.backend.cache.SummaryCacheKey;
+import com.backend.events.SummaryType;
 import com.backend.exceptions.GarminProcessingException;
 import com.backend.models.CurrentDaySummary;
 import com.backend.models.MonthlySummary;
@@ -11,11 +15,15 @@ import com.backend.repos.MongoDB.MonthlySummaryRepo;
 import com.backend.repos.MongoDB.WeeklySummaryRepo;
 import com.backend.repos.MongoDB.YearlySummaryRepo;
 import com.backend.repos.MongoDB.RecentDailySummariesRepo;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
 import com.backend.dtos.CurrentDaySummaryDTO;
 import com.backend.dtos.MonthlySummaryDTO;
 import com.backend.dtos.RecentDailySummariesDTO;
+import com.backend.dtos.SummaryPage;
+import com.backend.dtos.SummaryPageRequest;
 import com.backend.dtos.WeeklySummaryDTO;
 import com.backend.dtos.YearlySummaryDTO;
+import com.backend.utils.CursorUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -24,18 +32,27 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,24 +60,31 @@ import static org.mockito.Mockito.when;
 
  * Table of Contents:
 
- *   1️⃣ getAllDaySummaries(int limit)
- *      - ✅ Returns a valid list of day summary DTOs when data is available.
- *   2️⃣ getDaySummary(LocalDate day)
+ *   1️⃣ getDaySummary(LocalDate day)
  *      - ✅ Returns a valid day summary DTO for a given date.
  *      - ❌ Throws GarminProcessingException when no summary is found.
- *   3️⃣ getRecentDailySummaries(LocalDate referenceDate)
+ *   2️⃣ getRecentDailySummaries(LocalDate referenceDate)
  *      - ✅ Returns a valid RecentDailySummariesDTO (loaded from JSON) when data is available.
  *      - ❌ Throws GarminProcessingException when no recent daily summaries are found.
- *   4️⃣ getWeekSummary(LocalDate referenceDate)
+ *   3️⃣ getWeekSummary(LocalDate referenceDate)
  *      - ✅ Returns a valid weekly summary DTO (loaded from JSON) when data is available.
  *      - ❌ Throws GarminProcessingException when no weekly summary is found.
- *   5️⃣ getAllWeekSummaries(int limit)
- *      - ✅ Returns a valid list of weekly summary DTOs when data is available.
- *   6️⃣ getMonthSummaries(Integer year)
+ *   4️⃣ getMonthSummaries(Integer year)
  *      - ✅ Returns a valid list of monthly summary DTOs (loaded from JSON) when filtering by year,
  *         or all monthly summaries when year is null.
- *   7️⃣ getYearSummaries()
+ *   5️⃣ getYearSummaries()
  *      - ✅ Returns a valid list of yearly summary DTOs (loaded from JSON) when data is available.
+ *   6️⃣ Sparse fieldsets (getDaySummaryPage(SummaryPageRequest, Set), getDaySummary(LocalDate, Set))
+ *      - ✅ Returns trimmed day summaries containing only the selected metrics.
+ *      - ❌ Throws GarminProcessingException when no projected summary is found.
+ *   7️⃣ getDaySummaryPage(SummaryPageRequest request)
+ *      - ✅ Returns the newest page with a next cursor when older summaries exist.
+ *      - ✅ Pages towards newer summaries with an 'after' cursor and returns them newest first.
+ *   8️⃣ Read-through cache
+ *      - ✅ Serves a repeated day lookup from the cache and reloads it after the key is evicted.
+ *      - ❌ Does not cache a failed lookup.
+ *   9️⃣ Request coalescing
+ *      - ✅ Concurrent identical year listings share one MongoDB query.
  *
  */
 class GarminRetrievalServiceTest {
@@ -70,6 +94,9 @@ class GarminRetrievalServiceTest {
    private MonthlySummaryRepo monthlySummaryRepo;
    private YearlySummaryRepo yearlySummaryRepo;
    private RecentDailySummariesRepo recentDailySummariesRepo;
+   private SummaryQueryRepo summaryQueryRepo;
+   private SummaryCache summaryCache;
+   private SingleFlight<SummaryCacheKey> singleFlight;
 
    private GarminRetrievalService service;
 
@@ -103,9 +130,13 @@ class GarminRetrievalServiceTest {
       monthlySummaryRepo = Mockito.mock(MonthlySummaryRepo.class);
       yearlySummaryRepo = Mockito.mock(YearlySummaryRepo.class);
       recentDailySummariesRepo = Mockito.mock(RecentDailySummariesRepo.class);
+      summaryQueryRepo = Mockito.mock(SummaryQueryRepo.class);
+      summaryCache = new SummaryCache(100, Duration.ofMinutes(5), Clock.systemUTC());
+      singleFlight = new SingleFlight<>();
       // Create an instance of the service using the injected mocks.
       service = new GarminRetrievalService(
-          currentDaySummaryRepo, weeklySummaryRepo, monthlySummaryRepo, yearlySummaryRepo, recentDailySummariesRepo);
+          currentDaySummaryRepo, weeklySummaryRepo, monthlySummaryRepo, yearlySummaryRepo, recentDailySummariesRepo,
+          summaryQueryRepo, summaryCache, singleFlight);
 
       objectMapper = new ObjectMapper();
       objectMapper.registerModule(new JavaTimeModule());
@@ -138,35 +169,7 @@ class GarminRetrievalServiceTest {
    }
 
    /**
-    * 1️⃣ Test getAllDaySummaries(int limit)
-    * - ✅ Returns a valid list of day summary DTOs when data is available.
-    */
-   @Test
-   void testGetAllDaySummaries() throws Exception {
-      // GIVEN: A dummy CurrentDaySummary model with a fake mongo id.
-      CurrentDaySummary dummyModel = new CurrentDaySummary("mongoId1", LocalDate.of(2023, 5, 1), dummyBaseSummaryModel);
-      List<CurrentDaySummary> dummyList = Collections.singletonList(dummyModel);
-      when(currentDaySummaryRepo.findAllByOrderByDayDesc(any(Pageable.class))).thenReturn(dummyList);
-
-      // Load expected DTO from JSON mock.
-      List<CurrentDaySummaryDTO> expectedDTOs = loadDaysSummaryDTOsFromJson();
-      CurrentDaySummaryDTO expectedDTO = expectedDTOs.get(0);
-
-      try (MockedStatic<CurrentDaySummaryDTO> mockedConversion = Mockito.mockStatic(CurrentDaySummaryDTO.class)) {
-         mockedConversion.when(() -> CurrentDaySummaryDTO.fromModel(dummyModel)).thenReturn(expectedDTO);
-
-         // WHEN: Calling the service method.
-         List<CurrentDaySummaryDTO> result = service.getAllDaySummaries(5);
-
-         // THEN: The result should not be null and contain one element equal to expected.
-         assertNotNull(result);
-         assertEquals(1, result.size());
-         assertEquals(expectedDTO, result.get(0));
-      }
-   }
-
-   /**
-    * 2️⃣ Test getDaySummary(LocalDate day)
+    * 1️⃣ Test getDaySummary(LocalDate day)
     * - ✅ Returns a valid day summary DTO for a given date.
     * - ❌ Throws GarminProcessingException when no summary is found.
     */
@@ -205,7 +208,7 @@ class GarminRetrievalServiceTest {
    }
 
    /**
-    * 3️⃣ Test getRecentDailySummaries(LocalDate referenceDate)
+    * 2️⃣ Test getRecentDailySummaries(LocalDate referenceDate)
     * - ✅ Returns a valid RecentDailySummariesDTO (loaded from JSON) when data is available.
     * - ❌ Throws GarminProcessingException when no recent daily summaries are found.
     */
@@ -296,7 +299,7 @@ class GarminRetrievalServiceTest {
    }
 
    /**
-    * 4️⃣ Test getWeekSummary(LocalDate referenceDate)
+    * 3️⃣ Test getWeekSummary(LocalDate referenceDate)
     * - ✅ Returns a valid weekly summary DTO (loaded from JSON) when data is available.
     * - ❌ Throws GarminProcessingException when no weekly summary is found.
     */
@@ -335,37 +338,7 @@ class GarminRetrievalServiceTest {
    }
 
    /**
-    * 5️⃣ Test getAllWeekSummaries(int limit)
-    * - ✅ Returns a valid list of weekly summary DTOs when data is available.
-    */
-   @Test
-   void testGetAllWeekSummaries() throws Exception {
-      // GIVEN: A dummy WeeklySummary model with a fake mongo id.
-      LocalDate dummyDate = LocalDate.of(2023, 5, 10);
-      WeeklySummary dummyModel = new WeeklySummary("mongoId_week", dummyDate, dummyBaseSummaryModel);
-      List<WeeklySummary> dummyList = Collections.singletonList(dummyModel);
-      Pageable pageable = PageRequest.of(0, 5);
-      when(weeklySummaryRepo.findAllByOrderByFirstDayDesc(any(Pageable.class))).thenReturn(dummyList);
-
-      // Load expected DTO from JSON.
-      List<WeeklySummaryDTO> expectedDTOs = loadWeeksSummaryDTOsFromJson();
-      WeeklySummaryDTO expectedDTO = expectedDTOs.get(0);
-
-      try (MockedStatic<WeeklySummaryDTO> mockedConversion = Mockito.mockStatic(WeeklySummaryDTO.class)) {
-         mockedConversion.when(() -> WeeklySummaryDTO.fromModel(dummyModel)).thenReturn(expectedDTO);
-
-         // WHEN: Calling the service method.
-         List<WeeklySummaryDTO> result = service.getAllWeekSummaries(5);
-
-         // THEN: The result should not be null, have the expected size, and match the expected DTO.
-         assertNotNull(result);
-         assertEquals(1, result.size());
-         assertEquals(expectedDTO, result.get(0));
-      }
-   }
-
-   /**
-    * 6️⃣ Test getMonthSummaries(Integer year)
+    * 4️⃣ Test getMonthSummaries(Integer year)
     * - ✅ Returns a valid list of monthly summary DTOs (loaded from JSON) when filtering by year.
     */
    @Test
@@ -420,7 +393,7 @@ class GarminRetrievalServiceTest {
    }
 
    /**
-    * 7️⃣ Test getYearSummaries()
+    * 5️⃣ Test getYearSummaries()
     * - ✅ Returns a valid list of yearly summary DTOs (loaded from JSON) when data is available.
     */
    @Test
@@ -445,4 +418,161 @@ class GarminRetrievalServiceTest {
          assertEquals(expectedDTO, result.get(0));
       }
    }
+
+   /**
+    * 6️⃣ Test sparse fieldsets
+    * - ✅ Returns trimmed day summaries containing only the selected metrics.
+    */
+   @Test
+   void testGetDaySummaryPage_WithFields() {
+      // GIVEN: The projection repository returns a model with the selected metrics.
+      Set<String> fields = Set.of("hrAvg", "sleepAvg");
+      CurrentDaySummary dummyModel = new CurrentDaySummary("mongoId1", LocalDate.of(2023, 5, 1), dummyBaseSummaryModel);
+      when(summaryQueryRepo.findDayPage(null, null, false, 6, fields)).thenReturn(Collections.singletonList(dummyModel));
+
+      // WHEN: Calling the sparse service method.
+      List<Map<String, Object>> result = service.getDaySummaryPage(SummaryPageRequest.firstPage(5), fields).items();
+
+      // THEN: Identifying fields are kept and the summary only contains the selected metrics.
+      assertEquals(1, result.size());
+      assertEquals("mongoId1", result.get(0).get("id"));
+      assertEquals("2023-05-01", result.get(0).get("day"));
+      assertEquals(Map.of("hrAvg", 80, "sleepAvg", "08:30:00"), result.get(0).get("summary"));
+   }
+
+   /**
+    * 6️⃣ Test sparse fieldsets
+    * - ❌ Throws GarminProcessingException when no projected summary is found.
+    */
+   @Test
+   void testGetDaySummary_WithFieldsNotFound() {
+      LocalDate testDate = LocalDate.of(2023, 5, 1);
+      Set<String> fields = Set.of("hrAvg");
+      when(summaryQueryRepo.findDaySummary(testDate, fields)).thenReturn(Optional.empty());
+
+      assertThrows(GarminProcessingException.class, () -> service.getDaySummary(testDate, fields));
+   }
+
+   /**
+    * 7️⃣ Test getDaySummaryPage(SummaryPageRequest request)
+    * - ✅ Returns the newest page with a next cursor when older summaries exist.
+    */
+   @Test
+   void testGetDaySummaryPage_FirstPage() {
+      // GIVEN: Three stored days and a page size of two (the service reads one extra row).
+      List<CurrentDaySummary> models = List.of(
+          new CurrentDaySummary("3", LocalDate.of(2023, 5, 3), dummyBaseSummaryModel),
+          new CurrentDaySummary("2", LocalDate.of(2023, 5, 2), dummyBaseSummaryModel),
+          new CurrentDaySummary("1", LocalDate.of(2023, 5, 1), dummyBaseSummaryModel));
+      when(summaryQueryRepo.findDayPage(null, null, false, 3, Set.of())).thenReturn(models);
+
+      // WHEN: Requesting the first page.
+      SummaryPage<CurrentDaySummaryDTO> page = service.getDaySummaryPage(SummaryPageRequest.firstPage(2));
+
+      // THEN: The two newest days are returned, with a cursor pointing past the second one.
+      assertEquals(List.of("2023-05-03", "2023-05-02"), page.items().stream().map(CurrentDaySummaryDTO::day).toList());
+      assertEquals(CursorUtils.encode("days", LocalDate.of(2023, 5, 2)), page.nextCursor());
+      assertNull(page.prevCursor());
+   }
+
+   /**
+    * 7️⃣ Test getDaySummaryPage(SummaryPageRequest request)
+    * - ✅ Pages towards newer summaries with an 'after' cursor and returns them newest first.
+    */
+   @Test
+   void testGetDaySummaryPage_After() {
+      // GIVEN: A cursor for 2023-05-01; the repository reads newer days in ascending order.
+      String after = CursorUtils.encode("days", LocalDate.of(2023, 5, 1));
+      List<CurrentDaySummary> models = List.of(
+          new CurrentDaySummary("2", LocalDate.of(2023, 5, 2), dummyBaseSummaryModel),
+          new CurrentDaySummary("3", LocalDate.of(2023, 5, 3), dummyBaseSummaryModel));
+      when(summaryQueryRepo.findDayPage(LocalDate.of(2023, 5, 2), null, true, 3, Set.of())).thenReturn(models);
+
+      // WHEN: Requesting the newer page.
+      SummaryPage<CurrentDaySummaryDTO> page = service.getDaySummaryPage(
+          new SummaryPageRequest(null, after, null, null, 2));
+
+      // THEN: Days are returned newest first; there is no newer page but the older page is reachable.
+      assertEquals(List.of("2023-05-03", "2023-05-02"), page.items().stream().map(CurrentDaySummaryDTO::day).toList());
+      assertEquals(CursorUtils.encode("days", LocalDate.of(2023, 5, 2)), page.nextCursor());
+      assertNull(page.prevCursor());
+   }
+
+   /**
+    * 8️⃣ Test the read-through cache
+    * - ✅ Serves a repeated day lookup from the cache and reloads it after the key is evicted.
+    */
+   @Test
+   void testGetDaySummary_Cached() {
+      // GIVEN: A day summary in the repository.
+      LocalDate testDate = LocalDate.of(2023, 5, 1);
+      when(currentDaySummaryRepo.findByDay(testDate))
+          .thenReturn(Optional.of(new CurrentDaySummary("1", testDate, dummyBaseSummaryModel)));
+
+      // WHEN: Looking the day up twice.
+      CurrentDaySummaryDTO first = service.getDaySummary(testDate);
+      CurrentDaySummaryDTO second = service.getDaySummary(testDate);
+
+      // THEN: MongoDB is queried once and both calls return the same DTO.
+      assertSame(first, second);
+      verify(currentDaySummaryRepo, times(1)).findByDay(testDate);
+
+      // WHEN: An ingest run evicts the day.
+      summaryCache.evict(List.of(SummaryCacheKey.of(SummaryType.DAY, testDate)));
+      service.getDaySummary(testDate);
+
+      // THEN: The next lookup reads MongoDB again.
+      verify(currentDaySummaryRepo, times(2)).findByDay(testDate);
+   }
+
+   /**
+    * 8️⃣ Test the read-through cache
+    * - ❌ Does not cache a failed lookup.
+    */
+   @Test
+   void testGetDaySummary_NotFoundIsNotCached() {
+      LocalDate testDate = LocalDate.of(2023, 5, 1);
+      when(currentDaySummaryRepo.findByDay(testDate)).thenReturn(Optional.empty());
+
+      assertThrows(GarminProcessingException.class, () -> service.getDaySummary(testDate));
+      assertThrows(GarminProcessingException.class, () -> service.getDaySummary(testDate));
+
+      verify(currentDaySummaryRepo, times(2)).findByDay(testDate);
+   }
+
+   /**
+    * 9️⃣ Test request coalescing
+    * - ✅ Concurrent identical year listings share one MongoDB query.
+    */
+   @Test
+   void testGetYearSummaries_ConcurrentCallsCoalesced() throws Exception {
+      // GIVEN: A year query that only returns once the other callers have joined it.
+      int callers = 8;
+      when(yearlySummaryRepo.findAll()).thenAnswer(invocation -> {
+         long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+         while (singleFlight.stats().coalesced() < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+         }
+         return new ArrayList<>(List.of(new YearlySummary("1", LocalDate.of(2023, 1, 1), dummyBaseSummaryModel)));
+      });
+
+      // WHEN: The dashboards of several guests load the year listing at the same moment.
+      List<List<YearlySummaryDTO>> results;
+      try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+         List<Future<List<YearlySummaryDTO>>> futures = new ArrayList<>();
+         for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> service.getYearSummaries()));
+         }
+         results = new ArrayList<>();
+         for (Future<List<YearlySummaryDTO>> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+         }
+      }
+
+      // THEN: MongoDB was queried once and every caller got the shared result.
+      verify(yearlySummaryRepo, times(1)).findAll();
+      results.forEach(result -> assertSame(results.get(0), result));
+      assertEquals(callers - 1, singleFlight.stats().coalesced());
+      assertEquals(1, singleFlight.stats().executions());
+   }
 }
@@ -0,0 +1,184 @@
+package com.backend.services;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.dtos.DownsamplingMode;
+import com.backend.dtos.MetricSeriesDTO;
+import com.backend.dtos.SeriesDTO;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.BaseSummary;
+import com.backend.models.CurrentDaySummary;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
+import com.backend.utils.DateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.GarminSeriesService}.
+
+ * Table of Contents:
+
+ *   1️⃣ getSeries(Set metrics, LocalDate from, LocalDate to)
+ *      - ✅ Builds aligned int, double and seconds columns with a null bitmap.
+ *      - ✅ A year of three metrics is a fraction of the object-per-day payload.
+ *      - ✅ Downsamples a five-year range to at most maxPoints values per metric.
+ *      - ❌ Throws InvalidQueryParameterException for an inverted range without querying MongoDB.
+ */
+class GarminSeriesServiceTest {
+
+   private SummaryQueryRepo summaryQueryRepo;
+   private GarminSeriesService service;
+   private final ObjectMapper objectMapper = new ObjectMapper();
+
+   @BeforeEach
+   void setUp() {
+      summaryQueryRepo = Mockito.mock(SummaryQueryRepo.class);
+      service = new GarminSeriesService(summaryQueryRepo);
+   }
+
+   /**
+    * 1️⃣ Test getSeries
+    * - ✅ Builds aligned int, double and seconds columns with a null bitmap.
+    */
+   @Test
+   void testGetSeries() {
+      // GIVEN: Three projected day documents; the second one has no weight recorded.
+      Set<String> metrics = new LinkedHashSet<>(List.of("rhrAvg", "weightAvg", "sleepAvg"));
+      LocalDate from = LocalDate.of(2024, 5, 1);
+      LocalDate to = LocalDate.of(2024, 5, 3);
+      when(summaryQueryRepo.streamDayMetrics(from, to, metrics)).thenReturn(Stream.of(
+          day(from, new Document("ra", 52).append("wa", 61.5).append("sla", "07:30:00")),
+          day(from.plusDays(1), new Document("ra", 55).append("sla", "06:00:00")),
+          day(to, new Document("ra", 50).append("wa", 61.0).append("sla", "08:00:00"))));
+
+      // WHEN: Building the series.
+      SeriesDTO series = service.getSeries(metrics, from, to);
+
+      // THEN: All columns are aligned with the date axis and typed per metric.
+      assertEquals(List.of("2024-05-01", "2024-05-02", "2024-05-03"), series.days());
+      assertEquals(List.of("rhrAvg", "weightAvg", "sleepAvg"), new ArrayList<>(series.metrics().keySet()));
+
+      MetricSeriesDTO rhr = series.metrics().get("rhrAvg");
+      assertEquals("int", rhr.type());
+      assertArrayEquals(new int[] {52, 55, 50}, (int[]) rhr.values());
+      assertNull(rhr.nulls());
+
+      MetricSeriesDTO weight = series.metrics().get("weightAvg");
+      assertEquals("double", weight.type());
+      assertArrayEquals(new double[] {61.5, 0.0, 61.0}, (double[]) weight.values());
+      assertEquals(1, weight.nullCount());
+      assertEquals(BitSet.valueOf(new byte[] {0b010}), BitSet.valueOf(Base64.getDecoder().decode(weight.nulls())));
+
+      MetricSeriesDTO sleep = series.metrics().get("sleepAvg");
+      assertEquals("seconds", sleep.type());
+      assertArrayEquals(new int[] {27000, 21600, 28800}, (int[]) sleep.values());
+   }
+
+   /**
+    * 1️⃣ Test getSeries
+    * - ✅ A year of three metrics is a fraction of the object-per-day payload.
+    */
+   @Test
+   void testGetSeries_PayloadSize() throws Exception {
+      // GIVEN: A full year of day summaries.
+      Set<String> metrics = new LinkedHashSet<>(List.of("hrAvg", "rhrAvg", "sleepAvg"));
+      LocalDate from = LocalDate.of(2023, 1, 1);
+      LocalDate to = LocalDate.of(2023, 12, 31);
+      List<Document> rows = new ArrayList<>();
+      List<CurrentDaySummaryDTO> dtos = new ArrayList<>();
+      for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+         rows.add(day(day, new Document("ha", 80).append("ra", 55).append("sla", "07:45:00")));
+         dtos.add(CurrentDaySummaryDTO.fromModel(new CurrentDaySummary(day.toString(), day, fullSummary())));
+      }
+      when(summaryQueryRepo.streamDayMetrics(from, to, metrics)).thenReturn(rows.stream());
+
+      // WHEN: Serializing the series and the object-per-day listing.
+      int seriesBytes = objectMapper.writeValueAsBytes(service.getSeries(metrics, from, to)).length;
+      int objectBytes = objectMapper.writeValueAsBytes(dtos).length;
+
+      // THEN: The series is at most a tenth of the size.
+      assertTrue(seriesBytes * 10 < objectBytes, "Series: " + seriesBytes + " bytes, objects: " + objectBytes + " bytes");
+   }
+
+   /**
+    * 1️⃣ Test getSeries
+    * - ✅ Downsamples a five-year range to at most maxPoints values per metric.
+    */
+   @Test
+   void testGetSeries_Downsampled() {
+      // GIVEN: Five years of days; weight is only recorded every other day.
+      Set<String> metrics = new LinkedHashSet<>(List.of("rhrAvg", "weightAvg"));
+      LocalDate from = LocalDate.of(2019, 1, 1);
+      LocalDate to = LocalDate.of(2023, 12, 31);
+      List<Document> rows = new ArrayList<>();
+      int i = 0;
+      for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1), i++) {
+         Document summary = new Document("ra", 50 + i % 10);
+         if (i % 2 == 0) {
+            summary.append("wa", 60.0 + (i % 7) / 10.0);
+         }
+         rows.add(day(day, summary));
+      }
+      when(summaryQueryRepo.streamDayMetrics(from, to, metrics)).thenReturn(rows.stream());
+
+      // WHEN: Requesting at most 100 points per metric.
+      SeriesDTO series = service.getSeries(metrics, from, to, 100, DownsamplingMode.LTTB);
+
+      // THEN: Each metric has its own offsets, null values are dropped and the cap holds.
+      assertEquals("lttb", series.downsampling());
+      assertNull(series.days());
+      MetricSeriesDTO rhr = series.metrics().get("rhrAvg");
+      assertTrue(rhr.offsets().length <= 100);
+      assertEquals(rhr.offsets().length, ((int[]) rhr.values()).length);
+      assertEquals(0, rhr.offsets()[0]);
+      assertEquals(rows.size() - 1, rhr.offsets()[rhr.offsets().length - 1]);
+      MetricSeriesDTO weight = series.metrics().get("weightAvg");
+      assertTrue(Arrays.stream(weight.offsets()).allMatch(offset -> offset % 2 == 0));
+      assertEquals(0, weight.nullCount());
+   }
+
+   /**
+    * 1️⃣ Test getSeries
+    * - ❌ Throws InvalidQueryParameterException for an inverted range without querying MongoDB.
+    */
+   @Test
+   void testGetSeries_InvertedRange() {
+      assertThrows(InvalidQueryParameterException.class, () -> service.getSeries(
+          Set.of("rhrAvg"), LocalDate.of(2024, 5, 2), LocalDate.of(2024, 3, 10)));
+      verifyNoInteractions(summaryQueryRepo);
+   }
+
+   private static Document day(LocalDate day, Document summary) {
+      return new Document("day", DateUtils.toMongoDate(day)).append("summary", summary);
+   }
+
+   private static BaseSummary fullSummary() {
+      return new BaseSummary(
+          60, 120, 80, 50, 60, 55, 55, 75, 65,
+          2000, 2500, 1500, 1800, 500, 300,
+          60.0, 65.0, 62.0,
+          3000, 2800, 2900, 100, 110,
+          20, 80, 30,
+          10, 20, 15, 85, 90,
+          "06:00:00", "09:00:00", "07:45:00",
+          "01:00:00", "01:15:00", "01:05:00",
+          10000, 9000, 10, 8,
+          2, 5.0, "00:30:00", "00:45:00", "00:20:00", "00:10:00");
+   }
+}
@@ -0,0 +1,134 @@
+package com.backend.services;
+
+import com.backend.dtos.MetricStatsDTO;
+import com.backend.dtos.StatsBucketDTO;
+import com.backend.dtos.StatsGranularity;
+import com.backend.dtos.StatsResponseDTO;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.CurrentDaySummary;
+import com.backend.utils.DateUtils;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.GarminStatsService}.
+
+ * Table of Contents:
+
+ *   1️⃣ buildPipeline(Set metrics, LocalDate from, LocalDate to, StatsGranularity granularity)
+ *      - ✅ Matches on the day range, converts durations to seconds and groups by week.
+ *   2️⃣ getStats(Set metrics, LocalDate from, LocalDate to, StatsGranularity granularity)
+ *      - ✅ Maps aggregated buckets to StatsResponseDTO.
+ *      - ❌ Throws InvalidQueryParameterException for an inverted range without querying MongoDB.
+ */
+class GarminStatsServiceTest {
+
+   private MongoTemplate mongoTemplate;
+   private GarminStatsService service;
+
+   @BeforeEach
+   void setUp() {
+      mongoTemplate = Mockito.mock(MongoTemplate.class);
+      service = new GarminStatsService(mongoTemplate);
+   }
+
+   /**
+    * 1️⃣ Test buildPipeline
+    * - ✅ Matches on the day range, converts durations to seconds and groups by week.
+    */
+   @Test
+   void testBuildPipeline_Week() {
+      LocalDate from = LocalDate.of(2024, 3, 10);
+      LocalDate to = LocalDate.of(2024, 5, 2);
+
+      List<Document> pipeline = service.buildPipeline(
+          new LinkedHashSet<>(List.of("rhrAvg", "sleepAvg")), from, to, StatsGranularity.WEEK);
+
+      assertEquals(List.of("$match", "$project", "$group", "$sort"),
+                   pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+
+      Document dayRange = pipeline.get(0).get("$match", Document.class).get("day", Document.class);
+      assertEquals(DateUtils.toMongoDate(from), dayRange.get("$gte"));
+      assertEquals(DateUtils.toMongoDate(to), dayRange.get("$lte"));
+
+      Document project = pipeline.get(1).get("$project", Document.class);
+      assertEquals("$summary.ra", project.get("rhrAvg"));
+      assertTrue(project.get("sleepAvg", Document.class).containsKey("$let"), "Durations are converted to seconds");
+
+      Document group = pipeline.get(2).get("$group", Document.class);
+      Document dateTrunc = group.get("_id", Document.class).get("$dateTrunc", Document.class);
+      assertEquals("week", dateTrunc.get("unit"));
+      assertEquals("monday", dateTrunc.get("startOfWeek"));
+      assertTrue(group.keySet().containsAll(
+          List.of("rhrAvg_min", "rhrAvg_max", "rhrAvg_avg", "rhrAvg_sum", "rhrAvg_count", "sleepAvg_avg")));
+   }
+
+   /**
+    * 2️⃣ Test getStats
+    * - ✅ Maps aggregated buckets to StatsResponseDTO.
+    */
+   @Test
+   @SuppressWarnings("unchecked")
+   void testGetStats() {
+      // GIVEN: MongoDB returns one monthly bucket with 3 days, 2 of which recorded rhrAvg.
+      LocalDate bucketStart = LocalDate.of(2024, 3, 1);
+      Document bucket = new Document("_id", DateUtils.toMongoDate(bucketStart))
+          .append("days", 3)
+          .append("rhrAvg_min", 50)
+          .append("rhrAvg_max", 56)
+          .append("rhrAvg_avg", 53.0)
+          .append("rhrAvg_sum", 106)
+          .append("rhrAvg_count", 2);
+
+      MongoCollection<Document> collection = Mockito.mock(MongoCollection.class);
+      AggregateIterable<Document> iterable = Mockito.mock(AggregateIterable.class);
+      when(mongoTemplate.getCollectionName(CurrentDaySummary.class)).thenReturn("current_day_summaries");
+      when(mongoTemplate.getCollection("current_day_summaries")).thenReturn(collection);
+      when(collection.aggregate(anyList())).thenReturn(iterable);
+      when(iterable.into(any())).thenAnswer(invocation -> {
+         Collection<Document> target = invocation.getArgument(0);
+         target.add(bucket);
+         return target;
+      });
+
+      // WHEN: Requesting monthly statistics.
+      StatsResponseDTO result = service.getStats(
+          Set.of("rhrAvg"), LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 12), StatsGranularity.MONTH);
+
+      // THEN: The bucket is mapped with numeric statistics.
+      assertEquals("month", result.granularity());
+      assertEquals(1, result.buckets().size());
+      StatsBucketDTO mapped = result.buckets().get(0);
+      assertEquals("2024-03-01", mapped.start());
+      assertEquals(3, mapped.days());
+      assertEquals(new MetricStatsDTO(50.0, 56.0, 53.0, 106.0, 2), mapped.metrics().get("rhrAvg"));
+   }
+
+   /**
+    * 2️⃣ Test getStats
+    * - ❌ Throws InvalidQueryParameterException for an inverted range without querying MongoDB.
+    */
+   @Test
+   void testGetStats_InvertedRange() {
+      assertThrows(InvalidQueryParameterException.class, () -> service.getStats(
+          Set.of("rhrAvg"), LocalDate.of(2024, 5, 2), LocalDate.of(2024, 3, 10), StatsGranularity.DAY));
+      verifyNoInteractions(mongoTemplate);
+   }
+}
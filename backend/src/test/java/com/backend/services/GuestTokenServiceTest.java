@@ -0,0 +1,95 @@
+package com.backend.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.services.GuestTokenService}.
+
+ * Table of Contents:
+
+ *   1️⃣ issue() / verify(String token)
+ *      - ✅ Accepts a token it issued and returns a stable guest ID.
+ *      - ✅ Accepts a token issued by another instance sharing the secret.
+ *      - ❌ Rejects expired tokens.
+ *      - ❌ Rejects tampered, foreign and malformed tokens.
+ */
+class GuestTokenServiceTest {
+
+   private static final Instant NOW = Instant.parse("2024-05-01T08:00:00Z");
+
+   private GuestTokenService service;
+
+   @BeforeEach
+   void setUp() {
+      service = new GuestTokenService("test-secret", Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC));
+   }
+
+   /**
+    * 1️⃣ Test issue / verify
+    * - ✅ Accepts a token it issued and returns a stable guest ID.
+    */
+   @Test
+   void testVerify_IssuedToken() {
+      String token = service.issue();
+
+      String guestId = service.verify(token).orElseThrow();
+      assertEquals(guestId, service.verify(token).orElseThrow());
+      assertTrue(token.startsWith(guestId + "."));
+      assertNotEquals(guestId, service.verify(service.issue()).orElseThrow(), "Every guest gets its own ID");
+   }
+
+   /**
+    * 1️⃣ Test issue / verify
+    * - ✅ Accepts a token issued by another instance sharing the secret.
+    */
+   @Test
+   void testVerify_OtherInstance() {
+      GuestTokenService otherInstance =
+          new GuestTokenService("test-secret", Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC));
+
+      assertTrue(otherInstance.verify(service.issue()).isPresent());
+   }
+
+   /**
+    * 1️⃣ Test issue / verify
+    * - ❌ Rejects expired tokens.
+    */
+   @Test
+   void testVerify_Expired() {
+      String token = service.issue();
+      GuestTokenService later = new GuestTokenService(
+          "test-secret", Duration.ofHours(12), Clock.fixed(NOW.plus(Duration.ofHours(12)), ZoneOffset.UTC));
+
+      assertTrue(later.verify(token).isEmpty());
+   }
+
+   /**
+    * 1️⃣ Test issue / verify
+    * - ❌ Rejects tampered, foreign and malformed tokens.
+    */
+   @Test
+   void testVerify_Invalid() {
+      String token = service.issue();
+      String[] parts = token.split("\\.");
+
+      // An extended expiry invalidates the signature.
+      assertTrue(service.verify(parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2]).isEmpty());
+      // A token signed with another secret.
+      GuestTokenService foreign = new GuestTokenService("other-secret", Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC));
+      assertTrue(service.verify(foreign.issue()).isEmpty());
+      // Malformed tokens.
+      assertTrue(service.verify(null).isEmpty());
+      assertTrue(service.verify("").isEmpty());
+      assertTrue(service.verify("abc").isEmpty());
+      assertTrue(service.verify(parts[0] + ".x." + parts[2]).isEmpty());
+      assertTrue(service.verify(parts[0] + "." + parts[1] + ".***").isEmpty());
+   }
+}
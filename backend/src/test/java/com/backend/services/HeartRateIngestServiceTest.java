@@ -0,0 +1,169 @@
+package com.backend.services;
+
+import com.backend.dtos.HeartRateIngestReportDTO;
+import com.backend.exceptions.GarminDataParsingException;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.models.HeartRateDay;
+import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link com.backend.services.HeartRateIngestService}.
+
+ * Table of Contents:
+
+ *   1️⃣ ingest(String databaseName, String tableName, LocalDate from, LocalDate to)
+ *      - ✅ Reads one partition per day range and upserts one packed document per day.
+ *      - ✅ Uses the first and last reading when no days are given.
+ *      - ❌ Throws `GarminProcessingException` when the table has no readings.
+ *      - ❌ Throws `GarminDataParsingException` for an invalid timestamp and writes nothing.
+ */
+class HeartRateIngestServiceTest {
+
+   private static final String DATABASE = "garmin_monitoring.db";
+   private static final String TABLE = "monitoring_hr";
+
+   private GarminSQLiteRepo garminSQLiteRepo;
+   private MongoTemplate mongoTemplate;
+   private BulkOperations bulk;
+   private final List<Object[]> rows = new ArrayList<>(); // Fake monitoring_hr rows, sorted by timestamp
+
+   @BeforeEach
+   void setUp() throws Exception {
+      garminSQLiteRepo = Mockito.mock(GarminSQLiteRepo.class);
+      mongoTemplate = Mockito.mock(MongoTemplate.class);
+      bulk = Mockito.mock(BulkOperations.class);
+      when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(HeartRateDay.class))).thenReturn(bulk);
+
+      // Streams the fake rows with from <= timestamp < to, like the SQL range query.
+      when(garminSQLiteRepo.streamTableRange(eq(DATABASE), eq(TABLE), eq("timestamp"), anyString(), anyString(), any()))
+          .thenAnswer(invocation -> {
+             String from = invocation.getArgument(3);
+             String to = invocation.getArgument(4);
+             TableRowWriter writer = invocation.getArgument(5);
+             writer.columns(new String[] {"timestamp", "heart_rate"}, new int[] {Types.VARCHAR, Types.INTEGER});
+             long count = 0;
+             for (Object[] row : rows) {
+                String timestamp = String.valueOf(row[0]);
+                if (timestamp.compareTo(from) >= 0 && timestamp.compareTo(to) < 0) {
+                   writer.row(row.clone());
+                   count++;
+                }
+             }
+             return count;
+          });
+   }
+
+   /**
+    * 1️⃣ Test ingest
+    * - ✅ Reads one partition per day range and upserts one packed document per day.
+    */
+   @Test
+   void testIngest_PacksDaysPerPartition() throws Exception {
+      // GIVEN: Two readings in the same minute, a missing heart rate and readings on the next day.
+      rows.add(new Object[] {"2024-03-10 00:00:15.000000", 60});
+      rows.add(new Object[] {"2024-03-10 00:00:45.000000", 63});
+      rows.add(new Object[] {"2024-03-10 08:30:00.000000", null});
+      rows.add(new Object[] {"2024-03-10 23:59:00.000000", 90});
+      rows.add(new Object[] {"2024-03-11 12:00:00.000000", 55});
+      HeartRateIngestService service = new HeartRateIngestService(garminSQLiteRepo, mongoTemplate, 1);
+
+      // WHEN: Ingesting both days with one-day partitions.
+      HeartRateIngestReportDTO report = service.ingest(DATABASE, TABLE, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 11));
+
+      // THEN: Each day was read with its own range query and written as one upsert.
+      verify(garminSQLiteRepo).streamTableRange(eq(DATABASE), eq(TABLE), eq("timestamp"), eq("2024-03-10"), eq("2024-03-11"), any());
+      verify(garminSQLiteRepo).streamTableRange(eq(DATABASE), eq(TABLE), eq("timestamp"), eq("2024-03-11"), eq("2024-03-12"), any());
+      assertEquals(2, report.partitions());
+      assertEquals(2, report.days());
+      assertEquals(4, report.samples());
+      assertEquals(1, report.skipped());
+
+      ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+      ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+      verify(bulk, times(2)).upsert(queries.capture(), updates.capture());
+      verify(bulk, times(2)).execute();
+      assertEquals(LocalDate.of(2024, 3, 10), queries.getAllValues().getFirst().getQueryObject().get("day"));
+
+      // AND: The minute values are averaged and packed one byte per minute.
+      Document day = (Document) updates.getAllValues().getFirst().getUpdateObject().get("$set");
+      byte[] bpm = (byte[]) day.get("bpm");
+      assertEquals(HeartRateIngestService.MINUTES_PER_DAY, bpm.length);
+      assertEquals(62, bpm[0]);
+      assertEquals(90, bpm[HeartRateIngestService.MINUTES_PER_DAY - 1]);
+      assertEquals(0, bpm[8 * 60 + 30]);
+      assertEquals(3, day.get("samples"));
+      assertEquals(2, day.get("minutes"));
+      assertEquals(62, day.get("hrMin"));
+      assertEquals(90, day.get("hrMax"));
+      assertEquals(76, day.get("hrAvg"));
+   }
+
+   /**
+    * 1️⃣ Test ingest
+    * - ✅ Uses the first and last reading when no days are given.
+    */
+   @Test
+   void testIngest_DefaultsToTableBounds() throws Exception {
+      rows.add(new Object[] {"2024-01-30 07:00:00.000000", 58});
+      rows.add(new Object[] {"2024-03-02 07:00:00.000000", 61});
+      when(garminSQLiteRepo.getColumnBounds(DATABASE, TABLE, "timestamp"))
+          .thenReturn(List.of("2024-01-30 07:00:00.000000", "2024-03-02 07:00:00.000000"));
+
+      HeartRateIngestReportDTO report = new HeartRateIngestService(garminSQLiteRepo, mongoTemplate, 31)
+          .ingest(DATABASE, TABLE, null, null);
+
+      assertEquals(LocalDate.of(2024, 1, 30), report.from());
+      assertEquals(LocalDate.of(2024, 3, 2), report.to());
+      assertEquals(2, report.partitions());
+      assertEquals(2, report.days());
+      verify(garminSQLiteRepo).streamTableRange(eq(DATABASE), eq(TABLE), eq("timestamp"), eq("2024-03-01"), eq("2024-03-03"), any());
+   }
+
+   /**
+    * 1️⃣ Test ingest
+    * - ❌ Throws `GarminProcessingException` when the table has no readings.
+    */
+   @Test
+   void testIngest_EmptyTable() {
+      when(garminSQLiteRepo.getColumnBounds(DATABASE, TABLE, "timestamp")).thenReturn(List.of());
+      HeartRateIngestService service = new HeartRateIngestService(garminSQLiteRepo, mongoTemplate, 31);
+
+      assertThrows(GarminProcessingException.class, () -> service.ingest(DATABASE, TABLE, null, null));
+      verifyNoInteractions(mongoTemplate);
+   }
+
+   /**
+    * 1️⃣ Test ingest
+    * - ❌ Throws `GarminDataParsingException` for an invalid timestamp and writes nothing.
+    */
+   @Test
+   void testIngest_InvalidTimestamp() {
+      rows.add(new Object[] {"2024-03-10 25:00:00", 60});
+      HeartRateIngestService service = new HeartRateIngestService(garminSQLiteRepo, mongoTemplate, 31);
+
+      assertThrows(GarminDataParsingException.class, () ->
+          service.ingest(DATABASE, TABLE, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10)));
+      verifyNoInteractions(bulk);
+   }
+}
@@ -0,0 +1,276 @@
+package com.backend.services;
+
+import com.backend.dtos.IncrementalExportReportDTO;
+import com.backend.dtos.ManifestVerificationDTO;
+import com.backend.export.ExportCodec;
+import com.backend.export.ExportManifest;
+import com.backend.export.GzipCodec;
+import com.backend.export.IdentityCodec;
+import com.backend.repos.SQL.GarminSQLiteRepo;
+import com.backend.repos.SQL.TableRowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.IncrementalExportService}.
+
+ * Table of Contents:
+
+ *   1️⃣ exportTable(String databaseName, String tableName, ExportCodec codec)
+ *      - ✅ Writes key-ordered chunks and a manifest on the first export.
+ *      - ✅ Leaves every chunk untouched when nothing changed.
+ *      - ✅ Rewrites only the changed chunk, under a new file, and tops up the last chunk before appending.
+ *      - ✅ Splits a chunk whose key range grew past the chunk size.
+ *      - ✅ Removes a chunk whose rows were all deleted.
+ *      - ✅ Keys rows by position, in rowid order, when the table has no primary key.
+ *      - ✅ Rewrites every chunk when the codec changes.
+ *   2️⃣ verify(String databaseName, String tableName)
+ *      - ✅ Accepts an untouched export.
+ *      - ❌ Reports missing and corrupt chunk files.
+ */
+class IncrementalExportServiceTest {
+
+   private static final String DB = "garmin.db";
+   private static final String TABLE = "daily_summary";
+   private static final ExportCodec NONE = new IdentityCodec();
+
+   @TempDir
+   Path exportDir;
+
+   private GarminSQLiteRepo repo;
+   private IncrementalExportService service;
+   private List<Object[]> table; // Rows of (day, steps), kept sorted by day
+
+   @BeforeEach
+   void setUp() throws IOException {
+      repo = Mockito.mock(GarminSQLiteRepo.class);
+      service = new IncrementalExportService(repo, new ObjectMapper(), 2, exportDir);
+      table = new ArrayList<>();
+      for (int day = 1; day <= 5; day++) {
+         table.add(new Object[] {"2025-01-0" + day, 1000 * day});
+      }
+
+      when(repo.getPrimaryKeyColumns(DB, TABLE)).thenReturn(List.of("day"));
+      when(repo.streamTableData(eq(DB), eq(TABLE), anyList(), any(TableRowWriter.class))).thenAnswer(invocation -> {
+         TableRowWriter writer = invocation.getArgument(3);
+         writer.columns(new String[] {"day", "steps"}, new int[] {Types.VARCHAR, Types.INTEGER});
+         table.sort(Comparator.comparing(row -> (String) row[0]));
+         for (Object[] row : table) {
+            writer.row(row);
+         }
+         return (long) table.size();
+      });
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Writes key-ordered chunks and a manifest on the first export.
+    */
+   @Test
+   void testFirstExport_WritesChunksAndManifest() throws IOException {
+      // WHEN: Five rows are exported in chunks of two.
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, NONE);
+
+      // THEN: Three chunks are written and described by the manifest.
+      assertEquals(5, report.rows());
+      assertEquals(3, report.chunksAppended());
+      assertEquals(0, report.chunksUnchanged());
+
+      ExportManifest manifest = manifest();
+      assertEquals(List.of("day"), manifest.keyColumns());
+      assertEquals(List.of("2025-01-01"), manifest.firstKey());
+      assertEquals(List.of("2025-01-05"), manifest.lastKey());
+      assertEquals(List.of("chunk-00000.ndjson", "chunk-00001.ndjson", "chunk-00002.ndjson"),
+                   manifest.chunks().stream().map(ExportManifest.Chunk::file).toList());
+      assertEquals(List.of("2025-01-03"), manifest.chunks().get(1).firstKey());
+      assertEquals("{\"day\":\"2025-01-05\",\"steps\":5000}\n", chunk("chunk-00002.ndjson"));
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Leaves every chunk untouched when nothing changed.
+    */
+   @Test
+   void testUnchangedTable_WritesNoChunks() throws IOException {
+      service.exportTable(DB, TABLE, NONE);
+      long modified = Files.getLastModifiedTime(folder().resolve("chunk-00000.ndjson")).toMillis();
+
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, NONE);
+
+      assertEquals(3, report.chunksUnchanged());
+      assertEquals(0, report.chunksRewritten() + report.chunksAppended() + report.chunksRemoved());
+      assertEquals(0, report.bytesWritten());
+      assertEquals(modified, Files.getLastModifiedTime(folder().resolve("chunk-00000.ndjson")).toMillis());
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Rewrites only the changed chunk, under a new file, and tops up the last chunk before appending.
+    */
+   @Test
+   void testChangedAndNewRows_RewritesOneChunkAndTopsUpLast() throws IOException {
+      // GIVEN: A previous export whose last chunk holds a single row.
+      service.exportTable(DB, TABLE, NONE);
+      String firstChunk = chunk("chunk-00000.ndjson");
+
+      // WHEN: A row in the second chunk changes and three days are added.
+      table.set(2, new Object[] {"2025-01-03", 9999});
+      table.add(new Object[] {"2025-01-06", 6000});
+      table.add(new Object[] {"2025-01-07", 7000});
+      table.add(new Object[] {"2025-01-08", 8000});
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, NONE);
+
+      // THEN: The second chunk is rewritten, the first new day fills up the last chunk, and the rest goes into a new one.
+      assertEquals(1, report.chunksUnchanged());
+      assertEquals(2, report.chunksRewritten());
+      assertEquals(1, report.chunksAppended());
+      assertEquals(firstChunk, chunk("chunk-00000.ndjson"));
+      assertEquals(List.of(0, 3, 4, 5), manifest().chunks().stream().map(ExportManifest.Chunk::id).toList());
+      assertTrue(chunk("chunk-00003.ndjson").contains("9999"));
+      assertFalse(Files.exists(folder().resolve("chunk-00001.ndjson")), "The superseded chunk should be deleted");
+      assertEquals("{\"day\":\"2025-01-05\",\"steps\":5000}\n{\"day\":\"2025-01-06\",\"steps\":6000}\n",
+                   chunk("chunk-00004.ndjson"));
+      assertEquals("{\"day\":\"2025-01-07\",\"steps\":7000}\n{\"day\":\"2025-01-08\",\"steps\":8000}\n",
+                   chunk("chunk-00005.ndjson"));
+      assertEquals(List.of("2025-01-08"), manifest().lastKey());
+      assertEquals(8, manifest().rows());
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Splits a chunk whose key range grew past the chunk size.
+    */
+   @Test
+   void testRowInsertedInsideChunk_SplitsChunk() throws IOException {
+      // GIVEN: A previous export with chunks of two rows.
+      service.exportTable(DB, TABLE, NONE);
+
+      // WHEN: A row is inserted inside the key range of the second chunk.
+      table.add(new Object[] {"2025-01-03b", 3500});
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, NONE);
+
+      // THEN: The range is split into two chunks, and no chunk holds more than two rows.
+      assertEquals(1, report.chunksRewritten());
+      assertEquals(1, report.chunksAppended());
+      assertEquals(2, report.chunksUnchanged());
+      assertEquals(List.of(0, 3, 4, 2), manifest().chunks().stream().map(ExportManifest.Chunk::id).toList());
+      assertTrue(manifest().chunks().stream().allMatch(chunk -> chunk.rows() <= 2));
+      assertEquals(List.of("2025-01-04"), manifest().chunks().get(2).firstKey());
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Removes a chunk whose rows were all deleted.
+    */
+   @Test
+   void testDeletedRows_RemovesChunk() throws IOException {
+      service.exportTable(DB, TABLE, NONE);
+
+      table.removeIf(row -> row[0].equals("2025-01-03") || row[0].equals("2025-01-04"));
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, NONE);
+
+      assertEquals(1, report.chunksRemoved());
+      assertEquals(2, report.chunksUnchanged());
+      assertFalse(Files.exists(folder().resolve("chunk-00001.ndjson")));
+      assertEquals(List.of(0, 2), manifest().chunks().stream().map(ExportManifest.Chunk::id).toList());
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Keys rows by position, in rowid order, when the table has no primary key.
+    */
+   @Test
+   void testNoPrimaryKey_KeysByPosition() throws IOException {
+      when(repo.getPrimaryKeyColumns(DB, TABLE)).thenReturn(List.of());
+
+      service.exportTable(DB, TABLE, NONE);
+
+      Mockito.verify(repo).streamTableData(eq(DB), eq(TABLE), eq(List.of("rowid")), any(TableRowWriter.class));
+      assertEquals(List.of(), manifest().keyColumns());
+      assertEquals(List.of(3), manifest().chunks().get(1).firstKey()); // Rows 3 and 4
+      assertEquals(List.of(4), manifest().chunks().get(1).lastKey());
+   }
+
+   /**
+    * 1️⃣ Test exportTable
+    * - ✅ Rewrites every chunk when the codec changes.
+    */
+   @Test
+   void testCodecChange_RewritesEverything() throws IOException {
+      service.exportTable(DB, TABLE, NONE);
+
+      GzipCodec gzip = new GzipCodec(6);
+      IncrementalExportReportDTO report = service.exportTable(DB, TABLE, gzip);
+
+      assertEquals(3, report.chunksAppended());
+      assertFalse(Files.exists(folder().resolve("chunk-00000.ndjson")), "Old uncompressed chunks should be deleted");
+      assertEquals("chunk-00003.ndjson.gz", manifest().chunks().getFirst().file(), "Ids of old files are not reused");
+      try (InputStream in = gzip.decompress(Files.newInputStream(folder().resolve("chunk-00003.ndjson.gz")))) {
+         assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).startsWith("{\"day\":\"2025-01-01\""));
+      }
+   }
+
+   /**
+    * 2️⃣ Test verify
+    * - ✅ Accepts an untouched export.
+    */
+   @Test
+   void testVerify_Valid() {
+      service.exportTable(DB, TABLE, NONE);
+
+      ManifestVerificationDTO verification = service.verify(DB, TABLE);
+
+      assertTrue(verification.valid());
+      assertEquals(3, verification.chunks());
+      assertEquals(5, verification.rows());
+   }
+
+   /**
+    * 2️⃣ Test verify
+    * - ❌ Reports missing and corrupt chunk files.
+    */
+   @Test
+   void testVerify_DetectsMissingAndCorruptChunks() throws IOException {
+      service.exportTable(DB, TABLE, NONE);
+      Files.delete(folder().resolve("chunk-00000.ndjson"));
+      String corrupted = chunk("chunk-00001.ndjson").replace("3000", "3001"); // Same size, different bytes
+      Files.writeString(folder().resolve("chunk-00001.ndjson"), corrupted);
+
+      ManifestVerificationDTO verification = service.verify(DB, TABLE);
+
+      assertFalse(verification.valid());
+      assertEquals(List.of("chunk-00000.ndjson: missing", "chunk-00001.ndjson: checksum mismatch"),
+                   verification.problems());
+   }
+
+   private Path folder() {
+      return exportDir.resolve("garmin").resolve(TABLE);
+   }
+
+   private ExportManifest manifest() throws IOException {
+      return new ObjectMapper().readValue(folder().resolve(ExportManifest.FILE_NAME).toFile(), ExportManifest.class);
+   }
+
+   private String chunk(String file) throws IOException {
+      return Files.readString(folder().resolve(file));
+   }
+}
@@ -0,0 +1,71 @@
+package com.backend.services;
+
+import com.backend.dtos.PayloadSchemaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link com.backend.services.PayloadSchemaService}.
+
+ * Table of Contents:
+
+ *   1️⃣ getSchema()
+ *      - ✅ Describes every summary DTO, including the nested BaseSummaryDTO, in payload order.
+ *      - ✅ Maps field types to int32, float64, date, duration and arrays.
+ *      - ✅ Keeps the version stable for an unchanged structure.
+ */
+class PayloadSchemaServiceTest {
+
+   private final PayloadSchemaService service = new PayloadSchemaService();
+
+   /**
+    * 1️⃣ Test getSchema
+    * - ✅ Describes every summary DTO, including the nested BaseSummaryDTO, in payload order.
+    */
+   @Test
+   void testGetSchema_Types() {
+      PayloadSchemaDTO schema = service.getSchema();
+
+      assertEquals("application/json", schema.formats().get(0));
+      assertTrue(schema.formats().contains("application/cbor"));
+      assertTrue(schema.types().keySet().containsAll(
+          List.of("CurrentDaySummaryDTO", "BaseSummaryDTO", "RecentDailySummariesDTO",
+                            "WeeklySummaryDTO", "MonthlySummaryDTO", "YearlySummaryDTO")));
+      assertEquals(List.of("id", "day", "summary"),
+                   List.copyOf(schema.types().get("CurrentDaySummaryDTO").keySet()));
+      assertEquals(47, schema.types().get("BaseSummaryDTO").size());
+   }
+
+   /**
+    * 1️⃣ Test getSchema
+    * - ✅ Maps field types to int32, float64, date, duration and arrays.
+    */
+   @Test
+   void testGetSchema_FieldTypes() {
+      Map<String, Map<String, String>> types = service.getSchema().types();
+
+      assertEquals("date", types.get("CurrentDaySummaryDTO").get("day"));
+      assertEquals("BaseSummaryDTO", types.get("CurrentDaySummaryDTO").get("summary"));
+      assertEquals("int32", types.get("BaseSummaryDTO").get("rhrAvg"));
+      assertEquals("float64", types.get("BaseSummaryDTO").get("weightAvg"));
+      assertEquals("duration", types.get("BaseSummaryDTO").get("sleepAvg"));
+      assertEquals("int32[]", types.get("RecentDailySummariesDTO").get("hrAvg"));
+      assertEquals("duration[]", types.get("RecentDailySummariesDTO").get("sleepAvg"));
+   }
+
+   /**
+    * 1️⃣ Test getSchema
+    * - ✅ Keeps the version stable for an unchanged structure.
+    */
+   @Test
+   void testGetSchema_StableVersion() {
+      String version = service.getSchema().version();
+
+      assertEquals(12, version.length());
+      assertEquals(version, new PayloadSchemaService().getSchema().version());
+   }
+}
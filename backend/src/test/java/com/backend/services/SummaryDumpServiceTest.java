@@ -0,0 +1,265 @@
+package com.backend.services;
+
+import com.backend.dtos.SummaryDumpReportDTO;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.exceptions.GarminProcessingException;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.export.BsonDumpFiles;
+import com.backend.export.ExportCodecs;
+import com.backend.export.GzipCodec;
+import com.backend.export.IdentityCodec;
+import com.backend.export.SummaryDumpManifest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link com.backend.services.SummaryDumpService}.
+
+ * Table of Contents:
+
+ *   1️⃣ dump(String name, ExportCodec codec)
+ *      - ✅ Writes every collection as raw BSON documents and a manifest with the counts.
+ *      - ❌ Rejects dump names that could leave the dump folder.
+ *   2️⃣ restore(String name)
+ *      - ✅ Fills a temporary collection with unordered batch inserts, indexes it and renames it over the live one.
+ *      - ❌ Rejects a dump that does not exist.
+ *      - ❌ Throws `GarminProcessingException` for a truncated BSON file and leaves that collection untouched.
+ */
+class SummaryDumpServiceTest {
+
+   private static final String DAYS = "current_day_summaries";
+   private static final String WEEKS = "weekly_summaries";
+
+   @TempDir
+   Path dumpDir;
+
+   private MongoTemplate mongoTemplate;
+   private ApplicationEventPublisher eventPublisher;
+   private SummaryDumpService service;
+   private final Map<String, List<RawBsonDocument>> stored = new HashMap<>(); // Fake collections by name
+   private final Map<String, MongoCollection<RawBsonDocument>> collections = new HashMap<>();
+   private final Map<String, IndexOperations> indexOps = new HashMap<>(); // By collection name
+
+   @BeforeEach
+   void setUp() {
+      MongoMappingContext mappingContext = new MongoMappingContext();
+      MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+      converter.afterPropertiesSet();
+
+      mongoTemplate = Mockito.mock(MongoTemplate.class);
+      eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+      when(mongoTemplate.getConverter()).thenReturn(converter);
+      when(mongoTemplate.getCollectionName(any())).thenAnswer(invocation ->
+          mappingContext.getRequiredPersistentEntity((Class<?>) invocation.getArgument(0)).getCollection());
+      when(mongoTemplate.getCollection(any())).thenAnswer(invocation -> documentCollection(invocation.getArgument(0)));
+      when(mongoTemplate.indexOps(anyString())).thenAnswer(invocation ->
+          indexOps.computeIfAbsent(invocation.getArgument(0), name -> Mockito.mock(IndexOperations.class)));
+
+      ExportCodecs exportCodecs = new ExportCodecs(List.of(new IdentityCodec(), new GzipCodec(6)));
+      service = new SummaryDumpService(mongoTemplate, new ObjectMapper(), exportCodecs, eventPublisher, 2, 2, dumpDir);
+
+      stored.put(DAYS, new ArrayList<>(List.of(day("a", 2023, 5, 1), day("b", 2023, 5, 2), day("c", 2023, 5, 3))));
+   }
+
+   /**
+    * 1️⃣ Test dump
+    * - ✅ Writes every collection as raw BSON documents and a manifest with the counts.
+    */
+   @Test
+   void testDump_WritesBsonFilesAndManifest() throws IOException {
+      // WHEN: Dumping without compression.
+      SummaryDumpReportDTO report = service.dump("seed", new IdentityCodec());
+
+      // THEN: All five collections are listed and the day file holds the stored documents byte for byte.
+      assertEquals(3, report.documents());
+      assertEquals(5, report.collections().size());
+      SummaryDumpManifest manifest = new ObjectMapper().readValue(
+          dumpDir.resolve("seed").resolve(SummaryDumpManifest.FILE_NAME).toFile(), SummaryDumpManifest.class);
+      assertEquals("none", manifest.codec());
+      assertEquals(DAYS, manifest.collections().getFirst().name());
+      assertEquals(3, manifest.collections().getFirst().documents());
+
+      List<RawBsonDocument> read = new ArrayList<>();
+      try (InputStream in = Files.newInputStream(dumpDir.resolve("seed").resolve(DAYS + ".bson"))) {
+         for (RawBsonDocument document = BsonDumpFiles.readDocument(in); document != null;
+              document = BsonDumpFiles.readDocument(in)) {
+            read.add(document);
+         }
+      }
+      assertEquals(stored.get(DAYS), read);
+   }
+
+   /**
+    * 1️⃣ Test dump
+    * - ❌ Rejects dump names that could leave the dump folder.
+    */
+   @Test
+   void testDump_InvalidName() {
+      assertThrows(InvalidQueryParameterException.class, () -> service.dump("../seed", new IdentityCodec()));
+      assertFalse(Files.exists(dumpDir.getParent().resolve("seed")));
+   }
+
+   /**
+    * 2️⃣ Test restore
+    * - ✅ Fills a temporary collection with unordered batch inserts, indexes it and renames it over the live one.
+    */
+   @Test
+   void testRestore_ReplacesCollectionsAndRebuildsIndexes() {
+      // GIVEN: A gzip dump, after which a day is added to the live collection.
+      List<RawBsonDocument> dumped = List.copyOf(stored.get(DAYS));
+      service.dump("seed", new GzipCodec(6));
+      stored.get(DAYS).add(day("d", 2023, 5, 4));
+
+      // WHEN: Restoring the dump.
+      SummaryDumpReportDTO report = service.restore("seed");
+
+      // THEN: A temporary collection was filled in unordered batches of two and renamed over the live one.
+      assertEquals(3, report.documents());
+      assertEquals("gzip", report.codec());
+      MongoCollection<RawBsonDocument> temp = collections.get(DAYS + SummaryDumpService.RESTORE_SUFFIX);
+      ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+      verify(temp, times(2)).insertMany(anyList(), options.capture());
+      assertFalse(options.getValue().isOrdered());
+      ArgumentCaptor<RenameCollectionOptions> rename = ArgumentCaptor.forClass(RenameCollectionOptions.class);
+      verify(temp).renameCollection(eq(new MongoNamespace("hrvibe", DAYS)), rename.capture());
+      assertTrue(rename.getValue().isDropTarget());
+      verify(collections.get(DAYS), never()).drop();
+      assertEquals(Set.copyOf(dumped), Set.copyOf(stored.get(DAYS)));
+
+      // AND: The unique day index was built before the rename, and listeners learned about the
+      //      restored days and the day that only the replaced collection had.
+      ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+      verify(indexOps.get(DAYS + SummaryDumpService.RESTORE_SUFFIX)).ensureIndex(index.capture());
+      assertEquals("unique_day", index.getValue().getIndexOptions().get("name"));
+      verify(eventPublisher).publishEvent(new SummaryDataChangedEvent(
+          SummaryType.DAY, Set.of(LocalDate.of(2023, 5, 1), LocalDate.of(2023, 5, 2), LocalDate.of(2023, 5, 3),
+                                  LocalDate.of(2023, 5, 4))));
+   }
+
+   /**
+    * 2️⃣ Test restore
+    * - ❌ Rejects a dump that does not exist.
+    */
+   @Test
+   void testRestore_MissingDump() {
+      Exception exception = assertThrows(InvalidQueryParameterException.class, () -> service.restore("missing"));
+
+      assertTrue(exception.getMessage().contains("missing"));
+      verify(mongoTemplate, never()).getCollection(any());
+   }
+
+   /**
+    * 2️⃣ Test restore
+    * - ❌ Throws `GarminProcessingException` for a truncated BSON file and leaves that collection untouched.
+    */
+   @Test
+   void testRestore_TruncatedFile() throws IOException {
+      // GIVEN: A dump whose weeks file is cut off in the middle of a document.
+      service.dump("seed", new IdentityCodec());
+      byte[] bytes = Files.readAllBytes(dumpDir.resolve("seed").resolve(DAYS + ".bson"));
+      Files.write(dumpDir.resolve("seed").resolve(WEEKS + ".bson"), Arrays.copyOf(bytes, bytes.length - 3));
+      RawBsonDocument week = day("w", 2023, 5, 1);
+      stored.put(WEEKS, new ArrayList<>(List.of(week)));
+
+      // WHEN / THEN: The restore fails on the weeks file.
+      assertThrows(GarminProcessingException.class, () -> service.restore("seed"));
+
+      // AND: The live weeks are untouched and the partial copy is dropped, while the days restored
+      //      before the failure are still published.
+      assertEquals(List.of(week), stored.get(WEEKS));
+      verify(collections.get(WEEKS + SummaryDumpService.RESTORE_SUFFIX), never()).renameCollection(any(), any());
+      verify(collections.get(WEEKS + SummaryDumpService.RESTORE_SUFFIX), times(2)).drop();
+      verify(eventPublisher).publishEvent(new SummaryDataChangedEvent(
+          SummaryType.DAY, Set.of(LocalDate.of(2023, 5, 1), LocalDate.of(2023, 5, 2), LocalDate.of(2023, 5, 3))));
+      verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+   }
+
+   // Builds a stored day document the way Spring Data writes CurrentDaySummary (LocalDate as a date-time).
+   private static RawBsonDocument day(String id, int year, int month, int dayOfMonth) {
+      long millis = LocalDate.of(year, month, dayOfMonth).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+      BsonDocument document = new BsonDocument("_id", new BsonString(id))
+          .append("day", new BsonDateTime(millis))
+          .append("summary", new BsonDocument("hrAvg", new BsonInt32(60 + dayOfMonth)));
+      return new RawBsonDocument(document, new BsonDocumentCodec());
+   }
+
+   // Mocks the driver collection of the given name on top of the 'stored' documents.
+   @SuppressWarnings("unchecked")
+   private MongoCollection<Document> documentCollection(String name) {
+      MongoCollection<RawBsonDocument> raw = collections.computeIfAbsent(name, key -> {
+         MongoCollection<RawBsonDocument> collection = Mockito.mock(MongoCollection.class);
+         FindIterable<RawBsonDocument> find = Mockito.mock(FindIterable.class);
+         when(collection.find()).thenReturn(find);
+         when(collection.getNamespace()).thenReturn(new MongoNamespace("hrvibe", key));
+         when(find.projection(any())).thenReturn(find);
+         when(find.batchSize(anyInt())).thenReturn(find);
+         when(find.iterator()).thenAnswer(invocation -> cursor(List.copyOf(stored.getOrDefault(key, List.of())).iterator()));
+         doAnswer(invocation -> stored.put(key, Collections.synchronizedList(new ArrayList<>())))
+             .when(collection).drop();
+         doAnswer(invocation -> stored.get(key).addAll(invocation.getArgument(0)))
+             .when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+         doAnswer(invocation -> stored.put(((MongoNamespace) invocation.getArgument(0)).getCollectionName(), stored.remove(key)))
+             .when(collection).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+         return collection;
+      });
+      MongoCollection<Document> documents = Mockito.mock(MongoCollection.class);
+      when(documents.withDocumentClass(RawBsonDocument.class)).thenReturn(raw);
+      return documents;
+   }
+
+   @SuppressWarnings("unchecked")
+   private static MongoCursor<RawBsonDocument> cursor(Iterator<RawBsonDocument> iterator) {
+      MongoCursor<RawBsonDocument> cursor = Mockito.mock(MongoCursor.class);
+      when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+      when(cursor.next()).thenAnswer(invocation -> iterator.next());
+      return cursor;
+   }
+}
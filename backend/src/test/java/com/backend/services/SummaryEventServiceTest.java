@@ -0,0 +1,172 @@
+package com.backend.services;
+
+import com.backend.dtos.DataChangedEventDTO;
+import com.backend.events.SummaryDataChangedEvent;
+import com.backend.events.SummaryType;
+import com.backend.exceptions.CapacityExceededException;
+import com.backend.models.DataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.SummaryEventService}.
+
+ * Table of Contents:
+
+ *   1️⃣ subscribe()
+ *      - ✅ Registers the client and opens the stream with a comment.
+ *      - ❌ Throws CapacityExceededException when the client limit is reached.
+ *   2️⃣ onSummaryDataChanged(SummaryDataChangedEvent event)
+ *      - ✅ Sends a "data-changed" event with the sorted periods and the new version to every client.
+ *      - ❌ Evicts a client whose connection is gone.
+ *   3️⃣ heartbeat()
+ *      - ✅ Sends a comment to idle clients and evicts dead ones.
+ */
+class SummaryEventServiceTest {
+
+   private DataVersionService dataVersionService;
+   private final List<RecordingEmitter> emitters = new ArrayList<>();
+   private SummaryEventService service;
+
+   @BeforeEach
+   void setUp() {
+      dataVersionService = Mockito.mock(DataVersionService.class);
+      service = newService(10);
+   }
+
+   /**
+    * 1️⃣ Test subscribe
+    * - ✅ Registers the client and opens the stream with a comment.
+    */
+   @Test
+   void testSubscribe() {
+      service.subscribe();
+
+      assertEquals(1, service.clientCount());
+      assertTrue(emitters.get(0).frames.get(0).contains(":connected"));
+   }
+
+   /**
+    * 1️⃣ Test subscribe
+    * - ❌ Throws CapacityExceededException when the client limit is reached.
+    */
+   @Test
+   void testSubscribe_CapacityExceeded() {
+      service = newService(1);
+      service.subscribe();
+
+      assertThrows(CapacityExceededException.class, () -> service.subscribe());
+      assertEquals(1, service.clientCount());
+   }
+
+   /**
+    * 2️⃣ Test onSummaryDataChanged
+    * - ✅ Sends a "data-changed" event with the sorted periods and the new version to every client.
+    */
+   @Test
+   void testOnSummaryDataChanged_Broadcasts() {
+      // GIVEN: Two connected clients and a bumped DAY version.
+      service.subscribe();
+      service.subscribe();
+      when(dataVersionService.currentVersion(SummaryType.DAY))
+          .thenReturn(Optional.of(new DataVersion("DAY", 42, null)));
+
+      // WHEN: An ingest run wrote two days.
+      service.onSummaryDataChanged(new SummaryDataChangedEvent(
+          SummaryType.DAY, Set.of(LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 1))));
+
+      // THEN: Both clients received the event with its payload.
+      for (RecordingEmitter emitter : emitters) {
+         assertEquals(2, emitter.frames.size());
+         assertTrue(emitter.frames.get(1).contains("event:data-changed"));
+         assertTrue(emitter.frames.get(1).contains("id:DAY-42"));
+         assertEquals(new DataChangedEventDTO("DAY", List.of("2024-05-01", "2024-05-02"), 42), emitter.payload);
+      }
+   }
+
+   /**
+    * 2️⃣ Test onSummaryDataChanged
+    * - ❌ Evicts a client whose connection is gone.
+    */
+   @Test
+   void testOnSummaryDataChanged_EvictsDeadClient() {
+      service.subscribe();
+      service.subscribe();
+      emitters.get(0).broken = true;
+      when(dataVersionService.currentVersion(SummaryType.WEEK)).thenReturn(Optional.empty());
+
+      service.onSummaryDataChanged(new SummaryDataChangedEvent(SummaryType.WEEK, Set.of(LocalDate.of(2024, 4, 29))));
+
+      assertEquals(1, service.clientCount());
+      assertEquals(2, emitters.get(1).frames.size());
+   }
+
+   /**
+    * 3️⃣ Test heartbeat
+    * - ✅ Sends a comment to idle clients and evicts dead ones.
+    */
+   @Test
+   void testHeartbeat() {
+      service.subscribe();
+      service.subscribe();
+      emitters.get(1).broken = true;
+
+      service.heartbeat();
+
+      assertEquals(1, service.clientCount());
+      assertTrue(emitters.get(0).frames.get(1).contains(":heartbeat"));
+   }
+
+   private SummaryEventService newService(int maxClients) {
+      // Sends run on the calling thread so the tests can assert right after broadcasting.
+      return new SummaryEventService(dataVersionService, new ExecutorServiceAdapter(new SyncTaskExecutor()),
+                                     Duration.ofMinutes(30), maxClients) {
+         @Override
+         SseEmitter createEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+         }
+      };
+   }
+
+   // Records the text of every frame instead of writing to a response; can simulate a closed connection.
+   private static final class RecordingEmitter extends SseEmitter {
+
+      private final List<String> frames = new ArrayList<>();
+      private Object payload;
+      private boolean broken;
+
+      @Override
+      public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+         if (broken) {
+            throw new IOException("Broken pipe");
+         }
+         StringBuilder frame = new StringBuilder();
+         for (ResponseBodyEmitter.DataWithMediaType item : items) {
+            if (item.getData() instanceof String text) {
+               frame.append(text);
+            } else {
+               payload = item.getData();
+            }
+         }
+         frames.add(frame.toString());
+      }
+   }
+}
@@ -0,0 +1,130 @@
+package com.backend.services;
+
+import com.backend.models.CurrentDaySummary;
+import com.backend.models.MonthlySummary;
+import com.backend.models.WeeklySummary;
+import com.backend.models.YearlySummary;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link com.backend.services.SummaryStorageService}.
+
+ * Table of Contents:
+
+ *   1️⃣ afterSingletonsInstantiated()
+ *      - ✅ Rewrites legacy summaries into the compact encoding at startup.
+ *      - ✅ Only probes the collections when every summary is already compact.
+ *      - ✅ Does nothing when the startup migration is disabled.
+ */
+class SummaryStorageServiceTest {
+
+   private MongoTemplate mongoTemplate;
+   private final Map<String, MongoCollection<Document>> collections = new HashMap<>();
+
+   @BeforeEach
+   void setUp() {
+      mongoTemplate = Mockito.mock(MongoTemplate.class);
+      for (Class<?> entity : List.of(CurrentDaySummary.class, WeeklySummary.class, MonthlySummary.class, YearlySummary.class)) {
+         String name = entity.getSimpleName();
+         when(mongoTemplate.getCollectionName(entity)).thenReturn(name);
+         MongoCollection<Document> collection = mockCollection(List.of());
+         collections.put(name, collection);
+         when(mongoTemplate.getCollection(name)).thenReturn(collection);
+      }
+      when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document());
+   }
+
+   /**
+    * 1️⃣ Test afterSingletonsInstantiated
+    * - ✅ Rewrites legacy summaries into the compact encoding at startup.
+    */
+   @Test
+   void testStartup_MigratesLegacySummaries() {
+      // GIVEN: One day still stored with long metric names.
+      Document legacy = new Document("_id", "d1").append("summary", new Document("hrAvg", 62).append("steps", 9000));
+      MongoCollection<Document> days = mockCollection(List.of(legacy));
+      when(mongoTemplate.getCollection("CurrentDaySummary")).thenReturn(days);
+      BulkWriteResult result = mock(BulkWriteResult.class);
+      when(result.getModifiedCount()).thenReturn(1);
+      when(days.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenReturn(result);
+
+      // WHEN: The application context finishes creating its beans.
+      new SummaryStorageService(mongoTemplate, true).afterSingletonsInstantiated();
+
+      // THEN: The summary is rewritten with the short keys, and only that collection is written.
+      @SuppressWarnings("unchecked")
+      ArgumentCaptor<List<WriteModel<Document>>> batch = ArgumentCaptor.forClass(List.class);
+      verify(days).bulkWrite(batch.capture(), any(BulkWriteOptions.class));
+      UpdateOneModel<Document> update = (UpdateOneModel<Document>) batch.getValue().getFirst();
+      assertEquals(new Document("ha", 62).append("st", 9000).toBsonDocument(),
+                   update.getUpdate().toBsonDocument().getDocument("$set").getDocument("summary"));
+      verify(collections.get("WeeklySummary"), never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+   }
+
+   /**
+    * 1️⃣ Test afterSingletonsInstantiated
+    * - ✅ Only probes the collections when every summary is already compact.
+    */
+   @Test
+   void testStartup_AlreadyCompact() {
+      new SummaryStorageService(mongoTemplate, true).afterSingletonsInstantiated();
+
+      for (MongoCollection<Document> collection : collections.values()) {
+         verify(collection).find(any(Bson.class));
+         verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+      }
+      verify(mongoTemplate, never()).executeCommand(any(Document.class));
+   }
+
+   /**
+    * 1️⃣ Test afterSingletonsInstantiated
+    * - ✅ Does nothing when the startup migration is disabled.
+    */
+   @Test
+   void testStartup_Disabled() {
+      new SummaryStorageService(mongoTemplate, false).afterSingletonsInstantiated();
+
+      verifyNoInteractions(mongoTemplate);
+   }
+
+   // A collection whose probe and migration queries both return the given documents.
+   @SuppressWarnings("unchecked")
+   private static MongoCollection<Document> mockCollection(List<Document> documents) {
+      MongoCollection<Document> collection = mock(MongoCollection.class);
+      FindIterable<Document> found = mock(FindIterable.class);
+      when(collection.find(any(Bson.class))).thenReturn(found);
+      when(found.limit(anyInt())).thenReturn(found);
+      when(found.batchSize(anyInt())).thenReturn(found);
+      when(found.first()).thenReturn(documents.isEmpty() ? null : documents.getFirst());
+      Iterator<Document> iterator = documents.iterator();
+      MongoCursor<Document> cursor = mock(MongoCursor.class);
+      when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+      when(cursor.next()).thenAnswer(invocation -> iterator.next());
+      when(found.iterator()).thenReturn(cursor);
+      return collection;
+   }
+}
@@ -0,0 +1,101 @@
+package com.backend.services;
+
+import com.backend.models.BaseSummary;
+import com.backend.models.CurrentDaySummary;
+import com.backend.repos.MongoDB.SummaryQueryRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link com.backend.services.SummaryStreamingService}.
+
+ * Table of Contents:
+
+ *   1️⃣ writeDaySummaries(LocalDate from, LocalDate to, Set fields, OutputStream out)
+ *      - ✅ Writes one JSON document per line and closes the cursor stream.
+ *      - ✅ Writes trimmed summaries when fields are selected.
+ */
+class SummaryStreamingServiceTest {
+
+   private SummaryQueryRepo summaryQueryRepo;
+   private SummaryStreamingService service;
+   private final ObjectMapper objectMapper = new ObjectMapper();
+
+   private final BaseSummary summary = new BaseSummary(
+       60, 120, 80, 60, 80, 70, 55, 75, 65,
+       2000, 2500, 1500, 1800, 500, 300,
+       60.0, 65.0, 62.0,
+       3000, 2800, 2900, 100, 110,
+       20, 80, 30,
+       10, 20, 15, 85, 90,
+       "08:00:00", "09:00:00", "08:30:00",
+       "01:00:00", "01:15:00", "01:05:00",
+       10000, 9000, 10, 8,
+       2, 5.0, "00:30:00", "00:45:00", "00:20:00", "00:10:00"
+   );
+
+   @BeforeEach
+   void setUp() {
+      summaryQueryRepo = Mockito.mock(SummaryQueryRepo.class);
+      service = new SummaryStreamingService(summaryQueryRepo, objectMapper);
+   }
+
+   /**
+    * 1️⃣ Test writeDaySummaries
+    * - ✅ Writes one JSON document per line and closes the cursor stream.
+    */
+   @Test
+   void testWriteDaySummaries() throws Exception {
+      // GIVEN: A cursor stream with two days that records when it is closed.
+      AtomicBoolean closed = new AtomicBoolean(false);
+      Stream<CurrentDaySummary> rows = Stream.of(
+          new CurrentDaySummary("2", LocalDate.of(2023, 5, 2), summary),
+          new CurrentDaySummary("1", LocalDate.of(2023, 5, 1), summary)
+      ).onClose(() -> closed.set(true));
+      when(summaryQueryRepo.streamDays(null, null, Set.of())).thenReturn(rows);
+
+      // WHEN: Writing the stream.
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      long written = service.writeDaySummaries(null, null, Set.of(), out);
+
+      // THEN: Two complete lines were written and the cursor was released.
+      String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+      assertEquals(2, written);
+      assertEquals(3, lines.length, "Every line, including the last, ends with a newline");
+      assertEquals("", lines[2]);
+      assertEquals("2023-05-02", objectMapper.readTree(lines[0]).get("day").asText());
+      assertEquals(80, objectMapper.readTree(lines[1]).get("summary").get("hrAvg").asInt());
+      assertTrue(closed.get());
+   }
+
+   /**
+    * 1️⃣ Test writeDaySummaries
+    * - ✅ Writes trimmed summaries when fields are selected.
+    */
+   @Test
+   void testWriteDaySummaries_WithFields() throws Exception {
+      Set<String> fields = Set.of("rhrAvg");
+      when(summaryQueryRepo.streamDays(LocalDate.of(2023, 5, 1), null, fields))
+          .thenReturn(Stream.of(new CurrentDaySummary("1", LocalDate.of(2023, 5, 1), summary)));
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      service.writeDaySummaries(LocalDate.of(2023, 5, 1), null, fields, out);
+
+      JsonNode line = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+      assertEquals(1, line.get("summary").size());
+      assertEquals(70, line.get("summary").get("rhrAvg").asInt());
+   }
+}
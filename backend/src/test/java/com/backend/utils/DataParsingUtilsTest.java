@@ -5,8 +5,12 @@ import com.backend.exceptions.JsonParsingException;
 import com.backend.models.*;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +66,10 @@ import static org.junit.jupiter.api.Assertions.*;
  * 1️⃣1️⃣ Tests for JsonUtils.parseJsonToList():
  *    - ✅ givenValidJson_whenParseJsonToList_thenReturnsListOfMaps
  *    - ❌ givenInvalidJson_whenParseJsonToList_thenThrowsJsonParsingException
+
+ * 1️⃣2️⃣ Tests for JsonUtils.forEachJsonObject():
+ *    - ✅ givenJsonArrayOrNdjson_whenForEachJsonObject_thenStreamsEachObject
+ *    - ❌ givenNonObjectElement_whenForEachJsonObject_thenThrowsJsonParsingException
  */
 class DataParsingUtilsTest {
 
@@ -475,6 +483,47 @@ class DataParsingUtilsTest {
       assertThrows(JsonParsingException.class, () -> DataParsingUtils.JsonUtils.parseJsonToList(invalidJson));
    }
 
+   /**
+    * ✅ Test Case: givenJsonArrayOrNdjson_whenForEachJsonObject_thenStreamsEachObject
+    */
+   @Test
+   void givenJsonArrayOrNdjson_whenForEachJsonObject_thenStreamsEachObject() {
+      // GIVEN the same two rows as a pretty-printed JSON array and as NDJSON
+      String array = "[ {\n  \"day\" : \"2025-01-01\",\n  \"steps\" : 100\n}, {\n  \"day\" : \"2025-01-02\"\n} ]";
+      String ndjson = "{\"day\":\"2025-01-01\",\"steps\":100}\n{\"day\":\"2025-01-02\"}\n";
+
+      for (String json : List.of(array, ndjson)) {
+         // WHEN streaming the objects
+         List<Map<String, Object>> rows = new ArrayList<>();
+         long count = DataParsingUtils.JsonUtils.forEachJsonObject(stream(json), rows::add);
+
+         // THEN each object is passed on in order with its values
+         assertEquals(2, count);
+         assertEquals(List.of(Map.of("day", "2025-01-01", "steps", 100), Map.of("day", "2025-01-02")), rows);
+      }
+      assertEquals(0, DataParsingUtils.JsonUtils.forEachJsonObject(stream("[]"), row -> fail("No rows expected")));
+   }
+
+   /**
+    * ❌ Test Case: givenNonObjectElement_whenForEachJsonObject_thenThrowsJsonParsingException
+    */
+   @Test
+   void givenNonObjectElement_whenForEachJsonObject_thenThrowsJsonParsingException() {
+      // GIVEN an array with a number after the first object, and an array that is cut off
+      List<Map<String, Object>> rows = new ArrayList<>();
+
+      // WHEN streaming THEN the first object is delivered before the error is thrown
+      assertThrows(JsonParsingException.class, () ->
+          DataParsingUtils.JsonUtils.forEachJsonObject(stream("[{\"day\":\"2025-01-01\"}, 42]"), rows::add));
+      assertEquals(1, rows.size());
+      assertThrows(JsonParsingException.class, () ->
+          DataParsingUtils.JsonUtils.forEachJsonObject(stream("[{\"day\":\"2025-01-01\"}"), row -> {}));
+   }
+
+   private static InputStream stream(String json) {
+      return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+   }
+
    /**
     * 🛠️ Helper method to create mock BaseSummary objects.
     */
@@ -0,0 +1,107 @@
+package com.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📌 DownsamplingUtilsTest - Unit tests for the streaming downsamplers in DownsamplingUtils.
+
+ * 1️⃣ Tests for lttb():
+ *    - ✅ givenLongSeries_whenLttb_thenKeepsEndpointsAndStaysWithinMaxPoints
+ *    - ✅ givenSeriesWithSpike_whenLttb_thenKeepsSpike
+ *    - ✅ givenTwoPoints_whenLttb_thenReturnsBoth
+ *    - ❌ givenTooFewMaxPoints_whenLttb_thenThrowsIllegalArgumentException
+
+ * 2️⃣ Tests for minMax():
+ *    - ✅ givenLongSeries_whenMinMax_thenKeepsExtremesOfEveryBucketInOrder
+ */
+class DownsamplingUtilsTest {
+
+   /**
+    * 1️⃣ Test Case: Given five years of daily points, when downsampled with LTTB,
+    * then the first and last points are kept and at most maxPoints are returned in order.
+    */
+   @Test
+   void givenLongSeries_whenLttb_thenKeepsEndpointsAndStaysWithinMaxPoints() {
+      int span = 1826;
+      DownsamplingUtils.Downsampler lttb = DownsamplingUtils.lttb(span, 200);
+      for (int x = 0; x < span; x++) {
+         lttb.add(x, Math.sin(x / 30.0) * 10 + 60);
+      }
+
+      DownsamplingUtils.Points points = lttb.finish();
+
+      assertTrue(points.size() <= 200, "Returned " + points.size() + " points");
+      assertTrue(points.size() > 150, "Every bucket should contribute a point");
+      assertEquals(0, points.x()[0]);
+      assertEquals(span - 1, points.x()[points.size() - 1]);
+      int[] sorted = points.x().clone();
+      Arrays.sort(sorted);
+      assertArrayEquals(sorted, points.x(), "Points must be in ascending x order");
+   }
+
+   /**
+    * 1️⃣ Test Case: Given a flat series with one spike, when downsampled with LTTB,
+    * then the spike is kept.
+    */
+   @Test
+   void givenSeriesWithSpike_whenLttb_thenKeepsSpike() {
+      DownsamplingUtils.Downsampler lttb = DownsamplingUtils.lttb(1000, 10);
+      for (int x = 0; x < 1000; x++) {
+         lttb.add(x, x == 437 ? 180 : 60);
+      }
+
+      DownsamplingUtils.Points points = lttb.finish();
+
+      assertTrue(Arrays.stream(points.x()).anyMatch(x -> x == 437), "The spike should be selected");
+   }
+
+   /**
+    * 1️⃣ Test Case: Given only two points, when downsampled with LTTB,
+    * then both are returned.
+    */
+   @Test
+   void givenTwoPoints_whenLttb_thenReturnsBoth() {
+      DownsamplingUtils.Downsampler lttb = DownsamplingUtils.lttb(1000, 10);
+      lttb.add(3, 1.0);
+      lttb.add(900, 2.0);
+
+      DownsamplingUtils.Points points = lttb.finish();
+
+      assertArrayEquals(new int[] {3, 900}, points.x());
+      assertArrayEquals(new double[] {1.0, 2.0}, points.y());
+   }
+
+   /**
+    * 1️⃣ Test Case: Given fewer than 3 max points, when creating an LTTB downsampler,
+    * then an IllegalArgumentException is thrown.
+    */
+   @Test
+   void givenTooFewMaxPoints_whenLttb_thenThrowsIllegalArgumentException() {
+      assertThrows(IllegalArgumentException.class, () -> DownsamplingUtils.lttb(1000, 2));
+   }
+
+   /**
+    * 2️⃣ Test Case: Given a long series, when downsampled with min-max,
+    * then every bucket contributes its lowest and highest point, in ascending x order.
+    */
+   @Test
+   void givenLongSeries_whenMinMax_thenKeepsExtremesOfEveryBucketInOrder() {
+      // 100 days in 10 buckets of 10 days; in each bucket the maximum comes before the minimum.
+      DownsamplingUtils.Downsampler minMax = DownsamplingUtils.minMax(100, 20);
+      for (int x = 0; x < 100; x++) {
+         int position = x % 10;
+         minMax.add(x, position == 2 ? 90 : position == 7 ? 40 : 60);
+      }
+
+      DownsamplingUtils.Points points = minMax.finish();
+
+      assertEquals(20, points.size());
+      assertArrayEquals(new int[] {2, 7}, Arrays.copyOfRange(points.x(), 0, 2));
+      assertArrayEquals(new double[] {90, 40}, Arrays.copyOfRange(points.y(), 0, 2));
+      assertEquals(97, points.x()[19]);
+   }
+}
@@ -0,0 +1,228 @@
+package com.backend.utils;
+
+import com.backend.dtos.CurrentDaySummaryDTO;
+import com.backend.exceptions.InvalidQueryParameterException;
+import com.backend.models.BaseSummary;
+import com.backend.models.CurrentDaySummary;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 📌 SummaryFieldUtilsTest - Unit tests for SummaryFieldUtils and the compact summary encoding.
+
+ * 1️⃣ Tests for storedFieldNames():
+ *    - ✅ givenBaseSummary_whenStoredFieldNames_thenEveryMetricHasUniqueShortKey
+
+ * 2️⃣ Tests for compactSummaryDocument():
+ *    - ✅ givenLegacySummaryDocument_whenCompactSummaryDocument_thenUsesShortKeysAndDropsNulls
+ *    - ✅ givenCompactSummaryDocument_whenCompactSummaryDocument_thenReturnsEqualDocument
+
+ * 3️⃣ Tests for the stored encoding (MappingMongoConverter):
+ *    - ✅ givenSparseDaySummary_whenWrittenByConverter_thenStoredDocumentIsSmallerAndRoundTrips
+
+ * 4️⃣ Tests for parseFields():
+ *    - ✅ givenFieldsParameter_whenParseFields_thenReturnsTrimmedMetricNamesInOrder
+ *    - ✅ givenBlankFieldsParameter_whenParseFields_thenReturnsEmptySet
+ *    - ❌ givenUnknownField_whenParseFields_thenThrowsInvalidQueryParameterException
+
+ * 5️⃣ Tests for selectFields():
+ *    - ✅ givenDaySummaryDTO_whenSelectFields_thenKeepsIdentifiersAndSelectedMetricsOnly
+
+ * 6️⃣ Tests for durationSeconds():
+ *    - ✅ givenDuration_whenDurationSeconds_thenReturnsSeconds
+ *    - ❌ givenMalformedDuration_whenDurationSeconds_thenReturnsNull
+ */
+class SummaryFieldUtilsTest {
+
+   // A typical day: weight, hydration intake and consumed calories are not recorded.
+   private final BaseSummary sparseSummary = new BaseSummary(
+       60, 120, 80, 60, 80, 70, 55, 75, 65,
+       2000, 2500, 1500, null, 500, 300,
+       null, null, null,
+       3000, null, null, 100, 110,
+       20, 80, 30,
+       10, 20, 15, 85, 90,
+       "08:00:00", "09:00:00", "08:30:00",
+       "01:00:00", "01:15:00", "01:05:00",
+       10000, 9000, 10, 8,
+       2, 5.0, "00:30:00", "00:45:00", "00:20:00", "00:10:00"
+   );
+
+   /**
+    * ✅ Test Case: givenBaseSummary_whenStoredFieldNames_thenEveryMetricHasUniqueShortKey
+    */
+   @Test
+   void givenBaseSummary_whenStoredFieldNames_thenEveryMetricHasUniqueShortKey() {
+      Map<String, String> names = SummaryFieldUtils.storedFieldNames();
+
+      assertEquals(BaseSummary.class.getRecordComponents().length, names.size());
+      assertEquals(names.size(), new HashSet<>(names.values()).size(), "Stored keys must be unique");
+      names.values().forEach(key -> assertTrue(key.length() <= 3, "Stored key too long: " + key));
+      assertEquals("ha", SummaryFieldUtils.storedFieldName("hrAvg"));
+      assertNull(SummaryFieldUtils.storedFieldName("unknownMetric"));
+   }
+
+   /**
+    * ✅ Test Case: givenLegacySummaryDocument_whenCompactSummaryDocument_thenUsesShortKeysAndDropsNulls
+    */
+   @Test
+   void givenLegacySummaryDocument_whenCompactSummaryDocument_thenUsesShortKeysAndDropsNulls() {
+      // GIVEN a summary stored with long keys and explicit nulls
+      Document legacy = new Document("hrAvg", 80)
+          .append("weightAvg", null)
+          .append("sleepAvg", "08:30:00")
+          .append("customNote", "kept");
+
+      // WHEN it is compacted
+      Document compact = SummaryFieldUtils.compactSummaryDocument(legacy);
+
+      // THEN the metrics use short keys, nulls are gone and unknown keys survive
+      assertEquals(80, compact.get("ha"));
+      assertEquals("08:30:00", compact.get("sla"));
+      assertEquals("kept", compact.get("customNote"));
+      assertFalse(compact.containsKey("wa"));
+      assertFalse(compact.containsKey("hrAvg"));
+      assertEquals(3, compact.size());
+   }
+
+   /**
+    * ✅ Test Case: givenCompactSummaryDocument_whenCompactSummaryDocument_thenReturnsEqualDocument
+    */
+   @Test
+   void givenCompactSummaryDocument_whenCompactSummaryDocument_thenReturnsEqualDocument() {
+      Document compact = new Document("ha", 80).append("sla", "08:30:00");
+
+      assertEquals(compact, SummaryFieldUtils.compactSummaryDocument(compact));
+   }
+
+   /**
+    * ✅ Test Case: givenSparseDaySummary_whenWrittenByConverter_thenStoredDocumentIsSmallerAndRoundTrips
+    */
+   @Test
+   void givenSparseDaySummary_whenWrittenByConverter_thenStoredDocumentIsSmallerAndRoundTrips() {
+      MappingMongoConverter converter = createConverter();
+      CurrentDaySummary day = new CurrentDaySummary(null, LocalDate.of(2025, 1, 17), sparseSummary);
+
+      // WHEN the model is written with the production mapping
+      Document stored = new Document();
+      converter.write(day, stored);
+      Document storedSummary = stored.get("summary", Document.class);
+
+      // THEN no nulls and no long keys are stored
+      assertFalse(storedSummary.containsValue(null));
+      assertFalse(storedSummary.containsKey("hrAvg"));
+      assertEquals(80, storedSummary.get("ha"));
+
+      // AND the document is much smaller than the legacy encoding (all long keys, nulls included)
+      Document legacySummary = new Document();
+      SummaryFieldUtils.storedFieldNames().forEach((metric, key) -> legacySummary.put(metric, storedSummary.get(key)));
+      Document legacy = new Document(stored).append("summary", legacySummary);
+
+      int legacySize = bsonSize(legacy);
+      int compactSize = bsonSize(stored);
+      assertTrue(compactSize < legacySize * 0.75, "Compact encoding should save at least 25%");
+
+      // AND reading it back yields the same model
+      assertEquals(day, converter.read(CurrentDaySummary.class, stored));
+   }
+
+   /**
+    * ✅ Test Case: givenFieldsParameter_whenParseFields_thenReturnsTrimmedMetricNamesInOrder
+    */
+   @Test
+   void givenFieldsParameter_whenParseFields_thenReturnsTrimmedMetricNamesInOrder() {
+      Set<String> fields = SummaryFieldUtils.parseFields(" sleepAvg, hrAvg,,rhrAvg ");
+
+      assertEquals(List.of("sleepAvg", "hrAvg", "rhrAvg"), List.copyOf(fields));
+   }
+
+   /**
+    * ✅ Test Case: givenBlankFieldsParameter_whenParseFields_thenReturnsEmptySet
+    */
+   @Test
+   void givenBlankFieldsParameter_whenParseFields_thenReturnsEmptySet() {
+      assertTrue(SummaryFieldUtils.parseFields(null).isEmpty());
+      assertTrue(SummaryFieldUtils.parseFields("  ").isEmpty());
+   }
+
+   /**
+    * ❌ Test Case: givenUnknownField_whenParseFields_thenThrowsInvalidQueryParameterException
+    */
+   @Test
+   void givenUnknownField_whenParseFields_thenThrowsInvalidQueryParameterException() {
+      InvalidQueryParameterException ex = assertThrows(InvalidQueryParameterException.class,
+          () -> SummaryFieldUtils.parseFields("hrAvg,id,summary"));
+
+      assertEquals("Unknown fields requested: id, summary", ex.getMessage());
+   }
+
+   /**
+    * ✅ Test Case: givenDaySummaryDTO_whenSelectFields_thenKeepsIdentifiersAndSelectedMetricsOnly
+    */
+   @Test
+   void givenDaySummaryDTO_whenSelectFields_thenKeepsIdentifiersAndSelectedMetricsOnly() {
+      CurrentDaySummaryDTO dto = CurrentDaySummaryDTO.fromModel(
+          new CurrentDaySummary("1", LocalDate.of(2025, 1, 17), sparseSummary));
+
+      Map<String, Object> selected = SummaryFieldUtils.selectFields(dto, Set.of("hrAvg", "weightAvg"));
+
+      assertEquals(List.of("id", "day", "summary"), List.copyOf(selected.keySet()));
+      assertEquals("2025-01-17", selected.get("day"));
+      Map<?, ?> summary = (Map<?, ?>) selected.get("summary");
+      assertEquals(2, summary.size());
+      assertEquals(80, summary.get("hrAvg"));
+      assertTrue(summary.containsKey("weightAvg"), "Selected metrics are kept even when null");
+      assertNull(summary.get("weightAvg"));
+   }
+
+   /**
+    * 6️⃣ Test Case: Given a duration, when durationSeconds is called,
+    * then it returns the number of seconds.
+    */
+   @Test
+   void givenDuration_whenDurationSeconds_thenReturnsSeconds() {
+      assertEquals(8 * 3600 + 30 * 60 + 15, SummaryFieldUtils.durationSeconds("08:30:15"));
+      assertEquals(0, SummaryFieldUtils.durationSeconds("00:00:00"));
+   }
+
+   /**
+    * 6️⃣ Test Case: Given a malformed duration, when durationSeconds is called,
+    * then it returns null.
+    */
+   @Test
+   void givenMalformedDuration_whenDurationSeconds_thenReturnsNull() {
+      assertNull(SummaryFieldUtils.durationSeconds(null));
+      assertNull(SummaryFieldUtils.durationSeconds("08:30"));
+      assertNull(SummaryFieldUtils.durationSeconds("aa:bb:cc"));
+   }
+
+   private static MappingMongoConverter createConverter() {
+      MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+      MongoMappingContext mappingContext = new MongoMappingContext();
+      mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+      mappingContext.afterPropertiesSet();
+
+      MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+      converter.setCustomConversions(conversions);
+      converter.afterPropertiesSet();
+      return converter;
+   }
+
+   private static int bsonSize(Document document) {
+      return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+   }
+}